@@ -1,12 +1,17 @@
 package io.mersel.dss.verify.api;
 
 import io.mersel.dss.verify.api.exceptions.CertificateException;
+import io.mersel.dss.verify.api.exceptions.DecompressionLimitExceededException;
 import io.mersel.dss.verify.api.exceptions.InvalidDocumentException;
+import io.mersel.dss.verify.api.exceptions.RequestCancelledException;
 import io.mersel.dss.verify.api.exceptions.TimestampException;
+import io.mersel.dss.verify.api.exceptions.VerificationCapacityExceededException;
 import io.mersel.dss.verify.api.exceptions.VerificationException;
+import io.mersel.dss.verify.api.exceptions.VerificationJobNotFoundException;
 import io.mersel.dss.verify.api.models.ErrorResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -22,6 +27,9 @@ public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    /** nginx'in "client closed request" kodu; {@link HttpStatus}'ta karşılığı yok. */
+    private static final int CLIENT_CLOSED_REQUEST = 499;
+
     @ExceptionHandler(VerificationException.class)
     public ResponseEntity<ErrorResponse> handleVerificationException(
             VerificationException ex, WebRequest request) {
@@ -97,6 +105,71 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.PAYLOAD_TOO_LARGE);
     }
 
+    @ExceptionHandler(DecompressionLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleDecompressionLimitExceededException(
+            DecompressionLimitExceededException ex, WebRequest request) {
+        logger.warn("Compressed request body rejected: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+            "DECOMPRESSION_LIMIT_EXCEEDED",
+            "Sıkıştırılmış gövde açılırken sınır aşıldı",
+            ex.getMessage()
+        );
+        error.setPath(request.getDescription(false).replace("uri=", ""));
+
+        return new ResponseEntity<>(error, HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
+    @ExceptionHandler(VerificationCapacityExceededException.class)
+    public ResponseEntity<ErrorResponse> handleVerificationCapacityExceededException(
+            VerificationCapacityExceededException ex, WebRequest request) {
+        // Yük altında beklenen durum — stack trace'le log'u boğmayalım.
+        logger.warn("Verification capacity exceeded: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+            "TOO_MANY_REQUESTS",
+            ex.getMessage(),
+            "Retry-After: " + ex.getRetryAfterSeconds() + " saniye"
+        );
+        error.setPath(request.getDescription(false).replace("uri=", ""));
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
+    @ExceptionHandler(RequestCancelledException.class)
+    public ResponseEntity<ErrorResponse> handleRequestCancelledException(
+            RequestCancelledException ex, WebRequest request) {
+        // İstemci bağlantıyı kapattı; yanıtı okuyacak kimse yok. 499
+        // (client closed request) erişim log'unda ayırt edilsin diye.
+        logger.info("Request abandoned after client disconnect: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+            "CLIENT_CLOSED_REQUEST",
+            ex.getMessage(),
+            "İstemci bağlantıyı kapattığı için doğrulama yarıda bırakıldı"
+        );
+        error.setPath(request.getDescription(false).replace("uri=", ""));
+
+        return ResponseEntity.status(CLIENT_CLOSED_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(VerificationJobNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleVerificationJobNotFoundException(
+            VerificationJobNotFoundException ex, WebRequest request) {
+        logger.info("Verification job not found: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+            "JOB_NOT_FOUND",
+            ex.getMessage(),
+            "İş hiç oluşturulmamış veya sonucun saklama süresi dolmuş"
+        );
+        error.setPath(request.getDescription(false).replace("uri=", ""));
+
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgumentException(
             IllegalArgumentException ex, WebRequest request) {
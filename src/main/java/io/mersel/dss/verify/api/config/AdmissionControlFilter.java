@@ -0,0 +1,195 @@
+package io.mersel.dss.verify.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.mersel.dss.verify.api.exceptions.VerificationCapacityExceededException;
+import io.mersel.dss.verify.api.models.ErrorResponse;
+import io.mersel.dss.verify.api.services.admission.AdaptiveConcurrencyLimiter;
+import io.mersel.dss.verify.api.services.admission.ExecutionLane;
+import io.mersel.dss.verify.api.services.admission.RequestCancellation;
+import io.mersel.dss.verify.api.services.admission.SignedDocumentFormat;
+import io.mersel.dss.verify.api.services.admission.VerificationAdmissionControl;
+import io.mersel.dss.verify.api.services.util.DocumentIngestor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Senkron doğrulama endpoint'lerinin önündeki kabul kontrolü (bulkhead).
+ *
+ * <p>İstek, gövdesi okunmadan (multipart parse edilmeden) önce
+ * {@link VerificationAdmissionControl} üzerinden ilgili sınırlayıcıdan izin
+ * alır; kapasite doluysa 429 + {@code Retry-After} ile hemen döner. Filtre
+ * seviyesinde çalıştığı için reddedilen 150 MB'lık bir yükleme diske bile
+ * yazılmaz. Filtre içindeki hatalar {@code GlobalExceptionHandler}'a
+ * ulaşmadığından yanıt aynı {@link ErrorResponse} şekliyle burada yazılır.</p>
+ *
+ * <p><b>Boyut şeritleri:</b> Ham gövdeli imza isteklerinde ilk
+ * {@value SignedDocumentFormat#SNIFF_BYTES} byte okunup geri sarılır
+ * (format sniff); {@code Content-Length} ile birlikte şerit seçilir ve
+ * istek boyunca {@link ExecutionLane} thread'e bağlanır. Kabul kuyruğunda
+ * geçen süre şerit bazında {@code admission_wait} aşaması olarak ölçülür.</p>
+ *
+ * <p>{@link LogHeadersFilter}'dan sonra çalışır — red log'u korelasyon
+ * header'larını taşısın diye.</p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 60)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControlFilter.class);
+
+    private final VerificationAdmissionControl admissionControl;
+    private final ObjectMapper objectMapper;
+
+    public AdmissionControlFilter(VerificationAdmissionControl admissionControl,
+                                  ObjectProvider<ObjectMapper> objectMapperProvider) {
+        this.admissionControl = admissionControl;
+        ObjectMapper mapper = objectMapperProvider != null ? objectMapperProvider.getIfAvailable() : null;
+        this.objectMapper = mapper != null ? mapper : new ObjectMapper();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        HttpServletRequest effectiveRequest = request;
+        SignedDocumentFormat sniffed = null;
+        if (admissionControl.shouldSniff(request)) {
+            SniffedRequest wrapped = new SniffedRequest(request);
+            effectiveRequest = wrapped;
+            sniffed = wrapped.getFormat();
+        }
+
+        VerificationAdmissionControl.Route route = admissionControl.route(effectiveRequest, sniffed);
+        if (route == null) {
+            filterChain.doFilter(effectiveRequest, response);
+            return;
+        }
+
+        AdaptiveConcurrencyLimiter limiter = route.getLimiter();
+        long waitStart = System.nanoTime();
+        AdaptiveConcurrencyLimiter.Permit permit;
+        try {
+            permit = limiter.acquire();
+        } catch (VerificationCapacityExceededException e) {
+            admissionControl.recordRejected(limiter);
+            writeRejection(request, response, e);
+            return;
+        }
+        admissionControl.recordAdmissionWait(route, System.nanoTime() - waitStart);
+        ExecutionLane.bind(route.getLane());
+        try {
+            filterChain.doFilter(effectiveRequest, response);
+        } finally {
+            ExecutionLane.clear();
+            // İstemcisi kopup yarıda bırakılan istek gecikme örneği değildir.
+            RequestCancellation cancellation = RequestCancellation.current();
+            if (cancellation != null && cancellation.wasCancelled()) {
+                permit.abandon();
+            } else {
+                permit.close();
+            }
+        }
+    }
+
+    private void writeRejection(HttpServletRequest request,
+                                HttpServletResponse response,
+                                VerificationCapacityExceededException e) throws IOException {
+        logger.warn("Verification capacity exceeded: {} (Retry-After: {}s)", e.getMessage(), e.getRetryAfterSeconds());
+
+        ErrorResponse error = new ErrorResponse(
+            "TOO_MANY_REQUESTS",
+            e.getMessage(),
+            "Retry-After: " + e.getRetryAfterSeconds() + " saniye"
+        );
+        error.setPath(request.getRequestURI());
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    /**
+     * Gövdenin baş byte'larına bakıp geri saran request sarmalayıcı —
+     * controller gövdeyi baştan ve tam olarak okur.
+     */
+    private static final class SniffedRequest extends HttpServletRequestWrapper {
+
+        private final ServletInputStream original;
+        private final BufferedInputStream buffered;
+        private final SignedDocumentFormat format;
+
+        SniffedRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.original = request.getInputStream();
+            this.buffered = new BufferedInputStream(original, SignedDocumentFormat.SNIFF_BYTES);
+            buffered.mark(SignedDocumentFormat.SNIFF_BYTES);
+            byte[] head = DocumentIngestor.readUpTo(buffered, SignedDocumentFormat.SNIFF_BYTES);
+            buffered.reset();
+            this.format = SignedDocumentFormat.sniff(head);
+        }
+
+        SignedDocumentFormat getFormat() {
+            return format;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return new ServletInputStream() {
+                @Override
+                public int read() throws IOException {
+                    return buffered.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    return buffered.read(b, off, len);
+                }
+
+                @Override
+                public int available() throws IOException {
+                    return buffered.available();
+                }
+
+                @Override
+                public boolean isFinished() {
+                    try {
+                        return buffered.available() == 0 && original.isFinished();
+                    } catch (IOException e) {
+                        return true;
+                    }
+                }
+
+                @Override
+                public boolean isReady() {
+                    return original.isReady();
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    original.setReadListener(readListener);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package io.mersel.dss.verify.api.config;
+
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Gömülü Tomcat'e {@link ClientDisconnectValve}'i ekler — bağlantısı
+ * kopan doğrulama isteklerinin kalan işi bırakılır.
+ */
+@Configuration
+public class ClientDisconnectConfiguration {
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> clientDisconnectValveCustomizer(
+            VerificationConfiguration config) {
+        return factory -> factory.addContextValves(new ClientDisconnectValve(config));
+    }
+}
@@ -0,0 +1,97 @@
+package io.mersel.dss.verify.api.config;
+
+import io.mersel.dss.verify.api.services.admission.RequestCancellation;
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.connector.Response;
+import org.apache.catalina.valves.ValveBase;
+import org.apache.coyote.ActionCode;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Doğrulama isteklerinde istemci bağlantısının kopup kopmadığını kontrol
+ * eden {@link RequestCancellation} token'ını istek thread'ine bağlayan
+ * Tomcat valve'i.
+ *
+ * <p>Servlet API'si senkron bir istek işlenirken bağlantının kapandığını
+ * bildirmez; Tomcat da soketi o sırada poller'a kaydetmediği için FIN'i
+ * ancak bir sonraki okuma/yazmada görür. Bu yüzden probe connector
+ * seviyesinde çalışır (valve, servlet request facade'ının arkasındaki
+ * coyote request'e erişebilen tek standart uzantı noktası):</p>
+ * <ol>
+ *   <li>connector zaten bir I/O hatası gördüyse bağlantı kopmuştur;</li>
+ *   <li>gövde tamamen okunduysa soketten non-blocking okuma denenir —
+ *       kapanmış bağlantıda EOF, açık ve boşta bağlantıda 0 byte döner.
+ *       Gövde henüz okunmadıysa probe çalışmaz (okunacak byte'lar gövdenin
+ *       kendisidir).</li>
+ * </ol>
+ * <p>Okunan byte'lar (HTTP pipelining ile gelmiş bir sonraki istek)
+ * Tomcat'in tamponunda kalır; kaybolmaz, yalnız bağlantı kopmuş sayılır.
+ * Pipelining pratikte kullanılmadığından bu kabul edilebilir bir yanlış
+ * pozitif.</p>
+ *
+ * <p>Probe coyote processor'ına dokunduğu için yalnız istek thread'inde
+ * çağrılmalıdır; token bu yüzden batch / asenkron iş worker'larına
+ * aktarılmaz (batch yanıtı akışlı yazıldığından kopmayı yazma hatasıyla
+ * zaten görür).</p>
+ */
+public class ClientDisconnectValve extends ValveBase {
+
+    private static final String PREFIX = "/api/v1/verify/";
+
+    private final VerificationConfiguration config;
+
+    public ClientDisconnectValve(VerificationConfiguration config) {
+        super(true);
+        this.config = config;
+    }
+
+    @Override
+    public void invoke(Request request, Response response) throws IOException, ServletException {
+        if (!config.isCancellationEnabled()
+                || !"POST".equalsIgnoreCase(request.getMethod())
+                || !pathOf(request).startsWith(PREFIX)) {
+            getNext().invoke(request, response);
+            return;
+        }
+
+        org.apache.coyote.Request coyoteRequest = request.getCoyoteRequest();
+        RequestCancellation.bind(RequestCancellation.of(
+                () -> isClientDisconnected(coyoteRequest),
+                config.getCancellationProbeIntervalMs()));
+        try {
+            getNext().invoke(request, response);
+        } finally {
+            RequestCancellation.clear();
+        }
+    }
+
+    /**
+     * Connector seviyesinde bağlantı kontrolü; bkz. sınıf açıklaması.
+     */
+    static boolean isClientDisconnected(org.apache.coyote.Request coyoteRequest) {
+        AtomicBoolean error = new AtomicBoolean();
+        coyoteRequest.action(ActionCode.IS_ERROR, error);
+        if (error.get()) {
+            return true;
+        }
+        AtomicBoolean bodyFullyRead = new AtomicBoolean();
+        coyoteRequest.action(ActionCode.REQUEST_BODY_FULLY_READ, bodyFullyRead);
+        if (!bodyFullyRead.get()) {
+            return false;
+        }
+        coyoteRequest.action(ActionCode.AVAILABLE, Boolean.TRUE);
+        return coyoteRequest.getAvailable() > 0;
+    }
+
+    private static String pathOf(Request request) {
+        String path = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        if (path != null && contextPath != null && !contextPath.isEmpty() && path.startsWith(contextPath)) {
+            path = path.substring(contextPath.length());
+        }
+        return path != null ? path : "";
+    }
+}
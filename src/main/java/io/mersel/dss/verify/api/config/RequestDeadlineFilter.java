@@ -0,0 +1,134 @@
+package io.mersel.dss.verify.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.mersel.dss.verify.api.models.ErrorResponse;
+import io.mersel.dss.verify.api.services.admission.RequestDeadline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Doğrulama endpoint'lerinde istemcinin zaman bütçesini ({@link RequestDeadline})
+ * istek thread'ine bağlar.
+ *
+ * <p>Bütçe {@value #DEADLINE_HEADER} header'ından veya {@value #DEADLINE_PARAM}
+ * query parametresinden (ms, header öncelikli) okunur; ikisi de yoksa
+ * {@code verification.deadline.default-ms} uygulanır (0 ise deadline yok).
+ * Parametre yalnız query string'den okunur — {@code getParameter()} multipart
+ * gövdeyi kabul kontrolünden önce parse ettirirdi. Pozitif tamsayı olmayan
+ * değer 400 ile reddedilir; bu hata {@code GlobalExceptionHandler}'a
+ * ulaşmadığından yanıt burada yazılır.</p>
+ *
+ * <p>{@link AdmissionControlFilter}'dan önce çalışır — kabul kuyruğunda
+ * geçen süre de istemcinin bütçesinden düşülsün diye.</p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 52)
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestDeadlineFilter.class);
+
+    static final String DEADLINE_HEADER = "X-Request-Deadline-Ms";
+    static final String DEADLINE_PARAM = "deadlineMs";
+
+    private static final String PREFIX = "/api/v1/verify/";
+
+    private final VerificationConfiguration config;
+    private final ObjectMapper objectMapper;
+
+    public RequestDeadlineFilter(VerificationConfiguration config,
+                                 ObjectProvider<ObjectMapper> objectMapperProvider) {
+        this.config = config;
+        ObjectMapper mapper = objectMapperProvider != null ? objectMapperProvider.getIfAvailable() : null;
+        this.objectMapper = mapper != null ? mapper : new ObjectMapper();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !config.isDeadlineEnabled()
+                || !"POST".equalsIgnoreCase(request.getMethod())
+                || !pathOf(request).startsWith(PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String raw = request.getHeader(DEADLINE_HEADER);
+        if (raw == null && request.getQueryString() != null) {
+            raw = UriComponentsBuilder.fromUriString("?" + request.getQueryString())
+                    .build().getQueryParams().getFirst(DEADLINE_PARAM);
+        }
+
+        long budgetMillis;
+        if (raw != null) {
+            budgetMillis = parseBudget(raw);
+            if (budgetMillis <= 0L) {
+                writeError(request, response, raw);
+                return;
+            }
+        } else {
+            budgetMillis = config.getDeadlineDefaultMs();
+        }
+        if (budgetMillis <= 0L) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RequestDeadline.bind(RequestDeadline.ofBudget(budgetMillis));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
+    /** Pozitif ms değeri; geçersizse -1. */
+    static long parseBudget(String raw) {
+        try {
+            long value = Long.parseLong(raw.trim());
+            return value > 0L ? value : -1L;
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    private void writeError(HttpServletRequest request,
+                            HttpServletResponse response,
+                            String raw) throws IOException {
+        logger.warn("Invalid request deadline rejected (400): '{}'", raw);
+
+        ErrorResponse error = new ErrorResponse("INVALID_DEADLINE",
+                "Geçersiz deadline: " + raw,
+                DEADLINE_HEADER + " / " + DEADLINE_PARAM + " pozitif bir milisaniye değeri olmalı");
+        error.setPath(request.getRequestURI());
+
+        response.setStatus(HttpStatus.BAD_REQUEST.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        if (contextPath != null && !contextPath.isEmpty() && path.startsWith(contextPath)) {
+            path = path.substring(contextPath.length());
+        }
+        return path;
+    }
+}
@@ -0,0 +1,401 @@
+package io.mersel.dss.verify.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.mersel.dss.verify.api.exceptions.DecompressionLimitExceededException;
+import io.mersel.dss.verify.api.models.ErrorResponse;
+import io.mersel.dss.verify.api.services.admission.VerificationAdmissionControl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Doğrulama endpoint'lerine {@code Content-Encoding: gzip} / {@code deflate}
+ * ile gelen ham gövdeleri akış halinde açar.
+ *
+ * <p>İmzalı XML'ler 10-20x sıkışır; şube ofislerinden gelen yüklemelerde
+ * bant genişliği ve yükleme süresi buna göre düşer. Gövde hiçbir zaman
+ * tamamen açılıp bellekte tutulmaz: controller {@code getInputStream()}'i
+ * okudukça açılır ve {@code DocumentIngestor}'ın bellek / spill yoluna
+ * doğrudan akar. İstek zincirin geri kalanına {@code Content-Encoding}
+ * ve {@code Content-Length} header'ları olmadan, boyutu bilinmeyen
+ * (chunked) bir gövde olarak görünür — dolayısıyla
+ * {@code verification.ingest.max-body-bytes} açılmış boyuta uygulanır.
+ * İstemcinin bildirdiği sıkıştırılmış uzunluk
+ * {@link VerificationAdmissionControl#DECLARED_LENGTH_ATTRIBUTE}
+ * attribute'unda kalır; kabul kontrolü şeridi buna göre seçer.</p>
+ *
+ * <p><b>Bomba koruması:</b> Açılan byte sayısı
+ * {@code verification.compression.max-decompressed-bytes}'ı veya
+ * açılmış / sıkıştırılmış oranı {@code verification.compression.max-ratio}'yu
+ * aştığı anda okuma {@link DecompressionLimitExceededException} ile kesilir
+ * (HTTP 413).</p>
+ *
+ * <p><b>Kapsam:</b> Yalnız ham (multipart olmayan) gövdeler. Multipart
+ * gövdeyi servlet container kendi input'undan parse ettiği için sarmalanmış
+ * bir stream'i görmez; sıkıştırılmış multipart, desteklenmeyen kodlamalar
+ * ({@code zstd}, {@code br}, zincirleme kodlama) ve kapalı özellik 415 ile
+ * reddedilir. Başlığı bozuk gövde 400 döner. Bu hatalar
+ * {@code GlobalExceptionHandler}'a ulaşmadığından yanıt burada yazılır.</p>
+ *
+ * <p>{@link AdmissionControlFilter}'dan önce çalışır — format sniff'i açılmış
+ * byte'ları görsün diye.</p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 55)
+public class RequestDecompressionFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestDecompressionFilter.class);
+
+    private static final String PREFIX = "/api/v1/verify/";
+
+    /** Oran denetimi bu kadar byte açıldıktan sonra başlar. */
+    static final long RATIO_CHECK_AFTER_BYTES = 1024L * 1024L;
+
+    private final VerificationConfiguration config;
+    private final ObjectMapper objectMapper;
+
+    public RequestDecompressionFilter(VerificationConfiguration config,
+                                      ObjectProvider<ObjectMapper> objectMapperProvider) {
+        this.config = config;
+        ObjectMapper mapper = objectMapperProvider != null ? objectMapperProvider.getIfAvailable() : null;
+        this.objectMapper = mapper != null ? mapper : new ObjectMapper();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String encoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+        if (encoding == null || encoding.trim().isEmpty()
+                || "identity".equalsIgnoreCase(encoding.trim())
+                || !"POST".equalsIgnoreCase(request.getMethod())) {
+            return true;
+        }
+        return !pathOf(request).startsWith(PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String encoding = request.getHeader(HttpHeaders.CONTENT_ENCODING).trim().toLowerCase(Locale.ROOT);
+        String contentType = request.getContentType();
+
+        if (!config.isCompressionEnabled()) {
+            writeError(request, response, HttpStatus.UNSUPPORTED_MEDIA_TYPE, "UNSUPPORTED_CONTENT_ENCODING",
+                    "Sıkıştırılmış istek gövdesi bu sunucuda kapalı",
+                    "verification.compression.enabled=false");
+            return;
+        }
+        if (contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("multipart/")) {
+            writeError(request, response, HttpStatus.UNSUPPORTED_MEDIA_TYPE, "UNSUPPORTED_CONTENT_ENCODING",
+                    "Sıkıştırılmış gövde yalnız ham gövdeli isteklerde desteklenir",
+                    "Multipart yerine dokümanı ham gövde olarak (application/octet-stream, "
+                            + "application/pdf, application/xml) gönderin");
+            return;
+        }
+        if (!isSupported(encoding)) {
+            writeError(request, response, HttpStatus.UNSUPPORTED_MEDIA_TYPE, "UNSUPPORTED_CONTENT_ENCODING",
+                    "Desteklenmeyen Content-Encoding: " + encoding,
+                    "Desteklenen kodlamalar: gzip, deflate");
+            return;
+        }
+
+        DecompressingRequest decompressing;
+        try {
+            decompressing = new DecompressingRequest(request, encoding,
+                    config.getCompressionMaxDecompressedBytes(), config.getCompressionMaxRatio());
+        } catch (IOException e) {
+            // Başlık / ilk blok açılamadı — gövde iddia edilen kodlamada değil.
+            writeError(request, response, HttpStatus.BAD_REQUEST, "INVALID_COMPRESSED_BODY",
+                    "Sıkıştırılmış gövde açılamadı",
+                    encoding + ": " + e.getMessage());
+            return;
+        }
+        long declaredLength = request.getContentLengthLong();
+        if (declaredLength >= 0) {
+            decompressing.setAttribute(VerificationAdmissionControl.DECLARED_LENGTH_ATTRIBUTE, declaredLength);
+        }
+        logger.debug("Decompressing {} request body for {}", encoding, request.getRequestURI());
+        filterChain.doFilter(decompressing, response);
+    }
+
+    private static boolean isSupported(String encoding) {
+        return "gzip".equals(encoding) || "x-gzip".equals(encoding) || "deflate".equals(encoding);
+    }
+
+    private void writeError(HttpServletRequest request,
+                            HttpServletResponse response,
+                            HttpStatus status,
+                            String code,
+                            String message,
+                            String details) throws IOException {
+        logger.warn("Compressed request body rejected ({}): {}", status.value(), message);
+
+        ErrorResponse error = new ErrorResponse(code, message, details);
+        error.setPath(request.getRequestURI());
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        if (contextPath != null && !contextPath.isEmpty() && path.startsWith(contextPath)) {
+            path = path.substring(contextPath.length());
+        }
+        return path;
+    }
+
+    /**
+     * Gövdeyi açarak sunan request sarmalayıcı. {@code Content-Encoding} ve
+     * {@code Content-Length} gizlenir — aşağıdaki katmanlar açılmış, boyutu
+     * bilinmeyen bir gövde görür (sıkıştırılmış uzunluk attribute'ta).
+     */
+    private static final class DecompressingRequest extends HttpServletRequestWrapper {
+
+        private final ServletInputStream original;
+        private final BufferedInputStream decompressed;
+        private boolean finished;
+
+        DecompressingRequest(HttpServletRequest request, String encoding,
+                             long maxDecompressedBytes, int maxRatio) throws IOException {
+            super(request);
+            this.original = request.getInputStream();
+            CountingInputStream compressed = new CountingInputStream(original);
+            InputStream inflating = "deflate".equals(encoding)
+                    ? new InflaterInputStream(compressed)
+                    : new GZIPInputStream(compressed);
+            this.decompressed = new BufferedInputStream(
+                    new DecompressionGuardInputStream(inflating, compressed, maxDecompressedBytes, maxRatio));
+            // İlk byte'ı şimdi aç: bozuk başlık filtre içinde 400'e dönsün,
+            // sonraki filtrelerde (format sniff) 500'e düşmesin.
+            decompressed.mark(1);
+            decompressed.read();
+            decompressed.reset();
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return isHidden(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return isHidden(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            List<String> names = new ArrayList<>();
+            Enumeration<String> all = super.getHeaderNames();
+            while (all != null && all.hasMoreElements()) {
+                String name = all.nextElement();
+                if (!isHidden(name)) {
+                    names.add(name);
+                }
+            }
+            return Collections.enumeration(names);
+        }
+
+        @Override
+        public int getIntHeader(String name) {
+            return isHidden(name) ? -1 : super.getIntHeader(name);
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1L;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return new ServletInputStream() {
+                @Override
+                public int read() throws IOException {
+                    int b = decompressed.read();
+                    finished = b < 0;
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    int n = decompressed.read(b, off, len);
+                    finished = n < 0;
+                    return n;
+                }
+
+                @Override
+                public int available() throws IOException {
+                    return decompressed.available();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    decompressed.close();
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return finished;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return original.isReady();
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    original.setReadListener(readListener);
+                }
+            };
+        }
+
+        private static boolean isHidden(String name) {
+            return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name)
+                    || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+        }
+    }
+
+    /** Sıkıştırılmış tarafta okunan byte sayısını tutar (oran denetimi için). */
+    static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buf, int off, int len) throws IOException {
+            int n = super.read(buf, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+
+    /**
+     * Açılan byte'ları sayar; mutlak boyut veya genişleme oranı sınırı
+     * aşılınca {@link DecompressionLimitExceededException} atar.
+     */
+    static final class DecompressionGuardInputStream extends FilterInputStream {
+
+        private final CountingInputStream compressed;
+        private final long maxBytes;
+        private final int maxRatio;
+        private long produced;
+
+        DecompressionGuardInputStream(InputStream inflating, CountingInputStream compressed,
+                                      long maxBytes, int maxRatio) {
+            super(inflating);
+            this.compressed = compressed;
+            this.maxBytes = maxBytes;
+            this.maxRatio = maxRatio;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                advance(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buf, int off, int len) throws IOException {
+            int n = super.read(buf, off, len);
+            if (n > 0) {
+                advance(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            advance(skipped);
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void advance(long n) {
+            produced += n;
+            if (maxBytes > 0 && produced > maxBytes) {
+                throw new DecompressionLimitExceededException(
+                        "Açılmış gövde " + maxBytes + " byte sınırını aştı");
+            }
+            if (maxRatio > 0 && produced > RATIO_CHECK_AFTER_BYTES
+                    && produced > compressed.getCount() * maxRatio) {
+                throw new DecompressionLimitExceededException(
+                        "Genişleme oranı " + maxRatio + "x sınırını aştı ("
+                                + compressed.getCount() + " byte -> " + produced + " byte)");
+            }
+        }
+    }
+}
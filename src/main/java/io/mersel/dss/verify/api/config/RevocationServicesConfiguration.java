@@ -2,7 +2,6 @@ package io.mersel.dss.verify.api.config;
 
 import eu.europa.esig.dss.service.crl.OnlineCRLSource;
 import eu.europa.esig.dss.service.http.commons.CommonsDataLoader;
-import eu.europa.esig.dss.service.http.commons.OCSPDataLoader;
 import eu.europa.esig.dss.service.ocsp.OnlineOCSPSource;
 import eu.europa.esig.dss.spi.x509.aia.AIASource;
 import eu.europa.esig.dss.spi.x509.aia.DefaultAIASource;
@@ -11,8 +10,11 @@ import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPSource;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import io.mersel.dss.verify.api.services.aia.NormalizingCachingAiaDataLoader;
+import io.mersel.dss.verify.api.services.revocation.DeadlineAwareDataLoader;
 import io.mersel.dss.verify.api.services.revocation.LoggingCachingCRLSource;
 import io.mersel.dss.verify.api.services.revocation.LoggingCachingOCSPSource;
+import io.mersel.dss.verify.api.services.revocation.RevocationDiskStore;
+import io.mersel.dss.verify.api.services.revocation.RevocationRefreshScheduler;
 import io.mersel.dss.verify.api.services.revocation.RetryPolicy;
 import io.mersel.dss.verify.api.services.revocation.RetryingCRLSource;
 import io.mersel.dss.verify.api.services.revocation.RetryingOCSPSource;
@@ -23,6 +25,12 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Revocation source bean'lerinin merkezi tanimi.
  *
@@ -73,6 +81,9 @@ public class RevocationServicesConfiguration {
      */
     static final String AIA_CACHE_METRIC_NAME = "mersel.aia.fetch";
 
+    /** OCSP POST content-type'i (RFC 6960 Appendix A.1). */
+    private static final String OCSP_CONTENT_TYPE = "application/ocsp-request";
+
     private final VerificationConfiguration config;
 
     /**
@@ -91,6 +102,20 @@ public class RevocationServicesConfiguration {
      */
     private final ObjectProvider<io.mersel.dss.verify.api.metrics.VerificationMetrics> verificationMetricsProvider;
 
+    /**
+     * Opsiyonel kalici katman — OCSP, CRL ve AIA source'lari tek store'u
+     * paylasir; ilk ihtiyacta bir kez acilir (bkz. {@link #diskStore()}).
+     */
+    private RevocationDiskStore diskStore;
+    private boolean diskStoreResolved;
+
+    /**
+     * Opsiyonel arka plan yenileme — OCSP ve CRL source'lari tek thread
+     * havuzunu paylasir (bkz. {@link #refreshScheduler()}).
+     */
+    private RevocationRefreshScheduler refreshScheduler;
+    private boolean refreshSchedulerResolved;
+
     public RevocationServicesConfiguration(VerificationConfiguration config,
                                            ObjectProvider<MeterRegistry> meterRegistryProvider,
                                            ObjectProvider<io.mersel.dss.verify.api.metrics.VerificationMetrics> verificationMetricsProvider) {
@@ -102,9 +127,11 @@ public class RevocationServicesConfiguration {
     /**
      * OCSP source — {@link OnlineOCSPSource} sarmali Caffeine cache + INFO logging.
      *
-     * <p>{@code OCSPDataLoader} {@code CommonsDataLoader}'i extend eder ama OCSP
-     * spec'ine uygun {@code Content-Type: application/ocsp-request} header'ini
-     * gonderir. DSS responder bunu beklediginde basari icin sart.</p>
+     * <p>Loader, DSS {@code OCSPDataLoader} gibi OCSP spec'ine uygun
+     * {@code Content-Type: application/ocsp-request} header'ini gonderir
+     * (responder bunu beklediginde basari icin sart); ek olarak HTTP
+     * timeout'larini istek deadline'ina gore kisaltir (bkz.
+     * {@link DeadlineAwareDataLoader}).</p>
      */
     @Bean
     @ConditionalOnProperty(
@@ -112,7 +139,7 @@ public class RevocationServicesConfiguration {
             havingValue = "true",
             matchIfMissing = true)
     public OCSPSource ocspSource() {
-        OCSPDataLoader dataLoader = new OCSPDataLoader();
+        DeadlineAwareDataLoader dataLoader = new DeadlineAwareDataLoader(OCSP_CONTENT_TYPE);
         applyTimeouts(dataLoader);
 
         OnlineOCSPSource online = new OnlineOCSPSource();
@@ -130,7 +157,10 @@ public class RevocationServicesConfiguration {
                 retryingOrPlain,
                 config.getRevocationCacheMaxSize(),
                 config.getRevocationCacheTtlSeconds(),
-                metrics);
+                metrics,
+                diskStore(),
+                refreshScheduler(),
+                leaderFetchBudgetMillis(retryPolicy));
 
         bindCacheMetrics(OCSP_CACHE_METRIC_NAME, source.caffeineCache());
 
@@ -141,8 +171,11 @@ public class RevocationServicesConfiguration {
 
     /**
      * CRL source — {@link OnlineCRLSource} sarmali Caffeine cache + INFO logging.
-     * CRL fetch'i icin standart {@code CommonsDataLoader} yeterli (CRL distribution
-     * point HTTP GET ile cekilir, ozel content-type yok).
+     * Cache dagitim noktasi + issuer ile anahtarlanir; bir CA'nin CRL'i tum
+     * sertifikalari icin bir kez indirilir (bkz. {@link LoggingCachingCRLSource}).
+     * CRL fetch'i icin standart {@code CommonsDataLoader} davranisi yeterli (CRL
+     * distribution point HTTP GET ile cekilir, ozel content-type yok); deadline
+     * icin {@link DeadlineAwareDataLoader} kullanilir.
      */
     @Bean
     @ConditionalOnProperty(
@@ -150,7 +183,7 @@ public class RevocationServicesConfiguration {
             havingValue = "true",
             matchIfMissing = true)
     public CRLSource crlSource() {
-        CommonsDataLoader dataLoader = new CommonsDataLoader();
+        CommonsDataLoader dataLoader = new DeadlineAwareDataLoader();
         applyTimeouts(dataLoader);
 
         OnlineCRLSource online = new OnlineCRLSource();
@@ -168,7 +201,10 @@ public class RevocationServicesConfiguration {
                 retryingOrPlain,
                 config.getCrlCacheMaxSize(),
                 config.getRevocationCacheTtlSeconds(),
-                metrics);
+                metrics,
+                diskStore(),
+                refreshScheduler(),
+                leaderFetchBudgetMillis(retryPolicy));
 
         bindCacheMetrics(CRL_CACHE_METRIC_NAME, source.caffeineCache());
 
@@ -204,7 +240,7 @@ public class RevocationServicesConfiguration {
             havingValue = "true",
             matchIfMissing = true)
     public AIASource aiaSource() {
-        CommonsDataLoader rawLoader = new CommonsDataLoader();
+        CommonsDataLoader rawLoader = new DeadlineAwareDataLoader();
         applyTimeouts(rawLoader);
 
         io.mersel.dss.verify.api.metrics.VerificationMetrics metrics =
@@ -214,7 +250,8 @@ public class RevocationServicesConfiguration {
                 rawLoader,
                 config.getAiaCacheMaxSize(),
                 config.getAiaCacheTtlSeconds(),
-                metrics);
+                metrics,
+                diskStore());
 
         // Caffeine cache'i Micrometer'a bağla — observability paritesi
         // OCSP/CRL ile aynı standartta. Bind başarısız olsa bile AIA
@@ -226,6 +263,63 @@ public class RevocationServicesConfiguration {
         return aia;
     }
 
+    /**
+     * Kalici revocation katmanini ({@code verification.revocation.disk-store.*})
+     * bir kez acar. Kapaliysa veya dizin acilamazsa {@code null} — source'lar
+     * yalniz in-memory cache ile calisir; sicak baslangic bir optimizasyondur,
+     * acilisi engellemez.
+     */
+    private synchronized RevocationDiskStore diskStore() {
+        if (diskStoreResolved) {
+            return diskStore;
+        }
+        diskStoreResolved = true;
+        if (!config.isRevocationDiskStoreEnabled()) {
+            return null;
+        }
+        String configured = config.getRevocationDiskStoreDirectory();
+        Path directory = configured == null || configured.trim().isEmpty()
+                ? Paths.get(System.getProperty("java.io.tmpdir"), "mdss-revocation-store")
+                : Paths.get(configured.trim());
+        try {
+            diskStore = RevocationDiskStore.open(directory);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Revocation disk store could not be opened ({}); continuing with in-memory caches only: {}",
+                    directory, e.toString());
+        }
+        return diskStore;
+    }
+
+    /**
+     * Arka plan yenileme zamanlayicisini
+     * ({@code verification.revocation.refresh-ahead.*}) bir kez baslatir.
+     * Kapaliysa {@code null} — girdiler suresi dolunca istek yolunda
+     * yeniden fetch edilir.
+     */
+    private synchronized RevocationRefreshScheduler refreshScheduler() {
+        if (refreshSchedulerResolved) {
+            return refreshScheduler;
+        }
+        refreshSchedulerResolved = true;
+        if (config.isRevocationRefreshAheadEnabled()) {
+            refreshScheduler = RevocationRefreshScheduler.start(
+                    TimeUnit.SECONDS.toMillis(config.getRevocationRefreshAheadWindowSeconds()),
+                    TimeUnit.SECONDS.toMillis(config.getRevocationRefreshAheadScanIntervalSeconds()),
+                    config.getRevocationRefreshAheadThreads());
+        }
+        return refreshScheduler;
+    }
+
+    @PreDestroy
+    public synchronized void closeRevocationResources() {
+        if (refreshScheduler != null) {
+            refreshScheduler.close();
+        }
+        if (diskStore != null) {
+            diskStore.close();
+        }
+    }
+
     /**
      * Konfigurasyondan {@link RetryPolicy} ureten factory. Retry kapali
      * ise {@link RetryPolicy#disabled()} doner (decorator wiring devre
@@ -251,6 +345,21 @@ public class RevocationServicesConfiguration {
         return policy;
     }
 
+    /**
+     * Tek ucustaki (single-flight) fetch'in lideri icin yapilandirilmis en
+     * uzun sure: her denemede baglanti havuzu + connect + socket timeout'u,
+     * denemeler arasinda en fazla {@code maxBackoffMs}. Esanli miss'teki
+     * bekleyenler lideri en fazla bu kadar bekler; asilirsa lider takilmis
+     * sayilir ve bekleyen kendisi indirir.
+     */
+    private long leaderFetchBudgetMillis(RetryPolicy retryPolicy) {
+        long perAttemptMs = (long) config.getRevocationHttpConnectionRequestTimeoutMs()
+                + config.getRevocationHttpConnectionTimeoutMs()
+                + config.getRevocationHttpSocketTimeoutMs();
+        int attempts = retryPolicy.getMaxAttempts();
+        return Math.max(1L, attempts * perAttemptMs + (attempts - 1) * retryPolicy.getMaxBackoffMs());
+    }
+
     /**
      * Caffeine cache instance'ini Micrometer {@link MeterRegistry}'sine
      * baglar. Cikti metric ailesi {@code cache.size}, {@code cache.gets}
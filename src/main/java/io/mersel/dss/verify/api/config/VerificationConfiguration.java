@@ -138,6 +138,42 @@ public class VerificationConfiguration {
     @Value("${verification.revocation.crl.cache.max-size:256}")
     private long crlCacheMaxSize;
 
+    /**
+     * OCSP / CRL / AIA cache'leri için kalıcı (disk) katman. Açıksa ham
+     * yanıtlar son kullanma zamanlarıyla diske yazılır ve yeni pod cache
+     * miss'te responder'dan önce diske bakar (sıcak başlangıç). Default
+     * kapalı; dizin pod yeniden başlatmalarında korunmalıdır (PVC / hostPath).
+     */
+    @Value("${verification.revocation.disk-store.enabled:false}")
+    private boolean revocationDiskStoreEnabled;
+
+    /**
+     * Kalıcı katmanın dizini. Boş ise {@code java.io.tmpdir/mdss-revocation-store}.
+     */
+    @Value("${verification.revocation.disk-store.directory:}")
+    private String revocationDiskStoreDirectory;
+
+    /**
+     * OCSP / CRL cache'leri için arka plan yenileme (refresh-ahead). Son
+     * yüklemeden beri cache hit almış girdiler, son kullanma zamanına
+     * {@link #revocationRefreshAheadWindowSeconds} kala arka planda yeniden
+     * fetch edilir; sıcak imzacılar istek yolunda soğuk fetch görmez.
+     */
+    @Value("${verification.revocation.refresh-ahead.enabled:true}")
+    private boolean revocationRefreshAheadEnabled;
+
+    /** Son kullanma zamanına bu kadar (saniye) kala sıcak girdi yenilenir. */
+    @Value("${verification.revocation.refresh-ahead.window-seconds:300}")
+    private long revocationRefreshAheadWindowSeconds;
+
+    /** Yenilenecek girdilerin taranma aralığı (saniye). */
+    @Value("${verification.revocation.refresh-ahead.scan-interval-seconds:30}")
+    private long revocationRefreshAheadScanIntervalSeconds;
+
+    /** Arka plan yenileme thread sayısı (OCSP + CRL ortak). */
+    @Value("${verification.revocation.refresh-ahead.threads:2}")
+    private int revocationRefreshAheadThreads;
+
     // --- Revocation Retry (OCSP/CRL transient hata toleransi) ---
     // Strict policy revocation verisi ZORUNLU oldugundan tek bir transient
     // hata (KamuSM 503, connection reset, TLS handshake glitch) gecerli bir
@@ -345,6 +381,421 @@ public class VerificationConfiguration {
     @Value("${verification.i18n-locale:tr}")
     private String i18nLocale;
 
+    // --- Dokuman alma (ingest) / disk'e tasma konfigurasyonu ---
+    // AdvancedSignatureVerificationService, DocumentIngestor uzerinden
+    // multipart parcalarini DSSDocument'e cevirir; esigi asan dokumanlar
+    // heap yerine gecici dosyaya yazilir (FileDocument).
+
+    /**
+     * Bu boyutun (byte) UZERINDEKI imzali / orijinal dokumanlar heap'e
+     * {@code byte[]} olarak okunmaz; bir kez gecici dosyaya stream edilir ve
+     * DSS'e {@code FileDocument} olarak verilir. Default 8 MB — tipik
+     * e-Fatura / e-Arsiv XML'leri ve kucuk PDF'ler bellekte kalir, buyuk
+     * PAdES / CAdES yuklemeleri istek basina sabit heap ile dogrulanir.
+     * {@code 0} veya negatif deger spill'i tamamen kapatir (eski davranis).
+     *
+     * <p>XML imzali dokumanlar esigi assa bile bellekte kalir: DSS XAdES
+     * dogrulamasi dokumani DOM'a zaten tamamen yukler; ayrica ECDSA
+     * preprocessor ve TR legacy XAdES detector byte'lara ihtiyac duyar.</p>
+     */
+    @Value("${verification.ingest.spill-threshold-bytes:8388608}")
+    private long ingestSpillThresholdBytes;
+
+    /**
+     * Spill dosyalarinin yazilacagi dizin. Bos birakilirsa JVM'in
+     * {@code java.io.tmpdir} dizini kullanilir. Container'da ayri bir
+     * volume (ornegin {@code emptyDir}) mount edip buraya vermek, root
+     * filesystem'in dolmasini engeller. Dosyalar istek bitiminde (basarili
+     * veya hatali) deterministik olarak silinir.
+     */
+    @Value("${verification.ingest.temp-dir:}")
+    private String ingestTempDir;
+
+    /**
+     * Ham gövde (multipart olmayan) {@code /api/v1/verify/signature}
+     * isteklerinde kabul edilen maksimum gövde boyutu (byte). Multipart
+     * parser devrede olmadigi icin {@code spring.servlet.multipart.*}
+     * limitleri burada gecerli degildir; default onlarla ayni (200 MB).
+     * Asilirsa HTTP 413 doner. {@code 0} veya negatif deger limiti kapatir.
+     */
+    @Value("${verification.ingest.max-body-bytes:209715200}")
+    private long ingestMaxBodyBytes;
+
+    // --- Sikistirilmis istek govdesi (Content-Encoding) ---
+    // RequestDecompressionFilter tarafindan tuketilir.
+
+    /**
+     * Ham govdeli dogrulama isteklerinde {@code Content-Encoding: gzip} /
+     * {@code deflate} govdelerin akis halinde acilmasi. Kapaliyken bu
+     * basligi tasiyan istekler 415 ile reddedilir. Default acik.
+     */
+    @Value("${verification.compression.enabled:true}")
+    private boolean compressionEnabled;
+
+    /**
+     * Acilmis govdenin maksimum boyutu (byte). Asilirsa okuma aninda
+     * kesilir ve HTTP 413 doner — bomba heap'e veya spill diskine
+     * yazilmadan durur. Default 200 MB ({@code ingest.max-body-bytes} ile
+     * ayni). {@code 0} veya negatif deger bu siniri kapatir (ingest siniri
+     * yine gecerlidir).
+     */
+    @Value("${verification.compression.max-decompressed-bytes:209715200}")
+    private long compressionMaxDecompressedBytes;
+
+    /**
+     * Acilmis / sikistirilmis byte orani ust siniri. Imzali XML tipik olarak
+     * 10-20x sikisir; 1 GB sifirdan olusan bir gzip ~1000x'tir. Oran ilk
+     * 1 MB acildiktan sonra denetlenir (kucuk govdelerde anlamsiz). Default
+     * 100. {@code 0} veya negatif deger oran denetimini kapatir.
+     */
+    @Value("${verification.compression.max-ratio:100}")
+    private int compressionMaxRatio;
+
+    // --- Dogrulama sonucu cache'i ---
+    // VerificationResultCache tarafindan tuketilir.
+
+    /**
+     * Ayni girdilerle (imzali dokuman, detached icerik, seviye, policy,
+     * includeFailedConstraints) tekrar gelen isteklerde DSS pipeline'ini
+     * atlayip onceki sonucu doner. Default kapali.
+     */
+    @Value("${verification.result-cache.enabled:false}")
+    private boolean resultCacheEnabled;
+
+    /**
+     * Cache'te tutulan maksimum sonuc sayisi. COMPREHENSIVE sonuclar
+     * buyuk olabilir; heap'e gore boyutlandirin. Default 1000.
+     */
+    @Value("${verification.result-cache.max-entries:1000}")
+    private long resultCacheMaxEntries;
+
+    /**
+     * Bir sonucun cache'te kalabilecegi en uzun sure (saniye). Kayit,
+     * kullanilan revocation verisinin en erken nextUpdate'inde daha once
+     * duser. Default 600.
+     */
+    @Value("${verification.result-cache.max-age-seconds:600}")
+    private long resultCacheMaxAgeSeconds;
+
+    // --- Imza basina sonuc isleme (parse_result) konfigurasyonu ---
+    // ParallelSignatureMapper tarafindan tuketilir.
+
+    /**
+     * Dokumandaki imza sayisi bu degere ulasinca imza basina sonuc isleme
+     * (BBB taramasi, TR legacy gate, zincir/revocation/timestamp cikarimi)
+     * paralel yapilir; altinda sirali kalir. 0 veya negatif: her zaman
+     * sirali. Default 8.
+     */
+    @Value("${verification.parse.parallel-threshold:8}")
+    private int parseParallelThreshold;
+
+    /**
+     * Paralel imza isleme havuzunun thread sayisi. Havuz tum istekler
+     * arasinda PAYLASILIR; doluyken is istek thread'inde calisir (bekleme
+     * veya red yok). Default 4.
+     */
+    @Value("${verification.parse.parallelism:4}")
+    private int parseParallelism;
+
+    // --- SIMPLE seviye yalin dogrulama ---
+
+    /**
+     * true ise SIMPLE seviyesindeki dogrulamalarda DSS'in ETSI validation
+     * report'u (TS 119 102-2) uretilmez. Rapor DSS tarafindan her dogrulamada
+     * varsayilan olarak hazirlanir, fakat SIMPLE yanitta hic kullanilmaz.
+     * Yanit alanlari degismez. Default true.
+     */
+    @Value("${verification.simple.lean-mode-enabled:true}")
+    private boolean simpleLeanModeEnabled;
+
+    // --- Imza butunlugu karar cache'i ---
+    // SignatureIntegrityVerdictCache tarafindan tuketilir.
+
+    /**
+     * true ise imza degeri (signature value) dogrulamasinin olumlu sonucu
+     * istekler arasinda cache'lenir; ayni imza baska bir zarfta veya
+     * istekte tekrar geldiginde kanoniklestirme ve RSA/ECDSA dogrulamasi
+     * atlanir. Referans digest'leri, zincir ve revocation her istekte
+     * yeniden kontrol edilir. Default kapali.
+     */
+    @Value("${verification.integrity-cache.enabled:false}")
+    private boolean integrityCacheEnabled;
+
+    /**
+     * Cache'te tutulan maksimum karar sayisi. Kayit basina birkac yuz
+     * byte. Default 10000.
+     */
+    @Value("${verification.integrity-cache.max-entries:10000}")
+    private long integrityCacheMaxEntries;
+
+    // --- Istek deadline'i ---
+    // RequestDeadlineFilter tarafindan tuketilir.
+
+    /**
+     * true ise istemcinin {@code X-Request-Deadline-Ms} header'i veya
+     * {@code deadlineMs} query parametresi dikkate alinir: OCSP/CRL/AIA
+     * timeout'lari ve retry backoff'lari kalan butceyle sinirlanir.
+     * Default acik (header gonderilmezse davranis degismez).
+     */
+    @Value("${verification.deadline.enabled:true}")
+    private boolean deadlineEnabled;
+
+    /**
+     * Istemci deadline gondermediginde uygulanan butce (ms). 0 ise
+     * deadline yok (yalniz konfigure edilmis HTTP timeout'lari). Default 0.
+     */
+    @Value("${verification.deadline.default-ms:0}")
+    private long deadlineDefaultMs;
+
+    // --- Istemci kopunca iptal ---
+    // ClientDisconnectValve tarafindan tuketilir.
+
+    /**
+     * true ise dogrulama sirasinda istemci baglantisinin kopup kopmadigi
+     * asama sinirlarinda ve OCSP/CRL/AIA fetch'lerinden once kontrol edilir;
+     * kopmussa kalan is (fetch, rapor parse, bildirim) birakilir. Default acik.
+     */
+    @Value("${verification.cancellation.enabled:true}")
+    private boolean cancellationEnabled;
+
+    /**
+     * Iki baglanti kontrolu (soket probe'u) arasindaki en kisa sure (ms).
+     * Arada onceki sonuc kullanilir. Default 250.
+     */
+    @Value("${verification.cancellation.probe-interval-ms:250}")
+    private long cancellationProbeIntervalMs;
+
+    // --- Acilis isinmasi (warm-up) konfigurasyonu ---
+    // VerificationWarmUp tarafindan tuketilir.
+
+    /**
+     * true ise uygulama hazir olunca sentetik XAdES/CAdES/PAdES ve zaman
+     * damgasi dogrulamalariyla JIT/JAXB/kripto isinmasi yapilir; bitene kadar
+     * readiness OUT_OF_SERVICE doner. Default true.
+     */
+    @Value("${verification.warmup.enabled:true}")
+    private boolean warmUpEnabled;
+
+    /**
+     * Her ornek icin isinma dogrulamasi sayisi. 0 veya negatif: isinma yok.
+     * Default 25.
+     */
+    @Value("${verification.warmup.iterations:25}")
+    private int warmUpIterations;
+
+    /**
+     * Isinmanin readiness'i bekletebilecegi en uzun sure (saniye). Asilinca
+     * kalan iterasyonlar atlanir ve pod hazir sayilir. Default 120.
+     */
+    @Value("${verification.warmup.max-duration-seconds:120}")
+    private long warmUpMaxDurationSeconds;
+
+    // --- Toplu (batch) dogrulama konfigurasyonu ---
+    // BatchSignatureVerificationService tarafindan tuketilir.
+
+    /**
+     * Tek bir batch isteginde kabul edilen maksimum dokuman sayisi. Asilirsa
+     * istek hic islenmeden 400 doner. Default 100 — tipik e-Fatura paketleri
+     * icin yeterli; multipart toplam boyut limiti (200 MB) ayrica gecerlidir.
+     */
+    @Value("${verification.batch.max-items:100}")
+    private int batchMaxItems;
+
+    /**
+     * Batch dokumanlarini paralel dogrulayan sabit boyutlu havuzun thread
+     * sayisi. Havuz tum batch istekleri arasinda PAYLASILIR — yani pod
+     * basina eszamanli batch dogrulama sayisinin ust siniri budur; Tomcat
+     * worker'lari bu havuzu asla buyutmez. Default 4.
+     */
+    @Value("${verification.batch.parallelism:4}")
+    private int batchParallelism;
+
+    /**
+     * Batch havuzunun bekleme kuyrugu kapasitesi. Kuyruk doluyken gelen
+     * dokumanlar reddedilir ve NDJSON'da {@code BATCH_CAPACITY_EXCEEDED}
+     * hatasiyla doner (istemci yalnizca onlari tekrar gonderir). Default 256.
+     */
+    @Value("${verification.batch.queue-capacity:256}")
+    private int batchQueueCapacity;
+
+    // --- Asenkron dogrulama isi (job) konfigurasyonu ---
+    // VerificationJobService tarafindan tuketilir.
+
+    /**
+     * Asenkron isleri calistiran sabit boyutlu havuzun thread sayisi.
+     * Senkron endpoint'lerden ve batch havuzundan bagimsizdir. Default 2.
+     */
+    @Value("${verification.jobs.parallelism:2}")
+    private int jobsParallelism;
+
+    /**
+     * Baslamayi bekleyen is kuyrugunun kapasitesi. Kuyruk doluyken gelen
+     * gonderim HTTP 429 + {@code Retry-After} ile reddedilir. Kuyruktaki
+     * isler dokumanlarini tutar (esigin altindakiler heap'te, ustundekiler
+     * spill dosyasinda); bellek ust siniri yaklasik
+     * {@code queue-capacity x spill-threshold-bytes}. Default 32.
+     */
+    @Value("${verification.jobs.queue-capacity:32}")
+    private int jobsQueueCapacity;
+
+    /**
+     * Tamamlanan (COMPLETED/FAILED) is sonucunun saklanma suresi (saniye).
+     * Sure dolunca sonuc silinir ve sorgu 404 doner. Default 900 (15 dk).
+     */
+    @Value("${verification.jobs.result-ttl-seconds:900}")
+    private long jobsResultTtlSeconds;
+
+    /**
+     * Bellekte tutulan maksimum is kaydi sayisi (kuyrukta + calisan +
+     * tamamlanmis). Asilirsa en eski sonuclar TTL'i beklemeden atilir.
+     * Default 1000.
+     */
+    @Value("${verification.jobs.max-stored:1000}")
+    private long jobsMaxStored;
+
+    /**
+     * Long-poll sorgusunda ({@code waitSeconds}) kabul edilen maksimum
+     * bekleme suresi (saniye). Daha buyuk istekler bu degere kirpilir.
+     * Default 30.
+     */
+    @Value("${verification.jobs.max-wait-seconds:30}")
+    private long jobsMaxWaitSeconds;
+
+    /**
+     * Kuyruk doluyken donen {@code Retry-After} degeri (saniye). Default 5.
+     */
+    @Value("${verification.jobs.retry-after-seconds:5}")
+    private long jobsRetryAfterSeconds;
+
+    // --- Kabul kontrolu (admission / bulkhead) ---
+    // VerificationAdmissionControl + AdmissionControlFilter tarafindan tuketilir.
+
+    /**
+     * Senkron imza ve zaman damgasi endpoint'lerinin onundeki eszamanlilik
+     * sinirlayicisini acar/kapatir. Kapaliyken tum istekler eskisi gibi
+     * dogrudan Tomcat havuzuna duser. Default acik.
+     */
+    @Value("${verification.admission.enabled:true}")
+    private boolean admissionEnabled;
+
+    /**
+     * Limit yuksek gecikmede bu degerin altina inmez. Default 1.
+     */
+    @Value("${verification.admission.min-limit:1}")
+    private int admissionMinLimit;
+
+    /**
+     * Limit doluyken bir istegin kuyrukta bekleyebilecegi en uzun sure (ms).
+     * Kisa tutulmali — amac Tomcat thread'lerini dakikalarca bekletmek
+     * degil, anlik dalgalanmayi sondurmek. Default 2000.
+     */
+    @Value("${verification.admission.max-wait-ms:2000}")
+    private long admissionMaxWaitMs;
+
+    /**
+     * Imza endpoint'leri ({@code /signature}, {@code /xades}, {@code /pades},
+     * {@code /cades}) icin baslangic eszamanlilik limiti. Default 32.
+     */
+    @Value("${verification.admission.signature.initial-limit:32}")
+    private int admissionSignatureInitialLimit;
+
+    /**
+     * Imza endpoint'leri icin limitin buyuyebilecegi ust sinir. Tomcat
+     * {@code server.tomcat.threads.max} (default 200) degerinin altinda
+     * kalmali. Default 128.
+     */
+    @Value("${verification.admission.signature.max-limit:128}")
+    private int admissionSignatureMaxLimit;
+
+    /**
+     * Imza endpoint'leri icin bekleme kuyrugu uzunlugu. Default 32.
+     */
+    @Value("${verification.admission.signature.queue-size:32}")
+    private int admissionSignatureQueueSize;
+
+    /**
+     * Imza dogrulamasi icin hedef gecikme (ms). Tamamlanan istek bunu
+     * asarsa limit carpimsal kuculur, altindaysa yavasca buyur (AIMD).
+     * {@code mdss_verification_duration_seconds} p99'unun biraz ustune
+     * ayarlanmali. Default 10000.
+     */
+    @Value("${verification.admission.signature.target-latency-ms:10000}")
+    private long admissionSignatureTargetLatencyMs;
+
+    /**
+     * Zaman damgasi endpoint'i icin baslangic eszamanlilik limiti. Default 64.
+     */
+    @Value("${verification.admission.timestamp.initial-limit:64}")
+    private int admissionTimestampInitialLimit;
+
+    /**
+     * Zaman damgasi endpoint'i icin limit ust siniri. Default 128.
+     */
+    @Value("${verification.admission.timestamp.max-limit:128}")
+    private int admissionTimestampMaxLimit;
+
+    /**
+     * Zaman damgasi endpoint'i icin bekleme kuyrugu uzunlugu. Default 64.
+     */
+    @Value("${verification.admission.timestamp.queue-size:64}")
+    private int admissionTimestampQueueSize;
+
+    /**
+     * Zaman damgasi dogrulamasi icin hedef gecikme (ms). Default 3000.
+     */
+    @Value("${verification.admission.timestamp.target-latency-ms:3000}")
+    private long admissionTimestampTargetLatencyMs;
+
+    /**
+     * Imza isteklerini boyut sinifina gore ayri yurutme seritlerine (lane)
+     * boler: kucuk dokumanlar {@code signature.*}, buyukler
+     * {@code signature-large.*} limitini kullanir — 150 MB'lik bir PAdES
+     * 5 KB'lik e-Faturalari bekletmez. Kapaliyken tum imza istekleri tek
+     * {@code signature} limitini paylasir. Default acik.
+     */
+    @Value("${verification.admission.lanes.enabled:true}")
+    private boolean admissionLanesEnabled;
+
+    /**
+     * Bu boyutu (byte) asan veya boyutu bilinmeyen (chunked) imza istekleri
+     * buyuk serite duser. Default 4 MB.
+     */
+    @Value("${verification.admission.lanes.large-threshold-bytes:4194304}")
+    private long admissionLanesLargeThresholdBytes;
+
+    /**
+     * XML (XAdES) dokumanlar icin buyuk serit esigi (byte). XML DOM'a
+     * yuklendigi icin bellekte boyutunun birkac kati yer kaplar; bu yuzden
+     * esik daha dusuk. Default 1 MB.
+     */
+    @Value("${verification.admission.lanes.xml-large-threshold-bytes:1048576}")
+    private long admissionLanesXmlLargeThresholdBytes;
+
+    /**
+     * Buyuk imza seridi icin baslangic eszamanlilik limiti. Default 4.
+     */
+    @Value("${verification.admission.signature-large.initial-limit:4}")
+    private int admissionSignatureLargeInitialLimit;
+
+    /**
+     * Buyuk imza seridi icin limit ust siniri. Heap ve spill diski buna gore
+     * boyutlandirilmali. Default 8.
+     */
+    @Value("${verification.admission.signature-large.max-limit:8}")
+    private int admissionSignatureLargeMaxLimit;
+
+    /**
+     * Buyuk imza seridi icin bekleme kuyrugu uzunlugu. Default 8.
+     */
+    @Value("${verification.admission.signature-large.queue-size:8}")
+    private int admissionSignatureLargeQueueSize;
+
+    /**
+     * Buyuk imza seridi icin hedef gecikme (ms). Default 60000.
+     */
+    @Value("${verification.admission.signature-large.target-latency-ms:60000}")
+    private long admissionSignatureLargeTargetLatencyMs;
+
     public String getCertStorePath() {
         return certStorePath;
     }
@@ -445,6 +896,54 @@ public class VerificationConfiguration {
         this.crlCacheMaxSize = crlCacheMaxSize;
     }
 
+    public boolean isRevocationDiskStoreEnabled() {
+        return revocationDiskStoreEnabled;
+    }
+
+    public void setRevocationDiskStoreEnabled(boolean revocationDiskStoreEnabled) {
+        this.revocationDiskStoreEnabled = revocationDiskStoreEnabled;
+    }
+
+    public String getRevocationDiskStoreDirectory() {
+        return revocationDiskStoreDirectory;
+    }
+
+    public void setRevocationDiskStoreDirectory(String revocationDiskStoreDirectory) {
+        this.revocationDiskStoreDirectory = revocationDiskStoreDirectory;
+    }
+
+    public boolean isRevocationRefreshAheadEnabled() {
+        return revocationRefreshAheadEnabled;
+    }
+
+    public void setRevocationRefreshAheadEnabled(boolean revocationRefreshAheadEnabled) {
+        this.revocationRefreshAheadEnabled = revocationRefreshAheadEnabled;
+    }
+
+    public long getRevocationRefreshAheadWindowSeconds() {
+        return revocationRefreshAheadWindowSeconds;
+    }
+
+    public void setRevocationRefreshAheadWindowSeconds(long revocationRefreshAheadWindowSeconds) {
+        this.revocationRefreshAheadWindowSeconds = revocationRefreshAheadWindowSeconds;
+    }
+
+    public long getRevocationRefreshAheadScanIntervalSeconds() {
+        return revocationRefreshAheadScanIntervalSeconds;
+    }
+
+    public void setRevocationRefreshAheadScanIntervalSeconds(long revocationRefreshAheadScanIntervalSeconds) {
+        this.revocationRefreshAheadScanIntervalSeconds = revocationRefreshAheadScanIntervalSeconds;
+    }
+
+    public int getRevocationRefreshAheadThreads() {
+        return revocationRefreshAheadThreads;
+    }
+
+    public void setRevocationRefreshAheadThreads(int revocationRefreshAheadThreads) {
+        this.revocationRefreshAheadThreads = revocationRefreshAheadThreads;
+    }
+
     public boolean isRevocationRetryEnabled() {
         return revocationRetryEnabled;
     }
@@ -541,6 +1040,390 @@ public class VerificationConfiguration {
         this.i18nLocale = i18nLocale;
     }
 
+    public long getIngestSpillThresholdBytes() {
+        return ingestSpillThresholdBytes;
+    }
+
+    public void setIngestSpillThresholdBytes(long ingestSpillThresholdBytes) {
+        this.ingestSpillThresholdBytes = ingestSpillThresholdBytes;
+    }
+
+    public String getIngestTempDir() {
+        return ingestTempDir;
+    }
+
+    public void setIngestTempDir(String ingestTempDir) {
+        this.ingestTempDir = ingestTempDir;
+    }
+
+    public long getIngestMaxBodyBytes() {
+        return ingestMaxBodyBytes;
+    }
+
+    public void setIngestMaxBodyBytes(long ingestMaxBodyBytes) {
+        this.ingestMaxBodyBytes = ingestMaxBodyBytes;
+    }
+
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
+    public void setCompressionEnabled(boolean compressionEnabled) {
+        this.compressionEnabled = compressionEnabled;
+    }
+
+    public long getCompressionMaxDecompressedBytes() {
+        return compressionMaxDecompressedBytes;
+    }
+
+    public void setCompressionMaxDecompressedBytes(long compressionMaxDecompressedBytes) {
+        this.compressionMaxDecompressedBytes = compressionMaxDecompressedBytes;
+    }
+
+    public int getCompressionMaxRatio() {
+        return compressionMaxRatio;
+    }
+
+    public void setCompressionMaxRatio(int compressionMaxRatio) {
+        this.compressionMaxRatio = compressionMaxRatio;
+    }
+
+    public boolean isResultCacheEnabled() {
+        return resultCacheEnabled;
+    }
+
+    public void setResultCacheEnabled(boolean resultCacheEnabled) {
+        this.resultCacheEnabled = resultCacheEnabled;
+    }
+
+    public long getResultCacheMaxEntries() {
+        return resultCacheMaxEntries;
+    }
+
+    public void setResultCacheMaxEntries(long resultCacheMaxEntries) {
+        this.resultCacheMaxEntries = resultCacheMaxEntries;
+    }
+
+    public long getResultCacheMaxAgeSeconds() {
+        return resultCacheMaxAgeSeconds;
+    }
+
+    public void setResultCacheMaxAgeSeconds(long resultCacheMaxAgeSeconds) {
+        this.resultCacheMaxAgeSeconds = resultCacheMaxAgeSeconds;
+    }
+
+    public int getParseParallelThreshold() {
+        return parseParallelThreshold;
+    }
+
+    public void setParseParallelThreshold(int parseParallelThreshold) {
+        this.parseParallelThreshold = parseParallelThreshold;
+    }
+
+    public int getParseParallelism() {
+        return parseParallelism;
+    }
+
+    public void setParseParallelism(int parseParallelism) {
+        this.parseParallelism = parseParallelism;
+    }
+
+    public boolean isSimpleLeanModeEnabled() {
+        return simpleLeanModeEnabled;
+    }
+
+    public void setSimpleLeanModeEnabled(boolean simpleLeanModeEnabled) {
+        this.simpleLeanModeEnabled = simpleLeanModeEnabled;
+    }
+
+    public boolean isWarmUpEnabled() {
+        return warmUpEnabled;
+    }
+
+    public void setWarmUpEnabled(boolean warmUpEnabled) {
+        this.warmUpEnabled = warmUpEnabled;
+    }
+
+    public int getWarmUpIterations() {
+        return warmUpIterations;
+    }
+
+    public void setWarmUpIterations(int warmUpIterations) {
+        this.warmUpIterations = warmUpIterations;
+    }
+
+    public long getWarmUpMaxDurationSeconds() {
+        return warmUpMaxDurationSeconds;
+    }
+
+    public void setWarmUpMaxDurationSeconds(long warmUpMaxDurationSeconds) {
+        this.warmUpMaxDurationSeconds = warmUpMaxDurationSeconds;
+    }
+
+    public boolean isIntegrityCacheEnabled() {
+        return integrityCacheEnabled;
+    }
+
+    public void setIntegrityCacheEnabled(boolean integrityCacheEnabled) {
+        this.integrityCacheEnabled = integrityCacheEnabled;
+    }
+
+    public long getIntegrityCacheMaxEntries() {
+        return integrityCacheMaxEntries;
+    }
+
+    public void setIntegrityCacheMaxEntries(long integrityCacheMaxEntries) {
+        this.integrityCacheMaxEntries = integrityCacheMaxEntries;
+    }
+
+    public boolean isDeadlineEnabled() {
+        return deadlineEnabled;
+    }
+
+    public void setDeadlineEnabled(boolean deadlineEnabled) {
+        this.deadlineEnabled = deadlineEnabled;
+    }
+
+    public long getDeadlineDefaultMs() {
+        return deadlineDefaultMs;
+    }
+
+    public void setDeadlineDefaultMs(long deadlineDefaultMs) {
+        this.deadlineDefaultMs = deadlineDefaultMs;
+    }
+
+    public boolean isCancellationEnabled() {
+        return cancellationEnabled;
+    }
+
+    public void setCancellationEnabled(boolean cancellationEnabled) {
+        this.cancellationEnabled = cancellationEnabled;
+    }
+
+    public long getCancellationProbeIntervalMs() {
+        return cancellationProbeIntervalMs;
+    }
+
+    public void setCancellationProbeIntervalMs(long cancellationProbeIntervalMs) {
+        this.cancellationProbeIntervalMs = cancellationProbeIntervalMs;
+    }
+
+    public int getBatchMaxItems() {
+        return batchMaxItems;
+    }
+
+    public void setBatchMaxItems(int batchMaxItems) {
+        this.batchMaxItems = batchMaxItems;
+    }
+
+    public int getBatchParallelism() {
+        return batchParallelism;
+    }
+
+    public void setBatchParallelism(int batchParallelism) {
+        this.batchParallelism = batchParallelism;
+    }
+
+    public int getBatchQueueCapacity() {
+        return batchQueueCapacity;
+    }
+
+    public void setBatchQueueCapacity(int batchQueueCapacity) {
+        this.batchQueueCapacity = batchQueueCapacity;
+    }
+
+    public int getJobsParallelism() {
+        return jobsParallelism;
+    }
+
+    public void setJobsParallelism(int jobsParallelism) {
+        this.jobsParallelism = jobsParallelism;
+    }
+
+    public int getJobsQueueCapacity() {
+        return jobsQueueCapacity;
+    }
+
+    public void setJobsQueueCapacity(int jobsQueueCapacity) {
+        this.jobsQueueCapacity = jobsQueueCapacity;
+    }
+
+    public long getJobsResultTtlSeconds() {
+        return jobsResultTtlSeconds;
+    }
+
+    public void setJobsResultTtlSeconds(long jobsResultTtlSeconds) {
+        this.jobsResultTtlSeconds = jobsResultTtlSeconds;
+    }
+
+    public long getJobsMaxStored() {
+        return jobsMaxStored;
+    }
+
+    public void setJobsMaxStored(long jobsMaxStored) {
+        this.jobsMaxStored = jobsMaxStored;
+    }
+
+    public long getJobsMaxWaitSeconds() {
+        return jobsMaxWaitSeconds;
+    }
+
+    public void setJobsMaxWaitSeconds(long jobsMaxWaitSeconds) {
+        this.jobsMaxWaitSeconds = jobsMaxWaitSeconds;
+    }
+
+    public long getJobsRetryAfterSeconds() {
+        return jobsRetryAfterSeconds;
+    }
+
+    public void setJobsRetryAfterSeconds(long jobsRetryAfterSeconds) {
+        this.jobsRetryAfterSeconds = jobsRetryAfterSeconds;
+    }
+
+    public boolean isAdmissionEnabled() {
+        return admissionEnabled;
+    }
+
+    public void setAdmissionEnabled(boolean admissionEnabled) {
+        this.admissionEnabled = admissionEnabled;
+    }
+
+    public int getAdmissionMinLimit() {
+        return admissionMinLimit;
+    }
+
+    public void setAdmissionMinLimit(int admissionMinLimit) {
+        this.admissionMinLimit = admissionMinLimit;
+    }
+
+    public long getAdmissionMaxWaitMs() {
+        return admissionMaxWaitMs;
+    }
+
+    public void setAdmissionMaxWaitMs(long admissionMaxWaitMs) {
+        this.admissionMaxWaitMs = admissionMaxWaitMs;
+    }
+
+    public int getAdmissionSignatureInitialLimit() {
+        return admissionSignatureInitialLimit;
+    }
+
+    public void setAdmissionSignatureInitialLimit(int admissionSignatureInitialLimit) {
+        this.admissionSignatureInitialLimit = admissionSignatureInitialLimit;
+    }
+
+    public int getAdmissionSignatureMaxLimit() {
+        return admissionSignatureMaxLimit;
+    }
+
+    public void setAdmissionSignatureMaxLimit(int admissionSignatureMaxLimit) {
+        this.admissionSignatureMaxLimit = admissionSignatureMaxLimit;
+    }
+
+    public int getAdmissionSignatureQueueSize() {
+        return admissionSignatureQueueSize;
+    }
+
+    public void setAdmissionSignatureQueueSize(int admissionSignatureQueueSize) {
+        this.admissionSignatureQueueSize = admissionSignatureQueueSize;
+    }
+
+    public long getAdmissionSignatureTargetLatencyMs() {
+        return admissionSignatureTargetLatencyMs;
+    }
+
+    public void setAdmissionSignatureTargetLatencyMs(long admissionSignatureTargetLatencyMs) {
+        this.admissionSignatureTargetLatencyMs = admissionSignatureTargetLatencyMs;
+    }
+
+    public int getAdmissionTimestampInitialLimit() {
+        return admissionTimestampInitialLimit;
+    }
+
+    public void setAdmissionTimestampInitialLimit(int admissionTimestampInitialLimit) {
+        this.admissionTimestampInitialLimit = admissionTimestampInitialLimit;
+    }
+
+    public int getAdmissionTimestampMaxLimit() {
+        return admissionTimestampMaxLimit;
+    }
+
+    public void setAdmissionTimestampMaxLimit(int admissionTimestampMaxLimit) {
+        this.admissionTimestampMaxLimit = admissionTimestampMaxLimit;
+    }
+
+    public int getAdmissionTimestampQueueSize() {
+        return admissionTimestampQueueSize;
+    }
+
+    public void setAdmissionTimestampQueueSize(int admissionTimestampQueueSize) {
+        this.admissionTimestampQueueSize = admissionTimestampQueueSize;
+    }
+
+    public long getAdmissionTimestampTargetLatencyMs() {
+        return admissionTimestampTargetLatencyMs;
+    }
+
+    public void setAdmissionTimestampTargetLatencyMs(long admissionTimestampTargetLatencyMs) {
+        this.admissionTimestampTargetLatencyMs = admissionTimestampTargetLatencyMs;
+    }
+
+    public boolean isAdmissionLanesEnabled() {
+        return admissionLanesEnabled;
+    }
+
+    public void setAdmissionLanesEnabled(boolean admissionLanesEnabled) {
+        this.admissionLanesEnabled = admissionLanesEnabled;
+    }
+
+    public long getAdmissionLanesLargeThresholdBytes() {
+        return admissionLanesLargeThresholdBytes;
+    }
+
+    public void setAdmissionLanesLargeThresholdBytes(long admissionLanesLargeThresholdBytes) {
+        this.admissionLanesLargeThresholdBytes = admissionLanesLargeThresholdBytes;
+    }
+
+    public long getAdmissionLanesXmlLargeThresholdBytes() {
+        return admissionLanesXmlLargeThresholdBytes;
+    }
+
+    public void setAdmissionLanesXmlLargeThresholdBytes(long admissionLanesXmlLargeThresholdBytes) {
+        this.admissionLanesXmlLargeThresholdBytes = admissionLanesXmlLargeThresholdBytes;
+    }
+
+    public int getAdmissionSignatureLargeInitialLimit() {
+        return admissionSignatureLargeInitialLimit;
+    }
+
+    public void setAdmissionSignatureLargeInitialLimit(int admissionSignatureLargeInitialLimit) {
+        this.admissionSignatureLargeInitialLimit = admissionSignatureLargeInitialLimit;
+    }
+
+    public int getAdmissionSignatureLargeMaxLimit() {
+        return admissionSignatureLargeMaxLimit;
+    }
+
+    public void setAdmissionSignatureLargeMaxLimit(int admissionSignatureLargeMaxLimit) {
+        this.admissionSignatureLargeMaxLimit = admissionSignatureLargeMaxLimit;
+    }
+
+    public int getAdmissionSignatureLargeQueueSize() {
+        return admissionSignatureLargeQueueSize;
+    }
+
+    public void setAdmissionSignatureLargeQueueSize(int admissionSignatureLargeQueueSize) {
+        this.admissionSignatureLargeQueueSize = admissionSignatureLargeQueueSize;
+    }
+
+    public long getAdmissionSignatureLargeTargetLatencyMs() {
+        return admissionSignatureLargeTargetLatencyMs;
+    }
+
+    public void setAdmissionSignatureLargeTargetLatencyMs(long admissionSignatureLargeTargetLatencyMs) {
+        this.admissionSignatureLargeTargetLatencyMs = admissionSignatureLargeTargetLatencyMs;
+    }
+
     /**
      * Default locale tag — config tag boş veya geçersizse buna düşülür.
      * Türkçe ekosistem için <code>tr</code>; eksik mesaj olduğunda DSS
@@ -1,10 +1,14 @@
 package io.mersel.dss.verify.api.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.mersel.dss.verify.api.dtos.TimestampVerificationResponseDto;
+import io.mersel.dss.verify.api.models.BatchVerificationItem;
 import io.mersel.dss.verify.api.models.VerificationResult;
 import io.mersel.dss.verify.api.models.enums.VerificationLevel;
 import io.mersel.dss.verify.api.services.timestamp.AdvancedTimestampVerificationService;
 import io.mersel.dss.verify.api.services.verification.AdvancedSignatureVerificationService;
+import io.mersel.dss.verify.api.services.verification.BatchSignatureVerificationService;
+import io.mersel.dss.verify.api.services.verification.VerificationResultStreamWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -19,6 +23,12 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
 /**
  * Birleşik doğrulama controller'ı
  * - Tüm imza formatlarını destekler (XAdES-BES, XAdES-A, PAdES, CAdES)
@@ -38,6 +48,16 @@ public class UnifiedVerificationController {
     @Autowired
     private AdvancedTimestampVerificationService advancedTimestampVerificationService;
 
+    @Autowired
+    private BatchSignatureVerificationService batchSignatureVerificationService;
+
+    /**
+     * Akışlı yanıt için Spring'in ObjectMapper'ı (global NON_NULL + tarih
+     * formatı); standalone test'lerde yoksa düz mapper.
+     */
+    @Autowired(required = false)
+    private ObjectMapper objectMapper;
+
     /**
      * İmza doğrulama - Tüm formatları destekler
      * XAdES: BES, EPES, T, C, X, XL, A
@@ -70,31 +90,257 @@ public class UnifiedVerificationController {
                       schema = @Schema(allowableValues = {"SIMPLE", "COMPREHENSIVE"}))
             @RequestParam(value = "level", defaultValue = "SIMPLE") String level,
 
+            @Parameter(description = "Built-in validation policy profili; boşsa sunucu default'u. "
+                    + "X-Policy-Profile header'ı ile de verilebilir (ikisi birden gelirse parametre kazanır)",
+                      schema = @Schema(allowableValues = {"signer-strict", "strict"}))
+            @RequestParam(value = "policy", required = false) String policy,
+            @RequestHeader(value = "X-Policy-Profile", required = false) String policyHeader,
+
             @Parameter(description = "Her imza için tüm BBB FAIL constraint'leri "
                     + "(ROOT_CAUSE + DERIVED + CASCADE) failedConstraints alanına "
                     + "eklensin mi? Default false — alan response'ta hiç görünmez; "
                     + "operatör yalnız tek bir rootCause görür. true ise her imzaya "
                     + "kategorize tam liste eklenir (audit/forensic için).")
-            @RequestParam(value = "includeFailedConstraints", defaultValue = "false") boolean includeFailedConstraints) {
+            @RequestParam(value = "includeFailedConstraints", defaultValue = "false") boolean includeFailedConstraints,
+
+            @Parameter(description = "Detached imzada orijinal doküman yerine gönderilen digest'in algoritması "
+                    + "(SHA-256, SHA-512, XMLDSig URI veya OID). İmzada kullanılan algoritmayla aynı olmalı.")
+            @RequestParam(value = "originalDigestAlgorithm", required = false) String originalDigestAlgorithm,
+
+            @Parameter(description = "Orijinal dokümanın digest'i (Base64 veya hex). originalDocument ile birlikte gönderilemez.")
+            @RequestParam(value = "originalDigestValue", required = false) String originalDigestValue,
+
+            @Parameter(description = "Digest ile doğrulamada orijinal dokümanın adı (XAdES referans URI eşlemesi için)")
+            @RequestParam(value = "originalFileName", required = false) String originalFileName,
+
+            @Parameter(description = "true ise yanıt JSON olarak imza imza akıtılır (büyük COMPREHENSIVE "
+                    + "raporlar için); signatures dizisi önce, özet alanlar sonda gelir. Default false.")
+            @RequestParam(value = "stream", defaultValue = "false") boolean stream,
 
-        logger.info("Unified signature verification request received. Level: {}, File: {}, includeFailedConstraints: {}",
-                level, signedDocument.getOriginalFilename(), includeFailedConstraints);
+            HttpServletResponse response) throws IOException {
+
+        String effectivePolicy = firstNonBlank(policy, policyHeader, null);
+        logger.info("Unified signature verification request received. Level: {}, Policy: {}, File: {}, "
+                        + "includeFailedConstraints: {}",
+                level, effectivePolicy, signedDocument.getOriginalFilename(), includeFailedConstraints);
 
         VerificationLevel verificationLevel = parseVerificationLevel(level);
-        
+
+        if (stream) {
+            boolean digest = hasDigest(originalDigestAlgorithm, originalDigestValue, originalDocument);
+            streamResult(response, sink -> digest
+                    ? advancedSignatureVerificationService.verifySignatureStreaming(
+                            signedDocument, originalDigestAlgorithm, originalDigestValue, originalFileName,
+                            verificationLevel, effectivePolicy, includeFailedConstraints, sink)
+                    : advancedSignatureVerificationService.verifySignatureStreaming(
+                            signedDocument, originalDocument, verificationLevel, effectivePolicy,
+                            includeFailedConstraints, sink));
+            return null;
+        }
+
+        return verifyBuffered(signedDocument, originalDocument, verificationLevel, effectivePolicy,
+                includeFailedConstraints, originalDigestAlgorithm, originalDigestValue, originalFileName);
+    }
+
+    /** Klasik (tüm sonuç bellekte, tek seferde serileştirilen) multipart doğrulama. */
+    private ResponseEntity<VerificationResult> verifyBuffered(
+            MultipartFile signedDocument,
+            MultipartFile originalDocument,
+            VerificationLevel verificationLevel,
+            String policy,
+            boolean includeFailedConstraints,
+            String originalDigestAlgorithm,
+            String originalDigestValue,
+            String originalFileName) {
+
+        VerificationResult result;
+        if (hasDigest(originalDigestAlgorithm, originalDigestValue, originalDocument)) {
+            result = advancedSignatureVerificationService.verifySignature(
+                    signedDocument,
+                    originalDigestAlgorithm,
+                    originalDigestValue,
+                    originalFileName,
+                    verificationLevel,
+                    policy,
+                    includeFailedConstraints
+            );
+        } else {
+            result = advancedSignatureVerificationService.verifySignature(
+                    signedDocument,
+                    originalDocument,
+                    verificationLevel,
+                    policy,
+                    includeFailedConstraints
+            );
+        }
+
+        logger.info("Verification completed. Valid: {}, Type: {}", 
+                result.isValid(), result.getSignatureType());
+
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * İmza doğrulama — ham gövde (multipart'sız).
+     *
+     * <p>Yüksek hacimli e-Fatura istemcileri için: doküman doğrudan istek
+     * gövdesinde gelir ({@code application/octet-stream},
+     * {@code application/pdf}, {@code application/xml}, {@code text/xml}).
+     * Multipart parser'ın ara temp dosyası ve {@code getBytes()} kopyası
+     * oluşmaz; gövde tek geçişte DSS dokümanına çevrilir. Parametreler query
+     * string veya header ile verilir; ikisi birden gelirse query kazanır.</p>
+     */
+    @PostMapping(value = "/signature", consumes = {
+            MediaType.APPLICATION_OCTET_STREAM_VALUE,
+            MediaType.APPLICATION_PDF_VALUE,
+            MediaType.APPLICATION_XML_VALUE,
+            MediaType.TEXT_XML_VALUE
+    })
+    @Operation(
+        summary = "İmza doğrulama (ham gövde)",
+        description = "İmzalı dokümanı multipart olmadan, doğrudan istek gövdesinde alır. " +
+                      "Enveloped/enveloping XAdES, PAdES ve attached CAdES içindir (detached yok). " +
+                      "level, policy, includeFailedConstraints ve fileName query parametresi veya " +
+                      "X-Verification-Level, X-Policy-Profile, X-Include-Failed-Constraints, " +
+                      "X-File-Name header'ları ile verilebilir.",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Doğrulama başarılı",
+                content = @Content(schema = @Schema(implementation = VerificationResult.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Geçersiz istek"),
+            @ApiResponse(responseCode = "413", description = "Gövde boyut sınırı aşıldı"),
+            @ApiResponse(responseCode = "500", description = "Sunucu hatası")
+        }
+    )
+    public ResponseEntity<VerificationResult> verifySignatureRaw(
+            HttpServletRequest request,
+
+            @Parameter(description = "Doğrulama seviyesi: SIMPLE (basit) veya COMPREHENSIVE (kapsamlı)",
+                      schema = @Schema(allowableValues = {"SIMPLE", "COMPREHENSIVE"}))
+            @RequestParam(value = "level", required = false) String level,
+            @RequestHeader(value = "X-Verification-Level", required = false) String levelHeader,
+
+            @Parameter(description = "Built-in validation policy profili; boşsa sunucu default'u",
+                      schema = @Schema(allowableValues = {"signer-strict", "strict"}))
+            @RequestParam(value = "policy", required = false) String policy,
+            @RequestHeader(value = "X-Policy-Profile", required = false) String policyHeader,
+
+            @Parameter(description = "Her imza için tüm BBB FAIL constraint'leri eklensin mi? Default false.")
+            @RequestParam(value = "includeFailedConstraints", required = false) Boolean includeFailedConstraints,
+            @RequestHeader(value = "X-Include-Failed-Constraints", required = false) Boolean includeFailedConstraintsHeader,
+
+            @Parameter(description = "Doküman adı (log/bildirim için, opsiyonel)")
+            @RequestParam(value = "fileName", required = false) String fileName,
+            @RequestHeader(value = "X-File-Name", required = false) String fileNameHeader,
+
+            @Parameter(description = "true ise yanıt JSON olarak imza imza akıtılır. Default false.")
+            @RequestParam(value = "stream", required = false) Boolean stream,
+            @RequestHeader(value = "X-Stream-Response", required = false) Boolean streamHeader,
+
+            HttpServletResponse response) throws IOException {
+
+        String effectiveLevel = firstNonBlank(level, levelHeader, "SIMPLE");
+        String effectivePolicy = firstNonBlank(policy, policyHeader, null);
+        boolean effectiveIncludeFailed = includeFailedConstraints != null
+                ? includeFailedConstraints
+                : Boolean.TRUE.equals(includeFailedConstraintsHeader);
+        String effectiveFileName = firstNonBlank(fileName, fileNameHeader, null);
+
+        logger.info("Raw-body signature verification request received. Level: {}, Policy: {}, File: {}, "
+                        + "ContentType: {}, ContentLength: {}, includeFailedConstraints: {}",
+                effectiveLevel, effectivePolicy, effectiveFileName, request.getContentType(),
+                request.getContentLengthLong(), effectiveIncludeFailed);
+
+        boolean effectiveStream = stream != null ? stream : Boolean.TRUE.equals(streamHeader);
+        if (effectiveStream) {
+            streamResult(response, sink -> advancedSignatureVerificationService.verifySignatureStreaming(
+                    request.getInputStream(),
+                    request.getContentLengthLong(),
+                    effectiveFileName,
+                    request.getContentType(),
+                    parseVerificationLevel(effectiveLevel),
+                    effectivePolicy,
+                    effectiveIncludeFailed,
+                    sink));
+            return null;
+        }
+
         VerificationResult result = advancedSignatureVerificationService.verifySignature(
-                signedDocument,
-                originalDocument,
-                verificationLevel,
-                includeFailedConstraints
+                request.getInputStream(),
+                request.getContentLengthLong(),
+                effectiveFileName,
+                request.getContentType(),
+                parseVerificationLevel(effectiveLevel),
+                effectivePolicy,
+                effectiveIncludeFailed
         );
 
-        logger.info("Verification completed. Valid: {}, Type: {}", 
+        logger.info("Verification completed. Valid: {}, Type: {}",
                 result.isValid(), result.getSignatureType());
 
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * Toplu imza doğrulama — NDJSON akışı.
+     *
+     * <p>Çok sayıda imzalı doküman tek istekte gelir; paralel doğrulanır ve
+     * her sonuç tamamlandığı anda bir satır olarak yazılır. Batch boyutu
+     * yanıt başlamadan kontrol edilir (aşılırsa normal JSON 400).</p>
+     */
+    @PostMapping(value = "/signature/batch",
+            consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+        summary = "Toplu imza doğrulama (NDJSON)",
+        description = "Birden çok imzalı dokümanı paralel doğrular. Yanıt application/x-ndjson: " +
+                      "her satır {index, fileName, result | error}. Satırlar tamamlanma sırasıyla " +
+                      "gelir; eşleştirme index ile yapılır. Bir dokümanın hatası diğerlerini etkilemez.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "NDJSON akışı başladı",
+                content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                        schema = @Schema(implementation = BatchVerificationItem.class))),
+            @ApiResponse(responseCode = "400", description = "Boş batch veya doküman sayısı sınırı aşıldı")
+        }
+    )
+    public void verifySignatureBatch(
+            @Parameter(description = "İmzalı doküman dosyaları (aynı alan adıyla birden çok parça)", required = true)
+            @RequestParam("signedDocuments") List<MultipartFile> signedDocuments,
+
+            @Parameter(description = "Doğrulama seviyesi: SIMPLE (basit) veya COMPREHENSIVE (kapsamlı)",
+                      schema = @Schema(allowableValues = {"SIMPLE", "COMPREHENSIVE"}))
+            @RequestParam(value = "level", defaultValue = "SIMPLE") String level,
+
+            @Parameter(description = "Built-in validation policy profili; boşsa sunucu default'u. "
+                    + "X-Policy-Profile header'ı ile de verilebilir (ikisi birden gelirse parametre kazanır)",
+                      schema = @Schema(allowableValues = {"signer-strict", "strict"}))
+            @RequestParam(value = "policy", required = false) String policy,
+            @RequestHeader(value = "X-Policy-Profile", required = false) String policyHeader,
+
+            @Parameter(description = "Her imza için tüm BBB FAIL constraint'leri eklensin mi? Default false.")
+            @RequestParam(value = "includeFailedConstraints", defaultValue = "false") boolean includeFailedConstraints,
+
+            HttpServletResponse response) throws IOException {
+
+        String effectivePolicy = firstNonBlank(policy, policyHeader, null);
+        logger.info("Batch signature verification request received. Items: {}, Level: {}, Policy: {}",
+                signedDocuments != null ? signedDocuments.size() : 0, level, effectivePolicy);
+
+        batchSignatureVerificationService.validateBatch(signedDocuments, effectivePolicy);
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        batchSignatureVerificationService.verifyBatch(
+                signedDocuments,
+                parseVerificationLevel(level),
+                effectivePolicy,
+                includeFailedConstraints,
+                response.getOutputStream());
+    }
+
     /**
      * Zaman damgası doğrulama
      */
@@ -121,16 +367,36 @@ public class UnifiedVerificationController {
             @RequestParam(value = "originalData", required = false) MultipartFile originalData,
             
             @Parameter(description = "TSA sertifika doğrulaması yapılsın mı")
-            @RequestParam(value = "validateCertificate", defaultValue = "true") boolean validateCertificate) {
+            @RequestParam(value = "validateCertificate", defaultValue = "true") boolean validateCertificate,
+
+            @Parameter(description = "Orijinal veri yerine gönderilen digest'in algoritması (opsiyonel; "
+                    + "verilirse zaman damgasının message imprint algoritmasıyla aynı olmalı)")
+            @RequestParam(value = "originalDigestAlgorithm", required = false) String originalDigestAlgorithm,
+
+            @Parameter(description = "Orijinal verinin digest'i (Base64 veya hex). originalData ile birlikte gönderilemez.")
+            @RequestParam(value = "originalDigestValue", required = false) String originalDigestValue) {
 
         logger.info("Timestamp verification request received. ValidateCert: {}, File: {}", 
                 validateCertificate, timestampFile.getOriginalFilename());
 
-        TimestampVerificationResponseDto result = advancedTimestampVerificationService.verifyTimestamp(
-                timestampFile,
-                originalData,
-                validateCertificate
-        );
+        TimestampVerificationResponseDto result;
+        if (hasDigest(null, originalDigestValue, originalData)) {
+            result = advancedTimestampVerificationService.verifyTimestamp(
+                    timestampFile,
+                    originalDigestAlgorithm,
+                    originalDigestValue,
+                    validateCertificate
+            );
+        } else {
+            if (originalDigestAlgorithm != null && !originalDigestAlgorithm.trim().isEmpty()) {
+                throw new IllegalArgumentException("originalDigestAlgorithm yalnız originalDigestValue ile kullanılabilir");
+            }
+            result = advancedTimestampVerificationService.verifyTimestamp(
+                    timestampFile,
+                    originalData,
+                    validateCertificate
+            );
+        }
 
         logger.info("Timestamp verification completed. Valid: {}", result.isValid());
 
@@ -160,7 +426,8 @@ public class UnifiedVerificationController {
             @RequestParam(value = "includeFailedConstraints", defaultValue = "false") boolean includeFailedConstraints) {
 
         logger.info("XAdES verification request (legacy endpoint)");
-        return verifySignature(signedDocument, originalDocument, level, includeFailedConstraints);
+        return verifyBuffered(signedDocument, originalDocument, parseVerificationLevel(level), null,
+                includeFailedConstraints, null, null, null);
     }
 
     /**
@@ -185,7 +452,8 @@ public class UnifiedVerificationController {
             @RequestParam(value = "includeFailedConstraints", defaultValue = "false") boolean includeFailedConstraints) {
 
         logger.info("PAdES verification request (legacy endpoint)");
-        return verifySignature(signedDocument, null, level, includeFailedConstraints);
+        return verifyBuffered(signedDocument, null, parseVerificationLevel(level), null,
+                includeFailedConstraints, null, null, null);
     }
 
     /**
@@ -211,7 +479,75 @@ public class UnifiedVerificationController {
             @RequestParam(value = "includeFailedConstraints", defaultValue = "false") boolean includeFailedConstraints) {
 
         logger.info("CAdES verification request");
-        return verifySignature(signedDocument, originalDocument, level, includeFailedConstraints);
+        return verifyBuffered(signedDocument, originalDocument, parseVerificationLevel(level), null,
+                includeFailedConstraints, null, null, null);
+    }
+
+    /**
+     * Doğrulamayı akışlı JSON yanıtla çalıştırır: imzalar işlendikçe yazılır,
+     * özet alanlar sonda. Gövde ilk imzaya kadar başlamaz — ingest/DSS
+     * hataları (400/413) hâlâ normal JSON hata yanıtı olarak döner. Yanıt
+     * commit edildikten sonra oluşan hata artık statüye yansıtılamaz; gövde
+     * yarım kalır (istemci geçersiz JSON görür).
+     */
+    private void streamResult(HttpServletResponse response, StreamingVerification verification)
+            throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        VerificationResultStreamWriter writer = new VerificationResultStreamWriter(
+                objectMapper != null ? objectMapper : new ObjectMapper(), response.getOutputStream());
+        VerificationResult summary;
+        try {
+            summary = verification.run(writer);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            if (writer.isStarted() && !response.isCommitted()) {
+                // Yarım gövde henüz ağa gitmediyse sil — hata yanıtı temiz yazılsın.
+                response.resetBuffer();
+            }
+            throw e;
+        }
+        writer.finish(summary);
+
+        logger.info("Streaming verification completed. Valid: {}, Type: {}, Signatures: {}",
+                summary.isValid(), summary.getSignatureType(), writer.getWrittenCount());
+    }
+
+    @FunctionalInterface
+    private interface StreamingVerification {
+        VerificationResult run(VerificationResultStreamWriter sink) throws IOException;
+    }
+
+    private static String firstNonBlank(String first, String second, String fallback) {
+        if (first != null && !first.trim().isEmpty()) {
+            return first.trim();
+        }
+        if (second != null && !second.trim().isEmpty()) {
+            return second.trim();
+        }
+        return fallback;
+    }
+
+    /**
+     * Orijinal içerik yerine digest gönderilip gönderilmediğini belirler.
+     * Digest ve dosya birlikte gelirse hangisinin doğrulandığı belirsiz
+     * kalacağı için istek reddedilir (400).
+     */
+    private static boolean hasDigest(String digestAlgorithm, String digestValue, MultipartFile originalFile) {
+        boolean algorithmGiven = digestAlgorithm != null && !digestAlgorithm.trim().isEmpty();
+        boolean valueGiven = digestValue != null && !digestValue.trim().isEmpty();
+        if (!algorithmGiven && !valueGiven) {
+            return false;
+        }
+        if (originalFile != null && !originalFile.isEmpty()) {
+            throw new IllegalArgumentException("Orijinal doküman ve digest birlikte gönderilemez");
+        }
+        if (!valueGiven) {
+            throw new IllegalArgumentException("originalDigestAlgorithm yalnız originalDigestValue ile kullanılabilir");
+        }
+        return true;
     }
 
     /**
@@ -0,0 +1,162 @@
+package io.mersel.dss.verify.api.controllers;
+
+import io.mersel.dss.verify.api.config.VerificationConfiguration;
+import io.mersel.dss.verify.api.models.VerificationJobStatus;
+import io.mersel.dss.verify.api.models.enums.VerificationLevel;
+import io.mersel.dss.verify.api.services.verification.VerificationJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asenkron imza doğrulama işleri.
+ * - POST: dokümanı kuyruğa alır, 202 + jobId döner
+ * - GET: işin durumunu/sonucunu döner; waitSeconds ile long-poll
+ */
+@RestController
+@RequestMapping("/api/v1/verify/jobs")
+@Tag(name = "Verification Jobs", description = "Asenkron imza doğrulama işleri")
+public class VerificationJobController {
+
+    private static final Logger logger = LoggerFactory.getLogger(VerificationJobController.class);
+
+    @Autowired
+    private VerificationJobService verificationJobService;
+
+    @Autowired
+    private VerificationConfiguration verificationConfiguration;
+
+    @PostMapping(value = "/signature", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(
+        summary = "Asenkron imza doğrulama işi oluştur",
+        description = "Dokümanı doğrulama kuyruğuna alır ve hemen 202 + jobId döner. " +
+                      "Sonuç GET /api/v1/verify/jobs/{jobId} ile (waitSeconds ile long-poll) alınır. " +
+                      "provisional=true ile yanıtta ağa çıkmadan hesaplanan ön sonuç da döner.",
+        responses = {
+            @ApiResponse(
+                responseCode = "202",
+                description = "İş kuyruğa alındı",
+                content = @Content(schema = @Schema(implementation = VerificationJobStatus.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Geçersiz istek"),
+            @ApiResponse(responseCode = "429", description = "İş kuyruğu dolu (Retry-After header'ına bakın)"),
+            @ApiResponse(responseCode = "500", description = "Sunucu hatası")
+        }
+    )
+    public ResponseEntity<VerificationJobStatus> submitSignatureJob(
+            @Parameter(description = "İmzalı doküman dosyası (XML, PDF vb.)", required = true)
+            @RequestParam("signedDocument") MultipartFile signedDocument,
+
+            @Parameter(description = "Orijinal doküman (detached signature için)")
+            @RequestParam(value = "originalDocument", required = false) MultipartFile originalDocument,
+
+            @Parameter(description = "Doğrulama seviyesi: SIMPLE (basit) veya COMPREHENSIVE (kapsamlı)",
+                      schema = @Schema(allowableValues = {"SIMPLE", "COMPREHENSIVE"}))
+            @RequestParam(value = "level", defaultValue = "SIMPLE") String level,
+
+            @Parameter(description = "Built-in validation policy profili; boşsa sunucu default'u. "
+                    + "X-Policy-Profile header'ı ile de verilebilir (ikisi birden gelirse parametre kazanır)",
+                      schema = @Schema(allowableValues = {"signer-strict", "strict"}))
+            @RequestParam(value = "policy", required = false) String policy,
+            @RequestHeader(value = "X-Policy-Profile", required = false) String policyHeader,
+
+            @Parameter(description = "Her imza için tüm BBB FAIL constraint'leri failedConstraints alanına eklensin mi?")
+            @RequestParam(value = "includeFailedConstraints", defaultValue = "false") boolean includeFailedConstraints,
+
+            @Parameter(description = "true ise 202 yanıtında OCSP/CRL/AIA kontrolü yapılmadan hesaplanan ön sonuç "
+                    + "(provisionalResult: kriptografik bütünlük + güvenilir köke ulaşan zincir) döner; "
+                    + "kesin sonuç işin result alanına düşer")
+            @RequestParam(value = "provisional", defaultValue = "false") boolean provisional) {
+
+        String effectivePolicy = policy != null && !policy.trim().isEmpty() ? policy : policyHeader;
+        logger.info("Verification job request received. Level: {}, Policy: {}, File: {}, "
+                        + "includeFailedConstraints: {}, provisional: {}",
+                level, effectivePolicy, signedDocument.getOriginalFilename(), includeFailedConstraints, provisional);
+
+        VerificationJobStatus status = verificationJobService.submit(
+                signedDocument, originalDocument, parseVerificationLevel(level), effectivePolicy,
+                includeFailedConstraints, provisional);
+
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/v1/verify/jobs/{jobId}")
+                .buildAndExpand(status.getJobId())
+                .toUri();
+        return ResponseEntity.status(HttpStatus.ACCEPTED).location(location).body(status);
+    }
+
+    /**
+     * İş durumu. {@code waitSeconds > 0} ise iş bitene ya da süre dolana
+     * kadar yanıt bekletilir (long-poll); bekleme sırasında Tomcat thread'i
+     * serbesttir ({@link DeferredResult}). Süre dolarsa o anki durum döner.
+     */
+    @GetMapping("/{jobId}")
+    @Operation(
+        summary = "Asenkron doğrulama işinin durumu",
+        description = "QUEUED / RUNNING / COMPLETED / FAILED. COMPLETED'da result, FAILED'da error doludur. " +
+                      "waitSeconds ile iş bitene kadar (en fazla verification.jobs.max-wait-seconds) beklenir.",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "İş durumu",
+                content = @Content(schema = @Schema(implementation = VerificationJobStatus.class))
+            ),
+            @ApiResponse(responseCode = "404", description = "İş bulunamadı veya sonucun saklama süresi doldu")
+        }
+    )
+    public DeferredResult<VerificationJobStatus> getJob(
+            @PathVariable("jobId") String jobId,
+
+            @Parameter(description = "İş bitene kadar en fazla kaç saniye beklensin (0 = beklemeden dön)")
+            @RequestParam(value = "waitSeconds", defaultValue = "0") long waitSeconds) {
+
+        VerificationJobStatus current = verificationJobService.getStatus(jobId);
+        long effectiveWait = Math.min(Math.max(0L, waitSeconds),
+                Math.max(0L, verificationConfiguration.getJobsMaxWaitSeconds()));
+
+        if (effectiveWait == 0 || current.getState().isTerminal()) {
+            DeferredResult<VerificationJobStatus> immediate = new DeferredResult<>();
+            immediate.setResult(current);
+            return immediate;
+        }
+
+        DeferredResult<VerificationJobStatus> deferred =
+                new DeferredResult<>(TimeUnit.SECONDS.toMillis(effectiveWait));
+        deferred.onTimeout(() -> {
+            try {
+                deferred.setResult(verificationJobService.getStatus(jobId));
+            } catch (RuntimeException e) {
+                // Bekleme sırasında kayıt atıldıysa 404 — GlobalExceptionHandler'a düşer.
+                deferred.setErrorResult(e);
+            }
+        });
+        CompletableFuture<VerificationJobStatus> completion = verificationJobService.awaitCompletion(jobId);
+        completion.thenAccept(deferred::setResult);
+        return deferred;
+    }
+
+    private VerificationLevel parseVerificationLevel(String level) {
+        try {
+            return VerificationLevel.valueOf(level.toUpperCase());
+        } catch (Exception e) {
+            logger.warn("Invalid verification level: {}, using SIMPLE", level);
+            return VerificationLevel.SIMPLE;
+        }
+    }
+}
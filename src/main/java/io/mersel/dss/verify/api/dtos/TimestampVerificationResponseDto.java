@@ -21,6 +21,11 @@ public class TimestampVerificationResponseDto {
     private List<String> errors;
     private List<String> warnings;
     private Date verificationTime;
+    /**
+     * İstek deadline'ı TSA sertifikası revocation kontrolü sırasında
+     * aşıldıysa {@code true}; aksi halde {@code null} (JSON'a yazılmaz).
+     */
+    private Boolean deadlineExceeded;
 
     public TimestampVerificationResponseDto() {
         this.verificationTime = new Date();
@@ -112,5 +117,13 @@ public class TimestampVerificationResponseDto {
     public void setVerificationTime(Date verificationTime) {
         this.verificationTime = verificationTime;
     }
+
+    public Boolean getDeadlineExceeded() {
+        return deadlineExceeded;
+    }
+
+    public void setDeadlineExceeded(Boolean deadlineExceeded) {
+        this.deadlineExceeded = deadlineExceeded;
+    }
 }
 
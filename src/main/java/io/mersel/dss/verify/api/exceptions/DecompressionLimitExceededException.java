@@ -0,0 +1,12 @@
+package io.mersel.dss.verify.api.exceptions;
+
+/**
+ * Sıkıştırılmış istek gövdesi açılırken boyut veya genişleme oranı sınırı
+ * aşıldı (decompression bomb koruması). HTTP 413 ile döner.
+ */
+public class DecompressionLimitExceededException extends RuntimeException {
+
+    public DecompressionLimitExceededException(String message) {
+        super(message);
+    }
+}
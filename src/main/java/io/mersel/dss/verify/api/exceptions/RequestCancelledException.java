@@ -0,0 +1,22 @@
+package io.mersel.dss.verify.api.exceptions;
+
+/**
+ * İstemci bağlantıyı kapattığı için doğrulamanın kalan işi bırakıldığında
+ * atılır. Doğrulama servisi bunu hata olarak saymaz (hata metriği ve
+ * bildirim yok); revocation/AIA katmanları retry etmez. Yanıtı okuyacak
+ * kimse olmadığından HTTP 499 (client closed request) ile loglanır.
+ */
+public class RequestCancelledException extends RuntimeException {
+
+    private final String stage;
+
+    public RequestCancelledException(String message, String stage) {
+        super(message);
+        this.stage = stage;
+    }
+
+    /** İşin bırakıldığı aşama / operasyon (örn. {@code dss_validate}, {@code fetch}). */
+    public String getStage() {
+        return stage;
+    }
+}
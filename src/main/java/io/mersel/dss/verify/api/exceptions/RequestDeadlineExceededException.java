@@ -0,0 +1,15 @@
+package io.mersel.dss.verify.api.exceptions;
+
+/**
+ * Çağıranın deadline bütçesi tükendiği için bir dış kaynak fetch'i (OCSP,
+ * CRL, AIA) başlatılmadığında atılır. Revocation/AIA katmanları bunu
+ * sıradan bir fetch hatası gibi yakalar (cache'lenmez, retry edilmez);
+ * doğrulama eksik revocation verisiyle tamamlanır ve sonuç
+ * {@code deadlineExceeded=true} ile işaretlenir.
+ */
+public class RequestDeadlineExceededException extends RuntimeException {
+
+    public RequestDeadlineExceededException(String message) {
+        super(message);
+    }
+}
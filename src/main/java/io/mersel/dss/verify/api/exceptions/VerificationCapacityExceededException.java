@@ -0,0 +1,20 @@
+package io.mersel.dss.verify.api.exceptions;
+
+/**
+ * Doğrulama kapasitesi (iş kuyruğu / eşzamanlılık sınırı) dolu olduğunda
+ * atılır. HTTP 429 + {@code Retry-After} header'ı ile döner.
+ */
+public class VerificationCapacityExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public VerificationCapacityExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /** İstemcinin tekrar denemeden önce beklemesi önerilen süre (saniye, en az 1). */
+    public long getRetryAfterSeconds() {
+        return Math.max(1L, retryAfterSeconds);
+    }
+}
@@ -0,0 +1,15 @@
+package io.mersel.dss.verify.api.exceptions;
+
+/**
+ * Doğrulama işi bulunamadı — id hiç yok veya sonucun TTL'i doldu.
+ */
+public class VerificationJobNotFoundException extends RuntimeException {
+
+    public VerificationJobNotFoundException(String message) {
+        super(message);
+    }
+
+    public VerificationJobNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
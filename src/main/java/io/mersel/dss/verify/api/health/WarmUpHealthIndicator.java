@@ -0,0 +1,40 @@
+package io.mersel.dss.verify.api.health;
+
+import io.mersel.dss.verify.api.services.verification.VerificationWarmUp;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Açılış ısınması ({@link VerificationWarmUp}) sağlık göstergesi.
+ *
+ * <p>Isınma sürerken <strong>OUT_OF_SERVICE</strong> döner; readiness
+ * grubuna eklenince ({@code management.endpoint.health.group.readiness.include})
+ * Kubernetes soğuk pod'a trafik yönlendirmez ve ilk istekler JIT/JAXB
+ * ısınmasının maliyetini ödemez. Isınma bitince (başarılı, süre aşımı,
+ * hata veya devre dışı) UP döner — ısınma hiçbir durumda pod'u kalıcı
+ * olarak trafikten çekmez.</p>
+ *
+ * <p>Bean adı {@code verificationWarmUp}.</p>
+ */
+@Component("verificationWarmUp")
+public class WarmUpHealthIndicator implements HealthIndicator {
+
+    private final VerificationWarmUp warmUp;
+
+    public WarmUpHealthIndicator(VerificationWarmUp warmUp) {
+        this.warmUp = warmUp;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = warmUp.isInProgress() ? Health.outOfService() : Health.up();
+        builder.withDetail("state", warmUp.getState().name())
+                .withDetail("validations", warmUp.getCompletedValidations());
+        long durationMillis = warmUp.getDurationMillis();
+        if (durationMillis >= 0) {
+            builder.withDetail("durationMillis", durationMillis);
+        }
+        return builder.build();
+    }
+}
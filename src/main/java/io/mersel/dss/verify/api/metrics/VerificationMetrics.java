@@ -7,8 +7,10 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * Doğrulama servisinin tüm iş (business) metriklerinin <strong>tek
@@ -44,17 +46,32 @@ import java.util.concurrent.atomic.AtomicLong;
  * <p>Prometheus metric ailesi (Micrometer dot → Prometheus underscore):</p>
  * <pre>
  *   mdss_verification_duration_seconds{type,level,result}      (Timer)
- *   mdss_verification_stage_duration_seconds{stage,result}     (Timer)
+ *   mdss_verification_stage_duration_seconds{stage,result,lane}(Timer)
  *   mdss_verification_errors_total{exception}                  (Counter)
  *   mdss_signature_results_total{type,indication,sub_indication}(Counter)
  *   mdss_timestamp_duration_seconds{result}                    (Timer)
  *   mdss_revocation_fetch_duration_seconds{type,outcome}       (Timer)
  *   mdss_revocation_retry_total{type,event}                    (Counter)
+ *   mdss_revocation_refresh_duration_seconds{type,outcome}     (Timer)
  *   mdss_aia_fetch_duration_seconds{outcome}                   (Timer)
  *   mdss_trusted_root_refresh_total{result}                    (Counter)
  *   mdss_trusted_root_certificates                             (Gauge)
  *   mdss_trusted_root_last_success_timestamp_seconds           (Gauge)
  *   mdss_notification_dispatch_total{channel,event}            (Counter)
+ *   mdss_verification_jobs_total{event}                        (Counter)
+ *   mdss_executor_queue_depth{pool}                            (Gauge)
+ *   mdss_executor_active_threads{pool}                         (Gauge)
+ *   mdss_admission_limit{endpoint}                             (Gauge)
+ *   mdss_admission_inflight{endpoint}                          (Gauge)
+ *   mdss_admission_queued{endpoint}                            (Gauge)
+ *   mdss_admission_rejected_total{endpoint}                    (Counter)
+ *   mdss_verification_result_cache_total{outcome}              (Counter)
+ *   mdss_verification_integrity_cache_total{outcome}           (Counter)
+ *   mdss_verification_deadline_exceeded_total{type}            (Counter)
+ *   mdss_verification_cancelled_total{type,stage}              (Counter)
+ *   mdss_verification_cancelled_skipped_fetches_total{type}    (Counter)
+ *   mdss_verification_parse_duration_seconds{signatures,mode} (Timer)
+ *   mdss_warmup_duration_seconds{outcome}                      (Timer)
  * </pre>
  */
 @Component
@@ -70,11 +87,26 @@ public class VerificationMetrics {
     static final String TIMESTAMP_DURATION = "mdss.timestamp.duration";
     static final String REVOCATION_FETCH_DURATION = "mdss.revocation.fetch.duration";
     static final String REVOCATION_RETRY = "mdss.revocation.retry";
+    static final String REVOCATION_REFRESH_DURATION = "mdss.revocation.refresh.duration";
     static final String AIA_FETCH_DURATION = "mdss.aia.fetch.duration";
     static final String TRUSTED_ROOT_REFRESH = "mdss.trusted_root.refresh";
     static final String TRUSTED_ROOT_CERTIFICATES = "mdss.trusted_root.certificates";
     static final String TRUSTED_ROOT_LAST_SUCCESS = "mdss.trusted_root.last_success.timestamp";
     static final String NOTIFICATION_DISPATCH = "mdss.notification.dispatch";
+    static final String VERIFICATION_JOBS = "mdss.verification.jobs";
+    static final String EXECUTOR_QUEUE_DEPTH = "mdss.executor.queue.depth";
+    static final String EXECUTOR_ACTIVE_THREADS = "mdss.executor.active.threads";
+    static final String ADMISSION_LIMIT = "mdss.admission.limit";
+    static final String ADMISSION_INFLIGHT = "mdss.admission.inflight";
+    static final String ADMISSION_QUEUED = "mdss.admission.queued";
+    static final String ADMISSION_REJECTED = "mdss.admission.rejected";
+    static final String RESULT_CACHE = "mdss.verification.result_cache";
+    static final String INTEGRITY_CACHE = "mdss.verification.integrity_cache";
+    static final String DEADLINE_EXCEEDED = "mdss.verification.deadline_exceeded";
+    static final String CANCELLED = "mdss.verification.cancelled";
+    static final String CANCELLED_SKIPPED_FETCHES = "mdss.verification.cancelled.skipped_fetches";
+    static final String PARSE_DURATION = "mdss.verification.parse.duration";
+    static final String WARMUP_DURATION = "mdss.warmup.duration";
 
     /** Tag değerleri null/boş geldiğinde kullanılan emniyet değeri (kardinalite ve PromQL netliği için). */
     static final String UNKNOWN = "unknown";
@@ -143,12 +175,24 @@ public class VerificationMetrics {
      * @param outcome aşama başarılıysa {@code ok}, exception attıysa {@code error}
      */
     public void recordStage(String stage, String outcome, long durationNanos) {
+        recordStage(NONE, stage, outcome, durationNanos);
+    }
+
+    /**
+     * Aşama süresini yürütme şeridiyle ({@code small} / {@code large})
+     * etiketleyerek kaydeder — küçük doküman p99'u büyük doküman
+     * trafiğinden ayrı izlenir. Kabul kuyruğunda geçen süre de
+     * {@code admission_wait} aşaması olarak buraya yazılır.
+     *
+     * @param lane şerit etiketi; şeride bağlı olmayan çağrılar {@code none}
+     */
+    public void recordStage(String lane, String stage, String outcome, long durationNanos) {
         if (registry == null) {
             return;
         }
         try {
             registry.timer(VERIFICATION_STAGE_DURATION,
-                    "stage", safe(stage), "result", safe(outcome))
+                    "stage", safe(stage), "result", safe(outcome), "lane", lane == null ? NONE : safe(lane))
                     .record(durationNanos, TimeUnit.NANOSECONDS);
         } catch (RuntimeException ignore) {
             // no-op
@@ -215,7 +259,11 @@ public class VerificationMetrics {
      *
      * @param type    {@code ocsp} veya {@code crl}
      * @param outcome {@code success} (token döndü) / {@code empty} (responder
-     *                token üretmedi) / {@code error} (HTTP/retry tükendi)
+     *                token üretmedi) / {@code error} (HTTP/retry tükendi) /
+     *                {@code coalesced} (aynı anahtar için uçuştaki fetch'i
+     *                bekledi, kendi fetch'i yok; süre bekleme süresidir) /
+     *                {@code disk} (kalıcı katmandan yüklendi, responder'a
+     *                gidilmedi)
      */
     public void recordRevocationFetch(String type, String outcome, long durationNanos) {
         if (registry == null) {
@@ -229,13 +277,37 @@ public class VerificationMetrics {
         }
     }
 
+    /**
+     * Arka planda (refresh-ahead) yapılan revocation fetch'inin süresi +
+     * sonucu. İstek yolundaki fetch'ler {@link #recordRevocationFetch} ile
+     * ayrı sayılır; ikisinin oranı sıcak girdilerin ne kadarının istek
+     * yolunu beklemeden yenilendiğini gösterir.
+     *
+     * @param type    {@code ocsp} veya {@code crl}
+     * @param outcome {@code success} / {@code empty} / {@code error}
+     *                (son ikisinde cache'teki girdi süresi dolana kadar kalır)
+     */
+    public void recordRevocationRefresh(String type, String outcome, long durationNanos) {
+        if (registry == null) {
+            return;
+        }
+        try {
+            registry.timer(REVOCATION_REFRESH_DURATION, "type", safe(type), "outcome", safe(outcome))
+                    .record(durationNanos, TimeUnit.NANOSECONDS);
+        } catch (RuntimeException ignore) {
+            // no-op
+        }
+    }
+
     /**
      * Revocation retry olayları.
      *
      * @param type  {@code ocsp} veya {@code crl}
      * @param event {@code retried} (bir retry tetiklendi) /
      *              {@code recovered} (retry sonrası başarı) /
-     *              {@code exhausted} (tüm denemeler bitti, hata yükseliyor)
+     *              {@code exhausted} (tüm denemeler bitti, hata yükseliyor) /
+     *              {@code deadline} (backoff istek deadline'ını aşacaktı,
+     *              retry bırakıldı)
      */
     public void recordRevocationRetry(String type, String event) {
         if (registry == null) {
@@ -253,7 +325,8 @@ public class VerificationMetrics {
     // =====================================================================
 
     /**
-     * @param outcome {@code success} / {@code empty} / {@code error}
+     * @param outcome {@code success} / {@code empty} / {@code error} /
+     *                {@code disk} (kalıcı katmandan yüklendi)
      */
     public void recordAiaFetch(String outcome, long durationNanos) {
         if (registry == null) {
@@ -314,6 +387,234 @@ public class VerificationMetrics {
         }
     }
 
+    // =====================================================================
+    // Asenkron doğrulama işleri / iç havuzlar
+    // =====================================================================
+
+    /**
+     * @param event {@code submitted} / {@code provisional} / {@code rejected} /
+     *              {@code completed} / {@code failed}
+     */
+    public void recordJob(String event) {
+        if (registry == null) {
+            return;
+        }
+        try {
+            registry.counter(VERIFICATION_JOBS, "event", safe(event)).increment();
+        } catch (RuntimeException ignore) {
+            // no-op
+        }
+    }
+
+    /**
+     * Uygulamanın kendi {@link ThreadPoolExecutor}'ının kuyruk derinliğini ve
+     * aktif thread sayısını {@code pool} etiketiyle gauge olarak yayınlar.
+     * Kuyruk sürekli doluysa havuz küçük ya da downstream (OCSP/CRL) yavaş
+     * demektir. Gauge executor'a weak referans tutar; havuz kapanınca NaN döner.
+     */
+    public void bindExecutor(String pool, ThreadPoolExecutor executor) {
+        if (registry == null || executor == null) {
+            return;
+        }
+        try {
+            Gauge.builder(EXECUTOR_QUEUE_DEPTH, executor, e -> e.getQueue().size())
+                    .tag("pool", safe(pool))
+                    .description("Havuz kuyruğunda bekleyen görev sayısı")
+                    .register(registry);
+            Gauge.builder(EXECUTOR_ACTIVE_THREADS, executor, ThreadPoolExecutor::getActiveCount)
+                    .tag("pool", safe(pool))
+                    .description("Havuzda o an görev çalıştıran thread sayısı")
+                    .register(registry);
+        } catch (RuntimeException e) {
+            logger.warn("VerificationMetrics: executor gauge kaydı başarısız ({}): {}", pool, e.getMessage());
+        }
+    }
+
+    // =====================================================================
+    // Kabul kontrolü (admission / bulkhead)
+    // =====================================================================
+
+    /**
+     * Bir endpoint sınırlayıcısının anlık limit / uçuştaki / kuyruktaki
+     * değerlerini gauge olarak bağlar. Limit düşüyorsa downstream
+     * (OCSP/CRL) yavaşlamış ve pod kendini kısmış demektir.
+     */
+    public void bindAdmission(String endpoint,
+                              Supplier<Number> limit,
+                              Supplier<Number> inFlight,
+                              Supplier<Number> queued) {
+        if (registry == null) {
+            return;
+        }
+        try {
+            Gauge.builder(ADMISSION_LIMIT, limit)
+                    .tag("endpoint", safe(endpoint))
+                    .description("Anlık (AIMD) eşzamanlılık limiti")
+                    .register(registry);
+            Gauge.builder(ADMISSION_INFLIGHT, inFlight)
+                    .tag("endpoint", safe(endpoint))
+                    .description("Kabul edilmiş, işlenmekte olan istek sayısı")
+                    .register(registry);
+            Gauge.builder(ADMISSION_QUEUED, queued)
+                    .tag("endpoint", safe(endpoint))
+                    .description("Limit doluyken kısa kuyrukta bekleyen istek sayısı")
+                    .register(registry);
+        } catch (RuntimeException e) {
+            logger.warn("VerificationMetrics: admission gauge kaydı başarısız ({}): {}", endpoint, e.getMessage());
+        }
+    }
+
+    /** Kapasite dolu olduğu için 429 ile reddedilen istek. */
+    public void recordAdmissionRejected(String endpoint) {
+        if (registry == null) {
+            return;
+        }
+        try {
+            registry.counter(ADMISSION_REJECTED, "endpoint", safe(endpoint)).increment();
+        } catch (RuntimeException ignore) {
+            // no-op
+        }
+    }
+
+    // =====================================================================
+    // Doğrulama sonucu cache'i
+    // =====================================================================
+
+    /**
+     * @param outcome {@code hit} / {@code miss} / {@code stored} /
+     *                {@code not_cacheable} / {@code invalidated}
+     */
+    public void recordResultCache(String outcome) {
+        if (registry == null) {
+            return;
+        }
+        try {
+            registry.counter(RESULT_CACHE, "outcome", safe(outcome)).increment();
+        } catch (RuntimeException ignore) {
+            // no-op
+        }
+    }
+
+    // =====================================================================
+    // İmza bütünlüğü karar cache'i
+    // =====================================================================
+
+    /**
+     * İmza başına sayılır; hit oranı = hit / (hit + miss).
+     *
+     * @param outcome {@code hit} / {@code miss} / {@code stored} /
+     *                {@code not_cacheable}
+     */
+    public void recordIntegrityCache(String outcome) {
+        if (registry == null) {
+            return;
+        }
+        try {
+            registry.counter(INTEGRITY_CACHE, "outcome", safe(outcome)).increment();
+        } catch (RuntimeException ignore) {
+            // no-op
+        }
+    }
+
+    // =====================================================================
+    // İstek deadline'ı
+    // =====================================================================
+
+    /**
+     * Çağıranın deadline bütçesi doğrulama sırasında tükendiğinde, doğrulama
+     * başına bir kez sayılır (revocation / AIA fetch'leri kısaltıldı veya
+     * atlandı).
+     *
+     * @param type {@code signature} / {@code timestamp}
+     */
+    public void recordDeadlineExceeded(String type) {
+        if (registry == null) {
+            return;
+        }
+        try {
+            registry.counter(DEADLINE_EXCEEDED, "type", safe(type)).increment();
+        } catch (RuntimeException ignore) {
+            // no-op
+        }
+    }
+
+    // =====================================================================
+    // İstemci kopunca iptal
+    // =====================================================================
+
+    /**
+     * İstemci bağlantıyı kapattığı için bırakılan doğrulama. {@code stage}
+     * işin bırakıldığı aşamadır — sonraki aşamalar hiç çalışmadı (ör.
+     * {@code dss_validate} = DSS validasyonu ve tüm revocation fetch'leri
+     * atlandı). Doğrulama başına bir kez sayılır.
+     *
+     * @param type           {@code signature}
+     * @param stage          bırakılan aşama
+     * @param skippedFetches bağlantı koptuktan sonra başlatılmayan OCSP/CRL/AIA
+     *                       fetch sayısı (0 ise sayaç artmaz)
+     */
+    public void recordCancelled(String type, String stage, int skippedFetches) {
+        if (registry == null) {
+            return;
+        }
+        try {
+            registry.counter(CANCELLED, "type", safe(type), "stage", safe(stage)).increment();
+            if (skippedFetches > 0) {
+                registry.counter(CANCELLED_SKIPPED_FETCHES, "type", safe(type)).increment(skippedFetches);
+            }
+        } catch (RuntimeException ignore) {
+            // no-op
+        }
+    }
+
+    // =====================================================================
+    // İmza başına sonuç işleme (parse_result)
+    // =====================================================================
+
+    /**
+     * {@code parse_result} aşamasının süresini imza sayısı kovasıyla
+     * kaydeder — 1 imzalı e-Fatura ile 60 imzalı sözleşme PDF'i aynı
+     * histogramda karışmasın. Aşama timer'ı
+     * ({@link #recordStage(String, String, String, long)}) ayrıca yazılır.
+     *
+     * @param signaturesBucket imza sayısı kovası ({@code 0}, {@code 1},
+     *                         {@code 2-7}, {@code 8-20}, {@code 21-60}, {@code 61+})
+     * @param mode             {@code sequential} / {@code parallel}
+     */
+    public void recordParseResult(String signaturesBucket, String mode, long durationNanos) {
+        if (registry == null) {
+            return;
+        }
+        try {
+            registry.timer(PARSE_DURATION, "signatures", safe(signaturesBucket), "mode", safe(mode))
+                    .record(durationNanos, TimeUnit.NANOSECONDS);
+        } catch (RuntimeException ignore) {
+            // no-op
+        }
+    }
+
+    // =====================================================================
+    // Açılış ısınması
+    // =====================================================================
+
+    /**
+     * Açılış ısınmasının toplam süresi — pod'un readiness'i ne kadar
+     * beklettiği.
+     *
+     * @param outcome {@code completed} / {@code timed_out} / {@code failed}
+     */
+    public void recordWarmUp(String outcome, long durationNanos) {
+        if (registry == null) {
+            return;
+        }
+        try {
+            registry.timer(WARMUP_DURATION, "outcome", safe(outcome))
+                    .record(durationNanos, TimeUnit.NANOSECONDS);
+        } catch (RuntimeException ignore) {
+            // no-op
+        }
+    }
+
     private static String safe(String value) {
         return (value == null || value.isEmpty()) ? UNKNOWN : value;
     }
@@ -95,6 +95,20 @@ public class AppliedRejection {
 
     public AppliedRejection() {}
 
+    /** Kopya: {@code evidence} yeni (değiştirilemez) bir map'tir. */
+    public AppliedRejection(AppliedRejection other) {
+        this.code = other.code;
+        this.title = other.title;
+        this.reason = other.reason;
+        this.severity = other.severity;
+        this.originalIndication = other.originalIndication;
+        this.originalSubIndication = other.originalSubIndication;
+        this.evidence = other.evidence != null
+                ? Collections.unmodifiableMap(new LinkedHashMap<>(other.evidence))
+                : null;
+        this.docsUrl = other.docsUrl;
+    }
+
     public AppliedRejection(String code, String title, String reason,
                             String severity, String originalIndication,
                             String originalSubIndication,
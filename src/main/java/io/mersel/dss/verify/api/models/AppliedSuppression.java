@@ -152,6 +152,29 @@ public class AppliedSuppression {
 
     public AppliedSuppression() {}
 
+    /** Kopya: {@code evidence} ve anahtar kümeleri yeni (değiştirilemez) koleksiyonlardır. */
+    public AppliedSuppression(AppliedSuppression other) {
+        this.code = other.code;
+        this.title = other.title;
+        this.reason = other.reason;
+        this.severity = other.severity;
+        this.originalIndication = other.originalIndication;
+        this.originalSubIndication = other.originalSubIndication;
+        this.evidence = other.evidence != null
+                ? Collections.unmodifiableMap(new LinkedHashMap<>(other.evidence))
+                : null;
+        this.docsUrl = other.docsUrl;
+        this.gateVersion = other.gateVersion;
+        this.allowedFailureKeys = other.allowedFailureKeys != null
+                ? Collections.unmodifiableSet(new LinkedHashSet<>(other.allowedFailureKeys))
+                : null;
+        this.observedFailureKeys = other.observedFailureKeys != null
+                ? Collections.unmodifiableSet(new LinkedHashSet<>(other.observedFailureKeys))
+                : null;
+        this.documentSha256 = other.documentSha256;
+        this.documentSizeBytes = other.documentSizeBytes;
+    }
+
     public AppliedSuppression(String code, String title, String reason,
                               String severity, String originalIndication,
                               String originalSubIndication,
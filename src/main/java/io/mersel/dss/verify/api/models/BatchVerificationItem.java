@@ -0,0 +1,81 @@
+package io.mersel.dss.verify.api.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Toplu imza doğrulama (NDJSON) yanıtının tek satırı.
+ *
+ * <p>Her satır tam olarak bir doküman içindir ve ya {@code result} ya da
+ * {@code error} taşır — ikisi birden asla. Satırlar tamamlanma sırasıyla
+ * yazılır (hızlı doğrulananlar önce); istemci eşleştirmeyi istekteki
+ * parça sırası olan {@code index} üzerinden yapar.</p>
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchVerificationItem {
+
+    /** İstekteki {@code signedDocuments} parçasının 0-tabanlı sırası. */
+    private int index;
+
+    /** Parçanın orijinal dosya adı (istemci göndermediyse null). */
+    private String fileName;
+
+    /** Doğrulama tamamlandıysa sonuç (valid veya invalid). */
+    private VerificationResult result;
+
+    /**
+     * Doküman doğrulanamadıysa (parse/IO hatası, kapasite reddi) hata.
+     * Bir dokümanın hatası batch'in geri kalanını etkilemez.
+     */
+    private ErrorResponse error;
+
+    public BatchVerificationItem() {
+    }
+
+    public static BatchVerificationItem success(int index, String fileName, VerificationResult result) {
+        BatchVerificationItem item = new BatchVerificationItem();
+        item.index = index;
+        item.fileName = fileName;
+        item.result = result;
+        return item;
+    }
+
+    public static BatchVerificationItem failure(int index, String fileName, ErrorResponse error) {
+        BatchVerificationItem item = new BatchVerificationItem();
+        item.index = index;
+        item.fileName = fileName;
+        item.error = error;
+        return item;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public VerificationResult getResult() {
+        return result;
+    }
+
+    public void setResult(VerificationResult result) {
+        this.result = result;
+    }
+
+    public ErrorResponse getError() {
+        return error;
+    }
+
+    public void setError(ErrorResponse error) {
+        this.error = error;
+    }
+}
@@ -34,6 +34,32 @@ public class CertificateInfo {
      */
     private RevocationInfo revocation;
 
+    public CertificateInfo() {
+    }
+
+    /** Kopya: {@link RevocationInfo} de kopyalanır. */
+    public CertificateInfo(CertificateInfo other) {
+        this.subject = other.subject;
+        this.commonName = other.commonName;
+        this.issuerDN = other.issuerDN;
+        this.serialNumber = other.serialNumber;
+        this.subjectSerialNumber = other.subjectSerialNumber;
+        this.notBefore = other.notBefore;
+        this.notAfter = other.notAfter;
+        this.keyUsage = other.keyUsage;
+        this.publicKeyAlgorithm = other.publicKeyAlgorithm;
+        this.publicKeySize = other.publicKeySize;
+        this.signatureAlgorithm = other.signatureAlgorithm;
+        this.trusted = other.trusted;
+        this.expired = other.expired;
+        this.valid = other.valid;
+        this.revoked = other.revoked;
+        this.revocationReason = other.revocationReason;
+        this.revocationTime = other.revocationTime;
+        this.revocationDate = other.revocationDate;
+        this.revocation = other.revocation != null ? new RevocationInfo(other.revocation) : null;
+    }
+
     // Getters and Setters
     public String getCommonName() {
         return commonName;
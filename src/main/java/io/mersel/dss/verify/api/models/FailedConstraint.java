@@ -131,6 +131,13 @@ public class FailedConstraint {
         // Jackson deserialization desteği için no-arg constructor.
     }
 
+    /** Kopya constructor. */
+    public FailedConstraint(FailedConstraint other) {
+        this.key = other.key;
+        this.message = other.message;
+        this.category = other.category;
+    }
+
     /**
      * İki-argümanlı constructor — {@code category} alanı null kalır.
      * {@link SignatureInfo#getRootCause() rootCause} alanı için kullanılır
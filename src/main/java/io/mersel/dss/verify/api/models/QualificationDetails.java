@@ -19,6 +19,14 @@ public class QualificationDetails {
     public QualificationDetails() {
     }
 
+    /** Kopya: listeler yenidir. */
+    public QualificationDetails(QualificationDetails other) {
+        this.qualificationLevel = other.qualificationLevel;
+        this.errors = other.errors != null ? new ArrayList<>(other.errors) : null;
+        this.warnings = other.warnings != null ? new ArrayList<>(other.warnings) : null;
+        this.info = other.info != null ? new ArrayList<>(other.info) : null;
+    }
+
     public String getQualificationLevel() {
         return qualificationLevel;
     }
@@ -45,6 +45,19 @@ public class RevocationInfo {
     public RevocationInfo() {
     }
 
+    /** Kopya constructor. */
+    public RevocationInfo(RevocationInfo other) {
+        this.source = other.source;
+        this.status = other.status;
+        this.revocationDate = other.revocationDate;
+        this.revocationReason = other.revocationReason;
+        this.producedAt = other.producedAt;
+        this.thisUpdate = other.thisUpdate;
+        this.nextUpdate = other.nextUpdate;
+        this.responderUrl = other.responderUrl;
+        this.origin = other.origin;
+    }
+
     public String getSource() {
         return source;
     }
@@ -4,8 +4,10 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import io.mersel.dss.verify.api.models.enums.ChainRevocationStatus;
 import io.mersel.dss.verify.api.models.enums.SignaturePackaging;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.function.UnaryOperator;
 
 /**
  * İmza bilgisi modeli
@@ -192,6 +194,56 @@ public class SignatureInfo {
      */
     private List<AppliedRejection> appliedRejections;
 
+    public SignatureInfo() {
+    }
+
+    /**
+     * Derin kopya: alt nesneler ({@link CertificateInfo}, {@link TimestampInfo},
+     * {@link FailedConstraint}, ...) ve listeler de kopyalanır. Sonuç
+     * cache'i kaydını isteğe dönen (ve sonradan değiştirilebilen) nesneden
+     * ayırmak için.
+     */
+    public SignatureInfo(SignatureInfo other) {
+        this.signatureId = other.signatureId;
+        this.valid = other.valid;
+        this.signatureFormat = other.signatureFormat;
+        this.signatureLevel = other.signatureLevel;
+        this.signaturePackaging = other.signaturePackaging;
+        this.signingTime = other.signingTime;
+        this.claimedSigningTime = other.claimedSigningTime;
+        this.signerCertificate = other.signerCertificate != null ? new CertificateInfo(other.signerCertificate) : null;
+        this.certificateChain = copyAll(other.certificateChain, CertificateInfo::new);
+        this.chainRevocationStatus = other.chainRevocationStatus;
+        this.timestampInfo = other.timestampInfo != null ? new TimestampInfo(other.timestampInfo) : null;
+        this.signatureAlgorithm = other.signatureAlgorithm;
+        this.digestAlgorithm = other.digestAlgorithm;
+        this.validationErrors = other.validationErrors != null ? new ArrayList<>(other.validationErrors) : null;
+        this.rootCause = other.rootCause != null ? new FailedConstraint(other.rootCause) : null;
+        this.failedConstraints = copyAll(other.failedConstraints, FailedConstraint::new);
+        this.validationWarnings = other.validationWarnings != null ? new ArrayList<>(other.validationWarnings) : null;
+        this.indication = other.indication;
+        this.subIndication = other.subIndication;
+        this.qualificationDetails = other.qualificationDetails != null
+                ? new QualificationDetails(other.qualificationDetails) : null;
+        this.timestampCount = other.timestampCount;
+        this.policyIdentifier = other.policyIdentifier;
+        this.validationDetails = other.validationDetails != null
+                ? new ValidationDetails(other.validationDetails) : null;
+        this.appliedSuppressions = copyAll(other.appliedSuppressions, AppliedSuppression::new);
+        this.appliedRejections = copyAll(other.appliedRejections, AppliedRejection::new);
+    }
+
+    static <T> List<T> copyAll(List<T> source, UnaryOperator<T> copy) {
+        if (source == null) {
+            return null;
+        }
+        List<T> copies = new ArrayList<>(source.size());
+        for (T item : source) {
+            copies.add(item != null ? copy.apply(item) : null);
+        }
+        return copies;
+    }
+
     // Getters and Setters
     public String getSignatureId() {
         return signatureId;
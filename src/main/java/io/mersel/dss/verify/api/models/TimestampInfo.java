@@ -2,6 +2,7 @@ package io.mersel.dss.verify.api.models;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
@@ -51,6 +52,24 @@ public class TimestampInfo {
      */
     private List<FailedConstraint> failedConstraints;
 
+    public TimestampInfo() {
+    }
+
+    /** Kopya: TSA sertifikası, kök neden ve listeler de kopyalanır. */
+    public TimestampInfo(TimestampInfo other) {
+        this.valid = other.valid;
+        this.timestampTime = other.timestampTime;
+        this.timestampType = other.timestampType;
+        this.tsaCertificate = other.tsaCertificate != null ? new CertificateInfo(other.tsaCertificate) : null;
+        this.digestAlgorithm = other.digestAlgorithm;
+        this.messageImprint = other.messageImprint;
+        this.serialNumber = other.serialNumber;
+        this.tsaName = other.tsaName;
+        this.validationErrors = other.validationErrors != null ? new ArrayList<>(other.validationErrors) : null;
+        this.rootCause = other.rootCause != null ? new FailedConstraint(other.rootCause) : null;
+        this.failedConstraints = SignatureInfo.copyAll(other.failedConstraints, FailedConstraint::new);
+    }
+
     // Getters and Setters
     public boolean isValid() {
         return valid;
@@ -2,6 +2,7 @@ package io.mersel.dss.verify.api.models;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -19,6 +20,23 @@ public class ValidationDetails {
     private boolean revocationCheckPerformed;
     private Map<String, String> additionalDetails;
 
+    public ValidationDetails() {
+    }
+
+    /** Kopya: {@code additionalDetails} yeni bir map'tir. */
+    public ValidationDetails(ValidationDetails other) {
+        this.signatureIntact = other.signatureIntact;
+        this.certificateChainValid = other.certificateChainValid;
+        this.certificateNotExpired = other.certificateNotExpired;
+        this.certificateNotRevoked = other.certificateNotRevoked;
+        this.trustAnchorReached = other.trustAnchorReached;
+        this.timestampValid = other.timestampValid;
+        this.cryptographicVerificationSuccessful = other.cryptographicVerificationSuccessful;
+        this.revocationCheckPerformed = other.revocationCheckPerformed;
+        this.additionalDetails = other.additionalDetails != null
+                ? new LinkedHashMap<>(other.additionalDetails) : null;
+    }
+
     // Getters and Setters
     public boolean isSignatureIntact() {
         return signatureIntact;
@@ -0,0 +1,97 @@
+package io.mersel.dss.verify.api.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.mersel.dss.verify.api.models.enums.VerificationJobState;
+
+import java.util.Date;
+
+/**
+ * Asenkron doğrulama işinin anlık görüntüsü —
+ * {@code /api/v1/verify/jobs} endpoint'lerinin yanıt modeli.
+ *
+ * <p>{@code result} yalnız {@link VerificationJobState#COMPLETED},
+ * {@code error} yalnız {@link VerificationJobState#FAILED} durumunda
+ * doludur. {@code provisionalResult} iş {@code provisional=true} ile
+ * gönderildiyse gönderimden itibaren her durumda doludur; kesin sonuç her
+ * zaman {@code result}'tır.</p>
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class VerificationJobStatus {
+
+    private String jobId;
+    private VerificationJobState state;
+    private Date submittedAt;
+    private Date startedAt;
+    private Date completedAt;
+    private VerificationResult provisionalResult;
+    private VerificationResult result;
+    private ErrorResponse error;
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public VerificationJobState getState() {
+        return state;
+    }
+
+    public void setState(VerificationJobState state) {
+        this.state = state;
+    }
+
+    public Date getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(Date submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public Date getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Date startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Date getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(Date completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    /**
+     * Gönderim anında çevrimdışı yapılan ön doğrulama sonucu
+     * ({@code provisional=true}); revocation içermez.
+     */
+    public VerificationResult getProvisionalResult() {
+        return provisionalResult;
+    }
+
+    public void setProvisionalResult(VerificationResult provisionalResult) {
+        this.provisionalResult = provisionalResult;
+    }
+
+    public VerificationResult getResult() {
+        return result;
+    }
+
+    public void setResult(VerificationResult result) {
+        this.result = result;
+    }
+
+    public ErrorResponse getError() {
+        return error;
+    }
+
+    public void setError(ErrorResponse error) {
+        this.error = error;
+    }
+}
@@ -21,6 +21,25 @@ public class VerificationResult {
     private List<String> errors = new ArrayList<>();
     private List<String> warnings = new ArrayList<>();
     private ValidationDetails validationDetails;
+    /**
+     * Sonuç DSS çalıştırılmadan sonuç cache'inden döndüyse {@code true};
+     * aksi halde {@code null} (JSON'a yazılmaz). {@code verificationTime}
+     * o durumda asıl doğrulamanın zamanıdır.
+     */
+    private Boolean cached;
+    /**
+     * Ön (provisional) doğrulama sonucuysa {@code true}: revocation
+     * kontrol edilmedi, kesin sonuç değildir. Aksi halde {@code null}
+     * (JSON'a yazılmaz). Bkz. {@link VerificationJobStatus#getProvisionalResult()}.
+     */
+    private Boolean provisional;
+    /**
+     * Çağıranın deadline bütçesi ({@code X-Request-Deadline-Ms} /
+     * {@code deadlineMs}) doğrulama sırasında tükendiyse {@code true}:
+     * bazı OCSP/CRL/AIA fetch'leri kısaltıldı veya atlandı, sonuç eksik
+     * revocation verisiyle üretildi. Aksi halde {@code null} (JSON'a yazılmaz).
+     */
+    private Boolean deadlineExceeded;
 
     public VerificationResult() {
         this.verificationTime = new Date();
@@ -32,6 +51,27 @@ public class VerificationResult {
         this.status = status;
     }
 
+    /**
+     * Derin kopya: listeler ve {@link SignatureInfo} gibi alt nesneler de
+     * kopyalanır. Sonuç cache'i kaydı ile isteğe dönen (akışlı yanıtta
+     * sink'e verilen, sonradan değiştirilebilen) nesneyi ayırmak için.
+     */
+    public VerificationResult(VerificationResult other) {
+        this.valid = other.valid;
+        this.status = other.status;
+        this.signatureType = other.signatureType;
+        this.verificationTime = other.verificationTime;
+        this.signatureCount = other.signatureCount;
+        this.signatures = SignatureInfo.copyAll(other.signatures, SignatureInfo::new);
+        this.errors = other.errors != null ? new ArrayList<>(other.errors) : null;
+        this.warnings = other.warnings != null ? new ArrayList<>(other.warnings) : null;
+        this.validationDetails = other.validationDetails != null
+                ? new ValidationDetails(other.validationDetails) : null;
+        this.cached = other.cached;
+        this.provisional = other.provisional;
+        this.deadlineExceeded = other.deadlineExceeded;
+    }
+
     // Getters and Setters
     public boolean isValid() {
         return valid;
@@ -112,5 +152,28 @@ public class VerificationResult {
     public void setSignatureCount(Integer signatureCount) {
         this.signatureCount = signatureCount;
     }
-}
 
+    public Boolean getCached() {
+        return cached;
+    }
+
+    public void setCached(Boolean cached) {
+        this.cached = cached;
+    }
+
+    public Boolean getProvisional() {
+        return provisional;
+    }
+
+    public void setProvisional(Boolean provisional) {
+        this.provisional = provisional;
+    }
+
+    public Boolean getDeadlineExceeded() {
+        return deadlineExceeded;
+    }
+
+    public void setDeadlineExceeded(Boolean deadlineExceeded) {
+        this.deadlineExceeded = deadlineExceeded;
+    }
+}
@@ -0,0 +1,30 @@
+package io.mersel.dss.verify.api.models.enums;
+
+/**
+ * Asenkron doğrulama işinin yaşam döngüsü.
+ */
+public enum VerificationJobState {
+    /**
+     * Kuyrukta, worker bekleniyor
+     */
+    QUEUED,
+
+    /**
+     * Worker üzerinde doğrulanıyor
+     */
+    RUNNING,
+
+    /**
+     * Doğrulama tamamlandı — sonuç (valid veya invalid) hazır
+     */
+    COMPLETED,
+
+    /**
+     * Doğrulama çalıştırılamadı (parse/IO hatası vb.) — hata hazır
+     */
+    FAILED;
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
@@ -0,0 +1,246 @@
+package io.mersel.dss.verify.api.services.admission;
+
+import io.mersel.dss.verify.api.exceptions.VerificationCapacityExceededException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Gecikmeye göre kendini ayarlayan (AIMD) eşzamanlılık sınırlayıcı —
+ * doğrulama endpoint'lerinin önündeki bulkhead.
+ *
+ * <p><b>Kabul:</b> Uçuştaki (in-flight) istek sayısı {@link #getLimit()}
+ * altındaysa istek hemen geçer. Değilse en fazla {@code maxQueue} istek
+ * {@code maxWait} kadar bekler; kuyruk doluysa veya bekleme süresi dolarsa
+ * {@link VerificationCapacityExceededException} (HTTP 429) atılır.
+ * {@code Retry-After} değeri gözlenen ortalama gecikme × (kuyruk / limit)
+ * ile hesaplanır — istemciye "sıranın boşalma süresi" tahmini verilir.</p>
+ *
+ * <p><b>AIMD:</b> Her tamamlanan istekte süre ölçülür (aynı pencere
+ * {@code mdss.verification.duration}'ın ölçtüğü pencere). Süre hedef
+ * gecikmeyi aşarsa limit çarpımsal küçülür ({@code × 0.9}); hedefin
+ * altındaysa ve limit doluyken tamamlandıysa toplamsal büyür
+ * ({@code + 1/limit} — yani tam dolu her "pencere" için +1). OCSP/CRL
+ * yavaşladığında pod kendi eşzamanlılığını düşürür; Tomcat havuzu dolmadan
+ * fazlası hızlıca 429 alır.</p>
+ *
+ * <p><b>Thread-safety:</b> Tüm durum adil bir {@link ReentrantLock}
+ * altında; bekleyenler FIFO'ya yakın sırayla uyanır.</p>
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+    /** Hedef aşıldığında limitin çarpıldığı oran. */
+    static final double BACKOFF_RATIO = 0.9;
+
+    /** Gecikme EWMA ağırlığı — Retry-After tahmini için. */
+    static final double LATENCY_EWMA_ALPHA = 0.1;
+
+    /** Hesaplanan Retry-After'ın üst sınırı (saniye). */
+    static final long MAX_RETRY_AFTER_SECONDS = 60;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueue;
+    private final long maxWaitNanos;
+    private final long targetLatencyNanos;
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition released = lock.newCondition();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    private double limit;
+    private int inFlight;
+    private int queued;
+    private double latencyEwmaNanos;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                      int maxQueue, long maxWaitMillis, long targetLatencyMillis) {
+        this(name, initialLimit, minLimit, maxLimit, maxQueue, maxWaitMillis, targetLatencyMillis, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                               int maxQueue, long maxWaitMillis, long targetLatencyMillis,
+                               LongSupplier nanoClock) {
+        this.name = name;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.maxQueue = Math.max(0, maxQueue);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, maxWaitMillis));
+        this.targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, targetLatencyMillis));
+        this.nanoClock = nanoClock;
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        // İlk ölçüm gelene kadar Retry-After tahmini hedef gecikmenin yarısıyla yapılır.
+        this.latencyEwmaNanos = this.targetLatencyNanos / 2.0;
+    }
+
+    /**
+     * İzin alır; gerekirse kısa süre bekler.
+     *
+     * @return {@link Permit#close()} ile bırakılması gereken izin
+     * @throws VerificationCapacityExceededException kuyruk dolu veya bekleme süresi doldu
+     */
+    public Permit acquire() {
+        lock.lock();
+        try {
+            if (inFlight < currentLimit()) {
+                return grant();
+            }
+            if (queued >= maxQueue) {
+                throw reject("kuyruk dolu");
+            }
+            queued++;
+            try {
+                long remaining = maxWaitNanos;
+                while (inFlight >= currentLimit()) {
+                    if (remaining <= 0L) {
+                        throw reject("bekleme süresi doldu");
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+                return grant();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw reject("bekleme kesildi");
+            } finally {
+                queued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Permit grant() {
+        inFlight++;
+        return new Permit(nanoClock.getAsLong());
+    }
+
+    private VerificationCapacityExceededException reject(String reason) {
+        rejectedCount.incrementAndGet();
+        return new VerificationCapacityExceededException(
+                "Doğrulama kapasitesi dolu (" + name + ", " + reason + "); daha sonra tekrar deneyin",
+                estimateRetryAfterSeconds());
+    }
+
+    /** Kuyruğun boşalma süresi tahmini; lock altında çağrılır. */
+    private long estimateRetryAfterSeconds() {
+        double waves = (queued + 1.0) / Math.max(1, currentLimit());
+        long seconds = (long) Math.ceil(waves * latencyEwmaNanos / TimeUnit.SECONDS.toNanos(1));
+        return Math.max(1L, Math.min(MAX_RETRY_AFTER_SECONDS, seconds));
+    }
+
+    private void release(long startNanos) {
+        long latency = Math.max(0L, nanoClock.getAsLong() - startNanos);
+        lock.lock();
+        try {
+            boolean wasSaturated = inFlight >= currentLimit();
+            inFlight--;
+            latencyEwmaNanos += (latency - latencyEwmaNanos) * LATENCY_EWMA_ALPHA;
+            if (latency > targetLatencyNanos) {
+                limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+            } else if (wasSaturated) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gecikme örneği almadan izni bırakır — yarıda bırakılmış (istemcisi
+     * kopmuş) istek gerçek doğrulama süresini temsil etmez; kısa süresi
+     * limiti yanlışlıkla büyütmesin.
+     */
+    private void releaseWithoutSample() {
+        lock.lock();
+        try {
+            inFlight--;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int currentLimit() {
+        return (int) limit;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /** Anlık eşzamanlılık limiti (gauge). */
+    public int getLimit() {
+        lock.lock();
+        try {
+            return currentLimit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Uçuştaki istek sayısı (gauge). */
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Bekleme kuyruğundaki istek sayısı (gauge). */
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Başlangıçtan beri reddedilen istek sayısı. */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * Verilmiş bir izin. {@link #close()} idempotent; {@code try-with-resources}
+     * ile kullanılır.
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final long startNanos;
+        private boolean closed;
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            release(startNanos);
+        }
+
+        /**
+         * İzni gecikme örneği kaydetmeden bırakır (istek yarıda bırakıldı).
+         * {@link #close()} ile birlikte idempotent.
+         */
+        public void abandon() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            releaseWithoutSample();
+        }
+    }
+}
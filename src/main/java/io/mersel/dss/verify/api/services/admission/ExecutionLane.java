@@ -0,0 +1,58 @@
+package io.mersel.dss.verify.api.services.admission;
+
+/**
+ * İmza doğrulama yürütme şeridi (boyut sınıfı). Küçük ve büyük dokümanlar
+ * ayrı eşzamanlılık bütçesi kullanır; böylece büyük PAdES yüklemeleri küçük
+ * e-Fatura doğrulamalarının gecikmesini etkilemez.
+ *
+ * <p>İstek thread'ine {@code AdmissionControlFilter} tarafından bağlanır
+ * ({@link #bind(ExecutionLane)} / {@link #clear()}); doğrulama servisi aşama
+ * metriklerini {@link #currentTag()} ile şerit bazında etiketler. Şeride
+ * bağlanmamış thread'ler (batch / asenkron iş worker'ları) {@code none}
+ * etiketini alır.</p>
+ */
+public enum ExecutionLane {
+
+    SMALL("small"),
+    LARGE("large");
+
+    /** Şeride bağlanmamış çağrılar için metrik etiketi. */
+    public static final String NONE_TAG = "none";
+
+    private static final ThreadLocal<ExecutionLane> CURRENT = new ThreadLocal<>();
+
+    private final String tag;
+
+    ExecutionLane(String tag) {
+        this.tag = tag;
+    }
+
+    /** Metrik / log etiketi. */
+    public String tag() {
+        return tag;
+    }
+
+    /** Mevcut thread'i bu şeride bağlar. */
+    public static void bind(ExecutionLane lane) {
+        if (lane == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(lane);
+        }
+    }
+
+    /** Mevcut thread'in şeridi; bağlanmamışsa {@code null}. */
+    public static ExecutionLane current() {
+        return CURRENT.get();
+    }
+
+    /** Mevcut thread'in şerit etiketi; bağlanmamışsa {@value #NONE_TAG}. */
+    public static String currentTag() {
+        ExecutionLane lane = CURRENT.get();
+        return lane != null ? lane.tag : NONE_TAG;
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
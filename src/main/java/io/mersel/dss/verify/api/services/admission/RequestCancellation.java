@@ -0,0 +1,137 @@
+package io.mersel.dss.verify.api.services.admission;
+
+import io.mersel.dss.verify.api.exceptions.RequestCancelledException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * İstemci bağlantısının koptuğunu doğrulama sırasında fark edip kalan işi
+ * işbirlikçi olarak bırakmak için iptal token'ı. {@code ClientDisconnectValve}
+ * doğrulama isteklerinde token'ı istek thread'ine bağlar
+ * ({@link #bind(RequestCancellation)} / {@link #clear()}).
+ *
+ * <p>İş aşama sınırlarında ve her OCSP/CRL/AIA fetch'inden önce
+ * {@link #checkNotCancelled(String)} ile kesilir — DSS validasyonunun ortası
+ * kesilmez, ama bağlantısı kopmuş bir istek için ne yeni ağ çağrısı ne de
+ * sonraki aşamalar (rapor parse, bildirim) çalışır.</p>
+ *
+ * <p>Bağlantı kontrolü (probe) sokete dokunduğu için en fazla
+ * {@code probeIntervalMillis}'te bir çalıştırılır; arada önceki sonuç
+ * kullanılır. Kopma bir kez görüldükten sonra token kalıcı olarak iptal
+ * edilmiş sayılır. Token'a bağlanmamış thread'lerde (asenkron iş ve batch
+ * worker'ları, ısınma) tüm yardımcılar no-op'tur.</p>
+ */
+public final class RequestCancellation {
+
+    private static final ThreadLocal<RequestCancellation> CURRENT = new ThreadLocal<>();
+
+    private final BooleanSupplier disconnectProbe;
+    private final long probeIntervalNanos;
+    private final AtomicInteger skippedFetches = new AtomicInteger();
+    private volatile boolean cancelled;
+    private long lastProbeNanos;
+
+    private RequestCancellation(BooleanSupplier disconnectProbe, long probeIntervalMillis) {
+        this.disconnectProbe = disconnectProbe;
+        this.probeIntervalNanos = Math.max(0L, probeIntervalMillis) * 1_000_000L;
+        this.lastProbeNanos = System.nanoTime() - this.probeIntervalNanos;
+    }
+
+    /**
+     * @param disconnectProbe     istemci bağlantısı koptuysa {@code true};
+     *                            exception atarsa "kopmadı" sayılır
+     * @param probeIntervalMillis iki probe arasındaki en kısa süre (ms)
+     */
+    public static RequestCancellation of(BooleanSupplier disconnectProbe, long probeIntervalMillis) {
+        if (disconnectProbe == null) {
+            throw new IllegalArgumentException("disconnectProbe must not be null");
+        }
+        return new RequestCancellation(disconnectProbe, probeIntervalMillis);
+    }
+
+    /**
+     * İstemci bağlantıyı kapattı mı? Gerekirse bağlantıyı yeniden kontrol eder.
+     */
+    public boolean isCancelled() {
+        if (cancelled) {
+            return true;
+        }
+        synchronized (this) {
+            if (cancelled) {
+                return true;
+            }
+            long now = System.nanoTime();
+            if (now - lastProbeNanos < probeIntervalNanos) {
+                return false;
+            }
+            lastProbeNanos = now;
+            boolean disconnected;
+            try {
+                disconnected = disconnectProbe.getAsBoolean();
+            } catch (RuntimeException e) {
+                disconnected = false;
+            }
+            if (disconnected) {
+                cancelled = true;
+            }
+            return disconnected;
+        }
+    }
+
+    /** Bağlantıyı yeniden kontrol etmeden, iptalin daha önce görülüp görülmediği. */
+    public boolean wasCancelled() {
+        return cancelled;
+    }
+
+    /** İptal yüzünden başlatılmayan dış fetch sayısı (kazanılan iş). */
+    public int getSkippedFetches() {
+        return skippedFetches.get();
+    }
+
+    /** Mevcut thread'i bu token'a bağlar; {@code null} bağı kaldırır. */
+    public static void bind(RequestCancellation cancellation) {
+        if (cancellation == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(cancellation);
+        }
+    }
+
+    /** Mevcut thread'in token'ı; bağlanmamışsa {@code null}. */
+    public static RequestCancellation current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * İstemci bağlantıyı kapattıysa kalan işi bırakır.
+     *
+     * @param stage bırakılan aşama (metrik etiketi / log)
+     * @throws RequestCancelledException bağlantı koptuysa
+     */
+    public static void checkNotCancelled(String stage) {
+        RequestCancellation cancellation = CURRENT.get();
+        if (cancellation != null && cancellation.isCancelled()) {
+            throw new RequestCancelledException("Client disconnected; abandoned at " + stage, stage);
+        }
+    }
+
+    /**
+     * Dış fetch'ten önce çağrılır; bağlantı koptuysa fetch başlatılmaz ve
+     * atlanan fetch sayılır.
+     *
+     * @param operation log / hata mesajı etiketi (örn. {@code "GET http://..."})
+     * @throws RequestCancelledException bağlantı koptuysa
+     */
+    public static void checkBeforeFetch(String operation) {
+        RequestCancellation cancellation = CURRENT.get();
+        if (cancellation != null && cancellation.isCancelled()) {
+            cancellation.skippedFetches.incrementAndGet();
+            throw new RequestCancelledException("Client disconnected; skipped " + operation, "fetch");
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package io.mersel.dss.verify.api.services.admission;
+
+import io.mersel.dss.verify.api.exceptions.RequestDeadlineExceededException;
+
+/**
+ * Çağıranın uçtan uca zaman bütçesi (deadline). İstemci
+ * {@code X-Request-Deadline-Ms} header'ı veya {@code deadlineMs} query
+ * parametresiyle kalan bütçesini bildirir; {@code RequestDeadlineFilter}
+ * isteğin geldiği anda deadline'ı hesaplayıp istek thread'ine bağlar
+ * ({@link #bind(RequestDeadline)} / {@link #clear()}).
+ *
+ * <p>Doğrulama sırasındaki dış çağrılar bütçeye göre kısalır: OCSP/CRL/AIA
+ * HTTP timeout'ları kalan süreyle sınırlanır ({@link #clampTimeoutMillis(int)}),
+ * retry backoff'u bütçeyi aşacaksa retry bırakılır, bütçe bittikten sonra
+ * yeni fetch başlatılmaz ({@link #checkNotExpired(String)}). Çağıran çoktan
+ * vazgeçmişken 3 × 10 sn socket timeout beklenmez; doğrulama eksik
+ * revocation verisiyle hemen tamamlanır ve sonuç
+ * {@code deadlineExceeded=true} ile işaretlenir.</p>
+ *
+ * <p>Deadline'a bağlanmamış thread'lerde (asenkron iş worker'ları, ısınma)
+ * tüm yardımcılar no-op'tur; konfigüre edilmiş timeout'lar aynen kullanılır.
+ * Batch worker'ları isteğin deadline'ını {@link #current()} ile devralıp
+ * kendi thread'lerine bağlar.</p>
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long budgetMillis;
+    private final long deadlineNanos;
+    private volatile boolean exceeded;
+
+    private RequestDeadline(long budgetMillis, long deadlineNanos) {
+        this.budgetMillis = budgetMillis;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Şu andan itibaren {@code budgetMillis} kadar süren deadline.
+     *
+     * @throws IllegalArgumentException bütçe pozitif değilse
+     */
+    public static RequestDeadline ofBudget(long budgetMillis) {
+        if (budgetMillis <= 0L) {
+            throw new IllegalArgumentException("deadline budget must be > 0 ms, was: " + budgetMillis);
+        }
+        return new RequestDeadline(budgetMillis, System.nanoTime() + budgetMillis * 1_000_000L);
+    }
+
+    /**
+     * Aynı bitiş anına sahip, kendi "aşıldı" bayrağı olan kopya — bir
+     * isteğin birden çok doğrulaması (batch öğeleri) aynı bütçeyi paylaşır
+     * ama {@link #wasExceeded()} öğe başına raporlanır.
+     */
+    public RequestDeadline fork() {
+        return new RequestDeadline(budgetMillis, deadlineNanos);
+    }
+
+    /** İstemcinin bildirdiği toplam bütçe (ms). */
+    public long getBudgetMillis() {
+        return budgetMillis;
+    }
+
+    /** Kalan süre (ms); bütçe bittiyse 0. */
+    public long remainingMillis() {
+        long remainingNanos = deadlineNanos - System.nanoTime();
+        return remainingNanos > 0L ? remainingNanos / 1_000_000L : 0L;
+    }
+
+    /**
+     * Bütçe bitti mi? Bittiyse deadline aşılmış olarak işaretlenir —
+     * doğrulama sonunda {@link #wasExceeded()} ile okunur.
+     */
+    public boolean isExpired() {
+        if (remainingMillis() <= 0L) {
+            exceeded = true;
+            return true;
+        }
+        return false;
+    }
+
+    /** Bir dış çağrı bütçe yüzünden kısaltıldı veya atlandı. */
+    public void markExceeded() {
+        exceeded = true;
+    }
+
+    /** Doğrulama sırasında bütçe yüzünden en az bir dış çağrı kısaltıldı / atlandı mı? */
+    public boolean wasExceeded() {
+        return exceeded;
+    }
+
+    /** Mevcut thread'i bu deadline'a bağlar; {@code null} bağı kaldırır. */
+    public static void bind(RequestDeadline deadline) {
+        if (deadline == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(deadline);
+        }
+    }
+
+    /** Mevcut thread'in deadline'ı; bağlanmamışsa {@code null}. */
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Konfigüre edilmiş bir timeout'u kalan bütçeyle sınırlar. Deadline
+     * yoksa değer aynen döner. Sınırlanan değer en az 1 ms'dir (HTTP
+     * client'ta 0 "sınırsız" anlamına gelir).
+     */
+    public static int clampTimeoutMillis(int configuredMillis) {
+        RequestDeadline deadline = CURRENT.get();
+        if (deadline == null) {
+            return configuredMillis;
+        }
+        long remaining = deadline.remainingMillis();
+        if (configuredMillis > 0 && configuredMillis <= remaining) {
+            return configuredMillis;
+        }
+        return (int) Math.max(1L, Math.min(remaining, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Bütçe bittiyse dış çağrıyı başlatmadan reddeder.
+     *
+     * @param operation log / hata mesajı etiketi (örn. {@code "GET http://..."})
+     * @throws RequestDeadlineExceededException bütçe bittiyse
+     */
+    public static void checkNotExpired(String operation) {
+        RequestDeadline deadline = CURRENT.get();
+        if (deadline != null && deadline.isExpired()) {
+            throw new RequestDeadlineExceededException(
+                    "Request deadline (" + deadline.budgetMillis + " ms) exceeded; skipped " + operation);
+        }
+    }
+}
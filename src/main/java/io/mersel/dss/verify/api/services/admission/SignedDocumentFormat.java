@@ -0,0 +1,73 @@
+package io.mersel.dss.verify.api.services.admission;
+
+import io.mersel.dss.verify.api.services.util.DocumentIngestor;
+
+import java.util.Locale;
+
+/**
+ * Şerit seçimi için kaba doküman formatı tahmini. Tam format tespiti DSS'in
+ * işidir; burada yalnız "bellekte ne kadar büyür?" sorusu için yeterli
+ * ayrım yapılır (XML DOM'a yüklenir, PDF/CMS stream edilir).
+ */
+public enum SignedDocumentFormat {
+
+    PDF,
+    XML,
+    CMS,
+    UNKNOWN;
+
+    /** Sniff için gereken baş byte sayısı. */
+    public static final int SNIFF_BYTES = 64;
+
+    /**
+     * Baş byte'lardan format: {@code %PDF} → PDF, XML başlangıcı → XML,
+     * DER SEQUENCE ({@code 0x30}) → CMS.
+     */
+    public static SignedDocumentFormat sniff(byte[] head) {
+        if (head == null || head.length == 0) {
+            return UNKNOWN;
+        }
+        if (head.length >= 4 && head[0] == '%' && head[1] == 'P' && head[2] == 'D' && head[3] == 'F') {
+            return PDF;
+        }
+        if (DocumentIngestor.looksLikeXml(head)) {
+            return XML;
+        }
+        if ((head[0] & 0xff) == 0x30) {
+            return CMS;
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * Gövde okunmadan elde edilebilen ipuçlarından format: önce
+     * {@code Content-Type}, sonra dosya adı uzantısı.
+     */
+    public static SignedDocumentFormat fromHints(String contentType, String fileName) {
+        if (contentType != null) {
+            String ct = contentType.toLowerCase(Locale.ROOT);
+            if (ct.contains("pdf")) {
+                return PDF;
+            }
+            if (ct.contains("xml")) {
+                return XML;
+            }
+            if (ct.contains("pkcs7") || ct.contains("cms")) {
+                return CMS;
+            }
+        }
+        if (fileName != null) {
+            String name = fileName.toLowerCase(Locale.ROOT);
+            if (name.endsWith(".pdf")) {
+                return PDF;
+            }
+            if (name.endsWith(".xml") || name.endsWith(".xades")) {
+                return XML;
+            }
+            if (name.endsWith(".p7s") || name.endsWith(".p7m") || name.endsWith(".cms")) {
+                return CMS;
+            }
+        }
+        return UNKNOWN;
+    }
+}
@@ -0,0 +1,308 @@
+package io.mersel.dss.verify.api.services.admission;
+
+import io.mersel.dss.verify.api.config.VerificationConfiguration;
+import io.mersel.dss.verify.api.exceptions.VerificationCapacityExceededException;
+import io.mersel.dss.verify.api.metrics.VerificationMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Locale;
+
+/**
+ * Senkron doğrulama endpoint'lerini kendi {@link AdaptiveConcurrencyLimiter}'ına
+ * eşler: imza ({@code /signature}, {@code /xades}, {@code /pades},
+ * {@code /cades}) ve zaman damgası ({@code /timestamp}) ayrı bulkhead'lerdir
+ * — yavaşlayan imza trafiği zaman damgası kapasitesini tüketmez.
+ *
+ * <p><b>Boyut şeritleri:</b> {@code verification.admission.lanes.enabled}
+ * açıkken imza istekleri {@code Content-Length} ve doküman formatına göre
+ * {@link ExecutionLane#SMALL} ({@code signature} limiti) veya
+ * {@link ExecutionLane#LARGE} ({@code signature-large} limiti) şeridine
+ * düşer. XML DOM'a yüklendiği için daha düşük eşikle büyük sayılır; boyutu
+ * bilinmeyen (chunked) gövde büyük şeride gider. Sıkıştırılmış gövdede
+ * açılmış boyut önceden bilinmediğinden istemcinin bildirdiği sıkıştırılmış
+ * {@code Content-Length} ({@link #DECLARED_LENGTH_ATTRIBUTE}) kullanılır.</p>
+ *
+ * <p>Batch ({@code /signature/batch}) ve asenkron iş ({@code /jobs/**})
+ * endpoint'leri kapsam dışıdır; kendi sınırlı havuzları vardır. İstisna:
+ * asenkron işin istek thread'inde çalışan ön doğrulaması
+ * {@link #acquireSignature} ile imza şeridinden izin alır.</p>
+ */
+@Component
+public class VerificationAdmissionControl {
+
+    private static final Logger logger = LoggerFactory.getLogger(VerificationAdmissionControl.class);
+
+    public static final String SIGNATURE = "signature";
+    public static final String SIGNATURE_LARGE = "signature-large";
+    public static final String TIMESTAMP = "timestamp";
+
+    /**
+     * Gövdeyi sarmalayıp {@code Content-Length}'i gizleyen filtrelerin
+     * (açma) istemcinin bildirdiği uzunluğu bıraktığı request attribute'u
+     * ({@link Long}).
+     */
+    public static final String DECLARED_LENGTH_ATTRIBUTE =
+            VerificationAdmissionControl.class.getName() + ".declaredLength";
+
+    private static final String PREFIX = "/api/v1/verify/";
+
+    private final boolean enabled;
+    private final boolean lanesEnabled;
+    private final long largeThresholdBytes;
+    private final long xmlLargeThresholdBytes;
+    private final AdaptiveConcurrencyLimiter signatureLimiter;
+    private final AdaptiveConcurrencyLimiter signatureLargeLimiter;
+    private final AdaptiveConcurrencyLimiter timestampLimiter;
+    private final VerificationMetrics metrics;
+
+    public VerificationAdmissionControl(VerificationConfiguration config, VerificationMetrics metrics) {
+        this.enabled = config.isAdmissionEnabled();
+        this.lanesEnabled = config.isAdmissionLanesEnabled();
+        this.largeThresholdBytes = config.getAdmissionLanesLargeThresholdBytes();
+        this.xmlLargeThresholdBytes = config.getAdmissionLanesXmlLargeThresholdBytes();
+        this.metrics = metrics;
+        this.signatureLimiter = new AdaptiveConcurrencyLimiter(SIGNATURE,
+                config.getAdmissionSignatureInitialLimit(),
+                config.getAdmissionMinLimit(),
+                config.getAdmissionSignatureMaxLimit(),
+                config.getAdmissionSignatureQueueSize(),
+                config.getAdmissionMaxWaitMs(),
+                config.getAdmissionSignatureTargetLatencyMs());
+        this.signatureLargeLimiter = lanesEnabled
+                ? new AdaptiveConcurrencyLimiter(SIGNATURE_LARGE,
+                        config.getAdmissionSignatureLargeInitialLimit(),
+                        config.getAdmissionMinLimit(),
+                        config.getAdmissionSignatureLargeMaxLimit(),
+                        config.getAdmissionSignatureLargeQueueSize(),
+                        config.getAdmissionMaxWaitMs(),
+                        config.getAdmissionSignatureLargeTargetLatencyMs())
+                : null;
+        this.timestampLimiter = new AdaptiveConcurrencyLimiter(TIMESTAMP,
+                config.getAdmissionTimestampInitialLimit(),
+                config.getAdmissionMinLimit(),
+                config.getAdmissionTimestampMaxLimit(),
+                config.getAdmissionTimestampQueueSize(),
+                config.getAdmissionMaxWaitMs(),
+                config.getAdmissionTimestampTargetLatencyMs());
+
+        if (metrics != null) {
+            bind(signatureLimiter);
+            if (signatureLargeLimiter != null) {
+                bind(signatureLargeLimiter);
+            }
+            bind(timestampLimiter);
+        }
+        logger.info("Verification admission control {}: signature limit={} (max {}), timestamp limit={} (max {}), maxWait={}ms",
+                enabled ? "enabled" : "disabled",
+                signatureLimiter.getLimit(), config.getAdmissionSignatureMaxLimit(),
+                timestampLimiter.getLimit(), config.getAdmissionTimestampMaxLimit(),
+                config.getAdmissionMaxWaitMs());
+        if (lanesEnabled) {
+            logger.info("Verification size lanes enabled: large threshold={} bytes (XML {} bytes), "
+                            + "signature-large limit={} (max {})",
+                    largeThresholdBytes, xmlLargeThresholdBytes,
+                    signatureLargeLimiter.getLimit(), config.getAdmissionSignatureLargeMaxLimit());
+        }
+    }
+
+    private void bind(AdaptiveConcurrencyLimiter limiter) {
+        metrics.bindAdmission(limiter.getName(),
+                limiter::getLimit, limiter::getInFlight, limiter::getQueued);
+    }
+
+    /**
+     * İsteğin yönlendirmesi; kapsam dışıysa veya kontrol kapalıysa
+     * {@code null}.
+     *
+     * @param sniffed gövdenin baş byte'larından çıkarılan format; bilinmiyorsa
+     *                {@code null} (o zaman yalnız endpoint / header ipuçları)
+     */
+    public Route route(HttpServletRequest request, SignedDocumentFormat sniffed) {
+        if (!enabled || !"POST".equalsIgnoreCase(request.getMethod())) {
+            return null;
+        }
+        String path = pathOf(request);
+        if ((PREFIX + "timestamp").equals(path)) {
+            return new Route(timestampLimiter, null);
+        }
+        SignedDocumentFormat endpointFormat = endpointFormat(path);
+        if (endpointFormat == null) {
+            return null;
+        }
+        if (!lanesEnabled) {
+            return new Route(signatureLimiter, null);
+        }
+        SignedDocumentFormat format = sniffed != null && sniffed != SignedDocumentFormat.UNKNOWN
+                ? sniffed
+                : endpointFormat != SignedDocumentFormat.UNKNOWN
+                        ? endpointFormat
+                        : SignedDocumentFormat.fromHints(request.getContentType(), fileNameHint(request));
+        ExecutionLane lane = classify(contentLengthOf(request), format);
+        return new Route(lane == ExecutionLane.LARGE ? signatureLargeLimiter : signatureLimiter, lane);
+    }
+
+    /**
+     * Ham gövdeli (multipart olmayan) imza isteklerinde şerit seçimi için
+     * baş byte'lara bakılmalı mı? Multipart gövdede doküman ilk parça
+     * olmayabileceği için sniff yapılmaz.
+     */
+    public boolean shouldSniff(HttpServletRequest request) {
+        if (!enabled || !lanesEnabled || !"POST".equalsIgnoreCase(request.getMethod())) {
+            return false;
+        }
+        String contentType = request.getContentType();
+        if (contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("multipart/")) {
+            return false;
+        }
+        return endpointFormat(pathOf(request)) != null;
+    }
+
+    /**
+     * Boyut sınıfı: boyut bilinmiyorsa veya formatın eşiğini aşıyorsa
+     * {@link ExecutionLane#LARGE}.
+     */
+    public ExecutionLane classify(long contentLength, SignedDocumentFormat format) {
+        if (contentLength < 0) {
+            return ExecutionLane.LARGE;
+        }
+        long threshold = format == SignedDocumentFormat.XML ? xmlLargeThresholdBytes : largeThresholdBytes;
+        return contentLength > threshold ? ExecutionLane.LARGE : ExecutionLane.SMALL;
+    }
+
+    /**
+     * Kabul filtresinden geçmeyen imza doğrulaması (asenkron işin istek
+     * thread'indeki ön doğrulaması) için imza şeridinden izin alır. Şerit
+     * boyut ve format ipucundan seçilir; bekleme ve red filtredekiyle aynı
+     * şekilde ölçülür.
+     *
+     * @return {@code close()} ile bırakılması gereken izin; kontrol kapalıysa
+     *         {@code null}
+     * @throws VerificationCapacityExceededException şerit dolu
+     */
+    public AdaptiveConcurrencyLimiter.Permit acquireSignature(long contentLength, SignedDocumentFormat format) {
+        if (!enabled) {
+            return null;
+        }
+        Route route = lanesEnabled
+                ? (classify(contentLength, format) == ExecutionLane.LARGE
+                        ? new Route(signatureLargeLimiter, ExecutionLane.LARGE)
+                        : new Route(signatureLimiter, ExecutionLane.SMALL))
+                : new Route(signatureLimiter, null);
+        long waitStart = System.nanoTime();
+        AdaptiveConcurrencyLimiter.Permit permit;
+        try {
+            permit = route.getLimiter().acquire();
+        } catch (VerificationCapacityExceededException e) {
+            recordRejected(route.getLimiter());
+            throw e;
+        }
+        recordAdmissionWait(route, System.nanoTime() - waitStart);
+        return permit;
+    }
+
+    /** Red sayacını artırır (limiter kendi toplamını da tutar). */
+    public void recordRejected(AdaptiveConcurrencyLimiter limiter) {
+        if (metrics != null) {
+            metrics.recordAdmissionRejected(limiter.getName());
+        }
+    }
+
+    /** Kabul kuyruğunda geçen süreyi şerit bazlı aşama metriğine yazar. */
+    public void recordAdmissionWait(Route route, long waitNanos) {
+        if (metrics != null && route.getLane() != null) {
+            metrics.recordStage(route.getLane().tag(), "admission_wait", "ok", waitNanos);
+        }
+    }
+
+    /**
+     * İmza endpoint'inin ima ettiği format; imza endpoint'i değilse
+     * {@code null}. {@code /signature} her formatı kabul ettiği için
+     * {@link SignedDocumentFormat#UNKNOWN}.
+     */
+    private static SignedDocumentFormat endpointFormat(String path) {
+        if (!path.startsWith(PREFIX)) {
+            return null;
+        }
+        switch (path.substring(PREFIX.length())) {
+            case "signature":
+                return SignedDocumentFormat.UNKNOWN;
+            case "xades":
+                return SignedDocumentFormat.XML;
+            case "pades":
+                return SignedDocumentFormat.PDF;
+            case "cades":
+                return SignedDocumentFormat.CMS;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * {@code Content-Length}; sarmalayıcı gizlemişse istemcinin bildirdiği
+     * (sıkıştırılmış) uzunluk, o da yoksa {@code -1}.
+     */
+    private static long contentLengthOf(HttpServletRequest request) {
+        long length = request.getContentLengthLong();
+        if (length >= 0) {
+            return length;
+        }
+        Object declared = request.getAttribute(DECLARED_LENGTH_ATTRIBUTE);
+        return declared instanceof Long ? (Long) declared : -1L;
+    }
+
+    /**
+     * Yalnız header'a bakılır — {@code getParameter} form/multipart gövdeyi
+     * okutabilir, filtre gövdeye dokunmamalı.
+     */
+    private static String fileNameHint(HttpServletRequest request) {
+        return request.getHeader("X-File-Name");
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        if (contextPath != null && !contextPath.isEmpty() && path.startsWith(contextPath)) {
+            path = path.substring(contextPath.length());
+        }
+        if (path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        return path;
+    }
+
+    AdaptiveConcurrencyLimiter getSignatureLimiter() {
+        return signatureLimiter;
+    }
+
+    AdaptiveConcurrencyLimiter getSignatureLargeLimiter() {
+        return signatureLargeLimiter;
+    }
+
+    AdaptiveConcurrencyLimiter getTimestampLimiter() {
+        return timestampLimiter;
+    }
+
+    /** Bir isteğin tabi olduğu sınırlayıcı ve (imza isteklerinde) şerit. */
+    public static final class Route {
+
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final ExecutionLane lane;
+
+        Route(AdaptiveConcurrencyLimiter limiter, ExecutionLane lane) {
+            this.limiter = limiter;
+            this.lane = lane;
+        }
+
+        public AdaptiveConcurrencyLimiter getLimiter() {
+            return limiter;
+        }
+
+        /** Şerit; zaman damgası veya şeritler kapalıyken {@code null}. */
+        public ExecutionLane getLane() {
+            return lane;
+        }
+    }
+}
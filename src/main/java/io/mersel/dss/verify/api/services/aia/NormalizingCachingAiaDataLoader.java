@@ -2,7 +2,9 @@ package io.mersel.dss.verify.api.services.aia;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import eu.europa.esig.dss.spi.client.http.DataLoader;
+import io.mersel.dss.verify.api.services.revocation.RevocationDiskStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,6 +56,11 @@ import java.util.concurrent.TimeUnit;
  * cevaplanır. Ara CA sertifikalarının geçerlilik süresi yıllarca olduğu için
  * 24 saat TTL tamamen güvenli (default).</p>
  *
+ * <p>{@link RevocationDiskStore} verilmişse normalize edilmiş sertifika
+ * byte'ları diske de yazılır; cache miss'te önce diske bakılır ve girdi
+ * ilk fetch'ten itibaren kalan TTL kadar cache'te tutulur (yeni pod ara CA
+ * sertifikalarını yeniden indirmez). Negatif sonuçlar diske yazılmaz.</p>
+ *
  * <p><strong>Thread-safety</strong>: Caffeine cache thread-safe;
  * normalize işlemi stateless; Spring singleton bean olarak güvenle
  * paylaşılabilir.</p>
@@ -74,6 +81,10 @@ public class NormalizingCachingAiaDataLoader implements DataLoader {
 
     private final transient DataLoader delegate;
     private final transient Cache<String, byte[]> cache;
+    private final long cacheTtlSeconds;
+
+    /** Opsiyonel kalıcı katman; {@code null} ise yalnız in-memory. */
+    private final transient RevocationDiskStore diskStore;
 
     /** İş metrikleri için opsiyonel hook; {@code null} olabilir. */
     private final transient io.mersel.dss.verify.api.metrics.VerificationMetrics metrics;
@@ -100,17 +111,35 @@ public class NormalizingCachingAiaDataLoader implements DataLoader {
                                            long maxCacheSize,
                                            long cacheTtlSeconds,
                                            io.mersel.dss.verify.api.metrics.VerificationMetrics metrics) {
+        this(delegate, maxCacheSize, cacheTtlSeconds, metrics, null);
+    }
+
+    /**
+     * Kalıcı katmanlı constructor — bkz. sınıf açıklaması.
+     *
+     * @param diskStore normalize edilmiş sertifikaların yazıldığı store;
+     *                  {@code null} olabilir.
+     */
+    public NormalizingCachingAiaDataLoader(DataLoader delegate,
+                                           long maxCacheSize,
+                                           long cacheTtlSeconds,
+                                           io.mersel.dss.verify.api.metrics.VerificationMetrics metrics,
+                                           RevocationDiskStore diskStore) {
         this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
         this.metrics = metrics;
+        this.diskStore = diskStore;
         if (maxCacheSize <= 0) {
             throw new IllegalArgumentException("maxCacheSize must be > 0, was: " + maxCacheSize);
         }
         if (cacheTtlSeconds <= 0) {
             throw new IllegalArgumentException("cacheTtlSeconds must be > 0, was: " + cacheTtlSeconds);
         }
+        this.cacheTtlSeconds = cacheTtlSeconds;
+        // Sabit TTL; değişken Expiry yalnız diskten yüklenen girdiye kalan
+        // ömrünü verebilmek için (expireAfterWrite ile aynı davranış).
         this.cache = Caffeine.newBuilder()
                 .maximumSize(maxCacheSize)
-                .expireAfterWrite(cacheTtlSeconds, TimeUnit.SECONDS)
+                .expireAfter(new FixedTtlExpiry(TimeUnit.SECONDS.toNanos(cacheTtlSeconds)))
                 .recordStats()
                 .build();
         logger.info("NormalizingCachingAiaDataLoader initialized: delegate={}, maxSize={}, ttlSeconds={}",
@@ -131,6 +160,10 @@ public class NormalizingCachingAiaDataLoader implements DataLoader {
             logger.debug("AIA cache hit: url={}, bytes={}", url, cached.length);
             return cached;
         }
+        byte[] stored = loadFromDisk(url);
+        if (stored != null) {
+            return stored;
+        }
         logger.info("AIA fetch: {}", url);
         long fetchStartNanos = System.nanoTime();
         byte[] raw;
@@ -154,11 +187,32 @@ public class NormalizingCachingAiaDataLoader implements DataLoader {
         recordFetch("success", fetchStartNanos);
         byte[] normalized = normalize(raw, url);
         cache.put(url, normalized);
+        if (diskStore != null) {
+            diskStore.save(RevocationDiskStore.AIA, url, normalized, url,
+                    System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(cacheTtlSeconds));
+        }
         logger.info("AIA cached: url={}, originalBytes={}, normalizedBytes={}",
                 url, raw.length, normalized.length);
         return normalized;
     }
 
+    private byte[] loadFromDisk(String url) {
+        if (diskStore == null) {
+            return null;
+        }
+        long loadStartNanos = System.nanoTime();
+        RevocationDiskStore.Entry entry = diskStore.load(RevocationDiskStore.AIA, url);
+        if (entry == null) {
+            return null;
+        }
+        byte[] data = entry.getData();
+        cache.policy().expireVariably().ifPresent(expiry ->
+                expiry.put(url, data, entry.remainingMillis(), TimeUnit.MILLISECONDS));
+        recordFetch("disk", loadStartNanos);
+        logger.info("AIA loaded from disk store: url={}, bytes={}", url, data.length);
+        return data;
+    }
+
     private void recordFetch(String outcome, long startNanos) {
         if (metrics == null) {
             return;
@@ -300,6 +354,30 @@ public class NormalizingCachingAiaDataLoader implements DataLoader {
         return cache;
     }
 
+    /** Tüm girdiler için sabit TTL; okuma TTL'i uzatmaz. */
+    private static final class FixedTtlExpiry implements Expiry<String, byte[]> {
+        private final long ttlNanos;
+
+        FixedTtlExpiry(long ttlNanos) {
+            this.ttlNanos = ttlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, byte[] value, long currentTime) {
+            return ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, byte[] value, long currentTime, long currentDuration) {
+            return ttlNanos;
+        }
+
+        @Override
+        public long expireAfterRead(String key, byte[] value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
     /**
      * <strong>Serializable contract opt-out.</strong>
      * {@link DataLoader} {@link java.io.Serializable} extends ettiği için
@@ -16,6 +16,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Güvenilir kök sertifika servisi (wrapper)
@@ -31,6 +32,13 @@ public class KamusmRootCertificateService {
     
     private final TrustedRootCertificateResolver resolver;
 
+    /**
+     * Güven deposu nesli: her başarılı refresh'te ve elle sertifika
+     * eklendiğinde artar. Paylaşılan verifier snapshot'ı bu değer
+     * değişince yeniden kurulur.
+     */
+    private final AtomicLong trustGeneration = new AtomicLong();
+
     /**
      * Refresh sonucu + aktif sertifika sayısı + son-başarı zaman damgası
      * metrikleri için opsiyonel hook. {@code required=false} — test
@@ -40,6 +48,13 @@ public class KamusmRootCertificateService {
     @Autowired(required = false)
     private io.mersel.dss.verify.api.metrics.VerificationMetrics verificationMetrics;
 
+    /**
+     * Kök deposu değişince doğrulama sonucu cache'i boşaltılır — eski
+     * güven kararıyla üretilmiş sonuçlar servis edilmesin.
+     */
+    @Autowired(required = false)
+    private io.mersel.dss.verify.api.services.verification.VerificationResultCache verificationResultCache;
+
     @Autowired
     public KamusmRootCertificateService(
             @Value("${trusted.root.resolver.type:kamusm-online}") String resolverType,
@@ -91,6 +106,23 @@ public class KamusmRootCertificateService {
             // sayım alınamadıysa gauge eski değerinde kalır
         }
         recordRefreshMetric(true, count);
+        onTrustStoreChanged();
+    }
+
+    /** Güncel güven deposu nesli (bkz. {@link #trustGeneration}). */
+    public long getTrustGeneration() {
+        return trustGeneration.get();
+    }
+
+    private void onTrustStoreChanged() {
+        trustGeneration.incrementAndGet();
+        invalidateResultCache();
+    }
+
+    private void invalidateResultCache() {
+        if (verificationResultCache != null) {
+            verificationResultCache.invalidateAll();
+        }
     }
 
     private void recordRefreshMetric(boolean success, int certificateCount) {
@@ -118,10 +150,12 @@ public class KamusmRootCertificateService {
 
     public void addTrustedCertificate(CertificateToken certificate) {
         resolver.addTrustedCertificate(certificate);
+        onTrustStoreChanged();
     }
 
     public void addTrustedCertificate(X509Certificate certificate) {
         resolver.addTrustedCertificate(certificate);
+        onTrustStoreChanged();
     }
 
     public boolean isTrusted(CertificateToken certificate) {
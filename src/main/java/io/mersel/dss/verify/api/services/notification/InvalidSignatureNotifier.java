@@ -279,6 +279,15 @@ public class InvalidSignatureNotifier {
         }
     }
 
+    /**
+     * INVALID sonuçlar için gerçekten bildirim gönderilecek mi? (feature
+     * açık ve en az bir hedef set edilmiş). Akışlı yanıt modunda
+     * doğrulayıcı, imzaları yalnız bu durumda bildirim için bellekte tutar.
+     */
+    public boolean isDispatchEnabled() {
+        return config != null && config.isEnabled() && config.hasAnyDestination();
+    }
+
     /**
      * Imza sonucu INVALID ise konfigüre edilmiş kanallara bildirim
      * gönderir. <strong>Best-effort</strong>: bildirim başarısız olsa
@@ -0,0 +1,381 @@
+package io.mersel.dss.verify.api.services.revocation;
+
+import org.bouncycastle.asn1.ASN1Encodable;
+import org.bouncycastle.asn1.ASN1EncodableVector;
+import org.bouncycastle.asn1.ASN1Enumerated;
+import org.bouncycastle.asn1.ASN1Integer;
+import org.bouncycastle.asn1.ASN1Primitive;
+import org.bouncycastle.asn1.BERTags;
+import org.bouncycastle.asn1.DEROctetString;
+import org.bouncycastle.asn1.DERSequence;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.asn1.x509.CertificateList;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.Extensions;
+import org.bouncycastle.asn1.x509.TBSCertList;
+import org.bouncycastle.asn1.x509.Time;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.cert.CRLException;
+import java.security.cert.X509CRLEntry;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Set;
+
+/**
+ * Bir CRL surumunun iptal edilmis seri numaralari uzerinde degismez,
+ * primitive dizilerle kurulmus hash index'i.
+ *
+ * <p>DSS'in stream parser'i her status sorgusunda CRL byte'larini bastan
+ * tarar; yuz binlerce girdili KamuSM CRL'lerinde bu, sertifika basina MB
+ * seviyesinde okuma demektir. Index CRL basina bir kez kurulur; sonraki
+ * sorgular sabit zamanlidir.</p>
+ *
+ * <h3>Yerlesim</h3>
+ * <ul>
+ *   <li>Girdi basina nesne yok: seri numaralari tek {@code byte[]} icinde
+ *       (two's complement) ard arda, tarih {@code long[]}, sebep
+ *       {@code byte[]} (-1 = reasonCode yok) olarak tutulur.</li>
+ *   <li>Acik adresleme (linear probing), doluluk &lt;= %50; slot'ta girdi
+ *       indeksi + 1 (0 = bos) saklanir.</li>
+ *   <li>Hash {@link BigInteger#hashCode()}'tur — sorgu tarafinda ek
+ *       allocation yapmaz. Seri byte'lari yalniz hash eslestiginde
+ *       karsilastirilir; iptal edilmemis (GOOD) sertifikalar icin sorgu
+ *       pratikte allocation'sizdir.</li>
+ * </ul>
+ *
+ * <p>Ayni seri numarasi birden fazla kez listelenmisse ilk girdi gecerlidir
+ * (DSS stream parser'i ile ayni).</p>
+ */
+final class CRLIndex {
+
+    private static final byte NO_REASON = -1;
+
+    private final int[] slots;
+    private final int[] hashes;
+    private final int[] serialOffsets;
+    private final byte[] serials;
+    private final long[] revocationDates;
+    private final byte[] reasons;
+    private final int size;
+
+    private CRLIndex(int[] slots, int[] hashes, int[] serialOffsets, byte[] serials,
+                     long[] revocationDates, byte[] reasons, int size) {
+        this.slots = slots;
+        this.hashes = hashes;
+        this.serialOffsets = serialOffsets;
+        this.serials = serials;
+        this.revocationDates = revocationDates;
+        this.reasons = reasons;
+        this.size = size;
+    }
+
+    /**
+     * DER kodlu CRL'den index kurar. ASN.1 agaci kurulum boyunca gecici
+     * olarak bellekte tutulur; index'e yalniz primitive diziler kalir.
+     *
+     * @throws IOException CRL parse edilemezse
+     */
+    static CRLIndex build(byte[] derEncodedCrl) throws IOException {
+        TBSCertList tbs;
+        try {
+            tbs = CertificateList.getInstance(ASN1Primitive.fromByteArray(derEncodedCrl)).getTBSCertList();
+        } catch (RuntimeException e) {
+            throw new IOException("CRL could not be parsed: " + e.getMessage(), e);
+        }
+        TBSCertList.CRLEntry[] entries = tbs.getRevokedCertificates();
+
+        int count = entries.length;
+        int[] hashes = new int[count];
+        int[] serialOffsets = new int[count + 1];
+        long[] revocationDates = new long[count];
+        byte[] reasons = new byte[count];
+        byte[][] serialBytes = new byte[count][];
+        int totalSerialBytes = 0;
+
+        for (int i = 0; i < count; i++) {
+            TBSCertList.CRLEntry entry = entries[i];
+            BigInteger serial = entry.getUserCertificate().getValue();
+            hashes[i] = serial.hashCode();
+            serialBytes[i] = serial.toByteArray();
+            totalSerialBytes += serialBytes[i].length;
+            revocationDates[i] = epochMillis(entry.getRevocationDate());
+            reasons[i] = reasonOf(entry.getExtensions());
+        }
+
+        byte[] serials = new byte[totalSerialBytes];
+        int offset = 0;
+        for (int i = 0; i < count; i++) {
+            serialOffsets[i] = offset;
+            System.arraycopy(serialBytes[i], 0, serials, offset, serialBytes[i].length);
+            offset += serialBytes[i].length;
+        }
+        serialOffsets[count] = offset;
+
+        int[] slots = new int[tableSize(count)];
+        CRLIndex index = new CRLIndex(slots, hashes, serialOffsets, serials, revocationDates, reasons, count);
+        for (int i = 0; i < count; i++) {
+            index.insert(i);
+        }
+        return index;
+    }
+
+    /**
+     * {@code serial} iptal edilmisse CRL girdisini, degilse {@code null} doner.
+     */
+    X509CRLEntry lookup(BigInteger serial) {
+        int entry = find(serial);
+        if (entry < 0) {
+            return null;
+        }
+        return new IndexedEntry(serial, revocationDates[entry], reasons[entry]);
+    }
+
+    /** Index'teki iptal girdisi sayisi. */
+    int size() {
+        return size;
+    }
+
+    /** Index dizilerinin yaklasik heap boyutu (byte); log / teshis icin. */
+    long retainedBytes() {
+        return 4L * slots.length + 4L * hashes.length + 4L * serialOffsets.length
+                + serials.length + 8L * revocationDates.length + reasons.length;
+    }
+
+    private int find(BigInteger serial) {
+        int hash = serial.hashCode();
+        int mask = slots.length - 1;
+        for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+            int candidate = slots[slot] - 1;
+            if (candidate < 0) {
+                return -1;
+            }
+            if (hashes[candidate] == hash && serialEquals(candidate, serial)) {
+                return candidate;
+            }
+        }
+    }
+
+    private void insert(int entry) {
+        int mask = slots.length - 1;
+        for (int slot = spread(hashes[entry]) & mask; ; slot = (slot + 1) & mask) {
+            int existing = slots[slot] - 1;
+            if (existing < 0) {
+                slots[slot] = entry + 1;
+                return;
+            }
+            if (hashes[existing] == hashes[entry] && sameSerial(existing, entry)) {
+                return;
+            }
+        }
+    }
+
+    private boolean serialEquals(int entry, BigInteger serial) {
+        byte[] candidate = serial.toByteArray();
+        int from = serialOffsets[entry];
+        int length = serialOffsets[entry + 1] - from;
+        if (candidate.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (serials[from + i] != candidate[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean sameSerial(int a, int b) {
+        int fromA = serialOffsets[a];
+        int fromB = serialOffsets[b];
+        int length = serialOffsets[a + 1] - fromA;
+        if (length != serialOffsets[b + 1] - fromB) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (serials[fromA + i] != serials[fromB + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int tableSize(int count) {
+        int size = 2;
+        while (size < count * 2L) {
+            size <<= 1;
+        }
+        return size;
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * RFC 5280'in DER zaman bicimleri ({@code YYMMDDHHMMSSZ} UTCTime,
+     * {@code YYYYMMDDHHMMSSZ} GeneralizedTime) icin aritmetik donusum.
+     * BouncyCastle'in {@code SimpleDateFormat} tabanli parse'i yuz binlerce
+     * girdide index kurulumunun yarisina yakinini tutuyordu; diger bicimler
+     * ona birakilir.
+     */
+    private static long epochMillis(Time time) throws IOException {
+        byte[] der = time.toASN1Primitive().getEncoded();
+        int length = der.length - 2;
+        boolean utc = der[0] == BERTags.UTC_TIME && length == 13;
+        boolean generalized = der[0] == BERTags.GENERALIZED_TIME && length == 15;
+        if ((!utc && !generalized) || der[1] != length || der[der.length - 1] != 'Z') {
+            return time.getDate().getTime();
+        }
+        int pos = 2;
+        int year;
+        if (utc) {
+            int yy = twoDigits(der, pos);
+            year = yy < 0 ? -1 : (yy < 50 ? 2000 + yy : 1900 + yy);
+            pos += 2;
+        } else {
+            int high = twoDigits(der, pos);
+            int low = twoDigits(der, pos + 2);
+            year = high < 0 || low < 0 ? -1 : high * 100 + low;
+            pos += 4;
+        }
+        int month = twoDigits(der, pos);
+        int day = twoDigits(der, pos + 2);
+        int hour = twoDigits(der, pos + 4);
+        int minute = twoDigits(der, pos + 6);
+        int second = twoDigits(der, pos + 8);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return time.getDate().getTime();
+        }
+        long days = daysFromCivil(year, month, day);
+        return ((days * 24 + hour) * 60 + minute) * 60_000L + second * 1000L;
+    }
+
+    private static int twoDigits(byte[] bytes, int pos) {
+        int tens = bytes[pos] - '0';
+        int ones = bytes[pos + 1] - '0';
+        if (tens < 0 || tens > 9 || ones < 0 || ones > 9) {
+            return -1;
+        }
+        return tens * 10 + ones;
+    }
+
+    /** 1970-01-01'den itibaren gun sayisi (proleptik Gregoryen; H. Hinnant). */
+    private static long daysFromCivil(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = (y >= 0 ? y : y - 399) / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468L;
+    }
+
+    private static byte reasonOf(Extensions extensions) {
+        if (extensions == null) {
+            return NO_REASON;
+        }
+        Extension extension = extensions.getExtension(Extension.reasonCode);
+        if (extension == null) {
+            return NO_REASON;
+        }
+        int reason = CRLReason.getInstance(extension.getParsedValue()).getValue().intValue();
+        return reason >= 0 && reason < java.security.cert.CRLReason.values().length ? (byte) reason : NO_REASON;
+    }
+
+    /**
+     * Index'ten uretilen CRL girdisi. DSS yalniz iptal tarihini ve sebebini
+     * okur; kodlama istenirse girdi bu alanlardan yeniden uretilir.
+     */
+    private static final class IndexedEntry extends X509CRLEntry {
+
+        private final BigInteger serial;
+        private final long revocationDate;
+        private final byte reason;
+
+        IndexedEntry(BigInteger serial, long revocationDate, byte reason) {
+            this.serial = serial;
+            this.revocationDate = revocationDate;
+            this.reason = reason;
+        }
+
+        @Override
+        public BigInteger getSerialNumber() {
+            return serial;
+        }
+
+        @Override
+        public Date getRevocationDate() {
+            return new Date(revocationDate);
+        }
+
+        @Override
+        public java.security.cert.CRLReason getRevocationReason() {
+            return reason == NO_REASON ? null : java.security.cert.CRLReason.values()[reason];
+        }
+
+        @Override
+        public boolean hasExtensions() {
+            return reason != NO_REASON;
+        }
+
+        @Override
+        public byte[] getEncoded() throws CRLException {
+            try {
+                ASN1EncodableVector fields = new ASN1EncodableVector();
+                fields.add(new ASN1Integer(serial));
+                fields.add(new Time(new Date(revocationDate)));
+                if (reason != NO_REASON) {
+                    fields.add(new DERSequence(new Extension(Extension.reasonCode, false,
+                            new DEROctetString(reasonExtensionValue()))));
+                }
+                return new DERSequence(fields).getEncoded();
+            } catch (IOException e) {
+                throw new CRLException("CRL entry could not be encoded", e);
+            }
+        }
+
+        @Override
+        public Set<String> getCriticalExtensionOIDs() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public Set<String> getNonCriticalExtensionOIDs() {
+            return reason == NO_REASON
+                    ? Collections.<String>emptySet()
+                    : Collections.singleton(Extension.reasonCode.getId());
+        }
+
+        @Override
+        public byte[] getExtensionValue(String oid) {
+            if (reason == NO_REASON || !Extension.reasonCode.getId().equals(oid)) {
+                return null;
+            }
+            try {
+                return new DEROctetString(reasonExtensionValue()).getEncoded();
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public boolean hasUnsupportedCriticalExtension() {
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return "IndexedCRLEntry[serial=" + serial.toString(16)
+                    + ", revocationDate=" + getRevocationDate()
+                    + ", reason=" + getRevocationReason() + "]";
+        }
+
+        private byte[] reasonExtensionValue() throws IOException {
+            ASN1Encodable value = new ASN1Enumerated(reason);
+            return value.toASN1Primitive().getEncoded();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package io.mersel.dss.verify.api.services.revocation;
+
+import eu.europa.esig.dss.service.http.commons.CommonsDataLoader;
+import io.mersel.dss.verify.api.services.admission.RequestCancellation;
+import io.mersel.dss.verify.api.services.admission.RequestDeadline;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+/**
+ * {@link RequestDeadline}'a uyan {@link CommonsDataLoader} — OCSP, CRL ve
+ * AIA fetch'lerinin HTTP timeout'larını isteğin kalan bütçesiyle sınırlar.
+ *
+ * <h3>Neden alt sınıf?</h3>
+ * <p>Loader Spring singleton'ıdır ve tüm istekler arasında paylaşılır;
+ * timeout setter'larını istek başına çağırmak diğer thread'lerin fetch'ini
+ * bozardı. DSS 6.3 ise HTTP client'ı her fetch'te yeniden kurar ve timeout
+ * değerlerini {@link #getSocketConfig()}, {@link #getRequestConfigBuilder()}
+ * ve {@link #getConnectionManager()} üzerinden o anki (çağıran) thread'de
+ * okur. Bu hook'larda konfigüre edilmiş değer kalan bütçeyle sınırlanır;
+ * deadline'a bağlı olmayan thread'lerde davranış {@link CommonsDataLoader}
+ * ile birebir aynıdır.</p>
+ *
+ * <h3>Davranış</h3>
+ * <ul>
+ *   <li>Bütçe bittiyse fetch hiç başlatılmaz;
+ *       {@link io.mersel.dss.verify.api.exceptions.RequestDeadlineExceededException}
+ *       atılır (cache'lenmez, retry edilmez).</li>
+ *   <li>İstemci bağlantıyı kapattıysa ({@link RequestCancellation}) fetch
+ *       başlatılmaz;
+ *       {@link io.mersel.dss.verify.api.exceptions.RequestCancelledException}
+ *       atılır (cache'lenmez, retry edilmez).</li>
+ *   <li>Kısaltılmış timeout'la fetch hata verirse ve bütçe o sırada bitmişse
+ *       deadline aşılmış olarak işaretlenir.</li>
+ * </ul>
+ */
+public class DeadlineAwareDataLoader extends CommonsDataLoader {
+
+    private static final long serialVersionUID = 1L;
+
+    public DeadlineAwareDataLoader() {
+        super();
+    }
+
+    /**
+     * @param contentType POST content-type'ı (OCSP için
+     *                    {@code application/ocsp-request})
+     */
+    public DeadlineAwareDataLoader(String contentType) {
+        super(contentType);
+    }
+
+    @Override
+    public byte[] get(String url) {
+        RequestCancellation.checkBeforeFetch("GET " + url);
+        RequestDeadline.checkNotExpired("GET " + url);
+        try {
+            return super.get(url);
+        } catch (RuntimeException e) {
+            markIfExpired();
+            throw e;
+        }
+    }
+
+    @Override
+    public byte[] post(String url, byte[] content) {
+        RequestCancellation.checkBeforeFetch("POST " + url);
+        RequestDeadline.checkNotExpired("POST " + url);
+        try {
+            return super.post(url, content);
+        } catch (RuntimeException e) {
+            markIfExpired();
+            throw e;
+        }
+    }
+
+    @Override
+    protected SocketConfig getSocketConfig() {
+        if (RequestDeadline.current() == null) {
+            return super.getSocketConfig();
+        }
+        return SocketConfig.custom()
+                .setSoTimeout(clamped(getTimeoutSocket()))
+                .build();
+    }
+
+    @Override
+    protected RequestConfig.Builder getRequestConfigBuilder() {
+        RequestConfig.Builder builder = super.getRequestConfigBuilder();
+        if (RequestDeadline.current() != null) {
+            builder.setConnectionRequestTimeout(clamped(getTimeoutConnectionRequest()))
+                    .setResponseTimeout(clamped(getTimeoutResponse()));
+        }
+        return builder;
+    }
+
+    @Override
+    protected HttpClientConnectionManager getConnectionManager() {
+        HttpClientConnectionManager manager = super.getConnectionManager();
+        if (RequestDeadline.current() != null && manager instanceof PoolingHttpClientConnectionManager) {
+            ((PoolingHttpClientConnectionManager) manager).setDefaultConnectionConfig(ConnectionConfig.custom()
+                    .setConnectTimeout(clamped(getTimeoutConnection()))
+                    .setTimeToLive(TimeValue.ofMilliseconds(getConnectionTimeToLive()))
+                    .build());
+        }
+        return manager;
+    }
+
+    private static Timeout clamped(int configuredMillis) {
+        return Timeout.ofMilliseconds(RequestDeadline.clampTimeoutMillis(configuredMillis));
+    }
+
+    private static void markIfExpired() {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline != null) {
+            deadline.isExpired();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package io.mersel.dss.verify.api.services.revocation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import eu.europa.esig.dss.crl.CRLBinary;
+import eu.europa.esig.dss.crl.CRLUtils;
+import eu.europa.esig.dss.crl.CRLValidity;
+import eu.europa.esig.dss.crl.ICRLUtils;
+import eu.europa.esig.dss.crl.stream.impl.CRLUtilsStreamImpl;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.cert.X509CRLEntry;
+
+/**
+ * DSS {@link ICRLUtils} SPI implementasyonu — cache'in sahip oldugu CRL'ler
+ * icin status sorgularini {@link CRLIndex} uzerinden cevaplar.
+ *
+ * <p>{@code CRLToken} her sertifika icin {@code CRLUtils.getRevocationInfo}
+ * cagirir; DSS'in stream implementasyonu bu cagride CRL byte'larini bastan
+ * tarar. {@link LoggingCachingCRLSource} ayni {@link CRLValidity}'yi bir
+ * CA'nin tum sertifikalari icin paylastigindan, CRL'i cache'e koyarken
+ * {@link #index(CRLValidity)} ile index'ini bir kez kurar. Index o nesneye
+ * zayif anahtarla bagli yasar; CRL surumu cache'ten dusunce onunla silinir.</p>
+ *
+ * <p>Index'i olmayan CRL'ler — dokumana gomulu CRL'ler (XAdES-XL/A, PAdES
+ * DSS sozlugu), her istekte yeniden parse edilenler — dogrudan
+ * {@link CRLUtilsStreamImpl} taramasina gider; istek yolunda index kurulmaz.
+ * CRL parse ve imza dogrulamasi ({@code buildCRLBinary},
+ * {@code buildCRLValidity}) her zaman stream implementasyonundadir.</p>
+ *
+ * <p>{@code META-INF/services/eu.europa.esig.dss.crl.ICRLUtils} ile
+ * kaydedilir, ancak DSS'in bu sinifi secmesine guvenilmez: DSS classpath'te
+ * ilk bulunan implementasyonu kullanir. {@link #isActive()} bunu bir kez
+ * yoklar; baska bir implementasyon secilmisse index hic kurulmaz (bellek
+ * ve CPU bosa harcanmaz) ve status sorgulari stream taramasiyla dogru
+ * calismaya devam eder.</p>
+ */
+public class IndexedCRLUtils implements ICRLUtils {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndexedCRLUtils.class);
+
+    /** Cache'in sahip oldugu CRL'lerin index'leri; zayif anahtar — CRL'den uzun yasamaz. */
+    private static final Cache<CRLValidity, CRLIndex> INDEXES = Caffeine.newBuilder()
+            .weakKeys()
+            .build();
+
+    /** {@link #isActive()} yoklamasi; yalniz bu sinif DSS'e kayitliysa buraya ulasir. */
+    private static final CRLValidity PROBE = new CRLValidity(new CRLBinary(new byte[] {0}));
+
+    private static volatile boolean probeSeen;
+    private static volatile Boolean active;
+
+    private final ICRLUtils delegate;
+
+    public IndexedCRLUtils() {
+        this(new CRLUtilsStreamImpl());
+    }
+
+    IndexedCRLUtils(ICRLUtils delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * DSS'in {@code CRLUtils}'i bu implementasyona mi yonlendiriyor? Ilk
+     * cagrida bir yoklama sorgusuyla belirlenir; sonuc sabittir.
+     */
+    static boolean isActive() {
+        Boolean result = active;
+        if (result == null) {
+            try {
+                CRLUtils.getRevocationInfo(PROBE, BigInteger.ZERO);
+            } catch (RuntimeException ignore) {
+                // baska implementasyon bozuk yoklama CRL'ini parse edemedi
+            }
+            result = probeSeen;
+            active = result;
+            if (!result) {
+                logger.warn("DSS selected another ICRLUtils implementation; CRL status lookups use the stream scan (no index)");
+            }
+        }
+        return result;
+    }
+
+    /**
+     * {@code crlValidity} icin index kurar (zaten varsa dokunmaz). Yalniz
+     * revocation cache'i cagirir — index'in maliyeti CRL surumu basina bir
+     * kez, CRL cache'e konurken odenir. Bu sinif DSS'te aktif degilse veya
+     * index kurulamazsa (bozuk / beklenmedik ASN.1) bir sey yapmaz.
+     */
+    static void index(CRLValidity crlValidity) {
+        if (crlValidity == null || !isActive()) {
+            return;
+        }
+        try {
+            INDEXES.get(crlValidity, IndexedCRLUtils::buildIndex);
+        } catch (RuntimeException e) {
+            logger.warn("CRL index could not be built (url={}), status lookups use stream scan: {}",
+                    crlValidity.getUrl(), e.getMessage());
+        }
+    }
+
+    /** {@code crlValidity}'nin index'i; yoksa {@code null} (test / teshis). */
+    static CRLIndex indexOf(CRLValidity crlValidity) {
+        return INDEXES.getIfPresent(crlValidity);
+    }
+
+    @Override
+    public CRLBinary buildCRLBinary(byte[] binaries) {
+        return delegate.buildCRLBinary(binaries);
+    }
+
+    @Override
+    public CRLValidity buildCRLValidity(CRLBinary crlBinary, CertificateToken issuerToken) throws IOException {
+        return delegate.buildCRLValidity(crlBinary, issuerToken);
+    }
+
+    @Override
+    public X509CRLEntry getRevocationInfo(CRLValidity crlValidity, BigInteger serialNumber) {
+        if (crlValidity == PROBE) {
+            probeSeen = true;
+            return null;
+        }
+        CRLIndex index = INDEXES.getIfPresent(crlValidity);
+        if (index == null) {
+            return delegate.getRevocationInfo(crlValidity, serialNumber);
+        }
+        return index.lookup(serialNumber);
+    }
+
+    private static CRLIndex buildIndex(CRLValidity crlValidity) {
+        long startNanos = System.nanoTime();
+        CRLIndex index;
+        try {
+            index = CRLIndex.build(crlValidity.getDerEncoded());
+        } catch (IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        logger.info("CRL index built: url={}, entries={}, thisUpdate={}, ~{} KB, took {} ms",
+                crlValidity.getUrl(),
+                index.size(),
+                crlValidity.getThisUpdate(),
+                index.retainedBytes() / 1024,
+                (System.nanoTime() - startNanos) / 1_000_000L);
+        return index;
+    }
+}
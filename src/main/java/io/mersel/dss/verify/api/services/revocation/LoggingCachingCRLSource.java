@@ -3,13 +3,20 @@ package io.mersel.dss.verify.api.services.revocation;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.Expiry;
+import eu.europa.esig.dss.crl.CRLUtils;
+import eu.europa.esig.dss.crl.CRLValidity;
+import eu.europa.esig.dss.enumerations.RevocationOrigin;
 import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.CertificateExtensionsUtils;
 import eu.europa.esig.dss.spi.x509.revocation.crl.CRLSource;
 import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 
@@ -28,10 +35,42 @@ import java.util.concurrent.TimeUnit;
  *       OCSP saniyeler ila saatler arasi.</li>
  * </ul>
  *
+ * <h3>Anahtarlama: dagitim noktasi + issuer</h3>
+ * <p>Cache CRL govdesini (CRL token'i ve arkasindaki {@code CRLValidity})
+ * {@code dagitimNoktasiURL::issuerDSSId} anahtariyla (sertifikanin ilk
+ * dagitim noktasi) bir kez tutar. Ayni
+ * CA'nin verdigi her sertifika ayni girdiyi kullanir; sertifikaya ozel
+ * token, cache'teki govdeden yerel bir status aramasiyla uretilir (ag
+ * cagrisi yok). Cache'e konan her CRL icin {@link IndexedCRLUtils} index'i
+ * bir kez kurulur; arama CRL'i taramadan sabit zamanlidir. Bellek boylece
+ * imzaci sayisiyla degil CA sayisiyla olceklenir. Issuer anahtarin parcasidir cunku CRL imzasi issuer'a gore
+ * dogrulanir.</p>
+ * <p>CRL dagitim noktasi uzantisi olmayan (veya okunamayan) sertifikalar
+ * icin sertifika-basina anahtara ({@code certDSSId::issuerDSSId}) dusulur.</p>
+ *
  * <h3>TTL stratejisi</h3>
  * <p>{@code CRLToken.getNextUpdate()} + default TTL ust siniri.
  * {@link LoggingCachingOCSPSource} ile birebir ayni mantik.</p>
  *
+ * <h3>Tek ucustaki fetch</h3>
+ * <p>Ayni dagitim noktasi icin esanli cache miss'ler — farkli sertifikalar
+ * icin olsalar bile — tek indirmeye indirgenir ({@link SingleFlight}); bkz.
+ * {@link LoggingCachingOCSPSource}.</p>
+ *
+ * <h3>Kalici katman (opsiyonel)</h3>
+ * <p>{@link RevocationDiskStore} verilmisse cache'e yazilan her CRL diske de
+ * yazilir (ayni dagitim noktasi + issuer anahtariyla); cache miss'te
+ * indirmeden once diske bakilir. Diskteki CRL'in imzasi issuer'a gore
+ * yeniden dogrulanir ve kalan omru kadar cache'e konur
+ * ({@code outcome="disk"}).</p>
+ *
+ * <h3>Arka plan yenileme (opsiyonel)</h3>
+ * <p>{@link RevocationRefreshScheduler} verilmisse son yuklemeden beri
+ * cache hit almis CRL'ler son kullanma zamanina yaklastiginda arka planda
+ * yeniden indirilir (girdiyi ilk yukleyen sertifika uzerinden); sicak
+ * CA'larin sertifikalari istek yolunda CRL indirmesi beklemez. Bkz.
+ * {@link LoggingCachingOCSPSource}.</p>
+ *
  * <h3>Loglama</h3>
  * <ul>
  *   <li><b>INFO</b> — cache miss / HTTP fetch ("CRL request: ...")</li>
@@ -48,6 +87,14 @@ public class LoggingCachingCRLSource implements CRLSource {
 
     private final transient CRLSource delegate;
     private final transient Cache<String, CRLToken> cache;
+    private final transient SingleFlight<CRLToken> inFlight;
+    private final long defaultTtlSeconds;
+
+    /** Opsiyonel kalici katman; {@code null} ise yalniz in-memory. */
+    private final transient RevocationDiskStore diskStore;
+
+    /** Opsiyonel arka plan yenileme takibi; {@code null} ise kapali. */
+    private final transient RevocationRefreshScheduler.Tracker<CRLToken> refreshAhead;
 
     /** İş metrikleri için opsiyonel hook; {@code null} olabilir. */
     private final transient io.mersel.dss.verify.api.metrics.VerificationMetrics metrics;
@@ -58,21 +105,67 @@ public class LoggingCachingCRLSource implements CRLSource {
 
     public LoggingCachingCRLSource(CRLSource delegate, long maxCacheSize, long defaultTtlSeconds,
                                    io.mersel.dss.verify.api.metrics.VerificationMetrics metrics) {
+        this(delegate, maxCacheSize, defaultTtlSeconds, metrics, null);
+    }
+
+    /**
+     * Kalici katmanli constructor — bkz. sinif aciklamasi.
+     *
+     * @param diskStore ham CRL'lerin yazildigi store; {@code null} olabilir.
+     */
+    public LoggingCachingCRLSource(CRLSource delegate, long maxCacheSize, long defaultTtlSeconds,
+                                   io.mersel.dss.verify.api.metrics.VerificationMetrics metrics,
+                                   RevocationDiskStore diskStore) {
+        this(delegate, maxCacheSize, defaultTtlSeconds, metrics, diskStore, null);
+    }
+
+    /**
+     * Arka plan yenilemeli constructor — bkz. sinif aciklamasi.
+     *
+     * @param refreshScheduler sicak CRL'leri expire olmadan yenileyen
+     *                         zamanlayici; {@code null} olabilir.
+     */
+    public LoggingCachingCRLSource(CRLSource delegate, long maxCacheSize, long defaultTtlSeconds,
+                                   io.mersel.dss.verify.api.metrics.VerificationMetrics metrics,
+                                   RevocationDiskStore diskStore,
+                                   RevocationRefreshScheduler refreshScheduler) {
+        this(delegate, maxCacheSize, defaultTtlSeconds, metrics, diskStore, refreshScheduler,
+                SingleFlight.DEFAULT_MAX_WAIT_MILLIS);
+    }
+
+    /**
+     * Tam constructor — bkz. sinif aciklamasi.
+     *
+     * @param coalescedWaitMillis esanli miss'te bekleyenin ucustaki fetch'i
+     *                            bekleyecegi ust sinir (liderin yapilandirilmis
+     *                            en uzun fetch suresi); asilirsa bekleyen
+     *                            kendisi indirir
+     */
+    public LoggingCachingCRLSource(CRLSource delegate, long maxCacheSize, long defaultTtlSeconds,
+                                   io.mersel.dss.verify.api.metrics.VerificationMetrics metrics,
+                                   RevocationDiskStore diskStore,
+                                   RevocationRefreshScheduler refreshScheduler,
+                                   long coalescedWaitMillis) {
         this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        this.inFlight = new SingleFlight<>(coalescedWaitMillis);
         this.metrics = metrics;
+        this.diskStore = diskStore;
         if (maxCacheSize <= 0) {
             throw new IllegalArgumentException("maxCacheSize must be > 0, was: " + maxCacheSize);
         }
         if (defaultTtlSeconds <= 0) {
             throw new IllegalArgumentException("defaultTtlSeconds must be > 0, was: " + defaultTtlSeconds);
         }
+        this.defaultTtlSeconds = defaultTtlSeconds;
         this.cache = Caffeine.newBuilder()
                 .maximumSize(maxCacheSize)
                 .expireAfter(new TokenExpiry(defaultTtlSeconds))
                 .recordStats()
                 .build();
-        logger.info("LoggingCachingCRLSource initialized: delegate={}, maxSize={}, defaultTtlSeconds={}",
-                delegate.getClass().getSimpleName(), maxCacheSize, defaultTtlSeconds);
+        this.refreshAhead = refreshScheduler != null ? refreshScheduler.track("crl", cache, this::refresh) : null;
+        logger.info("LoggingCachingCRLSource initialized: delegate={}, maxSize={}, defaultTtlSeconds={}, diskStore={}, refreshAhead={}",
+                delegate.getClass().getSimpleName(), maxCacheSize, defaultTtlSeconds, diskStore != null,
+                refreshAhead != null);
     }
 
     @Override
@@ -82,14 +175,55 @@ public class LoggingCachingCRLSource implements CRLSource {
             return null;
         }
 
-        String key = buildKey(certificateToken, issuerCertificateToken);
-        CRLToken cached = cache.getIfPresent(key);
+        List<String> distributionPoints = distributionPoints(certificateToken);
+        CRLToken cached = lookup(distributionPoints, certificateToken, issuerCertificateToken);
         if (cached != null) {
+            CRLToken token = forCertificate(cached, certificateToken);
             logger.debug("CRL cache hit: subject='{}', status={}, sourceUrl={}",
                     safeSubject(certificateToken),
-                    cached.getStatus(),
-                    cached.getSourceURL());
-            return cached;
+                    token.getStatus(),
+                    token.getSourceURL());
+            return token;
+        }
+
+        String flightKey = primaryKey(distributionPoints, certificateToken, issuerCertificateToken);
+        SingleFlight.Outcome<CRLToken> outcome;
+        long waitStartNanos = System.nanoTime();
+        try {
+            outcome = inFlight.execute(flightKey,
+                    () -> fetchAndCache(distributionPoints, certificateToken, issuerCertificateToken));
+        } catch (RuntimeException e) {
+            // Yalniz bu istege ait sebeple (deadline / istemci kopmasi)
+            // baslatilmayan fetch; metric ve log fetchAndCache'te yazildi.
+            return null;
+        }
+        CRLToken token = outcome.getValue() != null ? forCertificate(outcome.getValue(), certificateToken) : null;
+        if (outcome.isCoalesced()) {
+            recordFetch("coalesced", waitStartNanos);
+            logger.debug("CRL request coalesced: subject='{}' — waited for in-flight fetch ({})",
+                    safeSubject(certificateToken),
+                    token != null ? token.getStatus() : "no token");
+        }
+        return token;
+    }
+
+    /**
+     * Cache-miss fetch'i — dagitim noktasi basina tek ucusta ({@link SingleFlight}).
+     * Bekleyen cagiranlar liderin token'ini alir ve kendi sertifikalari icin
+     * yeniden uretir; cache'leme kurallari degismez.
+     * Yalniz bu istege ait sebeple (deadline, istemci kopmasi) baslatilmayan
+     * fetch exception olarak firlatilir ki bekleyenler bu sonucu devralmasin.
+     */
+    private CRLToken fetchAndCache(List<String> distributionPoints, CertificateToken certificateToken,
+                                   CertificateToken issuerCertificateToken) {
+        // Anahtar alinmadan hemen once onceki lider cache'e yazmis olabilir.
+        CRLToken raced = lookup(distributionPoints, certificateToken, issuerCertificateToken);
+        if (raced != null) {
+            return raced;
+        }
+        CRLToken stored = loadFromDisk(distributionPoints, certificateToken, issuerCertificateToken);
+        if (stored != null) {
+            return stored;
         }
 
         logger.info("CRL request: subject='{}', issuer='{}' — cache miss, fetching CRL",
@@ -102,6 +236,10 @@ public class LoggingCachingCRLSource implements CRLSource {
             token = delegate.getRevocationToken(certificateToken, issuerCertificateToken);
         } catch (RuntimeException e) {
             recordFetch("error", fetchStartNanos);
+            if (RetryExecutor.isAbandonedFetch(e)) {
+                logger.info("CRL fetch skipped for subject='{}': {}", safeSubject(certificateToken), e.getMessage());
+                throw e;
+            }
             logger.warn("CRL fetch failed for subject='{}': {} (not cached, returning null)",
                     safeSubject(certificateToken), e.getMessage());
             return null;
@@ -115,7 +253,8 @@ public class LoggingCachingCRLSource implements CRLSource {
         }
 
         recordFetch("success", fetchStartNanos);
-        cache.put(key, token);
+        store(primaryKey(distributionPoints, certificateToken, issuerCertificateToken),
+                token, certificateToken, issuerCertificateToken);
         logger.info("CRL response: subject='{}', status={}, thisUpdate={}, nextUpdate={}, sourceUrl={} (cached)",
                 safeSubject(certificateToken),
                 token.getStatus(),
@@ -125,6 +264,135 @@ public class LoggingCachingCRLSource implements CRLSource {
         return token;
     }
 
+    /**
+     * Arka plan yenilemesi ({@link RevocationRefreshScheduler} thread'inde).
+     * Girdinin anahtari {@link #primaryKey} ile uretildigi icin istek
+     * yolundaki tek ucus anahtariyla aynidir; yenileme surerken gelen
+     * miss'ler ayni {@link SingleFlight} girdisinde bu indirmeyi bekler.
+     */
+    private void refresh(String key, CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+        inFlight.execute(key, () -> refreshFromDistributionPoint(key, certificateToken, issuerCertificateToken));
+    }
+
+    /**
+     * CRL'i yeniden indirip cache'teki girdinin yerine koyar. Hata veya bos
+     * yanitta cache'e dokunulmaz; eski CRL kendi son kullanma zamanina kadar
+     * gecerlidir.
+     */
+    private CRLToken refreshFromDistributionPoint(String key, CertificateToken certificateToken,
+                                                  CertificateToken issuerCertificateToken) {
+        long fetchStartNanos = System.nanoTime();
+        CRLToken token;
+        try {
+            token = delegate.getRevocationToken(certificateToken, issuerCertificateToken);
+        } catch (RuntimeException e) {
+            recordRefresh("error", fetchStartNanos);
+            logger.warn("CRL refresh-ahead failed for subject='{}': {} (cached CRL kept until expiry)",
+                    safeSubject(certificateToken), e.getMessage());
+            return cache.getIfPresent(key);
+        }
+        if (token == null) {
+            recordRefresh("empty", fetchStartNanos);
+            logger.info("CRL refresh-ahead: subject='{}' — distribution point returned no token (cached CRL kept until expiry)",
+                    safeSubject(certificateToken));
+            return cache.getIfPresent(key);
+        }
+        recordRefresh("success", fetchStartNanos);
+        store(key, token, certificateToken, issuerCertificateToken);
+        logger.info("CRL refreshed ahead of expiry: issuer='{}', thisUpdate={}, nextUpdate={}, sourceUrl={}",
+                safeSubject(issuerCertificateToken),
+                token.getThisUpdate(),
+                token.getNextUpdate(),
+                token.getSourceURL());
+        return token;
+    }
+
+    /** Token'i index'leyip cache'e (ve varsa diske) yazar; yenileme takibini sifirlar. */
+    private void store(String key, CRLToken token, CertificateToken certificateToken,
+                       CertificateToken issuerCertificateToken) {
+        IndexedCRLUtils.index(token.getCrlValidity());
+        cache.put(key, token);
+        if (diskStore != null) {
+            diskStore.save(RevocationDiskStore.CRL, key, token.getEncoded(), token.getSourceURL(),
+                    RevocationDiskStore.expiresAtMillis(token.getNextUpdate(),
+                            TimeUnit.SECONDS.toMillis(defaultTtlSeconds)));
+        }
+        if (refreshAhead != null) {
+            refreshAhead.loaded(key, certificateToken, issuerCertificateToken);
+        }
+    }
+
+    /**
+     * Kalici katmandaki CRL'i (issuer imzasini yeniden dogrulayarak) token'a
+     * cevirip kalan omru kadar cache'e koyar. Imzasi issuer'a gore
+     * dogrulanamayan veya parse edilemeyen dosya silinir. Kullanilabilir
+     * girdi yoksa {@code null} (dagitim noktasindan indirilir).
+     */
+    private CRLToken loadFromDisk(List<String> distributionPoints, CertificateToken certificateToken,
+                                  CertificateToken issuerCertificateToken) {
+        if (diskStore == null) {
+            return null;
+        }
+        long loadStartNanos = System.nanoTime();
+        List<String> keys = new ArrayList<>();
+        if (distributionPoints.isEmpty()) {
+            keys.add(buildCertificateKey(certificateToken, issuerCertificateToken));
+        } else {
+            for (String url : distributionPoints) {
+                keys.add(buildKey(url, issuerCertificateToken));
+            }
+        }
+        for (String key : keys) {
+            RevocationDiskStore.Entry entry = diskStore.load(RevocationDiskStore.CRL, key);
+            if (entry == null) {
+                continue;
+            }
+            CRLToken token;
+            try {
+                CRLValidity validity = CRLUtils.buildCRLValidity(
+                        CRLUtils.buildCRLBinary(entry.getData()), issuerCertificateToken);
+                if (!validity.isSignatureIntact() || !validity.isIssuerX509PrincipalMatches()) {
+                    logger.warn("CRL disk entry rejected for subject='{}': not signed by issuer='{}' ({}), deleting",
+                            safeSubject(certificateToken), safeSubject(issuerCertificateToken),
+                            validity.getSignatureInvalidityReason());
+                    diskStore.delete(RevocationDiskStore.CRL, key);
+                    continue;
+                }
+                IndexedCRLUtils.index(validity);
+                token = new CRLToken(certificateToken, validity);
+                token.setSourceURL(entry.getSourceUrl());
+                token.setExternalOrigin(RevocationOrigin.EXTERNAL);
+            } catch (Exception e) {
+                logger.warn("CRL disk entry unusable for subject='{}': {}, deleting",
+                        safeSubject(certificateToken), e.toString());
+                diskStore.delete(RevocationDiskStore.CRL, key);
+                continue;
+            }
+            long remainingMillis = entry.remainingMillis(token.getThisUpdate(), token.getNextUpdate(),
+                    TimeUnit.SECONDS.toMillis(defaultTtlSeconds));
+            if (remainingMillis <= 0) {
+                logger.info("CRL disk entry expired for subject='{}' (thisUpdate={}, nextUpdate={}), deleting",
+                        safeSubject(certificateToken), token.getThisUpdate(), token.getNextUpdate());
+                diskStore.delete(RevocationDiskStore.CRL, key);
+                continue;
+            }
+            cache.policy().expireVariably().ifPresent(expiry ->
+                    expiry.put(key, token, remainingMillis, TimeUnit.MILLISECONDS));
+            if (refreshAhead != null) {
+                refreshAhead.loaded(key, certificateToken, issuerCertificateToken);
+            }
+            recordFetch("disk", loadStartNanos);
+            logger.info("CRL response: subject='{}', status={}, thisUpdate={}, nextUpdate={}, sourceUrl={} (from disk store)",
+                    safeSubject(certificateToken),
+                    token.getStatus(),
+                    token.getThisUpdate(),
+                    token.getNextUpdate(),
+                    token.getSourceURL());
+            return token;
+        }
+        return null;
+    }
+
     private void recordFetch(String outcome, long startNanos) {
         if (metrics == null) {
             return;
@@ -136,6 +404,17 @@ public class LoggingCachingCRLSource implements CRLSource {
         }
     }
 
+    private void recordRefresh(String outcome, long startNanos) {
+        if (metrics == null) {
+            return;
+        }
+        try {
+            metrics.recordRevocationRefresh("crl", outcome, System.nanoTime() - startNanos);
+        } catch (RuntimeException ignore) {
+            // metric akışı bozamaz
+        }
+    }
+
     public com.github.benmanes.caffeine.cache.stats.CacheStats stats() {
         return cache.stats();
     }
@@ -154,7 +433,80 @@ public class LoggingCachingCRLSource implements CRLSource {
         return cache;
     }
 
-    private static String buildKey(CertificateToken cert, CertificateToken issuer) {
+    private CRLToken lookup(List<String> distributionPoints, CertificateToken cert, CertificateToken issuer) {
+        if (distributionPoints.isEmpty()) {
+            return lookup(buildCertificateKey(cert, issuer));
+        }
+        for (String url : distributionPoints) {
+            CRLToken cached = lookup(buildKey(url, issuer));
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return null;
+    }
+
+    private CRLToken lookup(String key) {
+        CRLToken cached = cache.getIfPresent(key);
+        if (cached != null && refreshAhead != null) {
+            refreshAhead.accessed(key);
+        }
+        return cached;
+    }
+
+    /**
+     * Indirilen CRL'in cache anahtari ve ayni zamanda tek ucus anahtari:
+     * sertifikanin ilk dagitim noktasi + issuer, dagitim noktasi yoksa
+     * sertifika-basina anahtar. DSS CRL'i baska bir dagitim noktasindan
+     * indirmis olsa da anahtar degismez; boylece refresh-ahead ile istek
+     * yolundaki miss ayni ucusta birlesir. Diger dagitim noktalarindan
+     * gelen sertifikalar {@link #lookup(List, CertificateToken, CertificateToken)}
+     * taramasiyla bu girdiyi yine bulur.
+     */
+    private static String primaryKey(List<String> distributionPoints, CertificateToken cert,
+                                     CertificateToken issuer) {
+        return distributionPoints.isEmpty()
+                ? buildCertificateKey(cert, issuer)
+                : buildKey(distributionPoints.get(0), issuer);
+    }
+
+    /**
+     * Cache'teki (baska bir sertifika icin alinmis olabilecek) CRL token'indan
+     * {@code cert} icin token uretir. Ayni sertifikaya aitse oldugu gibi
+     * doner; degilse ayni {@code CRLValidity} uzerinde yerel status aramasi
+     * yapilir — CRL tekrar indirilmez veya parse edilip saklanmaz.
+     */
+    private static CRLToken forCertificate(CRLToken cached, CertificateToken cert) {
+        if (cached.getCrlValidity() == null
+                || Objects.equals(cached.getRelatedCertificateId(), cert.getDSSIdAsString())) {
+            return cached;
+        }
+        CRLToken token = new CRLToken(cert, cached.getCrlValidity());
+        token.setExternalOrigin(cached.getExternalOrigin() != null
+                ? cached.getExternalOrigin() : RevocationOrigin.EXTERNAL);
+        token.setSourceURL(cached.getSourceURL());
+        return token;
+    }
+
+    /**
+     * Sertifikanin CRL dagitim noktasi URL'leri; uzanti yoksa veya
+     * okunamazsa bos liste (sertifika-basina anahtara dusulur).
+     */
+    private static List<String> distributionPoints(CertificateToken cert) {
+        try {
+            List<String> urls = CertificateExtensionsUtils.getCRLAccessUrls(cert);
+            return urls != null ? urls : Collections.<String>emptyList();
+        } catch (RuntimeException e) {
+            logger.debug("CRL distribution points unreadable for '{}': {}", cert.getDSSIdAsString(), e.toString());
+            return Collections.emptyList();
+        }
+    }
+
+    private static String buildKey(String distributionPoint, CertificateToken issuer) {
+        return distributionPoint + "::" + issuer.getDSSIdAsString();
+    }
+
+    private static String buildCertificateKey(CertificateToken cert, CertificateToken issuer) {
         return cert.getDSSIdAsString() + "::" + issuer.getDSSIdAsString();
     }
 
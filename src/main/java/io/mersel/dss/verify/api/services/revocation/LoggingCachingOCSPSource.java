@@ -4,9 +4,13 @@ import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.Expiry;
 import eu.europa.esig.dss.enumerations.CertificateStatus;
+import eu.europa.esig.dss.enumerations.RevocationOrigin;
 import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.DSSRevocationUtils;
 import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPSource;
 import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPToken;
+import org.bouncycastle.cert.ocsp.BasicOCSPResp;
+import org.bouncycastle.cert.ocsp.SingleResp;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,6 +42,31 @@ import java.util.concurrent.TimeUnit;
  *   <li>Delegate {@code null} donerse cache'lenmez.</li>
  * </ul>
  *
+ * <h3>Tek ucustaki fetch (single-flight)</h3>
+ * <p>Ayni (sertifika, issuer) icin esanli cache miss'ler tek responder
+ * istegine indirgenir ({@link SingleFlight}): populer bir Mali Muhur
+ * imzacisinin kaydi expire oldugunda yuzlerce dogrulama ayni anda
+ * KamuSM'e gitmez, retry'lar da tek kez yapilir. Bekleyenler liderin
+ * token'ini alir (UNKNOWN dahil; cache'leme kurallari degismez) ve
+ * {@code mdss_revocation_fetch_duration_seconds{outcome="coalesced"}}
+ * olarak sayilir. Bekleme liderin yapilandirilmis en uzun fetch suresiyle
+ * sinirlidir; lider takilirsa bekleyen kendisi indirir.</p>
+ *
+ * <h3>Kalici katman (opsiyonel)</h3>
+ * <p>{@link RevocationDiskStore} verilmisse cache'e yazilan her yanit diske de
+ * yazilir; cache miss'te responder'dan once diske bakilir. Diskteki yanit
+ * yeni fetch edilmis gibi token'a cevrilir ve kalan omru kadar cache'e
+ * konur ({@code outcome="disk"}) — yeni pod sicak cache ile baslar.</p>
+ *
+ * <h3>Arka plan yenileme (opsiyonel)</h3>
+ * <p>{@link RevocationRefreshScheduler} verilmisse son yuklemeden beri
+ * cache hit almis girdiler, son kullanma zamanina yaklastiginda arka planda
+ * responder'dan yeniden alinir ve cache'teki girdinin yerine gecer; sicak
+ * imzacilar istek yolunda fetch beklemez. Yenileme basarisiz olursa (hata
+ * veya UNKNOWN) eski girdi kendi son kullanma zamanina kadar kullanilir.
+ * Arka plan fetch'leri {@code mdss_revocation_refresh_duration_seconds}
+ * olarak ayri sayilir.</p>
+ *
  * <h3>Loglama</h3>
  * <ul>
  *   <li><b>INFO</b> — cache miss: aktif HTTP istegi atilirken ("OCSP request: ...")</li>
@@ -46,9 +75,9 @@ import java.util.concurrent.TimeUnit;
  *   <li><b>WARN</b> — delegate hata firlatti: cache'lenmez, null donulur</li>
  * </ul>
  *
- * <p><strong>Thread-safety</strong>: Caffeine cache thread-safe; bu wrapper
- * stateless (cache disinda) oldugu icin Spring singleton bean olarak guvenle
- * paylasilabilir.</p>
+ * <p><strong>Thread-safety</strong>: Caffeine cache ve ucustaki fetch
+ * tablosu thread-safe; bu wrapper bunlar disinda stateless oldugu icin
+ * Spring singleton bean olarak guvenle paylasilabilir.</p>
  */
 public class LoggingCachingOCSPSource implements OCSPSource {
 
@@ -58,8 +87,15 @@ public class LoggingCachingOCSPSource implements OCSPSource {
 
     private final transient OCSPSource delegate;
     private final transient Cache<String, OCSPToken> cache;
+    private final transient SingleFlight<OCSPToken> inFlight;
     private final long defaultTtlSeconds;
 
+    /** Opsiyonel kalici katman; {@code null} ise yalniz in-memory. */
+    private final transient RevocationDiskStore diskStore;
+
+    /** Opsiyonel arka plan yenileme takibi; {@code null} ise kapali. */
+    private final transient RevocationRefreshScheduler.Tracker<OCSPToken> refreshAhead;
+
     /**
      * İş metrikleri için opsiyonel hook — gerçek fetch (cache-miss)
      * süresi + sonucu ({@code mdss_revocation_fetch_duration_seconds})
@@ -83,8 +119,51 @@ public class LoggingCachingOCSPSource implements OCSPSource {
      */
     public LoggingCachingOCSPSource(OCSPSource delegate, long maxCacheSize, long defaultTtlSeconds,
                                     io.mersel.dss.verify.api.metrics.VerificationMetrics metrics) {
+        this(delegate, maxCacheSize, defaultTtlSeconds, metrics, null);
+    }
+
+    /**
+     * Kalici katmanli constructor — bkz. sinif aciklamasi.
+     *
+     * @param diskStore ham yanitlarin yazildigi store; {@code null} olabilir.
+     */
+    public LoggingCachingOCSPSource(OCSPSource delegate, long maxCacheSize, long defaultTtlSeconds,
+                                    io.mersel.dss.verify.api.metrics.VerificationMetrics metrics,
+                                    RevocationDiskStore diskStore) {
+        this(delegate, maxCacheSize, defaultTtlSeconds, metrics, diskStore, null);
+    }
+
+    /**
+     * Arka plan yenilemeli constructor — bkz. sinif aciklamasi.
+     *
+     * @param refreshScheduler sicak girdileri expire olmadan yenileyen
+     *                         zamanlayici; {@code null} olabilir.
+     */
+    public LoggingCachingOCSPSource(OCSPSource delegate, long maxCacheSize, long defaultTtlSeconds,
+                                    io.mersel.dss.verify.api.metrics.VerificationMetrics metrics,
+                                    RevocationDiskStore diskStore,
+                                    RevocationRefreshScheduler refreshScheduler) {
+        this(delegate, maxCacheSize, defaultTtlSeconds, metrics, diskStore, refreshScheduler,
+                SingleFlight.DEFAULT_MAX_WAIT_MILLIS);
+    }
+
+    /**
+     * Tam constructor — bkz. sinif aciklamasi.
+     *
+     * @param coalescedWaitMillis esanli miss'te bekleyenin ucustaki fetch'i
+     *                            bekleyecegi ust sinir (liderin yapilandirilmis
+     *                            en uzun fetch suresi); asilirsa bekleyen
+     *                            kendisi indirir
+     */
+    public LoggingCachingOCSPSource(OCSPSource delegate, long maxCacheSize, long defaultTtlSeconds,
+                                    io.mersel.dss.verify.api.metrics.VerificationMetrics metrics,
+                                    RevocationDiskStore diskStore,
+                                    RevocationRefreshScheduler refreshScheduler,
+                                    long coalescedWaitMillis) {
         this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        this.inFlight = new SingleFlight<>(coalescedWaitMillis);
         this.metrics = metrics;
+        this.diskStore = diskStore;
         if (maxCacheSize <= 0) {
             throw new IllegalArgumentException("maxCacheSize must be > 0, was: " + maxCacheSize);
         }
@@ -97,8 +176,10 @@ public class LoggingCachingOCSPSource implements OCSPSource {
                 .expireAfter(new TokenExpiry(defaultTtlSeconds))
                 .recordStats()
                 .build();
-        logger.info("LoggingCachingOCSPSource initialized: delegate={}, maxSize={}, defaultTtlSeconds={}",
-                delegate.getClass().getSimpleName(), maxCacheSize, defaultTtlSeconds);
+        this.refreshAhead = refreshScheduler != null ? refreshScheduler.track("ocsp", cache, this::refresh) : null;
+        logger.info("LoggingCachingOCSPSource initialized: delegate={}, maxSize={}, defaultTtlSeconds={}, diskStore={}, refreshAhead={}",
+                delegate.getClass().getSimpleName(), maxCacheSize, defaultTtlSeconds, diskStore != null,
+                refreshAhead != null);
     }
 
     @Override
@@ -112,6 +193,9 @@ public class LoggingCachingOCSPSource implements OCSPSource {
         String key = buildKey(certificateToken, issuerCertificateToken);
         OCSPToken cached = cache.getIfPresent(key);
         if (cached != null) {
+            if (refreshAhead != null) {
+                refreshAhead.accessed(key);
+            }
             logger.debug("OCSP cache hit: subject='{}', status={}, sourceUrl={}",
                     safeSubject(certificateToken),
                     cached.getStatus(),
@@ -119,6 +203,42 @@ public class LoggingCachingOCSPSource implements OCSPSource {
             return cached;
         }
 
+        SingleFlight.Outcome<OCSPToken> outcome;
+        long waitStartNanos = System.nanoTime();
+        try {
+            outcome = inFlight.execute(key, () -> fetchAndCache(key, certificateToken, issuerCertificateToken));
+        } catch (RuntimeException e) {
+            // Yalniz bu istege ait sebeple (deadline / istemci kopmasi)
+            // baslatilmayan fetch; metric ve log fetchAndCache'te yazildi.
+            return null;
+        }
+        if (outcome.isCoalesced()) {
+            recordFetch("coalesced", waitStartNanos);
+            logger.debug("OCSP request coalesced: subject='{}' — waited for in-flight fetch ({})",
+                    safeSubject(certificateToken),
+                    outcome.getValue() != null ? outcome.getValue().getStatus() : "no token");
+        }
+        return outcome.getValue();
+    }
+
+    /**
+     * Cache-miss fetch'i — anahtar basina tek ucusta ({@link SingleFlight}).
+     * Bekleyen cagiranlar ayni token'i alir; cache'leme kurallari degismez.
+     * Yalniz bu istege ait sebeple (deadline, istemci kopmasi) baslatilmayan
+     * fetch exception olarak firlatilir ki bekleyenler bu sonucu devralmasin.
+     */
+    private OCSPToken fetchAndCache(String key, CertificateToken certificateToken,
+                                    CertificateToken issuerCertificateToken) {
+        // Anahtar alinmadan hemen once onceki lider cache'e yazmis olabilir.
+        OCSPToken raced = cache.getIfPresent(key);
+        if (raced != null) {
+            return raced;
+        }
+        OCSPToken stored = loadFromDisk(key, certificateToken, issuerCertificateToken);
+        if (stored != null) {
+            return stored;
+        }
+
         logger.info("OCSP request: subject='{}', issuer='{}' — cache miss, fetching from responder",
                 safeSubject(certificateToken),
                 safeSubject(issuerCertificateToken));
@@ -129,6 +249,10 @@ public class LoggingCachingOCSPSource implements OCSPSource {
             token = delegate.getRevocationToken(certificateToken, issuerCertificateToken);
         } catch (RuntimeException e) {
             recordFetch("error", fetchStartNanos);
+            if (RetryExecutor.isAbandonedFetch(e)) {
+                logger.info("OCSP fetch skipped for subject='{}': {}", safeSubject(certificateToken), e.getMessage());
+                throw e;
+            }
             logger.warn("OCSP fetch failed for subject='{}': {} (not cached, returning null)",
                     safeSubject(certificateToken), e.getMessage());
             return null;
@@ -153,7 +277,7 @@ public class LoggingCachingOCSPSource implements OCSPSource {
             return token;
         }
 
-        cache.put(key, token);
+        store(key, token, certificateToken, issuerCertificateToken);
         logger.info("OCSP response: subject='{}', status={}, thisUpdate={}, nextUpdate={}, sourceUrl={} (cached)",
                 safeSubject(certificateToken),
                 token.getStatus(),
@@ -163,6 +287,126 @@ public class LoggingCachingOCSPSource implements OCSPSource {
         return token;
     }
 
+    /**
+     * Arka plan yenilemesi ({@link RevocationRefreshScheduler} thread'inde).
+     * Istek yolundaki miss'lerle ayni tek ucustan gecer: yenileme surerken
+     * girdi expire olursa gelen istekler bu fetch'i bekler.
+     */
+    private void refresh(String key, CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+        inFlight.execute(key, () -> refreshFromResponder(key, certificateToken, issuerCertificateToken));
+    }
+
+    /**
+     * Responder'dan yeni yanit alir ve cache'teki girdinin yerine koyar.
+     * Hata veya bos yanitta cache'e dokunulmaz — eski girdi kendi son
+     * kullanma zamanina kadar gecerlidir; UNKNOWN her zamanki gibi
+     * cache'lenmez.
+     */
+    private OCSPToken refreshFromResponder(String key, CertificateToken certificateToken,
+                                           CertificateToken issuerCertificateToken) {
+        long fetchStartNanos = System.nanoTime();
+        OCSPToken token;
+        try {
+            token = delegate.getRevocationToken(certificateToken, issuerCertificateToken);
+        } catch (RuntimeException e) {
+            recordRefresh("error", fetchStartNanos);
+            logger.warn("OCSP refresh-ahead failed for subject='{}': {} (cached entry kept until expiry)",
+                    safeSubject(certificateToken), e.getMessage());
+            return cache.getIfPresent(key);
+        }
+        if (token == null) {
+            recordRefresh("empty", fetchStartNanos);
+            logger.info("OCSP refresh-ahead: subject='{}' — responder returned no token (cached entry kept until expiry)",
+                    safeSubject(certificateToken));
+            return cache.getIfPresent(key);
+        }
+        recordRefresh("success", fetchStartNanos);
+        if (token.getStatus() == CertificateStatus.UNKNOWN) {
+            logger.info("OCSP refresh-ahead: subject='{}', status=UNKNOWN, sourceUrl={} (not cached)",
+                    safeSubject(certificateToken),
+                    token.getSourceURL());
+            return token;
+        }
+        store(key, token, certificateToken, issuerCertificateToken);
+        logger.info("OCSP refreshed ahead of expiry: subject='{}', status={}, thisUpdate={}, nextUpdate={}, sourceUrl={}",
+                safeSubject(certificateToken),
+                token.getStatus(),
+                token.getThisUpdate(),
+                token.getNextUpdate(),
+                token.getSourceURL());
+        return token;
+    }
+
+    /** Token'i cache'e (ve varsa diske) yazar; yenileme takibini sifirlar. */
+    private void store(String key, OCSPToken token, CertificateToken certificateToken,
+                       CertificateToken issuerCertificateToken) {
+        cache.put(key, token);
+        if (diskStore != null) {
+            diskStore.save(RevocationDiskStore.OCSP, key, token.getEncoded(), token.getSourceURL(),
+                    RevocationDiskStore.expiresAtMillis(token.getNextUpdate(),
+                            TimeUnit.SECONDS.toMillis(defaultTtlSeconds)));
+        }
+        if (refreshAhead != null) {
+            refreshAhead.loaded(key, certificateToken, issuerCertificateToken);
+        }
+    }
+
+    /**
+     * Kalici katmandaki yaniti token'a cevirip kalan omru kadar cache'e koyar.
+     * Yanit bu sertifika icin bir SingleResp icermiyorsa veya parse
+     * edilemiyorsa {@code null} (responder'a gidilir).
+     */
+    private OCSPToken loadFromDisk(String key, CertificateToken certificateToken,
+                                   CertificateToken issuerCertificateToken) {
+        if (diskStore == null) {
+            return null;
+        }
+        long loadStartNanos = System.nanoTime();
+        RevocationDiskStore.Entry entry = diskStore.load(RevocationDiskStore.OCSP, key);
+        if (entry == null) {
+            return null;
+        }
+        OCSPToken token;
+        try {
+            BasicOCSPResp basicResponse = DSSRevocationUtils.loadOCSPFromBinaries(entry.getData());
+            SingleResp singleResponse = DSSRevocationUtils.getLatestSingleResponse(
+                    basicResponse, certificateToken, issuerCertificateToken);
+            if (singleResponse == null) {
+                return null;
+            }
+            token = new OCSPToken(basicResponse, singleResponse, certificateToken, issuerCertificateToken);
+            token.setSourceURL(entry.getSourceUrl());
+            token.setExternalOrigin(RevocationOrigin.EXTERNAL);
+        } catch (Exception e) {
+            logger.warn("OCSP disk entry unusable for subject='{}': {}", safeSubject(certificateToken), e.toString());
+            return null;
+        }
+        if (token.getStatus() == CertificateStatus.UNKNOWN) {
+            return null;
+        }
+        long remainingMillis = entry.remainingMillis(token.getThisUpdate(), token.getNextUpdate(),
+                TimeUnit.SECONDS.toMillis(defaultTtlSeconds));
+        if (remainingMillis <= 0) {
+            logger.info("OCSP disk entry expired for subject='{}' (thisUpdate={}, nextUpdate={}), deleting",
+                    safeSubject(certificateToken), token.getThisUpdate(), token.getNextUpdate());
+            diskStore.delete(RevocationDiskStore.OCSP, key);
+            return null;
+        }
+        cache.policy().expireVariably().ifPresent(expiry ->
+                expiry.put(key, token, remainingMillis, TimeUnit.MILLISECONDS));
+        if (refreshAhead != null) {
+            refreshAhead.loaded(key, certificateToken, issuerCertificateToken);
+        }
+        recordFetch("disk", loadStartNanos);
+        logger.info("OCSP response: subject='{}', status={}, thisUpdate={}, nextUpdate={}, sourceUrl={} (from disk store)",
+                safeSubject(certificateToken),
+                token.getStatus(),
+                token.getThisUpdate(),
+                token.getNextUpdate(),
+                token.getSourceURL());
+        return token;
+    }
+
     /**
      * Gerçek fetch (cache-miss) süresi + sonucunu metrics hook'una yazar.
      * Hook null ise no-op; hata asla revocation akışını bozmaz.
@@ -178,6 +422,18 @@ public class LoggingCachingOCSPSource implements OCSPSource {
         }
     }
 
+    /** Arka plan yenileme suresi + sonucu; bkz. {@link #recordFetch}. */
+    private void recordRefresh(String outcome, long startNanos) {
+        if (metrics == null) {
+            return;
+        }
+        try {
+            metrics.recordRevocationRefresh("ocsp", outcome, System.nanoTime() - startNanos);
+        } catch (RuntimeException ignore) {
+            // metric akışı bozamaz
+        }
+    }
+
     /**
      * Test/diagnostic icin cache istatistikleri. {@code recordStats()} aktif oldugu icin
      * hit-rate / eviction sayilari raporlanabilir.
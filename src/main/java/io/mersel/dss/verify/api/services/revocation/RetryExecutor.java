@@ -1,5 +1,8 @@
 package io.mersel.dss.verify.api.services.revocation;
 
+import io.mersel.dss.verify.api.exceptions.RequestCancelledException;
+import io.mersel.dss.verify.api.exceptions.RequestDeadlineExceededException;
+import io.mersel.dss.verify.api.services.admission.RequestDeadline;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -25,6 +28,13 @@ import java.util.function.Supplier;
  *       {@link InterruptedException} alirsa interrupt flag restore edilir
  *       ve son hata firlatilir — retry kuyrugu agresif sekilde sonlandirilir
  *       (servis shutdown'i strict kabul edilir).</li>
+ *   <li>Istek deadline'i ({@link RequestDeadline}): supplier
+ *       {@link RequestDeadlineExceededException} firlatirsa retry YAPILMAZ;
+ *       siradaki backoff kalan butceyi asacaksa uyunmaz, retry birakilir ve
+ *       son hata firlatilir (metric event'i {@code deadline}). Cagiran
+ *       vazgecmisken backoff beklemek anlamsiz.</li>
+ *   <li>Istemci baglantiyi kapattiysa supplier
+ *       {@link RequestCancelledException} firlatir; retry YAPILMAZ.</li>
  * </ul>
  *
  * <h3>Backoff hesabi</h3>
@@ -98,6 +108,11 @@ public final class RetryExecutor {
                 return result;
             } catch (RuntimeException e) {
                 lastException = e;
+                if (isAbandonedFetch(e)) {
+                    // Butce bitti / istemci koptu; fetch hic baslatilmadi —
+                    // retry anlamsiz.
+                    throw e;
+                }
                 if (attempt >= maxAttempts) {
                     logger.warn("Retry exhausted for '{}' after {} attempt(s); last error: {}",
                             operation, maxAttempts, e.getMessage());
@@ -106,6 +121,15 @@ public final class RetryExecutor {
                 }
                 long rawBackoff = policy.computeRawBackoffMs(attempt - 1);
                 long sleepMs = applyJitter(rawBackoff, policy.getJitterRatio());
+                RequestDeadline deadline = RequestDeadline.current();
+                if (deadline != null && sleepMs >= deadline.remainingMillis()) {
+                    deadline.markExceeded();
+                    recordRetryEvent("deadline");
+                    logger.warn("Retry abandoned for '{}' after attempt {}/{}: backoff {}ms exceeds "
+                                    + "remaining request deadline {}ms; last error: {}",
+                            operation, attempt, maxAttempts, sleepMs, deadline.remainingMillis(), e.getMessage());
+                    throw e;
+                }
                 recordRetryEvent("retried");
                 logger.info("Retrying '{}' after {}ms (next attempt {}/{}); transient error: {}",
                         operation, sleepMs, attempt + 1, maxAttempts, e.getMessage());
@@ -125,6 +149,21 @@ public final class RetryExecutor {
         throw lastException;
     }
 
+    /**
+     * Fetch deadline / istemci kopmasi yuzunden hic baslatilmadi mi? DSS
+     * online source'lari data loader hatasini
+     * {@code DSSExternalResourceException} icine sardigi icin cause zinciri
+     * taranir.
+     */
+    static boolean isAbandonedFetch(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof RequestDeadlineExceededException || t instanceof RequestCancelledException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private void recordRetryEvent(String event) {
         if (metrics == null || kind == null) {
             return;
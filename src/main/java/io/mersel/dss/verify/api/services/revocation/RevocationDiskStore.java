@@ -0,0 +1,350 @@
+package io.mersel.dss.verify.api.services.revocation;
+
+import io.mersel.dss.verify.api.services.util.NamedDaemonThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ham OCSP yanitlari, CRL'ler ve AIA sertifikalari icin opsiyonel kalici
+ * (disk) katman — pod yeniden basladiginda revocation cache'leri sicak
+ * baslar.
+ *
+ * <h3>Neden?</h3>
+ * <p>Her rolling deploy / pod reschedule Caffeine cache'lerini bosaltir;
+ * yeni pod'un ilk dakikalari KamuSM responder'larina yuklenir ve p99
+ * sicrar. Bu store, in-memory cache'e yazilan her girdinin ham byte'larini
+ * {@code thisUpdate}/{@code nextUpdate}'ten turetilmis son kullanma
+ * zamaniyla birlikte diske yazar; yeni pod bir cache miss'te once diske
+ * bakar.</p>
+ *
+ * <h3>Yerlesim</h3>
+ * <ul>
+ *   <li>{@code <dizin>/<namespace>/<sha256(anahtar)>.bin} — girdi basina bir
+ *       dosya. Baslik: magic, surum, kayit / son kullanma zamani, anahtar,
+ *       kaynak URL; ardindan ham byte'lar.</li>
+ *   <li>Yazma asenkron ve atomiktir (gecici dosya + {@code ATOMIC_MOVE});
+ *       istek thread'i disk I/O beklemez, yarim yazilmis dosya okunmaz.
+ *       Kuyruk doluysa yazma atlanir (yalniz bir sonraki pod'un isinmasi
+ *       eksik kalir).</li>
+ *   <li>Okuma tembeldir: acilista dosyalar yuklenmez, yalniz cache
+ *       miss'te ilgili tek dosya okunur. Acilista arka planda suresi
+ *       dolmus dosyalar silinir.</li>
+ * </ul>
+ *
+ * <h3>Guvenlik</h3>
+ * <p>Diskten okunan OCSP/CRL byte'lari yeni fetch edilmis gibi DSS token'ina
+ * cevrilir; imza dogrulamasi DSS'te aynen yapilir. Dosyanin degistirilmesi
+ * sahte bir GOOD statusu uretemez, yalniz gecersiz token'a yol acar. Son
+ * kullanma zamani imzasiz basliga birakilmaz: okuyan source token'in imzali
+ * zamanlarindan yeniden hesaplar
+ * ({@code min(nextUpdate, max(thisUpdate, kayit) + default TTL)}, bkz.
+ * {@link Entry#remainingMillis(Date, Date, long)}); baslik yalniz ek ust
+ * sinirdir. Suresi dolmus girdi asla cache'e alinmaz.</p>
+ */
+public class RevocationDiskStore implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevocationDiskStore.class);
+
+    /** OCSP yanitlari — anahtar: {@code certDSSId::issuerDSSId}. */
+    public static final String OCSP = "ocsp";
+    /** CRL'ler — anahtar: {@code dagitimNoktasiURL::issuerDSSId}. */
+    public static final String CRL = "crl";
+    /** AIA ile indirilen (normalize edilmis) sertifikalar — anahtar: URL. */
+    public static final String AIA = "aia";
+
+    private static final int MAGIC = 0x4D445353; // "MDSS"
+    private static final byte VERSION = 1;
+    private static final String SUFFIX = ".bin";
+    private static final int WRITE_QUEUE_CAPACITY = 256;
+
+    private final Path directory;
+    private final Executor writer;
+    private final ExecutorService ownedWriter;
+
+    /**
+     * Dizini hazirlar ve arka planda suresi dolmus dosyalari temizler.
+     *
+     * @throws IOException dizin olusturulamazsa veya yazilabilir degilse
+     */
+    public static RevocationDiskStore open(Path directory) throws IOException {
+        ThreadPoolExecutor writer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(WRITE_QUEUE_CAPACITY),
+                new NamedDaemonThreadFactory("revocation-disk-store-"));
+        RevocationDiskStore store = new RevocationDiskStore(directory, writer, writer);
+        writer.execute(store::sweepExpired);
+        return store;
+    }
+
+    RevocationDiskStore(Path directory, Executor writer) throws IOException {
+        this(directory, writer, null);
+    }
+
+    private RevocationDiskStore(Path directory, Executor writer, ExecutorService ownedWriter) throws IOException {
+        this.directory = Objects.requireNonNull(directory, "directory must not be null");
+        this.writer = writer;
+        this.ownedWriter = ownedWriter;
+        for (String namespace : new String[] {OCSP, CRL, AIA}) {
+            Files.createDirectories(directory.resolve(namespace));
+        }
+        if (!Files.isWritable(directory)) {
+            throw new IOException("Revocation disk store directory is not writable: " + directory);
+        }
+        logger.info("RevocationDiskStore initialized: directory={}", directory.toAbsolutePath());
+    }
+
+    /**
+     * Girdiyi okur. Yoksa, suresi dolmussa veya okunamiyorsa {@code null};
+     * suresi dolmus / bozuk dosya silinir.
+     */
+    public Entry load(String namespace, String key) {
+        Path file = fileFor(namespace, key);
+        Entry entry;
+        try (InputStream in = Files.newInputStream(file)) {
+            entry = read(new DataInputStream(new BufferedInputStream(in)), true);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Revocation disk entry unreadable, deleting: {} ({})", file, e.toString());
+            deleteQuietly(file);
+            return null;
+        }
+        if (!key.equals(entry.key)) {
+            return null;
+        }
+        if (entry.getExpiresAtMillis() <= System.currentTimeMillis()) {
+            deleteQuietly(file);
+            return null;
+        }
+        return entry;
+    }
+
+    /** Girdiyi siler (ornegin icerigi dogrulanamayan kayit); yoksa bir sey yapmaz. */
+    public void delete(String namespace, String key) {
+        deleteQuietly(fileFor(namespace, key));
+    }
+
+    /**
+     * Girdiyi asenkron yazar; ayni anahtardaki onceki girdinin yerine gecer.
+     * Suresi zaten dolmus girdi yazilmaz.
+     */
+    public void save(String namespace, String key, byte[] data, String sourceUrl, long expiresAtMillis) {
+        if (data == null || data.length == 0 || expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        Path file = fileFor(namespace, key);
+        long storedAtMillis = System.currentTimeMillis();
+        try {
+            writer.execute(() -> write(file, new Entry(key, sourceUrl, storedAtMillis, expiresAtMillis, data)));
+        } catch (RejectedExecutionException e) {
+            logger.debug("Revocation disk store queue full, skipping write: {}::{}", namespace, key);
+        }
+    }
+
+    /**
+     * In-memory cache ile ayni son kullanma kurali: {@code nextUpdate}
+     * varsa ve daha yakinsa o, degilse {@code simdi + defaultTtl}.
+     */
+    public static long expiresAtMillis(Date nextUpdate, long defaultTtlMillis) {
+        long capped = System.currentTimeMillis() + defaultTtlMillis;
+        return nextUpdate == null ? capped : Math.min(nextUpdate.getTime(), capped);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public void close() {
+        if (ownedWriter != null) {
+            ownedWriter.shutdown();
+            try {
+                ownedWriter.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void write(Path file, Entry entry) {
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(file.getParent(), "tmp-", SUFFIX + ".part");
+            try (OutputStream out = Files.newOutputStream(temp);
+                 DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out))) {
+                data.writeInt(MAGIC);
+                data.writeByte(VERSION);
+                data.writeLong(entry.storedAtMillis);
+                data.writeLong(entry.expiresAtMillis);
+                data.writeUTF(entry.key);
+                data.writeUTF(entry.sourceUrl != null ? entry.sourceUrl : "");
+                data.writeInt(entry.data.length);
+                data.write(entry.data);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Revocation disk entry could not be written: {} ({})", file, e.toString());
+            if (temp != null) {
+                deleteQuietly(temp);
+            }
+        }
+    }
+
+    private static Entry read(DataInputStream in, boolean withData) throws IOException {
+        if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+            throw new IOException("unknown format");
+        }
+        long storedAtMillis = in.readLong();
+        long expiresAtMillis = in.readLong();
+        String key = in.readUTF();
+        String sourceUrl = in.readUTF();
+        byte[] data = null;
+        if (withData) {
+            data = new byte[in.readInt()];
+            in.readFully(data);
+        }
+        return new Entry(key, sourceUrl.isEmpty() ? null : sourceUrl, storedAtMillis, expiresAtMillis, data);
+    }
+
+    /** Acilista suresi dolmus, bozuk ve yarim kalmis dosyalari siler. */
+    void sweepExpired() {
+        long now = System.currentTimeMillis();
+        int deleted = 0;
+        int kept = 0;
+        for (String namespace : new String[] {OCSP, CRL, AIA}) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory.resolve(namespace))) {
+                for (Path file : files) {
+                    if (!file.getFileName().toString().endsWith(SUFFIX) || isExpired(file, now)) {
+                        deleteQuietly(file);
+                        deleted++;
+                    } else {
+                        kept++;
+                    }
+                }
+            } catch (IOException e) {
+                logger.warn("Revocation disk store sweep failed for {}: {}", namespace, e.toString());
+            }
+        }
+        logger.info("Revocation disk store sweep: kept={}, deleted={}", kept, deleted);
+    }
+
+    private static boolean isExpired(Path file, long now) {
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(new DataInputStream(new BufferedInputStream(in)), false).expiresAtMillis <= now;
+        } catch (IOException | RuntimeException e) {
+            return true;
+        }
+    }
+
+    private Path fileFor(String namespace, String key) {
+        return directory.resolve(namespace).resolve(sha256Hex(key) + SUFFIX);
+    }
+
+    private static String sha256Hex(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignore) {
+            // bir sonraki sweep'te tekrar denenir
+        }
+    }
+
+    /** Diskten okunan girdi. */
+    public static final class Entry {
+
+        private final String key;
+        private final String sourceUrl;
+        private final long storedAtMillis;
+        private final long expiresAtMillis;
+        private final byte[] data;
+
+        Entry(String key, String sourceUrl, long storedAtMillis, long expiresAtMillis, byte[] data) {
+            this.key = key;
+            this.sourceUrl = sourceUrl;
+            this.storedAtMillis = storedAtMillis;
+            this.expiresAtMillis = expiresAtMillis;
+            this.data = data;
+        }
+
+        public byte[] getData() {
+            return data;
+        }
+
+        /** Fetch edildigi URL; bilinmiyorsa {@code null}. */
+        public String getSourceUrl() {
+            return sourceUrl;
+        }
+
+        public long getStoredAtMillis() {
+            return storedAtMillis;
+        }
+
+        public long getExpiresAtMillis() {
+            return expiresAtMillis;
+        }
+
+        /**
+         * Basliktaki son kullanma zamanina gore kalan omur (ms). Baslik
+         * imzasizdir; imzali zaman bilgisi tasimayan girdiler (AIA
+         * sertifikalari) icindir.
+         */
+        public long remainingMillis() {
+            return Math.max(1L, expiresAtMillis - System.currentTimeMillis());
+        }
+
+        /**
+         * OCSP/CRL girdisinin kalan omru (ms); in-memory cache ile ayni
+         * kural, token'in imzali zamanlariyla sinirlanir:
+         * {@code min(nextUpdate, max(thisUpdate, kayit zamani) + defaultTtl)}.
+         * TTL kaydin alindigi andan sayilir — {@code nextUpdate}'i uzak,
+         * {@code thisUpdate}'i TTL'den eski CRL'ler (haftalik yayin) de
+         * yeniden kullanilir. Basliktaki son kullanma zamani yalniz ek ust
+         * sinirdir — degistirilmis baslik omru uzatamaz. Suresi dolmussa
+         * {@code 0} veya negatif.
+         */
+        public long remainingMillis(Date thisUpdate, Date nextUpdate, long defaultTtlMillis) {
+            long anchor = thisUpdate != null ? Math.max(thisUpdate.getTime(), storedAtMillis) : storedAtMillis;
+            long expiresAt = Math.min(expiresAtMillis, anchor + defaultTtlMillis);
+            if (nextUpdate != null) {
+                expiresAt = Math.min(expiresAt, nextUpdate.getTime());
+            }
+            return expiresAt - System.currentTimeMillis();
+        }
+    }
+}
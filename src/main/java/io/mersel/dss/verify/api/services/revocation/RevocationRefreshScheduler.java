@@ -0,0 +1,251 @@
+package io.mersel.dss.verify.api.services.revocation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import io.mersel.dss.verify.api.services.util.NamedDaemonThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Revocation cache'leri icin arka plan yenileme (refresh-ahead) zamanlayicisi.
+ *
+ * <p>{@link LoggingCachingOCSPSource} ve {@link LoggingCachingCRLSource}
+ * kendi tarama gorevlerini burada kaydeder. Tarama, son yuklemeden beri
+ * en az bir cache hit almis ("sicak") ve son kullanma zamanina
+ * {@link #getWindowMillis() pencere} kadar yaklasmis girdileri bulur ve
+ * yeniden fetch'i kucuk bir thread havuzunda yapar. Yeni token cache'teki
+ * girdinin yerine gecer; sicak imzacilar ve CA'lar istek yolunda soguk
+ * fetch gormez. Yenileme basarisiz olursa eski girdi kendi son kullanma
+ * zamanina kadar kullanilmaya devam eder.</p>
+ *
+ * <p>Yenileme, istek yolundaki cache miss'lerle ayni tek-ucus tablosundan
+ * ({@link SingleFlight}) gecer: yenileme surerken girdi expire olursa gelen
+ * istekler ikinci bir fetch baslatmaz, yenilemenin sonucunu bekler.</p>
+ */
+public class RevocationRefreshScheduler implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevocationRefreshScheduler.class);
+
+    private final long windowMillis;
+    private final long scanIntervalMillis;
+    private final Executor refresher;
+    private final ScheduledExecutorService scheduler;
+    private final List<Runnable> scans = new CopyOnWriteArrayList<>();
+
+    /**
+     * Daemon thread'li havuzu baslatir.
+     *
+     * @param windowMillis       son kullanma zamanina bu kadar kala yenilenir
+     * @param scanIntervalMillis tarama araligi
+     * @param threads            tarama + yenileme thread sayisi
+     */
+    public static RevocationRefreshScheduler start(long windowMillis, long scanIntervalMillis, int threads) {
+        if (scanIntervalMillis <= 0) {
+            throw new IllegalArgumentException("scanIntervalMillis must be > 0, was: " + scanIntervalMillis);
+        }
+        if (threads <= 0) {
+            throw new IllegalArgumentException("threads must be > 0, was: " + threads);
+        }
+        ScheduledThreadPoolExecutor scheduler =
+                new ScheduledThreadPoolExecutor(threads, new NamedDaemonThreadFactory("revocation-refresh-ahead-"));
+        scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        return new RevocationRefreshScheduler(windowMillis, scanIntervalMillis, scheduler, scheduler);
+    }
+
+    /** Zamanlayicisiz (test): tarama elle cagrilir, yenileme {@code refresher}'da calisir. */
+    RevocationRefreshScheduler(long windowMillis, Executor refresher) {
+        this(windowMillis, 0L, refresher, null);
+    }
+
+    private RevocationRefreshScheduler(long windowMillis, long scanIntervalMillis, Executor refresher,
+                                       ScheduledExecutorService scheduler) {
+        if (windowMillis <= 0) {
+            throw new IllegalArgumentException("windowMillis must be > 0, was: " + windowMillis);
+        }
+        this.windowMillis = windowMillis;
+        this.scanIntervalMillis = scanIntervalMillis;
+        this.refresher = refresher;
+        this.scheduler = scheduler;
+        if (scheduler != null) {
+            logger.info("RevocationRefreshScheduler started: windowSeconds={}, scanIntervalSeconds={}",
+                    TimeUnit.MILLISECONDS.toSeconds(windowMillis),
+                    TimeUnit.MILLISECONDS.toSeconds(scanIntervalMillis));
+        }
+    }
+
+    /** Son kullanma zamanina kalan sure bu degerin altina dustugunde sicak girdi yenilenir. */
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    /**
+     * {@code cache} icin sicak girdi takibini baslatir ve taramayi zamanlar.
+     *
+     * @param name    log / thread teshisi icin ({@code ocsp}, {@code crl})
+     * @param refresh girdiyi yukleyen sertifika cifti icin yeniden fetch
+     */
+    <V> Tracker<V> track(String name, Cache<String, V> cache, Refresh refresh) {
+        Tracker<V> tracker = new Tracker<>(cache, refresh);
+        register(name, tracker::refreshDue);
+        return tracker;
+    }
+
+    /** Source'un tarama gorevini sabit aralikla calistirir; hata sonraki taramayi engellemez. */
+    private void register(String name, Runnable scan) {
+        Runnable guarded = () -> {
+            try {
+                scan.run();
+            } catch (RuntimeException e) {
+                logger.warn("Refresh-ahead scan failed for {}: {}", name, e.toString());
+            }
+        };
+        scans.add(guarded);
+        if (scheduler != null) {
+            scheduler.scheduleWithFixedDelay(guarded, scanIntervalMillis, scanIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Kayitli taramalari hemen calistirir (test / teshis). */
+    void scanNow() {
+        for (Runnable scan : scans) {
+            scan.run();
+        }
+    }
+
+    /** Yenileme gorevini kuyruga koyar; kapatilmissa {@code false}. */
+    boolean submit(Runnable refresh) {
+        try {
+            refresher.execute(refresh);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /** Sicak girdinin yeniden fetch'i; tracker'in thread havuzunda calisir. */
+    @FunctionalInterface
+    interface Refresh {
+        void refresh(String key, CertificateToken certificate, CertificateToken issuer);
+    }
+
+    /**
+     * Bir cache'in yenileme adaylari. Girdi yuklendiginde (fetch, disk veya
+     * yenileme) {@link #loaded} ile kaydedilir, her cache hit'te
+     * {@link #accessed} ile isaretlenir. Cache'ten dusen girdiler sonraki
+     * taramada birakilir; takip tablosu cache boyutuyla sinirlidir.
+     */
+    final class Tracker<V> {
+
+        private final Cache<String, V> cache;
+        private final Refresh refresh;
+        private final ConcurrentMap<String, Target> targets = new ConcurrentHashMap<>();
+
+        private Tracker(Cache<String, V> cache, Refresh refresh) {
+            this.cache = cache;
+            this.refresh = refresh;
+        }
+
+        /** Girdi (yeniden) yuklendi: erisim isareti sifirlanir, omru kaydedilir. */
+        void loaded(String key, CertificateToken certificate, CertificateToken issuer) {
+            long lifetimeMillis = expiry().map(e -> e.getExpiresAfter(key, TimeUnit.MILLISECONDS))
+                    .orElse(OptionalLong.empty())
+                    .orElse(0L);
+            targets.put(key, new Target(certificate, issuer, lifetimeMillis));
+        }
+
+        /** Cache hit — girdi yenilemeye aday olur. */
+        void accessed(String key) {
+            Target target = targets.get(key);
+            if (target != null) {
+                target.accessed = true;
+            }
+        }
+
+        /**
+         * Son yuklemeden beri erisilmis ve son kullanma zamanina
+         * {@code min(pencere, omur / 2)} kadar kalmis girdileri yeniler. Omrun
+         * yarisi siniri, pencereden kisa omurlu girdilerin (kisa OCSP
+         * nextUpdate) her taramada yeniden fetch edilmesini onler.
+         */
+        void refreshDue() {
+            Policy.VarExpiration<String, V> expiry = expiry().orElse(null);
+            if (expiry == null) {
+                return;
+            }
+            for (Map.Entry<String, Target> candidate : targets.entrySet()) {
+                String key = candidate.getKey();
+                Target target = candidate.getValue();
+                OptionalLong remaining = expiry.getExpiresAfter(key, TimeUnit.MILLISECONDS);
+                if (!remaining.isPresent()) {
+                    targets.remove(key, target);
+                    continue;
+                }
+                long window = Math.min(windowMillis, target.lifetimeMillis / 2);
+                if (remaining.getAsLong() > window || !target.accessed
+                        || !target.refreshing.compareAndSet(false, true)) {
+                    continue;
+                }
+                boolean submitted = submit(() -> {
+                    try {
+                        refresh.refresh(key, target.certificate, target.issuer);
+                    } catch (RuntimeException e) {
+                        logger.warn("Refresh-ahead failed for {}: {}", key, e.toString());
+                    } finally {
+                        target.refreshing.set(false);
+                    }
+                });
+                if (!submitted) {
+                    target.refreshing.set(false);
+                }
+            }
+        }
+
+        /** Takip edilen girdi sayisi (test / teshis). */
+        int size() {
+            return targets.size();
+        }
+
+        private Optional<Policy.VarExpiration<String, V>> expiry() {
+            return cache.policy().expireVariably();
+        }
+    }
+
+    /** Girdiyi yukleyen sertifika cifti ve erisim durumu. */
+    private static final class Target {
+
+        private final CertificateToken certificate;
+        private final CertificateToken issuer;
+        private final long lifetimeMillis;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private volatile boolean accessed;
+
+        private Target(CertificateToken certificate, CertificateToken issuer, long lifetimeMillis) {
+            this.certificate = certificate;
+            this.issuer = issuer;
+            this.lifetimeMillis = lifetimeMillis;
+        }
+    }
+}
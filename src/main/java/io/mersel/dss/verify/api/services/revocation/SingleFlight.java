@@ -0,0 +1,172 @@
+package io.mersel.dss.verify.api.services.revocation;
+
+import io.mersel.dss.verify.api.exceptions.RequestDeadlineExceededException;
+import io.mersel.dss.verify.api.services.admission.RequestDeadline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Anahtar basina tek ucustaki fetch (single-flight / request coalescing).
+ *
+ * <p>Ayni anahtar icin ayni anda gelen cagrilardan yalniz ilki ("lider")
+ * isi kendi thread'inde calistirir; digerleri ("bekleyenler") liderin
+ * sonucunu bekleyip ayni degeri alir. Populer bir imzacinin OCSP kaydi
+ * expire oldugunda yuzlerce esanli dogrulama responder'a tek istek atar.</p>
+ *
+ * <h3>Semantik</h3>
+ * <ul>
+ *   <li>Sonuc saklanmaz — lider bitince anahtar birakilir; cache'leme
+ *       karari (UNKNOWN / hata cache'lenmez) cagiranin isidir. Bu yuzden
+ *       lider, anahtari aldiktan sonra cache'i yeniden kontrol etmelidir
+ *       (onceki lider arada cache'e yazmis olabilir).</li>
+ *   <li>Lider exception firlatirsa bekleyenler o hatayi devralmaz, isi
+ *       yeniden dener (biri yeni lider olur). Is yalniz liderin kendi
+ *       istegine ait sebeplerle (deadline, istemci kopmasi) exception
+ *       firlatmalidir; responder hatasi {@code null} gibi normal bir sonuc
+ *       olarak donmeli ve bekleyenlerle paylasilmalidir.</li>
+ *   <li>Istisna: lider {@code null} dondurdugunde kendi deadline'i dolmus
+ *       veya asilmis isaretliyse ({@link RequestDeadline#wasExceeded()})
+ *       sonuc paylasilmaz. Liderin HTTP timeout'lari kendi (istemcinin
+ *       verdigi, alt siniri olmayan) butcesine gore kisaltilir; kisaltilan
+ *       timeout socket hatasi olarak doner ve delegate bunu {@code null}'a
+ *       cevirebilir. Bu {@code null} baska istemcilerin bekleyenlerine
+ *       gecerse onlarin dogrulamasi revocation'siz kalir; bu yuzden
+ *       bekleyenler kendi butceleriyle yeniden dener.</li>
+ *   <li>Bekleyen en fazla {@code maxWaitMillis} (liderin yapilandirilmis
+ *       fetch suresi: HTTP timeout'lari x deneme + backoff) bekler; istek
+ *       deadline'i ({@link RequestDeadline}) daha kisaysa o kadar. Deadline
+ *       dolarsa asilmis isaretlenir ve {@code null} doner. Deadline
+ *       dolmadan sure biterse lider takilmis sayilir ve bekleyen fetch'i
+ *       kendisi yapar — takilan bir lider bekleyenleri suresiz
+ *       bloklayamaz.</li>
+ * </ul>
+ *
+ * @param <V> fetch sonucu
+ */
+final class SingleFlight<V> {
+
+    private static final Logger logger = LoggerFactory.getLogger(SingleFlight.class);
+
+    private final ConcurrentMap<String, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Fetch suresi verilmeyen constructor'lar icin ust sinir; varsayilan
+     * HTTP timeout'lari ve retry ayarlariyla liderin en uzun suresinden
+     * buyuktur.
+     */
+    static final long DEFAULT_MAX_WAIT_MILLIS = TimeUnit.SECONDS.toMillis(60);
+
+    /** Bekleyenin lideri bekleyecegi ust sinir. */
+    private final long maxWaitMillis;
+
+    /**
+     * @param maxWaitMillis bekleyenin lideri bekleyecegi ust sinir; liderin
+     *                      yapilandirilmis en uzun fetch suresi
+     */
+    SingleFlight(long maxWaitMillis) {
+        if (maxWaitMillis <= 0) {
+            throw new IllegalArgumentException("maxWaitMillis must be > 0, was: " + maxWaitMillis);
+        }
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    /**
+     * {@code key} icin isi calistirir veya ucustaki fetch'e katilir.
+     *
+     * @param key  coalescing anahtari
+     * @param work lider thread'inde calisacak is
+     * @return sonuc ve cagiranin lider mi bekleyen mi oldugu
+     */
+    Outcome<V> execute(String key, Supplier<V> work) {
+        while (true) {
+            CompletableFuture<V> mine = new CompletableFuture<>();
+            CompletableFuture<V> leader = inFlight.putIfAbsent(key, mine);
+            if (leader == null) {
+                try {
+                    V value = work.get();
+                    if (value == null && leaderBudgetSpent()) {
+                        mine.completeExceptionally(new RequestDeadlineExceededException(
+                                "single-flight leader ran out of its own deadline"));
+                        return new Outcome<>(null, false);
+                    }
+                    mine.complete(value);
+                    return new Outcome<>(value, false);
+                } catch (RuntimeException | Error e) {
+                    mine.completeExceptionally(e);
+                    throw e;
+                } finally {
+                    inFlight.remove(key, mine);
+                }
+            }
+
+            try {
+                return new Outcome<>(await(leader), true);
+            } catch (ExecutionException e) {
+                // Liderin kendi istegine ait hata (deadline / kopma) — yeniden dene.
+            } catch (TimeoutException e) {
+                RequestDeadline deadline = RequestDeadline.current();
+                if (deadline != null && deadline.isExpired()) {
+                    deadline.markExceeded();
+                    return new Outcome<>(null, true);
+                }
+                logger.warn("Single-flight leader for '{}' still running after {}ms, fetching independently",
+                        key, maxWaitMillis);
+                return new Outcome<>(work.get(), false);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new Outcome<>(null, true);
+            }
+        }
+    }
+
+    /**
+     * Liderin bos sonucu kendi butcesinden mi kaynaklanmis olabilir?
+     * Timeout'u butce yuzunden kisaltilan veya butcesi dolan istek
+     * deadline'i asilmis olarak isaretlenir.
+     */
+    private static boolean leaderBudgetSpent() {
+        RequestDeadline deadline = RequestDeadline.current();
+        return deadline != null && (deadline.wasExceeded() || deadline.isExpired());
+    }
+
+    /** Su an ucusta olan fetch sayisi (test / teshis). */
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private V await(CompletableFuture<V> leader)
+            throws ExecutionException, TimeoutException, InterruptedException {
+        RequestDeadline deadline = RequestDeadline.current();
+        long waitMillis = deadline == null ? maxWaitMillis : Math.min(deadline.remainingMillis(), maxWaitMillis);
+        return leader.get(waitMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /** {@link #execute(String, Supplier)} sonucu. */
+    static final class Outcome<V> {
+
+        private final V value;
+        private final boolean coalesced;
+
+        Outcome(V value, boolean coalesced) {
+            this.value = value;
+            this.coalesced = coalesced;
+        }
+
+        V getValue() {
+            return value;
+        }
+
+        /** {@code true} ise cagiran fetch yapmadi, liderin sonucunu aldi. */
+        boolean isCoalesced() {
+            return coalesced;
+        }
+    }
+}
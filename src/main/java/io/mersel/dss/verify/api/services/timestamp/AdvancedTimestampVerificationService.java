@@ -15,8 +15,10 @@ import io.mersel.dss.verify.api.dtos.TimestampVerificationResponseDto;
 import io.mersel.dss.verify.api.exceptions.TimestampException;
 import io.mersel.dss.verify.api.models.CertificateInfo;
 import io.mersel.dss.verify.api.models.RevocationInfo;
+import io.mersel.dss.verify.api.services.admission.RequestDeadline;
 import io.mersel.dss.verify.api.services.certificate.KamusmRootCertificateService;
 import io.mersel.dss.verify.api.services.util.CertificateInfoExtractor;
+import io.mersel.dss.verify.api.services.util.DocumentIngestor;
 import io.mersel.dss.verify.api.services.util.RevocationInfoExtractor;
 import org.bouncycastle.cert.X509CertificateHolder;
 import org.bouncycastle.cms.CMSSignedData;
@@ -31,6 +33,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -95,6 +98,57 @@ public class AdvancedTimestampVerificationService {
             MultipartFile originalDataFile,
             boolean validateCertificate) {
 
+        ImprintCheck imprintCheck = (originalDataFile != null && !originalDataFile.isEmpty())
+                ? token -> verifyMessageImprint(token, originalDataFile.getBytes())
+                : null;
+        return verifyTimestampInternal(timestampFile, imprintCheck, validateCertificate);
+    }
+
+    /**
+     * Zaman damgasını orijinal veri yerine onun digest'iyle doğrular —
+     * büyük veride içerik yüklenmez, message imprint doğrudan
+     * karşılaştırılır.
+     *
+     * @param timestampFile       Timestamp dosyası (.tsr)
+     * @param digestAlgorithm     digest algoritması; {@code null} ise zaman
+     *                            damgasının message imprint algoritması
+     *                            varsayılır, verilirse onunla aynı olmalı
+     * @param digestValue         orijinal verinin Base64 veya hex digest'i
+     * @param validateCertificate Sertifika doğrulaması yapılsın mı
+     * @return Doğrulama sonucu
+     * @throws IllegalArgumentException algoritma desteklenmiyor
+     */
+    public TimestampVerificationResponseDto verifyTimestamp(
+            MultipartFile timestampFile,
+            String digestAlgorithm,
+            String digestValue,
+            boolean validateCertificate) {
+
+        DigestAlgorithm requestedAlgorithm = (digestAlgorithm != null && !digestAlgorithm.trim().isEmpty())
+                ? DocumentIngestor.parseDigestAlgorithm(digestAlgorithm)
+                : null;
+        if (requestedAlgorithm != null) {
+            // Algoritma biliniyorsa değer hatası timestamp'i parse etmeden 400 dönsün.
+            DocumentIngestor.decodeDigestValue(requestedAlgorithm, digestValue);
+        }
+        return verifyTimestampInternal(timestampFile,
+                token -> verifyMessageImprintDigest(token, requestedAlgorithm, digestValue),
+                validateCertificate);
+    }
+
+    /**
+     * Message imprint kontrolü — orijinal veri (byte) veya digest ile.
+     */
+    @FunctionalInterface
+    private interface ImprintCheck {
+        MessageImprintResult check(TimestampToken token) throws IOException;
+    }
+
+    private TimestampVerificationResponseDto verifyTimestampInternal(
+            MultipartFile timestampFile,
+            ImprintCheck imprintCheck,
+            boolean validateCertificate) {
+
         logger.info("Starting advanced timestamp verification. ValidateCert: {}", validateCertificate);
 
         final long tsStartNanos = System.nanoTime();
@@ -131,11 +185,8 @@ public class AdvancedTimestampVerificationService {
             }
 
             // 3. Message imprint doğrulaması
-            if (originalDataFile != null && !originalDataFile.isEmpty()) {
-                MessageImprintResult imprintResult = verifyMessageImprint(
-                        timestampToken, 
-                        originalDataFile.getBytes()
-                );
+            if (imprintCheck != null) {
+                MessageImprintResult imprintResult = imprintCheck.check(timestampToken);
                 
                 if (!imprintResult.isValid()) {
                     errors.add("Message imprint doğrulaması başarısız: " + imprintResult.getError());
@@ -175,6 +226,18 @@ public class AdvancedTimestampVerificationService {
                 logger.debug("Could not extract serial number: {}", e.getMessage());
             }
 
+            // İstek deadline'ı revocation kontrolü sırasında aşıldıysa
+            // sonuç eksik veriyle üretildi; açıkça işaretlenir.
+            RequestDeadline deadline = RequestDeadline.current();
+            if (deadline != null && deadline.wasExceeded()) {
+                response.setDeadlineExceeded(Boolean.TRUE);
+                warnings.add("İstek deadline'ı (" + deadline.getBudgetMillis()
+                        + " ms) doğrulama sırasında aşıldı; TSA revocation kontrolü eksik kalmış olabilir");
+                if (verificationMetrics != null) {
+                    verificationMetrics.recordDeadlineExceeded("timestamp");
+                }
+            }
+
             // Sonuç
             boolean isValid = errors.isEmpty();
             response.setValid(isValid);
@@ -324,6 +387,53 @@ public class AdvancedTimestampVerificationService {
         return result;
     }
 
+    /**
+     * Message imprint'i istemcinin gönderdiği digest ile doğrular. Digest
+     * yalnız zaman damgasının kendi algoritmasıyla karşılaştırılabilir;
+     * farklı algoritma sonuçta hata olarak raporlanır.
+     */
+    private MessageImprintResult verifyMessageImprintDigest(
+            TimestampToken token, DigestAlgorithm requestedAlgorithm, String digestValue) {
+        MessageImprintResult result = new MessageImprintResult();
+
+        try {
+            if (token.getMessageImprint() == null || token.getMessageImprint().getValue() == null) {
+                result.setValid(false);
+                result.setError("Timestamp'te message imprint bulunamadı");
+                return result;
+            }
+
+            DigestAlgorithm tokenAlgorithm = token.getMessageImprint().getAlgorithm();
+            result.setDigestAlgorithm(tokenAlgorithm != null ? tokenAlgorithm.getName() : null);
+            if (tokenAlgorithm == null) {
+                result.setValid(false);
+                result.setError("Timestamp message imprint algoritması belirlenemedi");
+                return result;
+            }
+            if (requestedAlgorithm != null && requestedAlgorithm != tokenAlgorithm) {
+                result.setValid(false);
+                result.setError("Gönderilen digest algoritması (" + requestedAlgorithm.getName()
+                        + ") timestamp'inkiyle (" + tokenAlgorithm.getName() + ") aynı değil");
+                return result;
+            }
+
+            byte[] expectedImprint = token.getMessageImprint().getValue();
+            byte[] providedImprint = DocumentIngestor.decodeDigestValue(tokenAlgorithm, digestValue);
+            boolean isValid = Arrays.equals(expectedImprint, providedImprint);
+            result.setValid(isValid);
+            if (!isValid) {
+                result.setError("Gönderilen digest ile timestamp hash'i eşleşmiyor");
+            }
+
+        } catch (Exception e) {
+            logger.error("Message imprint digest verification failed: {}", e.getMessage());
+            result.setValid(false);
+            result.setError("Message imprint doğrulama hatası: " + e.getMessage());
+        }
+
+        return result;
+    }
+
     /**
      * TSA sertifikasını ve zincirini doğrular
      */
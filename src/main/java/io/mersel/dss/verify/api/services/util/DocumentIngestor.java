@@ -0,0 +1,358 @@
+package io.mersel.dss.verify.api.services.util;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.enumerations.MimeType;
+import eu.europa.esig.dss.model.DigestDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import io.mersel.dss.verify.api.config.VerificationConfiguration;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+/**
+ * Multipart parçalarını ve ham istek gövdelerini DSS dokümanına çeviren
+ * ingest katmanı.
+ *
+ * <p><b>Sorun:</b> {@code MultipartFile.getBytes()} + {@code InMemoryDocument}
+ * her isteğin dokümanını heap'e tam kopyalar. 200 MB multipart limitiyle
+ * birkaç eşzamanlı büyük PAdES yüklemesi 512 MB heap'i tüketiyordu.</p>
+ *
+ * <p><b>Çözüm:</b> {@code verification.ingest.spill-threshold-bytes}
+ * eşiğini aşan parçalar {@link MultipartFile#getInputStream()} üzerinden
+ * bir kez geçici dosyaya stream edilir ve DSS'e {@link FileDocument} olarak
+ * verilir. Eşiğin altındakiler eski yoldan ({@link InMemoryDocument})
+ * devam eder. Geçici dosya {@link IngestedDocument#close()} ile silinir;
+ * çağıran taraf bunu {@code finally} içinde yapmakla yükümlüdür.</p>
+ *
+ * <p><b>XML istisnası:</b> {@code keepXmlInMemory=true} ile çağrıldığında
+ * içerik XML gibi görünüyorsa eşik aşılsa da bellekte tutulur. XAdES
+ * doğrulamasında DSS dokümanı zaten tamamen DOM'a yükler (spill heap
+ * kazancı sağlamaz); ECDSA preprocessor ve TR legacy XAdES detector da
+ * ham byte'lara ihtiyaç duyar.</p>
+ *
+ * <p><b>Thread-safety:</b> Stateless; config yalnız okunur.</p>
+ */
+@Component
+public class DocumentIngestor {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentIngestor.class);
+
+    /** XML sniff için bakılan baş byte sayısı (BOM + boşluk toleransı). */
+    private static final int SNIFF_BYTES = 64;
+
+    private static final String SPILL_PREFIX = "mdss-ingest-";
+    private static final String SPILL_SUFFIX = ".tmp";
+
+    private static final Pattern HEX = Pattern.compile("^[0-9a-fA-F]+$");
+
+    private final VerificationConfiguration config;
+
+    @Autowired
+    public DocumentIngestor(VerificationConfiguration config) {
+        this.config = config;
+    }
+
+    /**
+     * Parçayı okur; eşiğe göre in-memory veya file-backed doküman üretir.
+     *
+     * @param file            multipart parça (null olmamalı)
+     * @param keepXmlInMemory {@code true} ise XML gibi görünen içerik eşik
+     *                        aşılsa da bellekte tutulur (imzalı doküman için)
+     * @return kapatılması gereken {@link IngestedDocument}
+     * @throws IOException parça okunamaz veya spill dosyası yazılamazsa
+     */
+    public IngestedDocument ingest(MultipartFile file, boolean keepXmlInMemory) throws IOException {
+        // Multipart boyut sınırı Spring (spring.servlet.multipart.*) tarafından
+        // zaten uygulanmış durumda; burada ek limit yok.
+        return doIngest(file.getInputStream(), file.getSize(), file.getOriginalFilename(), keepXmlInMemory);
+    }
+
+    /**
+     * Ham istek gövdesini (multipart olmayan {@code application/octet-stream},
+     * {@code application/pdf}, {@code application/xml}) okur. Multipart
+     * parser'ı devrede olmadığı için boyut sınırı burada
+     * {@code verification.ingest.max-body-bytes} ile uygulanır: bildirilen
+     * {@code Content-Length} sınırı aşıyorsa hiç okunmadan, chunked gövde
+     * okuma sırasında aşarsa anında {@link MaxUploadSizeExceededException}
+     * atılır (HTTP 413).
+     *
+     * @param body            istek gövdesi; bu metod kapatır
+     * @param declaredSize    {@code Content-Length}; bilinmiyorsa {@code -1}
+     * @param name            doküman adı (DSS MimeType tahmini için), null olabilir
+     * @param keepXmlInMemory bkz. {@link #ingest(MultipartFile, boolean)}
+     */
+    public IngestedDocument ingest(InputStream body, long declaredSize, String name,
+                                   boolean keepXmlInMemory) throws IOException {
+        long maxBodyBytes = config.getIngestMaxBodyBytes();
+        if (maxBodyBytes > 0 && declaredSize > maxBodyBytes) {
+            body.close();
+            throw new MaxUploadSizeExceededException(maxBodyBytes);
+        }
+        InputStream source = maxBodyBytes > 0 ? new SizeLimitedInputStream(body, maxBodyBytes) : body;
+        return doIngest(source, declaredSize, name, keepXmlInMemory);
+    }
+
+    /**
+     * Detached içeriğin kendisi yerine istemcinin hesapladığı digest'ten
+     * DSS {@link DigestDocument} üretir. DSS detached referansı/
+     * message-digest'i bu değerle karşılaştırır; içerik hiç okunmaz — büyük
+     * detached dokümanlarda maliyet içerik boyutundan bağımsızdır.
+     * Döndürülen {@link IngestedDocument} byte ve spill dosyası taşımaz.
+     *
+     * <p>Digest, imzada kullanılan algoritmayla (XAdES referansının
+     * {@code DigestMethod}'u, CAdES {@code message-digest} algoritması)
+     * hesaplanmış olmalıdır; farklı algoritma DSS'te "referans bulunamadı"
+     * olarak sonuçlanır.</p>
+     *
+     * @param algorithm digest algoritması — {@code SHA-256}, {@code SHA256},
+     *                  XMLDSig URI veya OID
+     * @param value     Base64 veya hex digest değeri
+     * @param name      detached doküman adı (XAdES referans URI eşlemesi için), null olabilir
+     * @throws IllegalArgumentException algoritma desteklenmiyor veya değer
+     *                                  çözülemiyor / uzunluğu uymuyor
+     */
+    public IngestedDocument digestOnly(String algorithm, String value, String name) {
+        DigestAlgorithm digestAlgorithm = parseDigestAlgorithm(algorithm);
+        byte[] digest = decodeDigestValue(digestAlgorithm, value);
+        DigestDocument document = new DigestDocument(digestAlgorithm, digest, name);
+        return new IngestedDocument(document, null, null, 0);
+    }
+
+    /**
+     * Algoritma adını DSS {@link DigestAlgorithm}'a çevirir (imza ve zaman
+     * damgası endpoint'leri aynı yazımları kabul etsin diye ortak).
+     *
+     * @throws IllegalArgumentException boş veya desteklenmeyen algoritma
+     */
+    public static DigestAlgorithm parseDigestAlgorithm(String algorithm) {
+        if (algorithm == null || algorithm.trim().isEmpty()) {
+            throw new IllegalArgumentException("Digest algoritması belirtilmeli");
+        }
+        String trimmed = algorithm.trim();
+        // DSS adı "SHA256", Java adı "SHA-256" — ikisi de kabul; tiresiz
+        // karşılaştırma "sha-256", "SHA3256" gibi yazım farklarını tolere eder.
+        String compact = trimmed.replace("-", "").replace("_", "");
+        for (DigestAlgorithm candidate : DigestAlgorithm.values()) {
+            if (compact.equalsIgnoreCase(candidate.getName().replace("-", "").replace("_", ""))
+                    || trimmed.equalsIgnoreCase(candidate.getJavaName())
+                    || trimmed.equals(candidate.getUri())
+                    || trimmed.equals(candidate.getOid())) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException("Desteklenmeyen digest algoritması: " + algorithm);
+    }
+
+    /**
+     * Base64 veya hex digest değerini çözer ve uzunluğunu algoritmaya göre
+     * doğrular.
+     *
+     * @throws IllegalArgumentException değer boş, çözülemiyor veya uzunluğu uymuyor
+     */
+    public static byte[] decodeDigestValue(DigestAlgorithm algorithm, String value) {
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("Digest değeri belirtilmeli");
+        }
+        int expectedLength;
+        try {
+            expectedLength = algorithm.getMessageDigest().getDigestLength();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Digest algoritması bu JVM'de yok: " + algorithm.getName(), e);
+        }
+        String trimmed = value.trim();
+        byte[] digest;
+        if (trimmed.length() == expectedLength * 2 && HEX.matcher(trimmed).matches()) {
+            digest = hexToBytes(trimmed);
+        } else {
+            try {
+                digest = Base64.getDecoder().decode(trimmed);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Digest değeri Base64 veya hex olmalı", e);
+            }
+        }
+        if (digest.length != expectedLength) {
+            throw new IllegalArgumentException("Digest uzunluğu " + algorithm.getName() + " için "
+                    + expectedLength + " byte olmalı, " + digest.length + " byte geldi");
+        }
+        return digest;
+    }
+
+    private static byte[] hexToBytes(String hex) {
+        byte[] out = new byte[hex.length() / 2];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+        }
+        return out;
+    }
+
+    private IngestedDocument doIngest(InputStream source, long declaredSize, String name,
+                                      boolean keepXmlInMemory) throws IOException {
+        long threshold = config.getIngestSpillThresholdBytes();
+
+        try (InputStream in = new BufferedInputStream(source)) {
+            if (threshold <= 0 || (declaredSize >= 0 && declaredSize <= threshold)) {
+                return inMemory(IOUtils.toByteArray(in), name);
+            }
+
+            if (keepXmlInMemory) {
+                in.mark(SNIFF_BYTES);
+                byte[] head = readUpTo(in, SNIFF_BYTES);
+                in.reset();
+                if (looksLikeXml(head)) {
+                    logger.debug("Ingest: {} XML, eşik aşıldı ama bellekte tutuluyor", name);
+                    return inMemory(IOUtils.toByteArray(in), name);
+                }
+            }
+
+            if (declaredSize < 0) {
+                // Boyut bilinmiyor (chunked gövde): en fazla eşik + 1 byte
+                // oku; sığarsa bellekte kal, sığmazsa okunan baş kısmı ve
+                // kalan stream'i birlikte diske yaz.
+                byte[] head = readUpTo(in, (int) Math.min(threshold + 1, Integer.MAX_VALUE - 8));
+                if (head.length <= threshold) {
+                    return inMemory(head, name);
+                }
+                return spill(new SequenceInputStream(new ByteArrayInputStream(head), in), name);
+            }
+            return spill(in, name);
+        }
+    }
+
+    /**
+     * Stream'den en fazla {@code limit} byte okur; stream daha kısa ise
+     * okunabilen kadarını döner.
+     */
+    public static byte[] readUpTo(InputStream in, int limit) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.min(limit, 8192));
+        IOUtils.copyLarge(in, out, 0, limit);
+        return out.toByteArray();
+    }
+
+    private static IngestedDocument inMemory(byte[] bytes, String name) {
+        return new IngestedDocument(new InMemoryDocument(bytes, name), bytes, null, bytes.length);
+    }
+
+    private IngestedDocument spill(InputStream in, String name) throws IOException {
+        Path spillFile = Files.createTempFile(resolveTempDir(), SPILL_PREFIX, SPILL_SUFFIX);
+        try {
+            long written = Files.copy(in, spillFile, StandardCopyOption.REPLACE_EXISTING);
+            FileDocument document = new FileDocument(spillFile.toFile());
+            document.setName(name);
+            if (name != null) {
+                document.setMimeType(MimeType.fromFileName(name));
+            }
+            logger.debug("Ingest: {} ({} byte) diske taşındı: {}", name, written, spillFile);
+            return new IngestedDocument(document, null, spillFile, written);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spillFile);
+            throw e;
+        }
+    }
+
+    private Path resolveTempDir() throws IOException {
+        String configured = config.getIngestTempDir();
+        if (configured == null || configured.trim().isEmpty()) {
+            return Paths.get(System.getProperty("java.io.tmpdir"));
+        }
+        Path dir = Paths.get(configured.trim());
+        Files.createDirectories(dir);
+        return dir;
+    }
+
+    /**
+     * Okunan toplam byte sınırı aşınca {@link MaxUploadSizeExceededException}
+     * atan stream. Chunked (Content-Length'siz) ham gövdelerin 200 MB
+     * multipart limitini by-pass etmesini engeller.
+     */
+    static final class SizeLimitedInputStream extends FilterInputStream {
+
+        private final long maxBytes;
+        private long count;
+
+        SizeLimitedInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                advance(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buf, int off, int len) throws IOException {
+            int n = super.read(buf, off, len);
+            if (n > 0) {
+                advance(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            advance(skipped);
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void advance(long n) {
+            count += n;
+            if (count > maxBytes) {
+                throw new MaxUploadSizeExceededException(maxBytes);
+            }
+        }
+    }
+
+    /**
+     * Baş byte'lardan XML tahmini: UTF-16 BOM → XML kabul; UTF-8 BOM ve
+     * baştaki boşluklar atlandıktan sonra ilk karakter {@code '<'} ise XML.
+     * Şerit seçimi ({@code SignedDocumentFormat}) de aynı kuralı kullanır.
+     */
+    public static boolean looksLikeXml(byte[] head) {
+        if (head == null || head.length == 0) {
+            return false;
+        }
+        if (head.length >= 2
+                && ((head[0] == (byte) 0xFE && head[1] == (byte) 0xFF)
+                || (head[0] == (byte) 0xFF && head[1] == (byte) 0xFE))) {
+            return true;
+        }
+        int i = 0;
+        if (head.length >= 3 && head[0] == (byte) 0xEF && head[1] == (byte) 0xBB && head[2] == (byte) 0xBF) {
+            i = 3;
+        }
+        while (i < head.length && (head[i] == ' ' || head[i] == '\t' || head[i] == '\r' || head[i] == '\n')) {
+            i++;
+        }
+        return i < head.length && head[i] == '<';
+    }
+}
@@ -0,0 +1,81 @@
+package io.mersel.dss.verify.api.services.util;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * {@link DocumentIngestor} çıktısı — DSS'e verilecek doküman + (varsa)
+ * bellekteki byte'lar + (varsa) arkasındaki geçici dosya.
+ *
+ * <p>İki mod vardır:</p>
+ * <ul>
+ *   <li><b>In-memory</b>: {@link #getBytes()} dolu, {@link #getSpillFile()}
+ *       {@code null}. Eski davranışla birebir aynı ({@code InMemoryDocument}).</li>
+ *   <li><b>Spilled</b>: {@link #getBytes()} {@code null}, doküman
+ *       {@code FileDocument}. Byte'lar heap'e hiç alınmaz; çağıranlar
+ *       (notifier, TR detector) {@code null} byte'a zaten toleranslı.</li>
+ * </ul>
+ *
+ * <p>{@link #close()} geçici dosyayı siler; hata fırlatmaz (WARN loglar) —
+ * {@code finally} bloğunda güvenle çağrılabilsin diye. Birden fazla
+ * çağrı idempotent.</p>
+ */
+public final class IngestedDocument implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngestedDocument.class);
+
+    private final DSSDocument document;
+    private final byte[] bytes;
+    private final Path spillFile;
+    private final long sizeBytes;
+
+    IngestedDocument(DSSDocument document, byte[] bytes, Path spillFile, long sizeBytes) {
+        this.document = document;
+        this.bytes = bytes;
+        this.spillFile = spillFile;
+        this.sizeBytes = sizeBytes;
+    }
+
+    /** DSS validator'a verilecek doküman (in-memory veya file-backed). */
+    public DSSDocument getDocument() {
+        return document;
+    }
+
+    /**
+     * Bellekteki byte'lar; doküman diske taşındıysa {@code null}.
+     */
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    /** Spill dosyası; in-memory modda {@code null}. */
+    public Path getSpillFile() {
+        return spillFile;
+    }
+
+    public boolean isSpilled() {
+        return spillFile != null;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    @Override
+    public void close() {
+        if (spillFile == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(spillFile);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Spill dosyası silinemedi: {} ({})", spillFile, e.toString());
+        }
+    }
+}
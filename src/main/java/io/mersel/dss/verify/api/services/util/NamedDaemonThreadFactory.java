@@ -0,0 +1,29 @@
+package io.mersel.dss.verify.api.services.util;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Uygulamanın kendi havuzları için daemon thread üretir; isim
+ * {@code prefix + sıra no} olur (ör. {@code mdss-batch-verify-3}).
+ *
+ * <p>Daemon olması, kapanışta {@code shutdown()} çağrılmasa bile JVM'in
+ * bu havuzlar yüzünden beklememesini sağlar; isim öneki thread dump ve
+ * loglarda havuzu ayırt etmek için kullanılır.</p>
+ */
+public final class NamedDaemonThreadFactory implements ThreadFactory {
+
+    private final String prefix;
+    private final AtomicInteger counter = new AtomicInteger();
+
+    public NamedDaemonThreadFactory(String prefix) {
+        this.prefix = prefix;
+    }
+
+    @Override
+    public Thread newThread(Runnable r) {
+        Thread t = new Thread(r, prefix + counter.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    }
+}
@@ -21,16 +21,13 @@ import eu.europa.esig.dss.enumerations.SubIndication;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.InMemoryDocument;
 import eu.europa.esig.dss.simplereport.SimpleReport;
-import eu.europa.esig.dss.spi.x509.CertificateSource;
-import eu.europa.esig.dss.spi.x509.aia.AIASource;
-import eu.europa.esig.dss.spi.x509.revocation.crl.CRLSource;
-import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPSource;
 import eu.europa.esig.dss.spi.signature.AdvancedSignature;
 import eu.europa.esig.dss.spi.validation.CertificateVerifier;
-import eu.europa.esig.dss.spi.validation.CommonCertificateVerifier;
 import eu.europa.esig.dss.validation.SignedDocumentValidator;
 import eu.europa.esig.dss.validation.reports.Reports;
 import io.mersel.dss.verify.api.config.VerificationConfiguration;
+import io.mersel.dss.verify.api.exceptions.DecompressionLimitExceededException;
+import io.mersel.dss.verify.api.exceptions.RequestCancelledException;
 import io.mersel.dss.verify.api.exceptions.VerificationException;
 import io.mersel.dss.verify.api.models.*;
 import io.mersel.dss.verify.api.models.enums.SignaturePackaging;
@@ -38,9 +35,14 @@ import io.mersel.dss.verify.api.models.enums.SignatureType;
 import io.mersel.dss.verify.api.models.enums.RejectionCode;
 import io.mersel.dss.verify.api.models.enums.SuppressionCode;
 import io.mersel.dss.verify.api.models.enums.VerificationLevel;
+import io.mersel.dss.verify.api.services.admission.ExecutionLane;
+import io.mersel.dss.verify.api.services.admission.RequestCancellation;
+import io.mersel.dss.verify.api.services.admission.RequestDeadline;
 import io.mersel.dss.verify.api.services.certificate.KamusmRootCertificateService;
 import io.mersel.dss.verify.api.services.notification.InvalidSignatureNotifier;
+import io.mersel.dss.verify.api.services.util.DocumentIngestor;
 import io.mersel.dss.verify.api.services.util.EcdsaXmlSignaturePreprocessor;
+import io.mersel.dss.verify.api.services.util.IngestedDocument;
 import io.mersel.dss.verify.api.services.util.LegacyTurkishXadesAnomaly;
 import io.mersel.dss.verify.api.services.util.LegacyTurkishXadesTypeUriDetector;
 import io.mersel.dss.verify.api.services.util.RevocationInfoExtractor;
@@ -49,17 +51,18 @@ import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.multipart.MultipartFile;
 
-import javax.annotation.PostConstruct;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 /**
  * Gelişmiş imza doğrulama servisi
  * - Tüm XAdES formatları (BES, EPES, T, C, X, XL, A)
@@ -79,9 +82,6 @@ public class AdvancedSignatureVerificationService {
     @Autowired
     private VerificationConfiguration config;
 
-    @Autowired
-    private ResourceLoader resourceLoader;
-
     @Autowired
     private EcdsaXmlSignaturePreprocessor ecdsaXmlSignaturePreprocessor;
 
@@ -94,6 +94,15 @@ public class AdvancedSignatureVerificationService {
     @Autowired
     private RevocationInfoExtractor revocationInfoExtractor;
 
+    /**
+     * Multipart → DSSDocument dönüşümü. Eşiği aşan dokümanları geçici
+     * dosyaya taşır (bkz. {@link DocumentIngestor}); dönen
+     * {@link IngestedDocument}'lar {@code verifySignature} sonunda
+     * {@code finally} içinde kapatılır.
+     */
+    @Autowired
+    private DocumentIngestor documentIngestor;
+
     /**
      * DSS validation pipeline locale'i — her doğrulama akışında
      * {@code SignedDocumentValidator.setLocale(...)} ile pipeline'a
@@ -125,28 +134,37 @@ public class AdvancedSignatureVerificationService {
     private InvalidSignatureNotifier invalidSignatureNotifier;
 
     /**
-     * Cache + logging sarmalli OCSP source. Spring bean'i
-     * {@link io.mersel.dss.verify.api.config.RevocationServicesConfiguration}
-     * tarafindan kosullu olarak yaratilir; <code>verification.online-validation-enabled=false</code>
-     * iken context'te bulunmaz. {@code required=false} ile inject ediyoruz ki
-     * offline modda servis bootstrap'i bozulmasin.
+     * İçerik adresli sonuç cache'i — aynı girdilerle tekrar gelen
+     * isteklerde DSS pipeline'ı atlanır. Kapalıysa ({@code
+     * verification.result-cache.enabled=false}) veya test slice'ında yoksa
+     * her istek doğrulanır.
      */
     @Autowired(required = false)
-    private OCSPSource cachedOcspSource;
+    private VerificationResultCache verificationResultCache;
 
     /**
-     * Cache + logging sarmalli CRL source. {@link #cachedOcspSource} ile ayni
-     * yasam dongusu kurallari.
+     * İstekler arası imza bütünlüğü karar cache'i — aynı imza değeri
+     * tekrar geldiğinde kanonikleştirme ve imza doğrulaması atlanır.
+     * Kapalıysa ({@code verification.integrity-cache.enabled=false}) veya
+     * test slice'ında yoksa DSS her imzayı baştan doğrular.
      */
     @Autowired(required = false)
-    private CRLSource cachedCrlSource;
+    private SignatureIntegrityVerdictCache signatureIntegrityVerdictCache;
+
+    /**
+     * Paylaşılan {@link CertificateVerifier} snapshot'ı — trusted source +
+     * OCSP/CRL/AIA source'ları bir kez bağlanır, güven deposu yenilenince
+     * yeniden kurulur. Bkz. {@link CertificateVerifierProvider}.
+     */
+    @Autowired
+    private CertificateVerifierProvider certificateVerifierProvider;
 
     /**
-     * AIA source (Authority Information Access) — sertifika zinciri eksik
-     * geldiginde ara CA fetch icin. Yine online validation ile gate'lenmis.
+     * Çok imzalı dokümanlarda imza başına sonuç eşlemesini paralel
+     * çalıştırır. Test slice'larında yoksa eşleme sıralı yapılır.
      */
     @Autowired(required = false)
-    private AIASource cachedAiaSource;
+    private ParallelSignatureMapper parallelSignatureMapper;
 
     /**
      * Mesaj anahtarı: DSS BBB SAV içinde "ne message-digest ne SignedProperties
@@ -311,93 +329,12 @@ public class AdvancedSignatureVerificationService {
     @Autowired(required = false)
     private io.mersel.dss.verify.api.metrics.VerificationMetrics verificationMetrics;
 
-    // Built-in policy profilleri. signer-strict default — imzacı için
-    // OCSP/CRL FAIL, ara CA için WARN. strict — eIDAS-QES paralelinde
-    // her katmanda FAIL.
-    static final String PROFILE_SIGNER_STRICT = "signer-strict";
-    static final String PROFILE_STRICT = "strict";
-    private static final Set<String> KNOWN_PROFILES = new LinkedHashSet<>(
-            Arrays.asList(PROFILE_SIGNER_STRICT, PROFILE_STRICT));
-    private static final String POLICY_RESOURCE_TEMPLATE =
-            "classpath:policy/kamusm-%s-constraint.xml";
-
     /**
-     * Tam custom validation policy XML. <strong>Önceliklidir</strong>:
-     * set edilmişse {@link #policyProfile} ignore edilir.
-     *
-     * <p>Spring resource paterni: <code>classpath:</code>, <code>file:</code>,
-     * <code>http(s):</code>. Üretimde tipik kullanım:
-     * <code>file:/etc/mersel-dss-verify/policy.xml</code> (k8s secret/configmap
-     * ile mount).</p>
-     */
-    @Value("${dss.policy.path:}")
-    private String policyPath;
-
-    /**
-     * Built-in policy profili. Geçerli değerler:
-     * <ul>
-     *   <li><code>signer-strict</code> (default) — Mali Mühür / KamuSM üretim
-     *       senaryosu: imzacı için OCSP/CRL FAIL, ara CA için WARN.</li>
-     *   <li><code>strict</code> — eIDAS-QES paraleli, her katmanda FAIL.</li>
-     * </ul>
-     *
-     * <p>Bilinmeyen değer verilirse default'a düşülür ve startup log'unda
-     * <code>WARN</code> basılır — silent fallback yapmıyoruz.</p>
+     * Derlenmiş validation policy'leri (built-in profiller + custom path,
+     * hot reload dahil). Policy XML'i istek başına parse edilmez.
      */
-    @Value("${dss.policy.profile:signer-strict}")
-    private String policyProfile;
-
-    /**
-     * Startup-time sanity check: kullanıcının seçtiği policy + online
-     * validation kombosu pratikte anlamlı mı diye uyarır. Validation karar
-     * mantığına hiç dokunmaz — sadece operatöre işaret bırakır.
-     *
-     * <p>Riskli kombinasyonlar:</p>
-     * <ul>
-     *   <li><b>profile=signer-strict + online-validation=false</b> →
-     *       İmzacı için OCSP/CRL FAIL ama online fetch kapalı; her doğrulama
-     *       INDETERMINATE/NO_REVOCATION_DATA dönecek. Tipik unutkanlık.</li>
-     *   <li><b>profile=strict + online-validation=false</b> → aynı problem,
-     *       hem de tüm katmanlarda.</li>
-     *   <li><b>dss.policy.path set</b> → custom XML kullanıcının
-     *       sorumluluğunda; bilgi log'u yeter.</li>
-     * </ul>
-     */
-    @PostConstruct
-    void warnOnSuspiciousPolicyConfiguration() {
-        boolean customPath = policyPath != null && !policyPath.trim().isEmpty();
-        boolean online = config != null && config.isOnlineValidationEnabled();
-        String effectiveProfile = (policyProfile != null)
-                ? policyProfile.trim().toLowerCase(Locale.ROOT) : "";
-
-        if (customPath) {
-            logger.info("DSS policy: custom XML kullanılıyor (dss.policy.path='{}'). "
-                    + "Profile parametresi yok sayılıyor.", policyPath);
-            return;
-        }
-
-        if (!KNOWN_PROFILES.contains(effectiveProfile)) {
-            logger.warn("dss.policy.profile='{}' tanımsız; ilk doğrulamada default '{}' "
-                            + "profiline düşülecek (operasyonel kontrol önerilir).",
-                    policyProfile, PROFILE_SIGNER_STRICT);
-            effectiveProfile = PROFILE_SIGNER_STRICT;
-        }
-
-        logger.info("DSS validation policy: profile='{}', online-validation={}",
-                effectiveProfile, online);
-
-        if (!online && (PROFILE_SIGNER_STRICT.equals(effectiveProfile)
-                || PROFILE_STRICT.equals(effectiveProfile))) {
-            logger.warn(""
-                    + "GUVENLIK UYARISI: dss.policy.profile='{}' imzaci/CA icin "
-                    + "OCSP veya CRL revocation verisi gerektiriyor, fakat "
-                    + "verification.online-validation-enabled=false. Bu kombosyonla "
-                    + "her dogrulama 'INDETERMINATE/NO_REVOCATION_DATA' donecektir. "
-                    + "Online validation'i acin VEYA test/CI ortami icin "
-                    + "dss.policy.path ile permissive bir XML mount edin.",
-                    effectiveProfile);
-        }
-    }
+    @Autowired
+    private ValidationPolicyRegistry validationPolicyRegistry;
 
     /**
      * İmzalı dokümanı doğrular — eski API, geriye uyumluluk için sarmalayıcı.
@@ -413,7 +350,7 @@ public class AdvancedSignatureVerificationService {
             MultipartFile signedDocument,
             MultipartFile originalDocument,
             VerificationLevel level) {
-        return verifySignature(signedDocument, originalDocument, level, false);
+        return verifySignature(signedDocument, originalDocument, level, null, false);
     }
 
     /**
@@ -422,6 +359,9 @@ public class AdvancedSignatureVerificationService {
      * @param signedDocument İmzalı doküman
      * @param originalDocument Orijinal doküman (detached signature için)
      * @param level Doğrulama seviyesi (SIMPLE veya COMPREHENSIVE)
+     * @param policyProfile istek bazlı built-in policy profili
+     *                      ({@code signer-strict} | {@code strict});
+     *                      {@code null} ise konfigüre edilen profil
      * @param includeFailedConstraints <code>true</code> ise her imzaya
      *                               {@link SignatureInfo#getFailedConstraints()
      *                               failedConstraints} alanı olarak tüm BBB
@@ -432,15 +372,305 @@ public class AdvancedSignatureVerificationService {
      *                               yazılmaz; operatör yalnız {@code rootCause}
      *                               görür.
      * @return Doğrulama sonucu
+     * @throws IllegalArgumentException bilinmeyen profil veya
+     *                                  {@code dss.policy.path} ile kilitli sunucuda
+     *                                  profil seçimi
      */
     public VerificationResult verifySignature(
             MultipartFile signedDocument,
             MultipartFile originalDocument,
             VerificationLevel level,
+            String policyProfile,
+            boolean includeFailedConstraints) {
+
+        String requestedProfile = resolveRequestedPolicyProfile(policyProfile);
+        String signedFileName = signedDocument != null ? signedDocument.getOriginalFilename() : null;
+        String signedContentType = signedDocument != null ? signedDocument.getContentType() : null;
+        String originalFileName = (originalDocument != null && !originalDocument.isEmpty())
+                ? originalDocument.getOriginalFilename() : null;
+        IngestSource originalSource = (originalDocument != null && !originalDocument.isEmpty())
+                ? () -> documentIngestor.ingest(originalDocument, false) : null;
+
+        return verifyIngested(
+                () -> documentIngestor.ingest(signedDocument, true),
+                originalSource,
+                signedFileName, signedContentType, originalFileName,
+                level, requestedProfile, includeFailedConstraints, null, false);
+    }
+
+    /**
+     * Detached imzayı orijinal doküman yerine onun digest'iyle doğrular.
+     * Orijinal içerik hiç yüklenmez/okunmaz; DSS detached referansı
+     * {@code DigestDocument} üzerinden karşılaştırır — doğrulama maliyeti
+     * imzalanan içeriğin boyutundan bağımsızdır.
+     *
+     * @param signedDocument           İmzalı doküman (detached XAdES / CAdES)
+     * @param originalDigestAlgorithm  digest algoritması ({@code SHA-256}, XMLDSig URI, OID);
+     *                                 imzada kullanılan algoritmayla aynı olmalı
+     * @param originalDigestValue      Base64 veya hex digest
+     * @param originalFileName         orijinal doküman adı (XAdES referans URI'si
+     *                                 dosya adıysa eşleşme için), null olabilir
+     * @param level                    Doğrulama seviyesi
+     * @param policyProfile            istek bazlı built-in policy profili
+     *                                 ({@code signer-strict} | {@code strict});
+     *                                 {@code null} ise konfigüre edilen profil
+     * @param includeFailedConstraints bkz. {@link #verifySignature(MultipartFile, MultipartFile, VerificationLevel, String, boolean)}
+     * @return Doğrulama sonucu
+     * @throws IllegalArgumentException algoritma desteklenmiyor, digest çözülemiyor
+     *                                  veya policy profili seçilemiyor
+     */
+    public VerificationResult verifySignature(
+            MultipartFile signedDocument,
+            String originalDigestAlgorithm,
+            String originalDigestValue,
+            String originalFileName,
+            VerificationLevel level,
+            String policyProfile,
             boolean includeFailedConstraints) {
 
-        logger.info("Starting advanced signature verification. Level: {}, includeFailedConstraints: {}",
-                level, includeFailedConstraints);
+        // Parametre hatası doğrulama hatası değil — 400 IllegalArgument
+        // olarak, bildirim akışına girmeden dönsün.
+        String requestedProfile = resolveRequestedPolicyProfile(policyProfile);
+        IngestedDocument originalDigest = documentIngestor.digestOnly(
+                originalDigestAlgorithm, originalDigestValue, originalFileName);
+
+        String signedFileName = signedDocument != null ? signedDocument.getOriginalFilename() : null;
+        String signedContentType = signedDocument != null ? signedDocument.getContentType() : null;
+        return verifyIngested(
+                () -> documentIngestor.ingest(signedDocument, true),
+                () -> originalDigest,
+                signedFileName, signedContentType, originalFileName,
+                level, requestedProfile, includeFailedConstraints, null, false);
+    }
+
+    /**
+     * Ham istek gövdesiyle (multipart olmadan) gelen imzalı dokümanı doğrular.
+     * Gövde {@link DocumentIngestor} üzerinden doğrudan DSS dokümanına
+     * çevrilir: eşiğin altındaysa tek seferde belleğe, üstündeyse geçici
+     * dosyaya — multipart parser'ın ara temp dosyası ve {@code getBytes()}
+     * kopyası oluşmaz. Detached (orijinal doküman) senaryosu bu yolda yoktur;
+     * enveloped/enveloping XAdES, PAdES ve attached CAdES içindir.
+     *
+     * @param signedBody               istek gövdesi (bu metod kapatır)
+     * @param contentLength            {@code Content-Length}; bilinmiyorsa {@code -1}
+     * @param signedFileName           doküman adı (opsiyonel; log/bildirim/MimeType için)
+     * @param signedContentType        istek {@code Content-Type}'ı
+     * @param level                    doğrulama seviyesi
+     * @param policyProfile            istek bazlı built-in policy profili
+     *                                 ({@code signer-strict} | {@code strict});
+     *                                 {@code null} ise konfigüre edilen profil
+     * @param includeFailedConstraints bkz. {@link #verifySignature(MultipartFile, MultipartFile, VerificationLevel, String, boolean)}
+     * @return Doğrulama sonucu
+     * @throws IllegalArgumentException bilinmeyen profil veya
+     *                                  {@code dss.policy.path} ile kilitli sunucuda
+     *                                  profil seçimi
+     */
+    public VerificationResult verifySignature(
+            InputStream signedBody,
+            long contentLength,
+            String signedFileName,
+            String signedContentType,
+            VerificationLevel level,
+            String policyProfile,
+            boolean includeFailedConstraints) {
+
+        String requestedProfile = resolveRequestedPolicyProfile(policyProfile);
+        return verifyIngested(
+                () -> documentIngestor.ingest(signedBody, contentLength, signedFileName, true),
+                null,
+                signedFileName, signedContentType, null,
+                level, requestedProfile, includeFailedConstraints, null, false);
+    }
+
+    /**
+     * Önceden ingest edilmiş dokümanları doğrular — asenkron iş API'si
+     * içindir: dokümanlar request thread'inde okunur (multipart geçici
+     * dosyaları istek bitince silinir), doğrulama daha sonra worker
+     * thread'inde yapılır. Dokümanların sahipliği bu metoda geçer; dönüşte
+     * (başarılı ya da hatalı) her ikisi de kapatılmıştır.
+     *
+     * @param signedIngest             imzalı doküman (null olmamalı)
+     * @param originalIngest           detached içerik; yoksa {@code null}
+     * @param signedFileName           doküman adı (log/bildirim için)
+     * @param signedContentType        yüklemenin {@code Content-Type}'ı
+     * @param originalFileName         detached içeriğin adı; yoksa {@code null}
+     * @param level                    doğrulama seviyesi
+     * @param policyProfile            istek bazlı built-in policy profili
+     *                                 ({@code signer-strict} | {@code strict});
+     *                                 {@code null} ise konfigüre edilen profil
+     * @param includeFailedConstraints bkz. {@link #verifySignature(MultipartFile, MultipartFile, VerificationLevel, String, boolean)}
+     * @return Doğrulama sonucu
+     */
+    public VerificationResult verifySignature(
+            IngestedDocument signedIngest,
+            IngestedDocument originalIngest,
+            String signedFileName,
+            String signedContentType,
+            String originalFileName,
+            VerificationLevel level,
+            String policyProfile,
+            boolean includeFailedConstraints) {
+
+        String requestedProfile = resolveRequestedPolicyProfile(policyProfile);
+        return verifyIngested(
+                () -> signedIngest,
+                originalIngest != null ? () -> originalIngest : null,
+                signedFileName, signedContentType, originalFileName,
+                level, requestedProfile, includeFailedConstraints, null, false);
+    }
+
+    /**
+     * Ön (provisional) doğrulama — ağa çıkmadan yalnız kriptografik
+     * bütünlük ve zincirin güven deposuna ulaşması kontrol edilir; OCSP/CRL
+     * ve AIA fetch yapılmaz ({@link CertificateVerifierProvider#offline()}).
+     * İmza başına {@code valid}: DSS çevrimdışı sonucu geçerliyse veya imza
+     * değeri ve referanslar sağlam ve zincir güvenilir köke ulaşıyorsa
+     * {@code true}. Sonuç {@code provisional=true} ve
+     * {@code PROVISIONALLY_VALID} / {@code PROVISIONALLY_INVALID} durumuyla
+     * döner; kesin sonuç revocation dahil asıl doğrulamadan gelir.
+     *
+     * <p>Sonuç cache'ine yazılmaz, INVALID bildirimi ve doğrulama sonuç
+     * metrikleri üretmez (bunları asıl doğrulama üretir). Dokümanlar
+     * <strong>kapatılmaz</strong> — sahiplik çağıranda kalır ki aynı
+     * dokümanlar asıl doğrulamaya verilebilsin.</p>
+     *
+     * @see VerificationJobService#submit(MultipartFile, MultipartFile, VerificationLevel, String, boolean, boolean)
+     */
+    public VerificationResult verifySignatureProvisional(
+            IngestedDocument signedIngest,
+            IngestedDocument originalIngest,
+            String signedFileName,
+            String signedContentType,
+            String originalFileName,
+            VerificationLevel level,
+            String policyProfile,
+            boolean includeFailedConstraints) {
+
+        String requestedProfile = resolveRequestedPolicyProfile(policyProfile);
+        return verifyIngested(
+                () -> signedIngest,
+                originalIngest != null ? () -> originalIngest : null,
+                signedFileName, signedContentType, originalFileName,
+                level, requestedProfile, includeFailedConstraints, null, true);
+    }
+
+    /**
+     * Akışlı yanıt varyantı — {@link #verifySignature(MultipartFile, MultipartFile, VerificationLevel, String, boolean)}
+     * ile aynı doğrulama; fark, her imza bitince {@code signatureSink}'e
+     * verilir ve sonuçta tutulmaz. Dönen sonuç yalnız özet alanları
+     * ({@code valid}, {@code status}, {@code signatureCount}, ...) taşır;
+     * {@code signatures} listesinde yalnız bildirim kanalı aktifse
+     * geçersiz imzalar bulunur.
+     *
+     * @param signatureSink imzaları sırayla alan tüketici (örn.
+     *                      {@link VerificationResultStreamWriter})
+     */
+    public VerificationResult verifySignatureStreaming(
+            MultipartFile signedDocument,
+            MultipartFile originalDocument,
+            VerificationLevel level,
+            String policyProfile,
+            boolean includeFailedConstraints,
+            Consumer<SignatureInfo> signatureSink) {
+
+        String requestedProfile = resolveRequestedPolicyProfile(policyProfile);
+        String signedFileName = signedDocument != null ? signedDocument.getOriginalFilename() : null;
+        String signedContentType = signedDocument != null ? signedDocument.getContentType() : null;
+        String originalFileName = (originalDocument != null && !originalDocument.isEmpty())
+                ? originalDocument.getOriginalFilename() : null;
+        IngestSource originalSource = (originalDocument != null && !originalDocument.isEmpty())
+                ? () -> documentIngestor.ingest(originalDocument, false) : null;
+
+        return verifyIngested(
+                () -> documentIngestor.ingest(signedDocument, true),
+                originalSource,
+                signedFileName, signedContentType, originalFileName,
+                level, requestedProfile, includeFailedConstraints, signatureSink, false);
+    }
+
+    /**
+     * Digest ile detached doğrulamanın akışlı yanıt varyantı; bkz.
+     * {@link #verifySignature(MultipartFile, String, String, String, VerificationLevel, String, boolean)}
+     * ve {@link #verifySignatureStreaming(MultipartFile, MultipartFile, VerificationLevel, String, boolean, Consumer)}.
+     */
+    public VerificationResult verifySignatureStreaming(
+            MultipartFile signedDocument,
+            String originalDigestAlgorithm,
+            String originalDigestValue,
+            String originalFileName,
+            VerificationLevel level,
+            String policyProfile,
+            boolean includeFailedConstraints,
+            Consumer<SignatureInfo> signatureSink) {
+
+        String requestedProfile = resolveRequestedPolicyProfile(policyProfile);
+        IngestedDocument originalDigest = documentIngestor.digestOnly(
+                originalDigestAlgorithm, originalDigestValue, originalFileName);
+
+        String signedFileName = signedDocument != null ? signedDocument.getOriginalFilename() : null;
+        String signedContentType = signedDocument != null ? signedDocument.getContentType() : null;
+        return verifyIngested(
+                () -> documentIngestor.ingest(signedDocument, true),
+                () -> originalDigest,
+                signedFileName, signedContentType, originalFileName,
+                level, requestedProfile, includeFailedConstraints, signatureSink, false);
+    }
+
+    /**
+     * Ham gövdeli doğrulamanın akışlı yanıt varyantı; bkz.
+     * {@link #verifySignature(InputStream, long, String, String, VerificationLevel, String, boolean)}
+     * ve {@link #verifySignatureStreaming(MultipartFile, MultipartFile, VerificationLevel, String, boolean, Consumer)}.
+     */
+    public VerificationResult verifySignatureStreaming(
+            InputStream signedBody,
+            long contentLength,
+            String signedFileName,
+            String signedContentType,
+            VerificationLevel level,
+            String policyProfile,
+            boolean includeFailedConstraints,
+            Consumer<SignatureInfo> signatureSink) {
+
+        String requestedProfile = resolveRequestedPolicyProfile(policyProfile);
+        return verifyIngested(
+                () -> documentIngestor.ingest(signedBody, contentLength, signedFileName, true),
+                null,
+                signedFileName, signedContentType, null,
+                level, requestedProfile, includeFailedConstraints, signatureSink, false);
+    }
+
+    /**
+     * Doküman kaynağı — multipart parça veya ham gövde. Açılış (okuma/spill)
+     * ana try bloğunun içinde yapılır ki IO hataları da aynı hata/bildirim
+     * yolundan geçsin.
+     */
+    @FunctionalInterface
+    private interface IngestSource {
+        IngestedDocument open() throws IOException;
+    }
+
+    /**
+     * Ortak doğrulama akışı — multipart ve ham gövde endpoint'leri buraya
+     * düşer.
+     *
+     * @param signatureSink {@code null} değilse imzalar sonuçta biriktirilmez,
+     *                      işlendikçe buna verilir (akışlı yanıt)
+     * @param provisional   ön doğrulama; bkz. {@link #verifySignatureProvisional}
+     */
+    private VerificationResult verifyIngested(
+            IngestSource signedSource,
+            IngestSource originalSource,
+            String signedFileName,
+            String signedContentType,
+            String originalFileName,
+            VerificationLevel level,
+            String requestedPolicyProfile,
+            boolean includeFailedConstraints,
+            Consumer<SignatureInfo> signatureSink,
+            boolean provisional) {
+
+        logger.info("Starting advanced signature verification. Level: {}, includeFailedConstraints: {}, provisional: {}",
+                level, includeFailedConstraints, provisional);
 
         // İstek sonuçlanma süresi (uçtan uca) + aşama bazlı süre ölçümü
         // için zaman damgaları. nanoTime monotonik — wall-clock saat
@@ -448,53 +678,80 @@ public class AdvancedSignatureVerificationService {
         final long verificationStartNanos = System.nanoTime();
         final String levelTag = level != null ? level.name() : null;
 
-        // Dosya metadatasını ve byte içeriklerini ÖNDEN oku. Doğrulayıcı (DSS)
-        // tarafında parse hatası (örn. bozuk/namespace eksik XML) atılırsa
-        // ana try/catch'in sonunda bu değerlerle Slack/webhook bildirimini
-        // hâlâ gönderebilelim diye method-scope'a alıyoruz. Önceki davranışta
-        // bytes ve fileName ana try'in içinde okunuyordu; o yüzden parse
-        // exception'ı sonrası catch bloğunun bildirim için elinde hiçbir
-        // bağlam kalmıyordu (Slack mesajı hiç düşmüyordu).
-        String signedFileName = signedDocument != null ? signedDocument.getOriginalFilename() : null;
-        String signedContentType = signedDocument != null ? signedDocument.getContentType() : null;
-        String originalFileName = (originalDocument != null && !originalDocument.isEmpty())
-                ? originalDocument.getOriginalFilename() : null;
+        // Dosya metadatası (parametre olarak gelir) ve byte içerikleri
+        // method-scope'ta. Doğrulayıcı (DSS) tarafında parse hatası (örn.
+        // bozuk/namespace eksik XML) atılırsa ana try/catch'in sonunda bu
+        // değerlerle Slack/webhook bildirimini hâlâ gönderebilelim diye.
+        // Önceki davranışta bytes ve fileName ana try'in içinde okunuyordu;
+        // o yüzden parse exception'ı sonrası catch bloğunun bildirim için
+        // elinde hiçbir bağlam kalmıyordu (Slack mesajı hiç düşmüyordu).
         byte[] signedBytes = null;
         byte[] originalBytes = null;
+        // Disk'e taşan dokümanların geçici dosyaları; finally'de silinir.
+        IngestedDocument signedIngest = null;
+        IngestedDocument originalIngest = null;
 
         // Aşama sınırlarını işaretleyen değişken; her aşama bittiğinde
         // güncellenir (read_input → build_validator → dss_validate → parse_result).
         long stageStartNanos = System.nanoTime();
 
         try {
-            signedBytes = signedDocument.getBytes();
+            // Eşiği aşan PAdES/CAdES dokümanları heap'e alınmaz, geçici
+            // dosyaya stream edilip FileDocument olarak DSS'e verilir; bu
+            // durumda signedBytes null kalır (ECDSA preprocessor, TR
+            // detector ve notifier null byte'a toleranslı). XML imzalar
+            // eşiği aşsa da bellekte kalır — bkz. DocumentIngestor.
+            signedIngest = signedSource.open();
+            signedBytes = signedIngest.getBytes();
+            DSSDocument document = signedIngest.getDocument();
 
             // GİB/TÜBİTAK Mali Mühür ECDSA imzaları (DER-encoded) için W3C XMLDSig
             // uyumluluğunu sağla: SignatureValue içindeki ASN.1 DER SEQUENCE'i raw r||s'e çevir.
             // Preprocessor sertifika EC değilse veya gerekli koşullar sağlanmazsa no-op döner.
-            if (config.isEcdsaDerPreprocessorEnabled()) {
-                signedBytes = ecdsaXmlSignaturePreprocessor.preprocess(signedBytes);
+            if (signedBytes != null && config.isEcdsaDerPreprocessorEnabled()) {
+                byte[] preprocessed = ecdsaXmlSignaturePreprocessor.preprocess(signedBytes);
+                if (preprocessed != signedBytes) {
+                    signedBytes = preprocessed;
+                    document = new InMemoryDocument(signedBytes, signedFileName);
+                }
             }
 
-            DSSDocument document = new InMemoryDocument(signedBytes, signedFileName);
-
             // Orijinal doküman varsa (detached signature için). Byte'ları
             // method-scope'a kaydediyoruz: hem DSS detached content olarak
             // kullanıyoruz hem de bildirim akışına aktarıyoruz (parse hatası
-            // sonrası catch bloğu da görsün).
+            // sonrası catch bloğu da görsün). Eşiği aşan detached içerik
+            // diske taşınır; DSS digest'i dosyadan stream ederek hesaplar.
             List<DSSDocument> detachedContents = new ArrayList<>();
-            if (originalDocument != null && !originalDocument.isEmpty()) {
-                originalBytes = originalDocument.getBytes();
-                DSSDocument detachedContent = new InMemoryDocument(
-                        originalBytes,
-                        originalFileName
-                );
-                detachedContents.add(detachedContent);
+            if (originalSource != null) {
+                originalIngest = originalSource.open();
+                originalBytes = originalIngest.getBytes();
+                detachedContents.add(originalIngest.getDocument());
             }
 
             // Aşama: read_input (multipart oku + ECDSA preprocess + detached oku) bitti.
             stageStartNanos = recordStage("read_input", stageStartNanos);
 
+            // Sonuç cache'i: anahtar ön işlemeden önceki doküman
+            // içeriğinden hesaplanır. İsabette validator hiç kurulmaz;
+            // bildirim de gönderilmez (aynı doküman zaten bildirildi).
+            String resultCacheKey = null;
+            if (!provisional && verificationResultCache != null && verificationResultCache.isEnabled()) {
+                resultCacheKey = verificationResultCache.key(
+                        signedIngest.getDocument(),
+                        originalIngest != null ? originalIngest.getDocument() : null,
+                        originalFileName, level, validationPolicyRegistry.policyKey(requestedPolicyProfile),
+                        includeFailedConstraints);
+                VerificationResult cachedResult = verificationResultCache.get(resultCacheKey);
+                stageStartNanos = recordStage("result_cache", stageStartNanos);
+                if (cachedResult != null) {
+                    return serveCachedResult(cachedResult, levelTag, verificationStartNanos, signatureSink);
+                }
+            }
+
+            // İstemci bağlantıyı kapattıysa kalan iş bırakılır (aşama
+            // sınırlarında; bkz. RequestCancellation).
+            RequestCancellation.checkNotCancelled("build_validator");
+
             // Validator oluştur
             SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(document);
 
@@ -511,27 +768,46 @@ public class AdvancedSignatureVerificationService {
                 validator.setDetachedContents(detachedContents);
             }
 
-            // Certificate verifier'ı ayarla
-            CertificateVerifier certificateVerifier = createAdvancedCertificateVerifier();
-            validator.setCertificateVerifier(certificateVerifier);
+            // Certificate verifier: güncel güven deposu snapshot'ı (her
+            // istekte yeniden kurulmaz; bkz. CertificateVerifierProvider).
+            // Ön doğrulamada ağa çıkmayan varyant.
+            validator.setCertificateVerifier(provisional
+                    ? certificateVerifierProvider.offline()
+                    : certificateVerifierProvider.current());
+
+            // SIMPLE yalın mod: DSS, ETSI validation report'u (TS 119 102-2)
+            // her doğrulamada varsayılan olarak kurar; yanıtta kullanılmıyor.
+            validator.setEnableEtsiValidationReport(isEtsiValidationReportEnabled(level));
 
             // Doğrulama yap. Validation policy resolution explicit ve
-            // fail-fast (bkz. openValidationPolicyStream JavaDoc) — sessiz
+            // fail-fast (bkz. ValidationPolicyRegistry JavaDoc) — sessiz
             // fallback yok, çünkü yanlış policy ile valid göstermek prod
             // riski yaratır. Default profil signer-strict (KamuSM Mali Mühür
             // için imzacı OCSP/CRL zorunlu, ara CA WARN).
-            // Aşama: build_validator (validator + locale + detached + certificate verifier) bitti.
+            // Aşama: build_validator (validator + locale + detached + certificate verifier
+            // + ETSI rapor ayarı) bitti.
             stageStartNanos = recordStage("build_validator", stageStartNanos);
 
-            Reports reports;
-            try (InputStream policyStream = openValidationPolicyStream()) {
-                reports = validator.validateDocument(policyStream);
+            // İmza bütünlüğü cache'i: daha önce doğrulanmış imza değerlerinin
+            // kararı DSS'e verilir; referans digest'leri yine kontrol edilir.
+            SignatureIntegrityVerdictCache.Lookup integrityLookup = null;
+            if (signatureIntegrityVerdictCache != null && signatureIntegrityVerdictCache.isEnabled()) {
+                integrityLookup = signatureIntegrityVerdictCache.applyCached(validator);
+            }
+
+            RequestCancellation.checkNotCancelled("dss_validate");
+            Reports reports = validator.validateDocument(
+                    validationPolicyRegistry.policy(requestedPolicyProfile));
+
+            if (integrityLookup != null) {
+                signatureIntegrityVerdictCache.storeComputed(integrityLookup);
             }
 
             // Aşama: dss_validate — DSS validation pipeline'ı (OCSP/CRL/AIA
             // fetch dahil) bitti. Tipik olarak en pahalı aşama; "doğrulama
             // neden yavaş?" sorusunun ilk bakılacak yeri.
             stageStartNanos = recordStage("dss_validate", stageStartNanos);
+            RequestCancellation.checkNotCancelled("parse_result");
 
             // Detaylı DSS raporu: yalnızca DEBUG seviyesinde logla. Trust chain
             // problemlerini ayıklarken hızlıca açılabilir (logback level=DEBUG),
@@ -540,7 +816,7 @@ public class AdvancedSignatureVerificationService {
                 try {
                     ValidationReportLogger.logDetailedReport(
                             reports,
-                            signedDocument != null ? signedDocument.getOriginalFilename() : "<unknown>");
+                            signedFileName != null ? signedFileName : "<unknown>");
                 } catch (Exception logEx) {
                     logger.warn("ValidationReportLogger failed: {}", logEx.getMessage());
                 }
@@ -559,19 +835,50 @@ public class AdvancedSignatureVerificationService {
             // legacy XAdES Type URI tespitinde detector imzanın gerçekten "yanlış
             // yazılmış Type URI'li ama kriptografik olarak sağlam" olduğunu DSS
             // diagnostic'ten ayrı bir kanıtla doğrulayabilsin diye.
+            // Akışlı modda imzalar yanıta yazılıp bırakılır; bildirim
+            // kanalı aktifse yalnız geçersiz imzalar payload için tutulur.
+            boolean retainInvalidForNotification = signatureSink != null
+                    && invalidSignatureNotifier != null
+                    && invalidSignatureNotifier.isDispatchEnabled();
             VerificationResult result = parseAdvancedVerificationResult(
                     reports, level, signedBytes, packagingBySignatureId,
-                    includeFailedConstraints);
+                    includeFailedConstraints, signatureSink, retainInvalidForNotification);
 
             // Aşama: parse_result (DSS rapor → VerificationResult) bitti.
-            recordStage("parse_result", stageStartNanos);
+            // Akışlı modda imza serileştirme/yazma süresi de buna dahil.
+            // İmza sayısı kovasıyla ayrıca kaydedilir (tek imzalı e-Fatura
+            // ile 60 imzalı sözleşme aynı histogramda karışmasın).
+            long parseStartNanos = stageStartNanos;
+            stageStartNanos = recordStage("parse_result", stageStartNanos);
+            recordParseResult(result, stageStartNanos - parseStartNanos);
 
             // Uçtan uca süre + sonuç dağılımı + imza başına indication/
-            // subIndication kök neden sayaçları.
-            recordVerificationOutcome(result, levelTag, verificationStartNanos);
+            // subIndication kök neden sayaçları (akışlı modda imza başına
+            // sayaçlar parse sırasında yazıldı).
+            // Ön doğrulama sonuç metriklerine girmez — aynı doküman asıl
+            // doğrulamada ayrıca sayılır.
+            if (provisional) {
+                applyProvisionalVerdict(result, reports.getDiagnosticData());
+                logger.info("Provisional signature verification completed. Valid: {}, Signatures: {}",
+                        result.isValid(), result.getSignatureCount() != null ? result.getSignatureCount() : 0);
+                return result;
+            }
+            // Deadline aşıldıysa sonuç eksik revocation verisiyle üretildi:
+            // işaretlenir, sonuç cache'ine yazılmaz, bildirim gönderilmez.
+            boolean deadlineExceeded = applyDeadlineOutcome(result);
+            recordVerificationOutcome(result, levelTag, verificationStartNanos, signatureSink == null);
+
+            // Akışlı modda imzalar tutulmadığı için sonuç cache'e yazılmaz.
+            if (resultCacheKey != null && signatureSink == null && !deadlineExceeded) {
+                verificationResultCache.put(resultCacheKey, result, reports.getDiagnosticData());
+            }
 
             logger.info("Advanced signature verification completed. Valid: {}, Signatures: {}",
-                    result.isValid(), result.getSignatures().size());
+                    result.isValid(), result.getSignatureCount() != null ? result.getSignatureCount() : 0);
+
+            // Sonuç cache'e yazıldı (istemcinin olası tekrar denemesi
+            // isabet alır); yanıtı okuyacak kimse yoksa bildirim gönderilmez.
+            RequestCancellation.checkNotCancelled("notify");
 
             // INVALID ise konfigüre edilmiş webhook/Slack kanallarına async
             // bildirim gönder. Best-effort: notifier kapalıysa veya URL set
@@ -593,7 +900,7 @@ public class AdvancedSignatureVerificationService {
             // hatasını izole eder — orijinal byte'lar okunamasa da
             // signedBytes'la bildirim yine gider.
             try {
-                if (invalidSignatureNotifier != null) {
+                if (invalidSignatureNotifier != null && !deadlineExceeded) {
                     invalidSignatureNotifier.notifyIfInvalid(
                             result,
                             signedBytes,
@@ -611,8 +918,29 @@ public class AdvancedSignatureVerificationService {
 
             return result;
 
+        } catch (MaxUploadSizeExceededException | DecompressionLimitExceededException e) {
+            // Ham gövde boyut / açılma sınırı (DocumentIngestor,
+            // RequestDecompressionFilter) — istemci hatası, doğrulama hatası
+            // değil. VerificationException'a sarmadan geçir ki
+            // GlobalExceptionHandler 413 dönsün; bildirim yok.
+            throw e;
+        } catch (RequestCancelledException e) {
+            // İstemci bağlantıyı kapattı — doğrulama hatası değil; hata
+            // metriği ve bildirim yok, kalan aşamalar çalışmadı.
+            recordCancellation(e);
+            throw e;
+        } catch (UncheckedIOException e) {
+            // Akışlı yanıtta istemciye yazılamadı (bağlantı koptu) —
+            // doğrulama hatası değil; bildirim/hata metriği yok, controller
+            // IOException olarak yükseltir.
+            logger.warn("Streaming verification response could not be written: {}", e.getMessage());
+            throw e;
         } catch (Exception e) {
             logger.error("Advanced signature verification failed: {}", e.getMessage(), e);
+            if (provisional) {
+                // Hata metriği ve bildirim asıl doğrulamaya kalır.
+                throw new VerificationException("İmza doğrulama hatası: " + e.getMessage(), e);
+            }
 
             // Hata metriği: exception sınıfı + uçtan uca süre (result=error).
             // Operatör "doğrulama hiç çalıştırılamadı" vakalarını ayrı bir
@@ -638,6 +966,19 @@ public class AdvancedSignatureVerificationService {
                     originalBytes, originalFileName);
 
             throw new VerificationException("İmza doğrulama hatası: " + e.getMessage(), e);
+        } finally {
+            // Spill dosyalarını deterministik olarak sil — başarılı,
+            // INVALID veya exception fark etmez. close() hata fırlatmaz.
+            // Ön doğrulamada dokümanlar çağıranındır (asıl doğrulamada
+            // tekrar okunur).
+            if (!provisional) {
+                if (signedIngest != null) {
+                    signedIngest.close();
+                }
+                if (originalIngest != null) {
+                    originalIngest.close();
+                }
+            }
         }
     }
 
@@ -732,8 +1073,8 @@ public class AdvancedSignatureVerificationService {
 
     /**
      * Bir doğrulama aşamasının süresini ({@code now - stageStartNanos})
-     * {@code mdss_verification_stage_duration_seconds{stage=...}} Timer'ına
-     * yazar ve bir sonraki aşamanın başlangıcı için yeni bir nano
+     * {@code mdss_verification_stage_duration_seconds{stage=...,lane=...}}
+     * Timer'ına yazar (şerit {@link ExecutionLane#currentTag()}) ve bir sonraki aşamanın başlangıcı için yeni bir nano
      * zaman damgası döner. Metric registry yoksa yalnız zaman damgasını
      * döndürür (no-op). Bu metoda gelene kadar aşama başarıyla tamamlanmış
      * sayılır; aradaki exception'lar dış catch'te toplanır.
@@ -745,11 +1086,110 @@ public class AdvancedSignatureVerificationService {
     private long recordStage(String stage, long stageStartNanos) {
         long now = System.nanoTime();
         if (verificationMetrics != null) {
-            verificationMetrics.recordStage(stage, "ok", now - stageStartNanos);
+            verificationMetrics.recordStage(ExecutionLane.currentTag(), stage, "ok", now - stageStartNanos);
         }
         return now;
     }
 
+    /**
+     * Cache'ten gelen sonucu döner: akışlı modda imzaları sink'e aktarır,
+     * metrikleri normal doğrulama gibi yazar.
+     */
+    private VerificationResult serveCachedResult(VerificationResult cached, String levelTag,
+                                                 long verificationStartNanos,
+                                                 Consumer<SignatureInfo> signatureSink) {
+        if (signatureSink != null && cached.getSignatures() != null) {
+            String typeTag = cached.getSignatureType() != null ? cached.getSignatureType().name() : "unknown";
+            for (SignatureInfo signature : cached.getSignatures()) {
+                recordSignatureResult(typeTag, signature);
+                signatureSink.accept(signature);
+            }
+        }
+        recordVerificationOutcome(cached, levelTag, verificationStartNanos, signatureSink == null);
+        logger.info("Advanced signature verification served from result cache. Valid: {}, Signatures: {}",
+                cached.isValid(), cached.getSignatureCount() != null ? cached.getSignatureCount() : 0);
+        return cached;
+    }
+
+    /** {@code parse_result} süresini imza sayısı kovası + mod etiketiyle yazar. */
+    private void recordParseResult(VerificationResult result, long durationNanos) {
+        if (verificationMetrics == null || result == null) {
+            return;
+        }
+        int count = result.getSignatureCount() != null ? result.getSignatureCount() : 0;
+        boolean parallel = parallelSignatureMapper != null && parallelSignatureMapper.isParallel(count);
+        verificationMetrics.recordParseResult(ParallelSignatureMapper.signatureCountBucket(count),
+                parallel ? "parallel" : "sequential", durationNanos);
+    }
+
+    /**
+     * İstemci bağlantıyı kapattığı için bırakılan doğrulamayı loglar ve
+     * {@code mdss_verification_cancelled_total{stage}} metriğini yazar;
+     * bağlantı koptuktan sonra başlatılmayan OCSP/CRL/AIA fetch'leri
+     * kazanılan iş olarak ayrıca sayılır.
+     */
+    private void recordCancellation(RequestCancelledException e) {
+        RequestCancellation cancellation = RequestCancellation.current();
+        int skippedFetches = cancellation != null ? cancellation.getSkippedFetches() : 0;
+        logger.info("Client disconnected; signature verification abandoned at stage '{}' "
+                + "(skipped fetches: {})", e.getStage(), skippedFetches);
+        if (verificationMetrics != null) {
+            verificationMetrics.recordCancelled("signature", e.getStage(), skippedFetches);
+        }
+    }
+
+    /**
+     * İstek deadline'ı DSS doğrulaması sırasında aşıldıysa (OCSP/CRL/AIA
+     * fetch'leri kısaltıldı veya atlandı) sonucu {@code deadlineExceeded}
+     * ile işaretler, uyarı ekler ve metriği yazar. Verdict değiştirilmez:
+     * eksik revocation verisi DSS tarafından zaten INDETERMINATE olarak
+     * raporlanır.
+     *
+     * @return deadline aşıldıysa {@code true}
+     */
+    private boolean applyDeadlineOutcome(VerificationResult result) {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null || !deadline.wasExceeded()) {
+            return false;
+        }
+        result.setDeadlineExceeded(Boolean.TRUE);
+        result.addWarning("İstek deadline'ı (" + deadline.getBudgetMillis()
+                + " ms) doğrulama sırasında aşıldı; revocation verisi eksik olabilir");
+        logger.warn("Request deadline ({} ms) exceeded during signature verification; "
+                + "result produced with incomplete revocation data", deadline.getBudgetMillis());
+        if (verificationMetrics != null) {
+            verificationMetrics.recordDeadlineExceeded("signature");
+        }
+        return true;
+    }
+
+    /**
+     * Çevrimdışı DSS sonucunu ön karara çevirir. Revocation verisi olmadan
+     * DSS imzacıyı çoğu policy'de INDETERMINATE bırakır; ön kararda ise
+     * yalnız imza değeri, referanslar ve zincirin güvenilir köke ulaşması
+     * aranır. DSS (ve TR tolerance) zaten geçerli dediyse o karar korunur.
+     * {@code indication}/{@code subIndication} alanları çevrimdışı DSS
+     * sonucunu göstermeye devam eder.
+     */
+    static void applyProvisionalVerdict(VerificationResult result, DiagnosticData diagnosticData) {
+        result.setProvisional(Boolean.TRUE);
+        if (result.getSignatures() == null || result.getSignatures().isEmpty()) {
+            return;
+        }
+        boolean allValid = true;
+        for (SignatureInfo sigInfo : result.getSignatures()) {
+            SignatureWrapper wrapper = diagnosticData.getSignatureById(sigInfo.getSignatureId());
+            boolean valid = sigInfo.isValid() || (wrapper != null
+                    && wrapper.isSignatureIntact()
+                    && wrapper.isSignatureValid()
+                    && wrapper.isTrustedChain());
+            sigInfo.setValid(valid);
+            allValid = allValid && valid;
+        }
+        result.setValid(allValid);
+        result.setStatus(allValid ? "PROVISIONALLY_VALID" : "PROVISIONALLY_INVALID");
+    }
+
     /**
      * Doğrulama tamamlandığında uçtan uca süreyi + sonuç sınıfını ve
      * imza başına {@code indication}/{@code subIndication} kök neden
@@ -761,7 +1201,8 @@ public class AdvancedSignatureVerificationService {
      * her imzanın DSS indication + sub_indication'ı ayrı seri olur.</p>
      */
     private void recordVerificationOutcome(VerificationResult result, String levelTag,
-                                           long verificationStartNanos) {
+                                           long verificationStartNanos,
+                                           boolean includeSignatureResults) {
         if (verificationMetrics == null || result == null) {
             return;
         }
@@ -773,13 +1214,9 @@ public class AdvancedSignatureVerificationService {
                     System.nanoTime() - verificationStartNanos);
 
             List<SignatureInfo> signatures = result.getSignatures();
-            if (signatures != null) {
+            if (includeSignatureResults && signatures != null) {
                 for (SignatureInfo s : signatures) {
-                    if (s == null) {
-                        continue;
-                    }
-                    verificationMetrics.recordSignatureResult(
-                            typeTag, s.getIndication(), s.getSubIndication());
+                    recordSignatureResult(typeTag, s);
                 }
             }
         } catch (RuntimeException ignore) {
@@ -787,132 +1224,45 @@ public class AdvancedSignatureVerificationService {
         }
     }
 
-    /**
-     * Validator'a verilecek validation policy XML'ini açar.
-     *
-     * <p><b>Resolution algoritması</b> (deterministik, audit edilebilir):</p>
-     * <ol>
-     *   <li><code>dss.policy.path</code> set ise → onu yükle. Yoksa veya
-     *       erişilemezse <strong>fail-fast</strong> ({@code null} dönmek
-     *       yerine {@link VerificationException} atılır). Operatör explicit
-     *       bir path verdiyse sessizce başka bir XML'e düşmek riskli olur —
-     *       imzayı yanlış policy ile valid göstermemek için bilinçli karar.</li>
-     *   <li>Path yoksa <code>dss.policy.profile</code> kullanılır. Bilinen
-     *       profil değilse default ({@code signer-strict})'e düşülür ve
-     *       <strong>WARN</strong> loglanır.</li>
-     *   <li>Profil XML'i classpath'te bulunamazsa (build hatası senaryosu)
-     *       yine fail-fast: DSS default policy'sine sessiz düşmek prod'da
-     *       güvenlik gerilemesi yaratır.</li>
-     * </ol>
-     *
-     * @return açık {@link InputStream} (çağıran tarafın kapatması gerekir)
-     * @throws VerificationException explicit yapılandırma yüklenemediğinde
-     */
-    InputStream openValidationPolicyStream() {
-        // 1) Explicit path → fail-fast yükle
-        if (policyPath != null && !policyPath.trim().isEmpty()) {
-            String pathToUse = policyPath.trim();
-            try {
-                Resource resource = resourceLoader.getResource(pathToUse);
-                if (!resource.exists()) {
-                    throw new VerificationException(
-                            "dss.policy.path olarak verilen kaynak bulunamadı: "
-                                    + pathToUse + ". Operatör explicit XML belirtti, "
-                                    + "sessiz fallback yapılmıyor.");
-                }
-                logger.info("Using custom validation policy from dss.policy.path={}", pathToUse);
-                return resource.getInputStream();
-            } catch (VerificationException ve) {
-                throw ve;
-            } catch (Exception e) {
-                throw new VerificationException(
-                        "dss.policy.path yüklenemedi (" + pathToUse + "): "
-                                + e.getMessage(), e);
-            }
-        }
-
-        // 2) Built-in profile
-        String requested = (policyProfile != null) ? policyProfile.trim().toLowerCase(Locale.ROOT) : "";
-        String effective = requested;
-        if (!KNOWN_PROFILES.contains(effective)) {
-            logger.warn("Bilinmeyen dss.policy.profile='{}' (geçerli değerler: {}). "
-                            + "Default '{}' profiline düşülüyor.",
-                    policyProfile, KNOWN_PROFILES, PROFILE_SIGNER_STRICT);
-            effective = PROFILE_SIGNER_STRICT;
+    /** İmza başına indication/subIndication sayacı; metrik hatası yutulur. */
+    private void recordSignatureResult(String typeTag, SignatureInfo signature) {
+        if (verificationMetrics == null || signature == null) {
+            return;
         }
-        String resourcePath = String.format(POLICY_RESOURCE_TEMPLATE, effective);
         try {
-            Resource resource = resourceLoader.getResource(resourcePath);
-            if (!resource.exists()) {
-                // Build/packaging hatası — built-in profil XML'i jar'da olmalı.
-                // Sessiz DSS default'a düşmek prod güvenliğini zedeler.
-                throw new VerificationException(
-                        "Built-in policy profile XML'i sınıf yolunda yok: "
-                                + resourcePath + ". Jar build edilirken "
-                                + "src/main/resources/policy/ klasörüne eklendiğinden emin olun.");
-            }
-            logger.info("Using built-in validation policy profile '{}' ({})",
-                    effective, resourcePath);
-            return resource.getInputStream();
-        } catch (VerificationException ve) {
-            throw ve;
-        } catch (Exception e) {
-            throw new VerificationException(
-                    "Built-in policy profile XML'i okunamadı (" + resourcePath + "): "
-                            + e.getMessage(), e);
+            verificationMetrics.recordSignatureResult(
+                    typeTag, signature.getIndication(), signature.getSubIndication());
+        } catch (RuntimeException ignore) {
+            // Metrik kaydı doğrulama akışını asla bozmaz.
         }
     }
 
     /**
-     * Gelişmiş certificate verifier oluşturur.
+     * İstek bazlı policy profil parametresini doğrular ve normalize eder;
+     * bkz. {@link ValidationPolicyRegistry#resolveRequestedProfile(String)}.
+     * Doğrulamayı sonradan (worker thread'inde, akış başladıktan sonra)
+     * yapan çağıranlar 400'ü önden alabilsin diye public.
      *
-     * <p>Revocation source'lari (OCSP/CRL/AIA) Spring tarafindan
-     * {@link io.mersel.dss.verify.api.config.RevocationServicesConfiguration}
-     * uzerinden saglanir; bu sayede:</p>
-     * <ul>
-     *   <li>Caffeine cache uygulamanin yasam dongusunce paylasilir
-     *       (her doğrulamada sifirlanmaz),</li>
-     *   <li>HTTP timeout'lari merkezi olarak konfigure edilir,</li>
-     *   <li>OCSP/CRL HTTP istegi atildigi anda INFO seviyesinde
-     *       audit log dusulur.</li>
-     * </ul>
-     *
-     * <p><strong>Online validation devre disi</strong> ({@code verification.online-validation-enabled=false})
-     * iken bean'ler context'te yoktur; verifier sadece kriptografik butunluk
-     * ve trusted chain kontrolu yapar — revocation tabakasi devre disi.</p>
+     * @return normalize profil adı; parametre boşsa {@code null}
+     * @throws IllegalArgumentException bilinmeyen profil veya kilitli policy
      */
-    private CertificateVerifier createAdvancedCertificateVerifier() {
-        CommonCertificateVerifier verifier = new CommonCertificateVerifier();
-
-        CertificateSource trustedSource = rootCertificateService.getTrustedCertificateSource();
-        verifier.addTrustedCertSources(trustedSource);
-
-        if (config.isOnlineValidationEnabled()) {
-            if (cachedOcspSource != null) {
-                verifier.setOcspSource(cachedOcspSource);
-            } else {
-                logger.warn("verification.online-validation-enabled=true fakat OCSPSource bean'i bulunamadi; "
-                        + "OCSP kontrolu yapilamayacak");
-            }
-            if (cachedCrlSource != null) {
-                verifier.setCrlSource(cachedCrlSource);
-            } else {
-                logger.warn("verification.online-validation-enabled=true fakat CRLSource bean'i bulunamadi; "
-                        + "CRL kontrolu yapilamayacak");
-            }
-            if (cachedAiaSource != null) {
-                verifier.setAIASource(cachedAiaSource);
-            } else {
-                logger.warn("verification.online-validation-enabled=true fakat AIASource bean'i bulunamadi; "
-                        + "AIA chain fetch yapilamayacak");
-            }
-            logger.debug("CertificateVerifier built with online revocation sources (cache + logging)");
-        } else {
-            logger.info("Online validation disabled — OCSP/CRL/AIA source'lari verifier'a baglanmiyor "
-                    + "(yalniz kriptografik butunluk ve trusted chain kontrolu yapilacak)");
-        }
+    public String resolveRequestedPolicyProfile(String requested) {
+        return validationPolicyRegistry.resolveRequestedProfile(requested);
+    }
 
-        return verifier;
+    /**
+     * DSS'in ETSI validation report'unu (TS 119 102-2) bu seviye için
+     * üretmesi gerekiyor mu?
+     *
+     * <p>Rapor {@code DefaultSignatureProcessExecutor} içinde detailed
+     * report'tan ayrıca kurulur ve sertifika/imza/timestamp başına JAXB ağacı
+     * çıkarır; servis hiçbir seviyede bu raporu okumaz. SIMPLE yanıt
+     * yalnız simple/detailed report ve diagnostic data'dan üretildiği için
+     * {@code verification.simple.lean-mode-enabled=true} iken SIMPLE'da
+     * kapatılır. COMPREHENSIVE DSS varsayılanında (açık) kalır.</p>
+     */
+    boolean isEtsiValidationReportEnabled(VerificationLevel level) {
+        return !(level == VerificationLevel.SIMPLE && config != null && config.isSimpleLeanModeEnabled());
     }
 
     /**
@@ -967,7 +1317,9 @@ public class AdvancedSignatureVerificationService {
             VerificationLevel level,
             byte[] originalXmlBytes,
             Map<String, SignaturePackaging> packagingBySignatureId,
-            boolean includeFailedConstraints) {
+            boolean includeFailedConstraints,
+            Consumer<SignatureInfo> signatureSink,
+            boolean retainInvalidForNotification) {
         SimpleReport simpleReport = reports.getSimpleReport();
         DetailedReport detailedReport = reports.getDetailedReport();
         DiagnosticData diagnosticData = reports.getDiagnosticData();
@@ -984,42 +1336,86 @@ public class AdvancedSignatureVerificationService {
             return result;
         }
 
-        boolean allValid = true;
         List<SignatureInfo> signatureInfos = new ArrayList<>();
-
-        // Her imza için detaylı analiz
-        for (String signatureId : signatureIds) {
-            SignatureInfo sigInfo = processSignature(
-                    signatureId,
-                    simpleReport,
-                    detailedReport,
-                    diagnosticData,
-                    level,
-                    originalXmlBytes,
-                    packagingBySignatureId,
-                    includeFailedConstraints
-            );
-
-            signatureInfos.add(sigInfo);
-
+        SignatureTally tally = new SignatureTally();
+
+        // Akışlı modda imza tipi ve imza başına metrikler döngü içinde
+        // gerekir — imzalar sonuçta tutulmadığı için sonradan sayılamaz.
+        SignatureType streamingType = signatureSink != null ? determineSignatureType(diagnosticData) : null;
+        String streamingTypeTag = streamingType != null ? streamingType.name() : "unknown";
+
+        // Her imza için detaylı analiz. processSignature yalnız okunan DSS
+        // raporları üzerinde çalışır; çok imzalı dokümanlarda havuzda
+        // paralel koşar. Tüketici her zaman bu thread'de ve doküman
+        // sırasıyla çağrılır: signatureSink varsa imza yanıta yazılır ve
+        // referansı bırakılır (akışlı yanıt).
+        // BBB indeksi doğrulama başına bir kez kurulur; imza ve timestamp
+        // başına FAIL analizleri rapor listesini yeniden taramaz.
+        BbbIndex bbbIndex = detailedReport != null ? BbbIndex.of(detailedReport) : null;
+        Function<String, SignatureInfo> mapSignature = signatureId -> processSignature(
+                signatureId,
+                simpleReport,
+                bbbIndex,
+                diagnosticData,
+                level,
+                originalXmlBytes,
+                packagingBySignatureId,
+                includeFailedConstraints
+        );
+        Consumer<SignatureInfo> collect = sigInfo -> {
+            tally.count++;
             if (!sigInfo.isValid()) {
-                allValid = false;
+                tally.allValid = false;
+            }
+
+            if (signatureSink == null) {
+                signatureInfos.add(sigInfo);
+            } else {
+                recordSignatureResult(streamingTypeTag, sigInfo);
+                signatureSink.accept(sigInfo);
+                if (retainInvalidForNotification && !sigInfo.isValid()) {
+                    signatureInfos.add(sigInfo);
+                }
+            }
+        };
+
+        if (parallelSignatureMapper != null && parallelSignatureMapper.isParallel(signatureIds.size())) {
+            // DiagnosticData wrapper listelerini senkronizasyonsuz lazy
+            // kurar; worker'lar başlamadan önce burada kurulsun.
+            diagnosticData.getSignatures();
+            diagnosticData.getUsedCertificates();
+            diagnosticData.getTimestampList();
+            diagnosticData.getEvidenceRecords();
+            parallelSignatureMapper.mapInOrder(signatureIds, mapSignature, collect);
+        } else {
+            for (String signatureId : signatureIds) {
+                collect.accept(mapSignature.apply(signatureId));
             }
         }
 
+        boolean allValid = tally.allValid;
+        int signatureCount = tally.count;
+
         result.setValid(allValid);
         result.setStatus(allValid ? "VALID" : "INVALID");
         result.setSignatures(signatureInfos);
-        result.setSignatureCount(signatureInfos.size());
+        result.setSignatureCount(signatureCount);
 
         // İmza tipini belirle
-        if (!signatureInfos.isEmpty()) {
-            result.setSignatureType(determineSignatureType(diagnosticData));
+        if (signatureCount > 0) {
+            result.setSignatureType(streamingType != null
+                    ? streamingType : determineSignatureType(diagnosticData));
         }
 
         return result;
     }
 
+    /** İmza tüketicisinin sayaçları (yalnız çağıran thread'de güncellenir). */
+    private static final class SignatureTally {
+        int count;
+        boolean allValid = true;
+    }
+
     /**
      * Tek bir imzayı işler.
      *
@@ -1030,7 +1426,7 @@ public class AdvancedSignatureVerificationService {
     private SignatureInfo processSignature(
             String signatureId,
             SimpleReport simpleReport,
-            DetailedReport detailedReport,
+            BbbIndex bbbIndex,
             DiagnosticData diagnosticData,
             VerificationLevel level,
             byte[] originalXmlBytes,
@@ -1068,9 +1464,9 @@ public class AdvancedSignatureVerificationService {
         // imzalar dışında set kullanılmaz (null kalır).
         Set<String> observedFailureKeys = null;
         if (matchesTrLegacyXadesGate(indication, subIndication, signatureWrapper,
-                detailedReport, signatureId, originalXmlBytes)) {
+                bbbIndex, signatureId, originalXmlBytes)) {
             trAnomaly = legacyTrXadesDetector.detectAnomaly(originalXmlBytes);
-            observedFailureKeys = collectAllBbbFailureKeys(detailedReport, signatureId);
+            observedFailureKeys = bbbFailureKeys(bbbIndex, signatureId);
         }
 
         AppliedSuppression trSuppression =
@@ -1129,7 +1525,7 @@ public class AdvancedSignatureVerificationService {
         // Diagnostic data'dan imza bilgilerini al
         if (signatureWrapper != null) {
             processSignatureWrapper(sigInfo, signatureWrapper, level,
-                    detailedReport, includeFailedConstraints);
+                    bbbIndex, includeFailedConstraints);
         }
 
         // Validation details (comprehensive için). Tolerance uygulandıysa
@@ -1139,7 +1535,6 @@ public class AdvancedSignatureVerificationService {
             ValidationDetails details = createComprehensiveValidationDetails(
                     signatureId,
                     simpleReport,
-                    detailedReport,
                     signatureWrapper
             );
             if (trToleranceApplied) {
@@ -1149,7 +1544,7 @@ public class AdvancedSignatureVerificationService {
         }
 
         // Hatalar ve uyarılar
-        collectErrorsAndWarnings(sigInfo, simpleReport, detailedReport, signatureId,
+        collectErrorsAndWarnings(sigInfo, simpleReport, bbbIndex, signatureId,
                 trToleranceApplied, trSuppression, trRejection, includeFailedConstraints);
 
         // STRICT VALIDATION: Kritik hata varsa geçersiz say. Tolerance varken
@@ -1410,7 +1805,7 @@ public class AdvancedSignatureVerificationService {
             Indication indication,
             SubIndication subIndication,
             SignatureWrapper signatureWrapper,
-            DetailedReport detailedReport,
+            BbbIndex bbbIndex,
             String signatureId,
             byte[] originalXmlBytes) {
         // 1) Indication INDETERMINATE olmalı (verdict mismatch'i tolere
@@ -1449,7 +1844,7 @@ public class AdvancedSignatureVerificationService {
         }
         // 6) Universal allow-list (Katman 1): tüm BBB bloklarındaki FAIL
         // key set'i ALLOWED_TOLERANCE_FAILURE_KEYS'in alt-kümesi olmalı.
-        Set<String> observed = collectAllBbbFailureKeys(detailedReport, signatureId);
+        Set<String> observed = bbbFailureKeys(bbbIndex, signatureId);
         if (observed.isEmpty()) {
             // Hiç FAIL yok ama INDETERMINATE? DSS edge-case; gate'e gerek
             // yok — zaten allow-list ihlali değil ama tolerance candidate
@@ -1522,41 +1917,53 @@ public class AdvancedSignatureVerificationService {
      *         NOT_OK constraint key'leri (yoksa boş set)
      */
     Set<String> collectAllBbbFailureKeys(DetailedReport detailedReport, String signatureId) {
-        Set<String> keys = new LinkedHashSet<>();
-        if (detailedReport == null || signatureId == null) {
-            return keys;
+        return bbbFailureKeys(detailedReport != null ? BbbIndex.of(detailedReport) : null, signatureId);
+    }
+
+    /**
+     * {@link #collectAllBbbFailureKeys} ile aynı kontrat; BBB'yi
+     * doğrulamanın {@link BbbIndex}'inden okur (rapor yeniden taranmaz).
+     */
+    private Set<String> bbbFailureKeys(BbbIndex bbbIndex, String signatureId) {
+        if (bbbIndex == null || signatureId == null) {
+            return new LinkedHashSet<>();
         }
         try {
-            for (XmlBasicBuildingBlocks bbb :
-                    detailedReport.getJAXBModel().getBasicBuildingBlocks()) {
-                if (!signatureId.equals(bbb.getId())) {
-                    continue;
-                }
-                collectKeysFrom(keys, bbb.getFC());
-                collectKeysFrom(keys, bbb.getISC());
-                collectKeysFrom(keys, bbb.getVCI());
-                collectKeysFrom(keys, bbb.getCV());
-                collectKeysFrom(keys, bbb.getSAV());
-                XmlXCV xcv = bbb.getXCV();
-                if (xcv != null) {
-                    collectKeysFrom(keys, xcv);
-                    if (xcv.getSubXCV() != null) {
-                        for (XmlSubXCV sub : xcv.getSubXCV()) {
-                            collectKeysFrom(keys, sub);
-                        }
-                    }
-                }
-                collectKeysFrom(keys, bbb.getPSV());
-                break;
-            }
+            return bbbIndex.failureKeys(signatureId);
         } catch (Exception e) {
             // DEFENSIVE: introspection patlarsa "şüphede affetme" —
             // sentetik marker ekle, allow-list'te olmadığı için gate kapanır.
             logger.debug("BBB key collection hatası ({}): {} — defansif olarak "
                             + "introspection-failed marker ekleniyor, gate kapanacak.",
                     signatureId, e.getMessage());
+            Set<String> keys = new LinkedHashSet<>();
             keys.add("__INTROSPECTION_FAILED__");
+            return keys;
         }
+    }
+
+    /**
+     * Tek bir BBB girdisindeki (FC → ISC → VCI → CV → SAV → XCV-top →
+     * SubXCV[0..n] → PSV) tüm NOT_OK constraint key'leri.
+     * {@link BbbIndex} id başına bir kez çağırır.
+     */
+    static Set<String> failureKeysOf(XmlBasicBuildingBlocks bbb) {
+        Set<String> keys = new LinkedHashSet<>();
+        collectKeysFrom(keys, bbb.getFC());
+        collectKeysFrom(keys, bbb.getISC());
+        collectKeysFrom(keys, bbb.getVCI());
+        collectKeysFrom(keys, bbb.getCV());
+        collectKeysFrom(keys, bbb.getSAV());
+        XmlXCV xcv = bbb.getXCV();
+        if (xcv != null) {
+            collectKeysFrom(keys, xcv);
+            if (xcv.getSubXCV() != null) {
+                for (XmlSubXCV sub : xcv.getSubXCV()) {
+                    collectKeysFrom(keys, sub);
+                }
+            }
+        }
+        collectKeysFrom(keys, bbb.getPSV());
         return keys;
     }
 
@@ -1769,45 +2176,55 @@ public class AdvancedSignatureVerificationService {
      * stabil DSS kodu, locale'den bağımsız.</p>
      */
     List<FailedConstraint> collectFailingBbbConstraintDetails(DetailedReport detailedReport, String signatureId) {
-        if (detailedReport == null || signatureId == null) {
+        return bbbFailureDetails(detailedReport != null ? BbbIndex.of(detailedReport) : null, signatureId);
+    }
+
+    /**
+     * {@link #collectFailingBbbConstraintDetails} ile aynı kontrat; BBB'yi
+     * doğrulamanın {@link BbbIndex}'inden okur (rapor yeniden taranmaz).
+     */
+    private List<FailedConstraint> bbbFailureDetails(BbbIndex bbbIndex, String signatureId) {
+        if (bbbIndex == null || signatureId == null) {
             return new ArrayList<>();
         }
-        LinkedHashSet<String> seenKeys = new LinkedHashSet<>();
-        List<FailedConstraint> all = new ArrayList<>();
         try {
-            for (XmlBasicBuildingBlocks bbb :
-                    detailedReport.getJAXBModel().getBasicBuildingBlocks()) {
-                if (!signatureId.equals(bbb.getId())) {
-                    continue;
-                }
-                // Bu BBB için filter context'i — XCV bloğu ile SAV/CV
-                // bloklarının roll-up/cascade tespiti için bir kez
-                // hesaplanır, tüm appendFailureDetails çağrılarına geçer.
-                XmlXCV xcv = bbb.getXCV();
-                boolean xcvHasSubFailure = hasAnySubXcvFailure(xcv);
-                boolean xcvIndeterminateOrFailed = isIndeterminateOrFailed(xcv);
-
-                appendFailureDetails(all, seenKeys, bbb.getFC(),  BbbBlockKind.FC,  xcvHasSubFailure, xcvIndeterminateOrFailed);
-                appendFailureDetails(all, seenKeys, bbb.getISC(), BbbBlockKind.ISC, xcvHasSubFailure, xcvIndeterminateOrFailed);
-                appendFailureDetails(all, seenKeys, bbb.getVCI(), BbbBlockKind.VCI, xcvHasSubFailure, xcvIndeterminateOrFailed);
-                appendFailureDetails(all, seenKeys, bbb.getCV(),  BbbBlockKind.CV,  xcvHasSubFailure, xcvIndeterminateOrFailed);
-                appendFailureDetails(all, seenKeys, bbb.getSAV(), BbbBlockKind.SAV, xcvHasSubFailure, xcvIndeterminateOrFailed);
-                if (xcv != null) {
-                    appendFailureDetails(all, seenKeys, xcv, BbbBlockKind.XCV_TOP, xcvHasSubFailure, xcvIndeterminateOrFailed);
-                    if (xcv.getSubXCV() != null) {
-                        for (XmlSubXCV sub : xcv.getSubXCV()) {
-                            appendFailureDetails(all, seenKeys, sub, BbbBlockKind.SUB_XCV, xcvHasSubFailure, xcvIndeterminateOrFailed);
-                        }
-                    }
-                }
-                appendFailureDetails(all, seenKeys, bbb.getPSV(), BbbBlockKind.PSV, xcvHasSubFailure, xcvIndeterminateOrFailed);
-                break;
-            }
+            return bbbIndex.failureDetails(signatureId);
         } catch (Exception e) {
             logger.debug("BBB constraint detail enrichment hatası ({}): {}",
                     signatureId, e.getMessage());
             return new ArrayList<>();
         }
+    }
+
+    /**
+     * Tek bir BBB girdisinin kategorize FAIL listesi; kurallar için bkz.
+     * {@link #collectFailingBbbConstraintDetails}. {@link BbbIndex} id
+     * başına bir kez çağırır.
+     */
+    static List<FailedConstraint> failureDetailsOf(XmlBasicBuildingBlocks bbb) {
+        LinkedHashSet<String> seenKeys = new LinkedHashSet<>();
+        List<FailedConstraint> all = new ArrayList<>();
+        // Bu BBB için filter context'i — XCV bloğu ile SAV/CV
+        // bloklarının roll-up/cascade tespiti için bir kez
+        // hesaplanır, tüm appendFailureDetails çağrılarına geçer.
+        XmlXCV xcv = bbb.getXCV();
+        boolean xcvHasSubFailure = hasAnySubXcvFailure(xcv);
+        boolean xcvIndeterminateOrFailed = isIndeterminateOrFailed(xcv);
+
+        appendFailureDetails(all, seenKeys, bbb.getFC(),  BbbBlockKind.FC,  xcvHasSubFailure, xcvIndeterminateOrFailed);
+        appendFailureDetails(all, seenKeys, bbb.getISC(), BbbBlockKind.ISC, xcvHasSubFailure, xcvIndeterminateOrFailed);
+        appendFailureDetails(all, seenKeys, bbb.getVCI(), BbbBlockKind.VCI, xcvHasSubFailure, xcvIndeterminateOrFailed);
+        appendFailureDetails(all, seenKeys, bbb.getCV(),  BbbBlockKind.CV,  xcvHasSubFailure, xcvIndeterminateOrFailed);
+        appendFailureDetails(all, seenKeys, bbb.getSAV(), BbbBlockKind.SAV, xcvHasSubFailure, xcvIndeterminateOrFailed);
+        if (xcv != null) {
+            appendFailureDetails(all, seenKeys, xcv, BbbBlockKind.XCV_TOP, xcvHasSubFailure, xcvIndeterminateOrFailed);
+            if (xcv.getSubXCV() != null) {
+                for (XmlSubXCV sub : xcv.getSubXCV()) {
+                    appendFailureDetails(all, seenKeys, sub, BbbBlockKind.SUB_XCV, xcvHasSubFailure, xcvIndeterminateOrFailed);
+                }
+            }
+        }
+        appendFailureDetails(all, seenKeys, bbb.getPSV(), BbbBlockKind.PSV, xcvHasSubFailure, xcvIndeterminateOrFailed);
         return all;
     }
 
@@ -1955,8 +2372,8 @@ public class AdvancedSignatureVerificationService {
     /**
      * Signature wrapper'dan detaylı bilgi çıkarır
      *
-     * @param detailedReport DSS DetailedReport — timestamp BBB blokları
-     *        gezilirken kullanılır (rootCause + opt-in failedConstraints
+     * @param bbbIndex doğrulamanın BBB indeksi — timestamp BBB blokları
+     *        için kullanılır (rootCause + opt-in failedConstraints
      *        her timestamp için imza simetrisinde doldurulur).
      * @param includeFailedConstraints opt-in flag — true ise her timestamp
      *        için kategorize FAIL listesi {@code TimestampInfo.failedConstraints}
@@ -1966,7 +2383,7 @@ public class AdvancedSignatureVerificationService {
             SignatureInfo sigInfo,
             SignatureWrapper signatureWrapper,
             VerificationLevel level,
-            DetailedReport detailedReport,
+            BbbIndex bbbIndex,
             boolean includeFailedConstraints) {
 
         // İmza zamanı
@@ -2030,7 +2447,7 @@ public class AdvancedSignatureVerificationService {
         List<TimestampWrapper> timestamps = signatureWrapper.getTimestampList();
         if (timestamps != null && !timestamps.isEmpty()) {
             sigInfo.setTimestampInfo(extractTimestampInfo(
-                    timestamps.get(0), detailedReport, includeFailedConstraints));
+                    timestamps.get(0), bbbIndex, includeFailedConstraints));
             sigInfo.setTimestampCount(timestamps.size());
         }
 
@@ -2138,7 +2555,7 @@ public class AdvancedSignatureVerificationService {
      * blokları gezer; aynı sınıflandırma kuralları (XCV roll-up DERIVED,
      * SAV/CV cascade CASCADE) timestamp tarafında da geçerli.</p>
      *
-     * @param detailedReport DSS DetailedReport — timestamp BBB bloğunu
+     * @param bbbIndex doğrulamanın BBB indeksi — timestamp BBB bloğunu
      *        bulmak için. <code>null</code> ise rootCause/failedConstraints
      *        doldurulmaz (imza tarafıyla aynı best-effort kontratı).
      * @param includeFailedConstraints opt-in flag — true ise kategorize
@@ -2146,7 +2563,7 @@ public class AdvancedSignatureVerificationService {
      */
     private TimestampInfo extractTimestampInfo(
             TimestampWrapper timestampWrapper,
-            DetailedReport detailedReport,
+            BbbIndex bbbIndex,
             boolean includeFailedConstraints) {
         TimestampInfo tsInfo = new TimestampInfo();
         
@@ -2164,14 +2581,14 @@ public class AdvancedSignatureVerificationService {
         }
 
         // BBB FAIL constraint analizi — imza tarafıyla bire bir simetrik.
-        // DetailedReport null ise (defansif) hiçbir alan doldurulmaz;
+        // BBB indeksi null ise (defansif) hiçbir alan doldurulmaz;
         // rootCause/failedConstraints null kalır, NON_NULL ile JSON'a
         // yazılmaz. Liste boş çıkarsa rootCause null kalır (timestamp
         // VALID veya BBB pipeline'ı temiz). includeFailedConstraints açıksa
         // boş liste de set edilir → frontend opt-in'i "alan ile" doğrular.
-        if (detailedReport != null && timestampWrapper.getId() != null) {
-            List<FailedConstraint> tsFailures = collectFailingBbbConstraintDetails(
-                    detailedReport, timestampWrapper.getId());
+        if (bbbIndex != null && timestampWrapper.getId() != null) {
+            List<FailedConstraint> tsFailures = bbbFailureDetails(
+                    bbbIndex, timestampWrapper.getId());
             tsInfo.setRootCause(selectRootCause(tsFailures));
             if (includeFailedConstraints) {
                 tsInfo.setFailedConstraints(tsFailures);
@@ -2187,7 +2604,6 @@ public class AdvancedSignatureVerificationService {
     private ValidationDetails createComprehensiveValidationDetails(
             String signatureId,
             SimpleReport simpleReport,
-            DetailedReport detailedReport,
             SignatureWrapper signatureWrapper) {
 
         ValidationDetails details = new ValidationDetails();
@@ -2264,7 +2680,7 @@ public class AdvancedSignatureVerificationService {
     private void collectErrorsAndWarnings(
             SignatureInfo sigInfo,
             SimpleReport simpleReport,
-            DetailedReport detailedReport,
+            BbbIndex bbbIndex,
             String signatureId,
             boolean trToleranceApplied,
             AppliedSuppression trSuppression,
@@ -2298,7 +2714,7 @@ public class AdvancedSignatureVerificationService {
             // Frontend bu kodlar üzerinden doğrudan dispatch yapabilir;
             // regex parse gereksiz.
             failedConstraints.addAll(
-                    collectFailingBbbConstraintDetails(detailedReport, signatureId));
+                    bbbFailureDetails(bbbIndex, signatureId));
         }
 
         // TR-özel rejection devrede mi? Verdict değişmez, ama DSS'in jenerik
@@ -2359,16 +2775,6 @@ public class AdvancedSignatureVerificationService {
             }
         }
 
-        // Detailed report'tan ek bilgiler - DSS 6.3'te farklı API
-        try {
-            // DSS 6.3'te detailed report API farklı
-            if (detailedReport != null) {
-                logger.debug("Detailed report available for additional analysis");
-            }
-        } catch (Exception e) {
-            logger.debug("Could not extract detailed errors/warnings: {}", e.getMessage());
-        }
-
         sigInfo.setValidationErrors(errors);
         sigInfo.setValidationWarnings(warnings);
         // Tek kök neden — DSS pipeline'ının ürettiği failure zincirinden
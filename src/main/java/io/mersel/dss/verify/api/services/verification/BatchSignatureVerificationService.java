@@ -0,0 +1,252 @@
+package io.mersel.dss.verify.api.services.verification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.mersel.dss.verify.api.config.VerificationConfiguration;
+import io.mersel.dss.verify.api.exceptions.VerificationException;
+import io.mersel.dss.verify.api.models.BatchVerificationItem;
+import io.mersel.dss.verify.api.models.ErrorResponse;
+import io.mersel.dss.verify.api.models.VerificationResult;
+import io.mersel.dss.verify.api.models.enums.VerificationLevel;
+import io.mersel.dss.verify.api.services.admission.RequestDeadline;
+import io.mersel.dss.verify.api.services.util.NamedDaemonThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Toplu imza doğrulama — çok sayıda dokümanı tek istekte alır, paralel
+ * doğrular ve sonuçları NDJSON (satır başına bir {@link BatchVerificationItem})
+ * olarak tamamlanma sırasıyla akıtır.
+ *
+ * <p><b>Pipeline paylaşımı:</b> Her doküman
+ * {@link AdvancedSignatureVerificationService#verifySignature(MultipartFile, MultipartFile, VerificationLevel, String, boolean)}
+ * ile doğrulanır — tekli endpoint ile aynı policy, metrik, bildirim ve
+ * singleton OCSP/CRL/AIA cache'leri. Aynı issuer'a ait e-Faturalar batch
+ * içinde revocation cache'ini birbirine ısıtır.</p>
+ *
+ * <p><b>Sınırlı havuz:</b> Sabit boyutlu ({@code verification.batch.parallelism})
+ * ve sınırlı kuyruklu ({@code verification.batch.queue-capacity}) tek bir
+ * havuz tüm batch istekleri arasında paylaşılır. Kuyruk doluyken gelen
+ * doküman beklemez; {@code BATCH_CAPACITY_EXCEEDED} satırıyla reddedilir —
+ * istemci yalnız onları tekrar gönderir.</p>
+ *
+ * <p><b>Hata izolasyonu:</b> Bir dokümanın hatası yalnız kendi satırında
+ * {@code error} olarak döner; batch'in geri kalanı etkilenmez. İstemci
+ * bağlantıyı koparırsa (yazma IOException'ı) bekleyen doğrulamalar iptal
+ * edilir.</p>
+ *
+ * <p><b>MDC:</b> Request thread'indeki {@code x-log-*} korelasyon context'i
+ * worker thread'lere kopyalanır (bkz. {@code LogHeadersFilter} async notu).</p>
+ */
+@Service
+public class BatchSignatureVerificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchSignatureVerificationService.class);
+
+    /** NDJSON satır ayırıcı. */
+    private static final byte NEWLINE = '\n';
+
+    private final AdvancedSignatureVerificationService verificationService;
+    private final VerificationConfiguration config;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor executor;
+
+    public BatchSignatureVerificationService(
+            AdvancedSignatureVerificationService verificationService,
+            VerificationConfiguration config,
+            ObjectProvider<ObjectMapper> objectMapperProvider) {
+        this.verificationService = verificationService;
+        this.config = config;
+        // Spring'in ObjectMapper'ı (global NON_NULL + tarih formatı) — tekli
+        // endpoint ile aynı JSON şekli. Context dışı kullanımda düz mapper.
+        ObjectMapper mapper = objectMapperProvider != null ? objectMapperProvider.getIfAvailable() : null;
+        this.objectMapper = mapper != null ? mapper : new ObjectMapper();
+
+        int parallelism = Math.max(1, config.getBatchParallelism());
+        int queueCapacity = Math.max(1, config.getBatchQueueCapacity());
+        this.executor = new ThreadPoolExecutor(
+                parallelism, parallelism,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new NamedDaemonThreadFactory("mdss-batch-verify-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        logger.info("Batch verification executor hazır: parallelism={}, queueCapacity={}, maxItems={}",
+                parallelism, queueCapacity, config.getBatchMaxItems());
+    }
+
+    /**
+     * Batch boyutunu ve policy profilini doğrular. Yanıt henüz commit
+     * edilmeden (NDJSON başlamadan) çağrılmalı ki hata normal JSON 400
+     * olarak dönebilsin.
+     *
+     * @throws IllegalArgumentException batch boş, {@code max-items} aşılmış
+     *                                  veya policy profili seçilemiyor
+     */
+    public void validateBatch(List<MultipartFile> signedDocuments, String policyProfile) {
+        verificationService.resolveRequestedPolicyProfile(policyProfile);
+        validateBatch(signedDocuments);
+    }
+
+    /**
+     * Batch boyutunu doğrular; bkz. {@link #validateBatch(List, String)}.
+     *
+     * @throws IllegalArgumentException batch boş veya {@code max-items} aşılmış
+     */
+    public void validateBatch(List<MultipartFile> signedDocuments) {
+        if (signedDocuments == null || signedDocuments.isEmpty()) {
+            throw new IllegalArgumentException("Batch en az bir signedDocuments parçası içermeli");
+        }
+        int maxItems = config.getBatchMaxItems();
+        if (maxItems > 0 && signedDocuments.size() > maxItems) {
+            throw new IllegalArgumentException("Batch doküman sayısı (" + signedDocuments.size()
+                    + ") sınırı aşıyor: verification.batch.max-items=" + maxItems);
+        }
+    }
+
+    /**
+     * Dokümanları paralel doğrular ve her sonucu tamamlandığı anda
+     * {@code out}'a tek satır JSON olarak yazar + flush eder.
+     *
+     * @param policyProfile istek bazlı built-in policy profili; {@code null}
+     *                      ise konfigüre edilen profil
+     *
+     * @throws IOException istemciye yazılamazsa (bağlantı koptu); bu durumda
+     *                     bekleyen doğrulamalar iptal edilir
+     */
+    public void verifyBatch(
+            List<MultipartFile> signedDocuments,
+            VerificationLevel level,
+            String policyProfile,
+            boolean includeFailedConstraints,
+            OutputStream out) throws IOException {
+
+        validateBatch(signedDocuments, policyProfile);
+        long startNanos = System.nanoTime();
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        // İsteğin deadline'ı worker thread'lerine taşınır (öğe başına kopya).
+        RequestDeadline deadline = RequestDeadline.current();
+
+        CompletionService<BatchVerificationItem> completion = new ExecutorCompletionService<>(executor);
+        List<Future<BatchVerificationItem>> submitted = new ArrayList<>(signedDocuments.size());
+        int pending = 0;
+        int rejected = 0;
+
+        try {
+            for (int i = 0; i < signedDocuments.size(); i++) {
+                final int index = i;
+                final MultipartFile document = signedDocuments.get(i);
+                try {
+                    submitted.add(completion.submit(
+                            () -> verifyOne(index, document, level, policyProfile, includeFailedConstraints, mdc,
+                                    deadline != null ? deadline.fork() : null)));
+                    pending++;
+                } catch (RejectedExecutionException e) {
+                    rejected++;
+                    writeLine(out, BatchVerificationItem.failure(index, fileNameOf(document),
+                            new ErrorResponse("BATCH_CAPACITY_EXCEEDED",
+                                    "Batch doğrulama kuyruğu dolu; doküman işlenmedi, tekrar gönderin")));
+                }
+            }
+
+            while (pending > 0) {
+                Future<BatchVerificationItem> done = completion.take();
+                pending--;
+                writeLine(out, done.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelAll(submitted);
+            throw new IOException("Batch doğrulama kesildi", e);
+        } catch (ExecutionException e) {
+            // verifyOne tüm RuntimeException'ları satıra çevirdiği için
+            // buraya yalnız Error'larla düşülür; akışı kes.
+            cancelAll(submitted);
+            throw new IOException("Batch doğrulama beklenmeyen hata: " + e.getCause(), e);
+        } catch (IOException e) {
+            // İstemci bağlantıyı kopardı — boşuna OCSP/CRL trafiği yapmayalım.
+            cancelAll(submitted);
+            logger.warn("Batch yanıtı yazılamadı (istemci bağlantısı kopmuş olabilir), "
+                    + "{} bekleyen doğrulama iptal edildi: {}", pending, e.getMessage());
+            throw e;
+        }
+
+        logger.info("Batch verification completed. Items: {}, Rejected: {}, Duration: {} ms",
+                signedDocuments.size(), rejected,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
+    private BatchVerificationItem verifyOne(
+            int index,
+            MultipartFile document,
+            VerificationLevel level,
+            String policyProfile,
+            boolean includeFailedConstraints,
+            Map<String, String> mdc,
+            RequestDeadline deadline) {
+
+        Map<String, String> previous = MDC.getCopyOfContextMap();
+        if (mdc != null) {
+            MDC.setContextMap(mdc);
+        }
+        RequestDeadline.bind(deadline);
+        String fileName = fileNameOf(document);
+        try {
+            VerificationResult result = verificationService.verifySignature(
+                    document, null, level, policyProfile, includeFailedConstraints);
+            return BatchVerificationItem.success(index, fileName, result);
+        } catch (VerificationException e) {
+            return BatchVerificationItem.failure(index, fileName,
+                    new ErrorResponse("VERIFICATION_ERROR", "İmza doğrulama başarısız", e.getMessage()));
+        } catch (RuntimeException e) {
+            logger.error("Batch item {} ({}) unexpected failure: {}", index, fileName, e.getMessage(), e);
+            return BatchVerificationItem.failure(index, fileName,
+                    new ErrorResponse("INTERNAL_ERROR", "Beklenmeyen bir hata oluştu"));
+        } finally {
+            RequestDeadline.clear();
+            if (previous != null) {
+                MDC.setContextMap(previous);
+            } else {
+                MDC.clear();
+            }
+        }
+    }
+
+    private void writeLine(OutputStream out, BatchVerificationItem item) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(item));
+        out.write(NEWLINE);
+        out.flush();
+    }
+
+    private static void cancelAll(List<Future<BatchVerificationItem>> futures) {
+        for (Future<BatchVerificationItem> f : futures) {
+            f.cancel(true);
+        }
+    }
+
+    private static String fileNameOf(MultipartFile document) {
+        return document != null ? document.getOriginalFilename() : null;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,117 @@
+package io.mersel.dss.verify.api.services.verification;
+
+import eu.europa.esig.dss.detailedreport.DetailedReport;
+import eu.europa.esig.dss.detailedreport.jaxb.XmlBasicBuildingBlocks;
+import io.mersel.dss.verify.api.models.FailedConstraint;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Tek bir doğrulamanın DSS {@link DetailedReport}'u için BBB (Basic
+ * Building Blocks) indeksi: BBB id → blok, ve her blok için bir kez
+ * hesaplanan FAIL key set'i ile kategorize {@link FailedConstraint}
+ * listesi.
+ *
+ * <p><b>Neden:</b> İmza ve timestamp başına FAIL analizi
+ * ({@code collectAllBbbFailureKeys}, {@code collectFailingBbbConstraintDetails})
+ * önceden her çağrıda tüm BBB listesini baştan tarıyordu — imza başına
+ * birkaç kez, her timestamp için bir kez daha. Çok imzalı ve çok
+ * timestamp'li dokümanlarda bu, imza sayısının karesiyle büyür. İndeks
+ * listeyi bir kez gezer; analiz sonuçları id başına memoize edilir.</p>
+ *
+ * <p>Sınıflandırma kuralları değişmez; hesaplama
+ * {@link AdvancedSignatureVerificationService#failureKeysOf} ve
+ * {@link AdvancedSignatureVerificationService#failureDetailsOf} ile yapılır.
+ * Aynı id'li birden fazla blok varsa (DSS'te beklenmez) önceki davranışla
+ * aynı şekilde ilki kullanılır.</p>
+ *
+ * <p>Thread-safe: imza başına işleme paralel koşabilir
+ * ({@link ParallelSignatureMapper}). Dönen set/listeler çağırana ait
+ * kopyalardır.</p>
+ */
+final class BbbIndex {
+
+    private static final BbbIndex EMPTY = new BbbIndex(Collections.<String, XmlBasicBuildingBlocks>emptyMap(), null);
+
+    private final Map<String, XmlBasicBuildingBlocks> blocks;
+    /** İndeks kurulurken alınan hata; lookup'larda yeniden fırlatılır. */
+    private final RuntimeException failure;
+    private final ConcurrentMap<String, Set<String>> failureKeys = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, List<FailedConstraint>> failureDetails = new ConcurrentHashMap<>();
+
+    private BbbIndex(Map<String, XmlBasicBuildingBlocks> blocks, RuntimeException failure) {
+        this.blocks = blocks;
+        this.failure = failure;
+    }
+
+    /**
+     * Raporun BBB listesini bir kez gezerek indeksi kurar. {@code null}
+     * rapor boş indeks verir. JAXB introspection hatası burada yutulmaz;
+     * her lookup'ta yeniden fırlatılır ki çağıranların defansif yolları
+     * (ör. gate'in introspection-failed marker'ı) önceki gibi çalışsın.
+     */
+    static BbbIndex of(DetailedReport detailedReport) {
+        if (detailedReport == null) {
+            return EMPTY;
+        }
+        try {
+            List<XmlBasicBuildingBlocks> all = detailedReport.getJAXBModel().getBasicBuildingBlocks();
+            Map<String, XmlBasicBuildingBlocks> byId = new HashMap<>(all.size() * 2);
+            for (XmlBasicBuildingBlocks bbb : all) {
+                if (bbb != null && bbb.getId() != null) {
+                    byId.putIfAbsent(bbb.getId(), bbb);
+                }
+            }
+            return new BbbIndex(byId, null);
+        } catch (RuntimeException e) {
+            return new BbbIndex(Collections.<String, XmlBasicBuildingBlocks>emptyMap(), e);
+        }
+    }
+
+    /** İndeksteki BBB sayısı. */
+    int size() {
+        return blocks.size();
+    }
+
+    /** id'nin BBB bloğu; yoksa {@code null}. */
+    XmlBasicBuildingBlocks get(String id) {
+        if (failure != null) {
+            throw new IllegalStateException("BBB index could not be built", failure);
+        }
+        return id != null ? blocks.get(id) : null;
+    }
+
+    /**
+     * id'nin BBB bloklarındaki tüm NOT_OK constraint key'leri; blok yoksa
+     * boş set. Dönen set değiştirilebilir kopyadır.
+     */
+    Set<String> failureKeys(String id) {
+        XmlBasicBuildingBlocks bbb = get(id);
+        if (bbb == null) {
+            return new LinkedHashSet<>();
+        }
+        return new LinkedHashSet<>(failureKeys.computeIfAbsent(id,
+                ignored -> AdvancedSignatureVerificationService.failureKeysOf(bbb)));
+    }
+
+    /**
+     * id'nin kategorize FAIL constraint listesi; blok yoksa boş liste.
+     * Dönen liste değiştirilebilir kopyadır.
+     */
+    List<FailedConstraint> failureDetails(String id) {
+        XmlBasicBuildingBlocks bbb = get(id);
+        if (bbb == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(failureDetails.computeIfAbsent(id,
+                ignored -> AdvancedSignatureVerificationService.failureDetailsOf(bbb)));
+    }
+}
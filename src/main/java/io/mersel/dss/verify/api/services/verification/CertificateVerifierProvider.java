@@ -0,0 +1,180 @@
+package io.mersel.dss.verify.api.services.verification;
+
+import eu.europa.esig.dss.spi.validation.CertificateVerifier;
+import eu.europa.esig.dss.spi.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.spi.x509.CertificateSource;
+import eu.europa.esig.dss.spi.x509.aia.AIASource;
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLSource;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPSource;
+import io.mersel.dss.verify.api.config.VerificationConfiguration;
+import io.mersel.dss.verify.api.services.certificate.KamusmRootCertificateService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Önceden kurulmuş, paylaşılan {@link CertificateVerifier} snapshot'ı.
+ *
+ * <p><b>Neden:</b> Her doğrulamada yeni bir {@link CommonCertificateVerifier}
+ * kurup trusted source ve OCSP/CRL/AIA source'larını yeniden bağlamak hem
+ * gereksiz iş hem de log gürültüsüdür; üstelik hangi güven deposu ile
+ * doğrulandığı örtük kalır. Verifier, DSS doğrulaması sırasında yalnız
+ * okunan bir konfigürasyon nesnesidir — kurulduktan sonra hiçbir setter'ı
+ * çağrılmadığı sürece eşzamanlı doğrulamalar arasında paylaşılabilir.</p>
+ *
+ * <p><b>Yeniden kurulum:</b> Snapshot, kurulduğu andaki
+ * {@link KamusmRootCertificateService#getTrustGeneration() güven deposu
+ * nesli} ve {@code verification.online-validation-enabled} değeriyle
+ * etiketlenir. {@link #current()} ikisinden biri değiştiyse yeni snapshot
+ * kurar ve atomik olarak değiştirir; sürmekte olan doğrulamalar
+ * başladıkları snapshot ile biter.</p>
+ *
+ * <p>Dönen verifier <strong>değiştirilmemelidir</strong>. Thread-safe.</p>
+ */
+@Component
+public class CertificateVerifierProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(CertificateVerifierProvider.class);
+
+    private final KamusmRootCertificateService rootCertificateService;
+    private final VerificationConfiguration config;
+    private final ObjectProvider<OCSPSource> ocspSource;
+    private final ObjectProvider<CRLSource> crlSource;
+    private final ObjectProvider<AIASource> aiaSource;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicReference<Snapshot> offlineSnapshot = new AtomicReference<>();
+
+    /**
+     * Revocation source'ları (OCSP/CRL/AIA)
+     * {@link io.mersel.dss.verify.api.config.RevocationServicesConfiguration}
+     * tarafından koşullu yaratılır; online validation kapalıyken context'te
+     * yoktur, bu yüzden {@link ObjectProvider} ile alınır.
+     */
+    @Autowired
+    public CertificateVerifierProvider(KamusmRootCertificateService rootCertificateService,
+                                       VerificationConfiguration config,
+                                       ObjectProvider<OCSPSource> ocspSource,
+                                       ObjectProvider<CRLSource> crlSource,
+                                       ObjectProvider<AIASource> aiaSource) {
+        this.rootCertificateService = rootCertificateService;
+        this.config = config;
+        this.ocspSource = ocspSource;
+        this.crlSource = crlSource;
+        this.aiaSource = aiaSource;
+    }
+
+    /**
+     * Güncel snapshot'ın verifier'ı; güven deposu veya konfigürasyon
+     * değiştiyse önce yeniden kurulur.
+     */
+    public CertificateVerifier current() {
+        long generation = rootCertificateService.getTrustGeneration();
+        boolean online = config.isOnlineValidationEnabled();
+        Snapshot current = snapshot.get();
+        if (current != null && current.matches(generation, online)) {
+            return current.verifier;
+        }
+        synchronized (this) {
+            current = snapshot.get();
+            if (current == null || !current.matches(generation, online)) {
+                current = new Snapshot(build(online), generation, online);
+                snapshot.set(current);
+            }
+            return current.verifier;
+        }
+    }
+
+    /**
+     * Ağa hiç çıkmayan verifier: yalnız güven deposu bağlı; OCSP/CRL
+     * source'u yok, AIA fetch kapalı. Ön (provisional) doğrulama için —
+     * kriptografik bütünlük ve zincirin güven deposuna ulaşıp ulaşmadığı
+     * buradan, revocation sonucu {@link #current()} ile yapılan asıl
+     * doğrulamadan gelir. Güven deposu yenilenince yeniden kurulur.
+     */
+    public CertificateVerifier offline() {
+        long generation = rootCertificateService.getTrustGeneration();
+        Snapshot current = offlineSnapshot.get();
+        if (current != null && current.matches(generation, false)) {
+            return current.verifier;
+        }
+        synchronized (offlineSnapshot) {
+            current = offlineSnapshot.get();
+            if (current == null || !current.matches(generation, false)) {
+                CommonCertificateVerifier verifier = new CommonCertificateVerifier();
+                verifier.addTrustedCertSources(rootCertificateService.getTrustedCertificateSource());
+                // DSS varsayılan AIA source'u ağa çıkar.
+                verifier.setAIASource(null);
+                current = new Snapshot(verifier, generation, false);
+                offlineSnapshot.set(current);
+                logger.info("Offline CertificateVerifier snapshot kuruldu: trust-generation={}", generation);
+            }
+            return current.verifier;
+        }
+    }
+
+    /** Güncel snapshot'ın güven deposu nesli; henüz kurulmadıysa {@code -1}. */
+    public long snapshotGeneration() {
+        Snapshot current = snapshot.get();
+        return current != null ? current.trustGeneration : -1L;
+    }
+
+    private CertificateVerifier build(boolean online) {
+        CommonCertificateVerifier verifier = new CommonCertificateVerifier();
+
+        CertificateSource trustedSource = rootCertificateService.getTrustedCertificateSource();
+        verifier.addTrustedCertSources(trustedSource);
+
+        if (online) {
+            OCSPSource ocsp = ocspSource.getIfAvailable();
+            if (ocsp != null) {
+                verifier.setOcspSource(ocsp);
+            } else {
+                logger.warn("verification.online-validation-enabled=true fakat OCSPSource bean'i bulunamadi; "
+                        + "OCSP kontrolu yapilamayacak");
+            }
+            CRLSource crl = crlSource.getIfAvailable();
+            if (crl != null) {
+                verifier.setCrlSource(crl);
+            } else {
+                logger.warn("verification.online-validation-enabled=true fakat CRLSource bean'i bulunamadi; "
+                        + "CRL kontrolu yapilamayacak");
+            }
+            AIASource aia = aiaSource.getIfAvailable();
+            if (aia != null) {
+                verifier.setAIASource(aia);
+            } else {
+                logger.warn("verification.online-validation-enabled=true fakat AIASource bean'i bulunamadi; "
+                        + "AIA chain fetch yapilamayacak");
+            }
+            logger.info("CertificateVerifier snapshot kuruldu: trust-generation={}, "
+                    + "online revocation source'lari bagli", rootCertificateService.getTrustGeneration());
+        } else {
+            logger.info("CertificateVerifier snapshot kuruldu: trust-generation={}. Online validation "
+                    + "disabled — OCSP/CRL/AIA source'lari verifier'a baglanmiyor (yalniz kriptografik "
+                    + "butunluk ve trusted chain kontrolu yapilacak)", rootCertificateService.getTrustGeneration());
+        }
+        return verifier;
+    }
+
+    private static final class Snapshot {
+
+        final CertificateVerifier verifier;
+        final long trustGeneration;
+        final boolean online;
+
+        Snapshot(CertificateVerifier verifier, long trustGeneration, boolean online) {
+            this.verifier = verifier;
+            this.trustGeneration = trustGeneration;
+            this.online = online;
+        }
+
+        boolean matches(long generation, boolean onlineValidation) {
+            return trustGeneration == generation && online == onlineValidation;
+        }
+    }
+}
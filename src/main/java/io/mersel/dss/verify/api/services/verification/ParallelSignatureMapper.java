@@ -0,0 +1,184 @@
+package io.mersel.dss.verify.api.services.verification;
+
+import io.mersel.dss.verify.api.config.VerificationConfiguration;
+import io.mersel.dss.verify.api.exceptions.VerificationException;
+import io.mersel.dss.verify.api.metrics.VerificationMetrics;
+import io.mersel.dss.verify.api.services.util.NamedDaemonThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Çok imzalı dokümanlarda imza başına rapor eşlemesini sınırlı bir havuzda
+ * paralel çalıştırır; sonuçları <strong>dokümandaki imza sırasıyla</strong>
+ * çağıran thread'e teslim eder.
+ *
+ * <p><b>Neden:</b> Sözleşme PDF'leri 20–60 imza taşır; imza başına BBB
+ * taraması, TR legacy gate, zincir/revocation/timestamp çıkarımı sıralı
+ * çalışınca {@code parse_result} aşaması gecikmenin görünür bir dilimi
+ * olur. Eşleme yalnız okunan DSS raporları üzerinde çalışır, imzalar
+ * arasında bağımlılık yoktur.</p>
+ *
+ * <p><b>Eşik:</b> İmza sayısı {@code verification.parse.parallel-threshold}
+ * altındaysa iş olduğu gibi istek thread'inde sıralı çalışır — tek imzalı
+ * e-Fatura için havuz maliyeti ödenmez.</p>
+ *
+ * <p><b>Sıra ve bellek:</b> En fazla {@code 2 × parallelism} imza aynı anda
+ * uçuştadır (kayan pencere); pencerenin başı tamamlanınca tüketiciye
+ * verilir ve sıradaki imza gönderilir. Akışlı yanıtta imzalar yine
+ * doküman sırasıyla yazılır ve bellekte pencere kadar imza tutulur.</p>
+ *
+ * <p><b>Havuz:</b> Sabit boyutlu ve sınırlı kuyruklu tek havuz tüm
+ * isteklerce paylaşılır. Havuz doluyken görev istek thread'inde çalışır
+ * ({@link ThreadPoolExecutor.CallerRunsPolicy}) — red veya sınırsız
+ * bekleme yok. Request thread'indeki MDC korelasyon context'i worker
+ * thread'lere kopyalanır.</p>
+ */
+@Component
+public class ParallelSignatureMapper {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelSignatureMapper.class);
+
+    static final String POOL_NAME = "signature-parse";
+
+    private final int threshold;
+    private final int window;
+    private final ThreadPoolExecutor executor;
+
+    @Autowired
+    public ParallelSignatureMapper(VerificationConfiguration config, VerificationMetrics metrics) {
+        int parallelism = Math.max(1, config.getParseParallelism());
+        this.threshold = config.getParseParallelThreshold();
+        this.window = parallelism * 2;
+        this.executor = new ThreadPoolExecutor(
+                parallelism, parallelism,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(parallelism * 4),
+                new NamedDaemonThreadFactory("mdss-signature-parse-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        if (metrics != null) {
+            metrics.bindExecutor(POOL_NAME, executor);
+        }
+        logger.info("Signature parse executor hazır: parallelism={}, threshold={}",
+                parallelism, threshold > 0 ? threshold : "disabled");
+    }
+
+    /** Bu kadar imzalı bir doküman paralel işlenir mi? */
+    public boolean isParallel(int signatureCount) {
+        return threshold > 0 && signatureCount >= threshold && signatureCount > 1;
+    }
+
+    /**
+     * {@code ids} sırasıyla {@code mapper} sonuçlarını {@code consumer}'a
+     * verir. {@code consumer} her zaman çağıran thread'de çalışır;
+     * {@code mapper} eşik aşılmışsa havuzda çalışır ve thread-safe olmalıdır.
+     *
+     * <p>Bir eşleme exception atarsa uçuştaki diğerleri iptal edilir ve
+     * exception olduğu gibi (RuntimeException/Error) yeniden atılır.</p>
+     */
+    public <T> void mapInOrder(List<String> ids, Function<String, T> mapper, Consumer<T> consumer) {
+        if (!isParallel(ids.size())) {
+            for (String id : ids) {
+                consumer.accept(mapper.apply(id));
+            }
+            return;
+        }
+
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        Deque<Future<T>> inFlight = new ArrayDeque<>(window);
+        int next = 0;
+        try {
+            while (next < ids.size() || !inFlight.isEmpty()) {
+                while (next < ids.size() && inFlight.size() < window) {
+                    String id = ids.get(next++);
+                    inFlight.addLast(executor.submit(() -> mapWithMdc(mapper, id, mdc)));
+                }
+                consumer.accept(inFlight.removeFirst().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelAll(inFlight);
+            throw new VerificationException("İmza sonuçları işlenirken kesildi", e);
+        } catch (ExecutionException e) {
+            cancelAll(inFlight);
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new VerificationException("İmza sonucu işlenemedi: " + cause, cause);
+        } catch (RuntimeException | Error e) {
+            // consumer (ör. akışlı yanıt yazımı) patladı.
+            cancelAll(inFlight);
+            throw e;
+        }
+    }
+
+    private static <T> T mapWithMdc(Function<String, T> mapper, String id, Map<String, String> mdc) {
+        Map<String, String> previous = MDC.getCopyOfContextMap();
+        if (mdc != null) {
+            MDC.setContextMap(mdc);
+        }
+        try {
+            return mapper.apply(id);
+        } finally {
+            // CallerRunsPolicy ile istek thread'inde de çalışabilir;
+            // önceki context'i geri koy.
+            if (previous != null) {
+                MDC.setContextMap(previous);
+            } else {
+                MDC.clear();
+            }
+        }
+    }
+
+    private static void cancelAll(Deque<? extends Future<?>> futures) {
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Metrik etiketi için imza sayısı kovası — kardinaliteyi sınırlı tutar.
+     */
+    static String signatureCountBucket(int signatureCount) {
+        if (signatureCount <= 0) {
+            return "0";
+        }
+        if (signatureCount == 1) {
+            return "1";
+        }
+        if (signatureCount < 8) {
+            return "2-7";
+        }
+        if (signatureCount <= 20) {
+            return "8-20";
+        }
+        if (signatureCount <= 60) {
+            return "21-60";
+        }
+        return "61+";
+    }
+}
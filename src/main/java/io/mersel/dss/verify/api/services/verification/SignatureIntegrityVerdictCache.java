@@ -0,0 +1,379 @@
+package io.mersel.dss.verify.api.services.verification;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import eu.europa.esig.dss.cades.validation.CAdESSignature;
+import eu.europa.esig.dss.model.ReferenceValidation;
+import eu.europa.esig.dss.model.signature.SignatureCryptographicVerification;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.signature.AdvancedSignature;
+import eu.europa.esig.dss.spi.signature.DefaultAdvancedSignature;
+import eu.europa.esig.dss.spi.x509.CandidatesForSigningCertificate;
+import eu.europa.esig.dss.spi.x509.CertificateValidity;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.xades.validation.XAdESSignature;
+import eu.europa.esig.dss.xml.utils.DomUtils;
+import eu.europa.esig.dss.xml.utils.XMLCanonicalizer;
+import io.mersel.dss.verify.api.config.VerificationConfiguration;
+import io.mersel.dss.verify.api.metrics.VerificationMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.Element;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * İstekler arası imza bütünlüğü (signature value) kararı cache'i.
+ *
+ * <p><b>Neden:</b> Aynı imza sık sık tekrar gelir: yeniden gönderilen
+ * faturalar, farklı zarflarda aynı imzalı ek, karşı imzalı kopyalar.
+ * Doküman bayt bayt aynı değilse {@link VerificationResultCache} devreye
+ * girmez ve DSS her seferinde SignedInfo kanonikleştirmesini ve tüm aday
+ * sertifikalarla imza değeri doğrulamasını yeniden yapar.</p>
+ *
+ * <p><b>Ne cache'lenir:</b> Yalnız <em>imza değerinin</em> doğrulandığı
+ * bilgisi ve hangi aday sertifikayla doğrulandığı. Referans (içerik)
+ * digest kontrolü her istekte yeniden yapılır — aynı imza değiştirilmiş
+ * bir içerikle gelirse {@code referenceDataIntact=false} olur. Zincir,
+ * revocation ve policy değerlendirmesi her zamanki gibi çalışır. Yalnız
+ * olumlu kararlar saklanır; bozuk imzalar her seferinde DSS'e bırakılır.</p>
+ *
+ * <p><b>Anahtar:</b> SHA-256 (uzunluk önekli alanlar): imza tipi, imza
+ * algoritması, imza değeri, imzalanan baytlar (XAdES: kanonik SignedInfo;
+ * CAdES/PAdES: DER signed attributes) ve aday sertifika açık anahtarları.
+ * Karar yalnız bu girdilerin matematiksel fonksiyonudur. Kayıt ayrıca imza
+ * değerinin kendisini tutar ve eşleşmede bayt bayt karşılaştırır — anahtar
+ * çakışması tek başına karar taşıyamaz. Signed attributes taşımayan CMS
+ * imzaları ve diğer tipler cache'lenmez.</p>
+ *
+ * <p><b>DSS entegrasyonu:</b> DSS bu kararı dışarıdan almak için bir API
+ * sunmuyor; {@code checkSignatureIntegrity()} ise
+ * {@code DefaultAdvancedSignature.signatureCryptographicVerification}
+ * doluysa işi atlıyor. Eşleşen imzalarda bu alan doğrulamadan
+ * <strong>önce</strong> reflection ile doldurulur. Bu, DSS'in korumalı
+ * (protected) iç alanına dayanır ve yalnız {@value #VERIFIED_DSS_VERSION}
+ * sürümüyle doğrulanmıştır: classpath'teki DSS sürümü farklıysa veya alan
+ * bulunamazsa cache kendini kapatır ve uyarı loglar.
+ * {@code SignatureIntegrityVerdictCacheTest} alanın varlığını, tipini ve
+ * "doluysa doğrulama atlanır" davranışını bu sürüme sabitler; DSS
+ * yükseltmesinde test kırılır ve sözleşme yeniden kontrol edilmeden
+ * {@link #VERIFIED_DSS_VERSION} güncellenmemelidir.</p>
+ *
+ * <p>Thread-safe.</p>
+ */
+@Component
+public class SignatureIntegrityVerdictCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SignatureIntegrityVerdictCache.class);
+
+    /** Anahtar şeması değişirse eski kayıtlar karışmasın diye. */
+    private static final String KEY_VERSION = "v1";
+
+    /**
+     * {@link #VERDICT_FIELD} sözleşmesinin kontrol edildiği DSS sürümü.
+     * Yalnız sözleşme (alan + atlama davranışı) yeni sürümde yeniden
+     * doğrulandıktan sonra değiştirilir.
+     */
+    static final String VERIFIED_DSS_VERSION = "6.3";
+
+    private static final String DSS_VERSION = resolveDssVersion();
+
+    private static final Field VERDICT_FIELD = resolveVerdictField();
+
+    private final boolean enabled;
+    private final VerificationMetrics metrics;
+    private final Cache<String, Verdict> verdicts;
+
+    @Autowired
+    public SignatureIntegrityVerdictCache(VerificationConfiguration config, VerificationMetrics metrics) {
+        boolean supported = VERDICT_FIELD != null && VERIFIED_DSS_VERSION.equals(DSS_VERSION);
+        this.enabled = config.isIntegrityCacheEnabled() && supported;
+        this.metrics = metrics;
+        this.verdicts = Caffeine.newBuilder()
+                .maximumSize(Math.max(1L, config.getIntegrityCacheMaxEntries()))
+                .build();
+        if (config.isIntegrityCacheEnabled() && !supported) {
+            logger.warn("Signature integrity cache kapatildi: DSS {} ile signatureCryptographicVerification "
+                    + "sozlesmesi dogrulanmadi (dogrulanan surum: {}, alan erisilebilir: {})",
+                    DSS_VERSION, VERIFIED_DSS_VERSION, VERDICT_FIELD != null);
+        } else if (enabled) {
+            logger.info("Signature integrity cache hazır: maxEntries={}", config.getIntegrityCacheMaxEntries());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * {@code validateDocument}'tan önce çağrılır: cache'te kararı olan
+     * imzalara kararı uygular, diğerlerini {@link #storeComputed} için
+     * döner. Detached içerik ve certificate verifier önceden set edilmiş
+     * olmalıdır.
+     */
+    public Lookup applyCached(SignedDocumentValidator validator) {
+        if (!enabled) {
+            return Lookup.EMPTY;
+        }
+        List<Pending> pending = new ArrayList<>();
+        int hits = 0;
+        for (AdvancedSignature signature : validator.getSignatures()) {
+            try {
+                byte[] signatureValue = signature.getSignatureValue();
+                String key = key(signature, signatureValue);
+                if (key == null) {
+                    record("not_cacheable");
+                    continue;
+                }
+                Verdict verdict = verdicts.getIfPresent(key);
+                if (verdict != null && apply(signature, signatureValue, verdict)) {
+                    hits++;
+                    record("hit");
+                } else {
+                    pending.add(new Pending(key, signature, signatureValue));
+                    record("miss");
+                }
+            } catch (Exception e) {
+                // Anahtar üretilemeyen imza DSS'in normal yolundan doğrulanır.
+                logger.debug("Signature integrity cache lookup failed for {}: {}",
+                        signature.getId(), e.getMessage());
+                record("not_cacheable");
+            }
+        }
+        return new Lookup(pending, hits);
+    }
+
+    /**
+     * {@code validateDocument}'tan sonra çağrılır: DSS'in hesapladığı olumlu
+     * kararları saklar.
+     */
+    public void storeComputed(Lookup lookup) {
+        if (!enabled || lookup == null) {
+            return;
+        }
+        for (Pending entry : lookup.pending) {
+            SignatureCryptographicVerification verification =
+                    entry.signature.getSignatureCryptographicVerification();
+            if (verification == null || !verification.isSignatureIntact()) {
+                continue;
+            }
+            CandidatesForSigningCertificate candidates = entry.signature.getCandidatesForSigningCertificate();
+            int validIndex = candidates.getCertificateValidityList().indexOf(candidates.getTheCertificateValidity());
+            if (validIndex < 0) {
+                continue;
+            }
+            verdicts.put(entry.key, new Verdict(entry.signatureValue, validIndex));
+            record("stored");
+        }
+    }
+
+    /** Test ve teşhis için: cache'teki karar sayısı. */
+    long size() {
+        verdicts.cleanUp();
+        return verdicts.estimatedSize();
+    }
+
+    /**
+     * DSS'in {@code checkSignatureIntegrity()} sonucunu cache'teki kararla
+     * kurar: imza değeri kararı cache'ten, referans kontrolleri bu istekten.
+     * Referanslardan biri bulunamıyorsa (ör. eksik detached içerik)
+     * uygulanmaz; DSS kendi hata mesajını üretsin.
+     */
+    private static boolean apply(AdvancedSignature signature, byte[] signatureValue, Verdict verdict)
+            throws IllegalAccessException {
+        if (!Arrays.equals(verdict.signatureValue, signatureValue)) {
+            return false;
+        }
+        List<CertificateValidity> candidates =
+                signature.getCandidatesForSigningCertificate().getCertificateValidityList();
+        if (verdict.validIndex >= candidates.size()) {
+            return false;
+        }
+        List<ReferenceValidation> references = signature.getReferenceValidations();
+        boolean referenceDataFound = true;
+        boolean referenceDataIntact = true;
+        for (ReferenceValidation reference : references) {
+            referenceDataFound = referenceDataFound && reference.isFound();
+            referenceDataIntact = referenceDataIntact && reference.isIntact();
+        }
+        if (!referenceDataFound) {
+            return false;
+        }
+        SignatureCryptographicVerification verification = new SignatureCryptographicVerification();
+        verification.setReferenceDataFound(true);
+        verification.setReferenceDataIntact(referenceDataIntact);
+        verification.setSignatureIntact(true);
+        verification.setErrorMessages(Collections.emptyList());
+        signature.getCandidatesForSigningCertificate().setTheCertificateValidity(candidates.get(verdict.validIndex));
+        VERDICT_FIELD.set(signature, verification);
+        return true;
+    }
+
+    /** İmzanın cache anahtarı; desteklenmeyen tip veya yapı için {@code null}. */
+    static String key(AdvancedSignature signature, byte[] signatureValue) throws NoSuchAlgorithmException {
+        if (!(signature instanceof DefaultAdvancedSignature) || signatureValue == null) {
+            return null;
+        }
+        String type;
+        byte[] signedBytes;
+        if (signature instanceof XAdESSignature) {
+            type = "xades";
+            signedBytes = canonicalSignedInfo((XAdESSignature) signature);
+        } else if (signature instanceof CAdESSignature) {
+            type = "cms";
+            signedBytes = encodedSignedAttributes((CAdESSignature) signature);
+        } else {
+            return null;
+        }
+        if (signedBytes == null) {
+            return null;
+        }
+        MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+        update(sha256, KEY_VERSION.getBytes(StandardCharsets.UTF_8));
+        update(sha256, type.getBytes(StandardCharsets.UTF_8));
+        update(sha256, String.valueOf(signature.getSignatureAlgorithm()).getBytes(StandardCharsets.UTF_8));
+        update(sha256, signatureValue);
+        update(sha256, signedBytes);
+        for (CertificateValidity candidate :
+                signature.getCandidatesForSigningCertificate().getCertificateValidityList()) {
+            PublicKey publicKey = publicKey(candidate);
+            if (publicKey == null) {
+                // Açık anahtarı bilinmeyen aday ile karar kurulamaz.
+                return null;
+            }
+            update(sha256, publicKey.getEncoded());
+        }
+        return toHex(sha256.digest());
+    }
+
+    private static byte[] canonicalSignedInfo(XAdESSignature signature) {
+        Element signedInfo = signature.getSignedInfo();
+        Element method = signedInfo != null
+                ? DomUtils.getElement(signedInfo, "./ds:CanonicalizationMethod")
+                : null;
+        String algorithm = method != null ? method.getAttribute("Algorithm") : null;
+        if (algorithm == null || algorithm.isEmpty()) {
+            return null;
+        }
+        return XMLCanonicalizer.createInstance(algorithm).canonicalize(signedInfo);
+    }
+
+    private static byte[] encodedSignedAttributes(CAdESSignature signature) {
+        try {
+            return signature.getSignerInformation().getEncodedSignedAttributes();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static PublicKey publicKey(CertificateValidity candidate) {
+        if (candidate.getPublicKey() != null) {
+            return candidate.getPublicKey();
+        }
+        CertificateToken token = candidate.getCertificateToken();
+        return token != null ? token.getPublicKey() : null;
+    }
+
+    /** Alanları uzunluk önekiyle besler — birleştirme belirsizliği olmasın. */
+    private static void update(MessageDigest digest, byte[] value) {
+        int length = value.length;
+        digest.update(new byte[]{
+                (byte) (length >>> 24), (byte) (length >>> 16), (byte) (length >>> 8), (byte) length});
+        digest.update(value);
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private void record(String outcome) {
+        if (metrics != null) {
+            metrics.recordIntegrityCache(outcome);
+        }
+    }
+
+    /** Classpath'teki DSS sürümü ({@code dss-spi} Maven meta verisi); okunamazsa {@code null}. */
+    static String resolveDssVersion() {
+        try (InputStream in = DefaultAdvancedSignature.class.getResourceAsStream(
+                "/META-INF/maven/eu.europa.ec.joinup.sd-dss/dss-spi/pom.properties")) {
+            if (in == null) {
+                return null;
+            }
+            Properties properties = new Properties();
+            properties.load(in);
+            return properties.getProperty("version");
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static Field resolveVerdictField() {
+        try {
+            Field field = DefaultAdvancedSignature.class.getDeclaredField("signatureCryptographicVerification");
+            field.setAccessible(true);
+            return field;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /** Bir doğrulamanın cache sorgusu; {@link #storeComputed} için taşınır. */
+    public static final class Lookup {
+
+        static final Lookup EMPTY = new Lookup(Collections.emptyList(), 0);
+
+        private final List<Pending> pending;
+        private final int hits;
+
+        Lookup(List<Pending> pending, int hits) {
+            this.pending = pending;
+            this.hits = hits;
+        }
+
+        /** Kararı cache'ten uygulanan imza sayısı. */
+        public int getHits() {
+            return hits;
+        }
+    }
+
+    private static final class Pending {
+
+        final String key;
+        final AdvancedSignature signature;
+        final byte[] signatureValue;
+
+        Pending(String key, AdvancedSignature signature, byte[] signatureValue) {
+            this.key = key;
+            this.signature = signature;
+            this.signatureValue = signatureValue;
+        }
+    }
+
+    private static final class Verdict {
+
+        final byte[] signatureValue;
+        final int validIndex;
+
+        Verdict(byte[] signatureValue, int validIndex) {
+            this.signatureValue = signatureValue;
+            this.validIndex = validIndex;
+        }
+    }
+}
@@ -0,0 +1,367 @@
+package io.mersel.dss.verify.api.services.verification;
+
+import eu.europa.esig.dss.model.policy.ValidationPolicy;
+import eu.europa.esig.dss.validation.policy.ValidationPolicyLoader;
+import io.mersel.dss.verify.api.exceptions.VerificationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Derlenmiş (JAXB ile parse edilmiş) validation policy'lerinin kaydı.
+ *
+ * <p><b>Neden:</b> Policy XML'ini her istekte açıp
+ * {@code validator.validateDocument(InputStream)}'e vermek, DSS'in aynı
+ * XML'i her doğrulamada yeniden parse edip unmarshal etmesi demektir.
+ * Policy nesnesi doğrulama sırasında yalnız okunur; bir kez derlenip tüm
+ * isteklerde paylaşılabilir.</p>
+ *
+ * <p><b>İçerik:</b></p>
+ * <ul>
+ *   <li>Built-in profiller ({@value #PROFILE_SIGNER_STRICT},
+ *       {@value #PROFILE_STRICT}) — startup'ta derlenir; istek bazlı profil
+ *       seçimi parse maliyeti olmadan hazır nesneyi alır.</li>
+ *   <li>{@code dss.policy.path} — custom XML; startup'ta derlenir ve
+ *       {@link #reloadIfChanged()} ile kaynağın {@code lastModified}
+ *       değeri değiştiğinde yeniden derlenip <em>atomik</em> olarak
+ *       değiştirilir. Yeni XML derlenemezse eski policy kullanılmaya devam
+ *       eder (WARN loglanır) — bozuk bir configmap güncellemesi servisi
+ *       durdurmaz.</li>
+ * </ul>
+ *
+ * <p>Resolution kuralları değişmedi: path set ise o kullanılır ve
+ * yüklenemezse fail-fast {@link VerificationException}; bilinmeyen
+ * {@code dss.policy.profile} default {@code signer-strict}'e düşer
+ * (startup'ta bir kez WARN); built-in XML sınıf yolunda yoksa
+ * fail-fast. Derleme başarısız olursa hiçbir şey saklanmaz, bir sonraki
+ * istek yeniden dener. Thread-safe.</p>
+ */
+@Component
+public class ValidationPolicyRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(ValidationPolicyRegistry.class);
+
+    // Built-in policy profilleri. signer-strict default — imzacı için
+    // OCSP/CRL FAIL, ara CA için WARN. strict — eIDAS-QES paralelinde
+    // her katmanda FAIL.
+    static final String PROFILE_SIGNER_STRICT = "signer-strict";
+    static final String PROFILE_STRICT = "strict";
+    static final Set<String> KNOWN_PROFILES = Collections.unmodifiableSet(new LinkedHashSet<>(
+            Arrays.asList(PROFILE_SIGNER_STRICT, PROFILE_STRICT)));
+    private static final String POLICY_RESOURCE_TEMPLATE =
+            "classpath:policy/kamusm-%s-constraint.xml";
+
+    private final ResourceLoader resourceLoader;
+    private final String policyPath;
+    private final String configuredProfile;
+    private final boolean hotReloadEnabled;
+
+    private final ConcurrentMap<String, ValidationPolicy> builtInPolicies = new ConcurrentHashMap<>();
+    private final AtomicReference<CustomPolicy> customPolicy = new AtomicReference<>();
+    private final Object customLoadLock = new Object();
+
+    @Autowired
+    public ValidationPolicyRegistry(ResourceLoader resourceLoader,
+                                    @Value("${dss.policy.path:}") String policyPath,
+                                    @Value("${dss.policy.profile:signer-strict}") String policyProfile,
+                                    @Value("${dss.policy.hot-reload-enabled:true}") boolean hotReloadEnabled,
+                                    @Value("${verification.online-validation-enabled:true}") boolean onlineValidationEnabled) {
+        this.resourceLoader = resourceLoader;
+        this.policyPath = (policyPath != null && !policyPath.trim().isEmpty()) ? policyPath.trim() : null;
+        this.hotReloadEnabled = hotReloadEnabled;
+
+        String normalized = policyProfile != null ? policyProfile.trim().toLowerCase(Locale.ROOT) : "";
+        if (this.policyPath == null && !KNOWN_PROFILES.contains(normalized)) {
+            logger.warn("Bilinmeyen dss.policy.profile='{}' (geçerli değerler: {}). "
+                            + "Default '{}' profiline düşülüyor.",
+                    policyProfile, KNOWN_PROFILES, PROFILE_SIGNER_STRICT);
+            normalized = PROFILE_SIGNER_STRICT;
+        }
+        this.configuredProfile = normalized;
+        warnOnSuspiciousConfiguration(onlineValidationEnabled);
+    }
+
+    /**
+     * Startup-time sanity check: seçilen policy + online validation kombosu
+     * pratikte anlamlı mı diye uyarır. Karar mantığına dokunmaz — yalnız
+     * operatöre işaret bırakır.
+     *
+     * <ul>
+     *   <li><b>dss.policy.path set</b> → custom XML operatörün
+     *       sorumluluğunda; bilgi log'u yeter.</li>
+     *   <li><b>built-in profil + online-validation=false</b> → profil
+     *       imzacı/CA için OCSP/CRL istiyor ama fetch kapalı; her doğrulama
+     *       INDETERMINATE/NO_REVOCATION_DATA döner. Tipik unutkanlık.</li>
+     * </ul>
+     */
+    private void warnOnSuspiciousConfiguration(boolean onlineValidationEnabled) {
+        if (policyPath != null) {
+            logger.info("DSS policy: custom XML kullanılıyor (dss.policy.path='{}'). "
+                    + "Profile parametresi yok sayılıyor.", policyPath);
+            return;
+        }
+        logger.info("DSS validation policy: profile='{}', online-validation={}",
+                configuredProfile, onlineValidationEnabled);
+        if (!onlineValidationEnabled) {
+            logger.warn(""
+                    + "GUVENLIK UYARISI: dss.policy.profile='{}' imzaci/CA icin "
+                    + "OCSP veya CRL revocation verisi gerektiriyor, fakat "
+                    + "verification.online-validation-enabled=false. Bu kombosyonla "
+                    + "her dogrulama 'INDETERMINATE/NO_REVOCATION_DATA' donecektir. "
+                    + "Online validation'i acin VEYA test/CI ortami icin "
+                    + "dss.policy.path ile permissive bir XML mount edin.",
+                    configuredProfile);
+        }
+    }
+
+    /**
+     * Tüm policy'leri startup'ta derler; ilk isteğin JAXB/şema yükleme
+     * maliyetini ödememesi için. Hata startup'ı durdurmaz — aynı hata
+     * istek anında fail-fast olarak tekrar yüzeye çıkar.
+     */
+    @PostConstruct
+    void precompile() {
+        for (String profile : KNOWN_PROFILES) {
+            try {
+                builtInPolicy(profile);
+            } catch (VerificationException e) {
+                logger.warn("Built-in validation policy '{}' derlenemedi: {}", profile, e.getMessage());
+            }
+        }
+        if (policyPath != null) {
+            try {
+                currentCustomPolicy();
+            } catch (VerificationException e) {
+                logger.warn("Custom validation policy derlenemedi: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * İstek bazlı policy profil parametresini doğrular ve normalize eder.
+     *
+     * <p>Yalnız built-in profiller ({@link #KNOWN_PROFILES}) seçilebilir —
+     * istemci keyfi bir XML yükleyemez. Operatör {@code dss.policy.path} ile
+     * custom policy kilitlediyse istek bazlı seçim reddedilir: sessizce
+     * yok saymak, istemciye istediği profille doğrulandığı izlenimini
+     * verirdi.</p>
+     *
+     * @return normalize profil adı; parametre boşsa {@code null}
+     * @throws IllegalArgumentException bilinmeyen profil veya kilitli policy
+     */
+    public String resolveRequestedProfile(String requested) {
+        if (requested == null || requested.trim().isEmpty()) {
+            return null;
+        }
+        String normalized = requested.trim().toLowerCase(Locale.ROOT);
+        if (!KNOWN_PROFILES.contains(normalized)) {
+            throw new IllegalArgumentException("Bilinmeyen policy profili: '" + requested
+                    + "'. Geçerli değerler: " + KNOWN_PROFILES);
+        }
+        if (policyPath != null) {
+            throw new IllegalArgumentException("Sunucu custom validation policy (dss.policy.path) "
+                    + "ile yapılandırılmış; istek bazlı policy seçimi kullanılamaz.");
+        }
+        return normalized;
+    }
+
+    /**
+     * İstek için derlenmiş policy.
+     *
+     * @param requestedProfile {@link #resolveRequestedProfile} ile
+     *                         doğrulanmış profil; {@code null} ise
+     *                         konfigürasyondaki policy
+     * @throws VerificationException explicit yapılandırma yüklenemediğinde
+     */
+    public ValidationPolicy policy(String requestedProfile) {
+        if (requestedProfile == null && policyPath != null) {
+            return currentCustomPolicy().policy;
+        }
+        String effective = requestedProfile != null ? requestedProfile : configuredProfile;
+        if (!KNOWN_PROFILES.contains(effective)) {
+            effective = PROFILE_SIGNER_STRICT;
+        }
+        return builtInPolicy(effective);
+    }
+
+    /**
+     * Etkin policy'yi tanımlayan kararlı değer (sonuç cache anahtarı için).
+     * Custom policy yeniden yüklendiğinde değişir; eski policy ile
+     * üretilmiş sonuçlar yeni anahtarla eşleşmez.
+     */
+    public String policyKey(String requestedProfile) {
+        if (requestedProfile != null) {
+            return requestedProfile;
+        }
+        if (policyPath != null) {
+            CustomPolicy current = customPolicy.get();
+            return "path:" + policyPath + "#" + (current != null ? current.version : 0);
+        }
+        return configuredProfile;
+    }
+
+    /**
+     * Custom policy kaynağının {@code lastModified} değeri değiştiyse yeniden
+     * derler ve atomik olarak değiştirir. Built-in profiller jar içinde
+     * sabittir, kontrol edilmez.
+     *
+     * @return policy değiştirildiyse {@code true}
+     */
+    @Scheduled(fixedDelayString = "${dss.policy.reload-check-interval-ms:30000}",
+            initialDelayString = "${dss.policy.reload-check-interval-ms:30000}")
+    public boolean reloadIfChanged() {
+        if (!hotReloadEnabled || policyPath == null) {
+            return false;
+        }
+        CustomPolicy current = customPolicy.get();
+        if (current == null) {
+            // Henüz hiç yüklenemedi; istek yolu fail-fast ile yeniden dener.
+            return false;
+        }
+        long lastModified;
+        try {
+            lastModified = resourceLoader.getResource(policyPath).lastModified();
+        } catch (IOException e) {
+            logger.debug("dss.policy.path lastModified okunamadı ({}): {}", policyPath, e.getMessage());
+            return false;
+        }
+        if (lastModified == current.lastModified) {
+            return false;
+        }
+        synchronized (customLoadLock) {
+            current = customPolicy.get();
+            if (lastModified == current.lastModified) {
+                return false;
+            }
+            try {
+                CustomPolicy reloaded = loadCustomPolicy(current.version + 1);
+                customPolicy.set(reloaded);
+                logger.info("Custom validation policy yeniden yüklendi: {} (policy='{}', sürüm={})",
+                        policyPath, reloaded.policy.getPolicyName(), reloaded.version);
+                return true;
+            } catch (VerificationException e) {
+                // Aynı bozuk dosyayı her turda tekrar parse etmemek için
+                // zaman damgası ilerletilir; dosya yeniden değişince denenir.
+                customPolicy.set(new CustomPolicy(current.policy, lastModified, current.version));
+                logger.warn("Custom validation policy yeniden yüklenemedi, önceki policy "
+                        + "kullanılmaya devam ediliyor: {}", e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    private CustomPolicy currentCustomPolicy() {
+        CustomPolicy current = customPolicy.get();
+        if (current != null) {
+            return current;
+        }
+        synchronized (customLoadLock) {
+            current = customPolicy.get();
+            if (current == null) {
+                current = loadCustomPolicy(1);
+                customPolicy.set(current);
+                logger.info("Using custom validation policy from dss.policy.path={} (policy='{}')",
+                        policyPath, current.policy.getPolicyName());
+            }
+            return current;
+        }
+    }
+
+    private CustomPolicy loadCustomPolicy(long version) {
+        try {
+            Resource resource = resourceLoader.getResource(policyPath);
+            if (!resource.exists()) {
+                throw new VerificationException(
+                        "dss.policy.path olarak verilen kaynak bulunamadı: "
+                                + policyPath + ". Operatör explicit XML belirtti, "
+                                + "sessiz fallback yapılmıyor.");
+            }
+            // lastModified derlemeden önce okunur: derleme sırasında dosya
+            // değişirse bir sonraki kontrol farkı yakalar.
+            long lastModified = lastModifiedOrZero(resource);
+            return new CustomPolicy(compile(resource), lastModified, version);
+        } catch (VerificationException ve) {
+            throw ve;
+        } catch (Exception e) {
+            throw new VerificationException(
+                    "dss.policy.path yüklenemedi (" + policyPath + "): "
+                            + e.getMessage(), e);
+        }
+    }
+
+    private ValidationPolicy builtInPolicy(String profile) {
+        ValidationPolicy cached = builtInPolicies.get(profile);
+        if (cached != null) {
+            return cached;
+        }
+        return builtInPolicies.computeIfAbsent(profile, this::compileBuiltIn);
+    }
+
+    private ValidationPolicy compileBuiltIn(String profile) {
+        String resourcePath = String.format(POLICY_RESOURCE_TEMPLATE, profile);
+        try {
+            Resource resource = resourceLoader.getResource(resourcePath);
+            if (!resource.exists()) {
+                // Build/packaging hatası — built-in profil XML'i jar'da olmalı.
+                // Sessiz DSS default'a düşmek prod güvenliğini zedeler.
+                throw new VerificationException(
+                        "Built-in policy profile XML'i sınıf yolunda yok: "
+                                + resourcePath + ". Jar build edilirken "
+                                + "src/main/resources/policy/ klasörüne eklendiğinden emin olun.");
+            }
+            ValidationPolicy policy = compile(resource);
+            logger.info("Built-in validation policy profile '{}' derlendi ({})", profile, resourcePath);
+            return policy;
+        } catch (VerificationException ve) {
+            throw ve;
+        } catch (Exception e) {
+            throw new VerificationException(
+                    "Built-in policy profile XML'i okunamadı (" + resourcePath + "): "
+                            + e.getMessage(), e);
+        }
+    }
+
+    private static ValidationPolicy compile(Resource resource) throws IOException {
+        try (InputStream in = resource.getInputStream()) {
+            return ValidationPolicyLoader.fromValidationPolicy(in).create();
+        }
+    }
+
+    private static long lastModifiedOrZero(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private static final class CustomPolicy {
+
+        final ValidationPolicy policy;
+        final long lastModified;
+        final long version;
+
+        CustomPolicy(ValidationPolicy policy, long lastModified, long version) {
+            this.policy = policy;
+            this.lastModified = lastModified;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,460 @@
+package io.mersel.dss.verify.api.services.verification;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Weigher;
+import io.mersel.dss.verify.api.config.VerificationConfiguration;
+import io.mersel.dss.verify.api.exceptions.VerificationCapacityExceededException;
+import io.mersel.dss.verify.api.exceptions.VerificationException;
+import io.mersel.dss.verify.api.exceptions.VerificationJobNotFoundException;
+import io.mersel.dss.verify.api.metrics.VerificationMetrics;
+import io.mersel.dss.verify.api.models.ErrorResponse;
+import io.mersel.dss.verify.api.models.VerificationJobStatus;
+import io.mersel.dss.verify.api.models.VerificationResult;
+import io.mersel.dss.verify.api.models.enums.VerificationJobState;
+import io.mersel.dss.verify.api.models.enums.VerificationLevel;
+import io.mersel.dss.verify.api.services.admission.AdaptiveConcurrencyLimiter;
+import io.mersel.dss.verify.api.services.admission.SignedDocumentFormat;
+import io.mersel.dss.verify.api.services.admission.VerificationAdmissionControl;
+import io.mersel.dss.verify.api.services.util.DocumentIngestor;
+import io.mersel.dss.verify.api.services.util.IngestedDocument;
+import io.mersel.dss.verify.api.services.util.NamedDaemonThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asenkron imza doğrulama işleri — istek 202 + {@code jobId} ile hemen
+ * döner, sonuç daha sonra sorgulanır (poll veya long-poll).
+ *
+ * <p><b>Neden:</b> Büyük PAdES/XAdES-A dokümanlarının doğrulaması
+ * (OCSP/CRL/AIA fetch dahil) saniyeler sürebilir; senkron endpoint bu
+ * süre boyunca bir Tomcat worker'ını ve istemci bağlantısını tutar.
+ * İş API'sinde Tomcat thread'i yalnız okuma süresince meşgul olur.</p>
+ *
+ * <p><b>Ingest request thread'inde:</b> Multipart geçici dosyaları istek
+ * bitince silinir; bu yüzden dokümanlar gönderim anında
+ * {@link DocumentIngestor} ile okunur (eşiğin altı heap'te, üstü kendi
+ * spill dosyasında) ve sahipliği işe geçer. İş bitince (veya kuyruğa
+ * alınamazsa) kapatılır.</p>
+ *
+ * <p><b>Sınırlı havuz:</b> Sabit boyutlu ({@code verification.jobs.parallelism})
+ * ve sınırlı kuyruklu ({@code verification.jobs.queue-capacity}) ayrı bir
+ * havuz. Kuyruk doluyken gönderim beklemez;
+ * {@link VerificationCapacityExceededException} (HTTP 429 +
+ * {@code Retry-After}) ile reddedilir. Kuyruk derinliği ve aktif thread
+ * sayısı {@code mdss.executor.*{pool="verification-jobs"}} gauge'larıyla
+ * yayınlanır.</p>
+ *
+ * <p><b>Ön sonuç (provisional):</b> {@code provisional=true} ile
+ * gönderilen işte, kuyruğa almadan önce istek thread'inde ağa çıkmayan bir
+ * ön doğrulama yapılır
+ * ({@link AdvancedSignatureVerificationService#verifySignatureProvisional})
+ * ve 202 yanıtında {@code provisionalResult} olarak döner: kriptografik
+ * bütünlük ve güvenilir köke ulaşan zincir. OCSP/CRL/AIA dahil kesin sonuç
+ * işin {@code result} alanına düşer. Aynı ingest edilmiş dokümanlar iki
+ * doğrulamada da kullanılır. Ön doğrulama senkron {@code /signature} ile
+ * aynı işi yaptığından onun kabul şeridinden
+ * ({@link VerificationAdmissionControl#acquireSignature}) izin alır; şerit
+ * doluysa gönderim 429 + {@code Retry-After} ile reddedilir.</p>
+ *
+ * <p><b>Saklama:</b> İş kayıtları Caffeine cache'inde tutulur. Kuyrukta /
+ * çalışan iş süresiz kalır; tamamlanan iş {@code result-ttl-seconds} sonra
+ * düşer. {@code max-stored} yalnız tamamlanmış işleri sayar (kuyrukta /
+ * çalışan işin ağırlığı 0): sınır aşılırsa Caffeine en az kullanılan
+ * tamamlanmış kayıtları erken atar — sorgu o zaman 404 döner. Kuyrukta /
+ * çalışan iş sayısı zaten havuz + kuyruk kapasitesiyle sınırlıdır.</p>
+ */
+@Service
+public class VerificationJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VerificationJobService.class);
+
+    /** Metrik etiketinde ve thread adında kullanılan havuz adı. */
+    static final String POOL_NAME = "verification-jobs";
+
+    private final AdvancedSignatureVerificationService verificationService;
+    private final DocumentIngestor documentIngestor;
+    private final VerificationConfiguration config;
+    private final VerificationMetrics metrics;
+    private final VerificationAdmissionControl admissionControl;
+    private final ThreadPoolExecutor executor;
+    private final Cache<String, Job> jobs;
+
+    public VerificationJobService(
+            AdvancedSignatureVerificationService verificationService,
+            DocumentIngestor documentIngestor,
+            VerificationConfiguration config,
+            VerificationMetrics metrics,
+            VerificationAdmissionControl admissionControl) {
+        this.verificationService = verificationService;
+        this.documentIngestor = documentIngestor;
+        this.config = config;
+        this.metrics = metrics;
+        this.admissionControl = admissionControl;
+
+        int parallelism = Math.max(1, config.getJobsParallelism());
+        int queueCapacity = Math.max(1, config.getJobsQueueCapacity());
+        this.executor = new ThreadPoolExecutor(
+                parallelism, parallelism,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new NamedDaemonThreadFactory("mdss-" + POOL_NAME + "-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        long ttlSeconds = Math.max(1L, config.getJobsResultTtlSeconds());
+        this.jobs = Caffeine.newBuilder()
+                .maximumWeight(Math.max(1L, config.getJobsMaxStored()))
+                .weigher(new JobWeigher())
+                .expireAfter(new JobExpiry(ttlSeconds))
+                .build();
+
+        if (metrics != null) {
+            metrics.bindExecutor(POOL_NAME, executor);
+        }
+        logger.info("Verification job executor hazır: parallelism={}, queueCapacity={}, resultTtl={}s, maxStored={}",
+                parallelism, queueCapacity, ttlSeconds, config.getJobsMaxStored());
+    }
+
+    /**
+     * Dokümanları okur ve doğrulama işini kuyruğa alır.
+     *
+     * @return {@link VerificationJobState#QUEUED} durumundaki işin görüntüsü
+     * @throws VerificationCapacityExceededException kuyruk dolu
+     * @throws VerificationException                 doküman okunamadı
+     */
+    public VerificationJobStatus submit(
+            MultipartFile signedDocument,
+            MultipartFile originalDocument,
+            VerificationLevel level,
+            boolean includeFailedConstraints) {
+        return submit(signedDocument, originalDocument, level, null, includeFailedConstraints, false);
+    }
+
+    /**
+     * Dokümanları okur, istenirse ön doğrulamayı yapar ve doğrulama işini
+     * kuyruğa alır.
+     *
+     * @param policyProfile istek bazlı built-in policy profili; {@code null}
+     *                      ise konfigüre edilen profil. Gönderimde doğrulanır
+     *                      (geçersizse iş oluşmadan 400)
+     * @param provisional   {@code true} ise dönen görüntüde
+     *                      {@code provisionalResult} doludur
+     * @return {@link VerificationJobState#QUEUED} durumundaki işin görüntüsü
+     * @throws VerificationCapacityExceededException kuyruk veya (ön doğrulamada)
+     *                                               imza kabul şeridi dolu
+     * @throws VerificationException                 doküman okunamadı veya
+     *                                               ön doğrulama çalıştırılamadı
+     * @throws IllegalArgumentException              policy profili seçilemiyor
+     */
+    public VerificationJobStatus submit(
+            MultipartFile signedDocument,
+            MultipartFile originalDocument,
+            VerificationLevel level,
+            String policyProfile,
+            boolean includeFailedConstraints,
+            boolean provisional) {
+
+        String requestedProfile = verificationService.resolveRequestedPolicyProfile(policyProfile);
+
+        // Ön doğrulama istek thread'inde CPU harcar; kuyruk zaten doluysa
+        // hiç başlamadan reddet (kesin kontrol yine execute() anında).
+        if (provisional && executor.getQueue().remainingCapacity() == 0) {
+            throw rejected();
+        }
+
+        boolean hasOriginal = originalDocument != null && !originalDocument.isEmpty();
+        IngestedDocument signedIngest = null;
+        IngestedDocument originalIngest = null;
+        try {
+            signedIngest = documentIngestor.ingest(signedDocument, true);
+            if (hasOriginal) {
+                originalIngest = documentIngestor.ingest(originalDocument, false);
+            }
+        } catch (IOException e) {
+            closeQuietly(signedIngest, originalIngest);
+            throw new VerificationException("Doküman okunamadı: " + e.getMessage(), e);
+        }
+
+        VerificationResult provisionalResult = null;
+        if (provisional) {
+            AdaptiveConcurrencyLimiter.Permit permit = null;
+            try {
+                // /signature ile aynı CPU işi: onun kabul şeridinden izin al.
+                permit = admissionControl != null
+                        ? admissionControl.acquireSignature(signedIngest.getSizeBytes(),
+                                SignedDocumentFormat.fromHints(signedDocument.getContentType(),
+                                        signedDocument.getOriginalFilename()))
+                        : null;
+                provisionalResult = verificationService.verifySignatureProvisional(
+                        signedIngest, originalIngest,
+                        signedDocument.getOriginalFilename(), signedDocument.getContentType(),
+                        hasOriginal ? originalDocument.getOriginalFilename() : null,
+                        level, requestedProfile, includeFailedConstraints);
+            } catch (RuntimeException e) {
+                closeQuietly(signedIngest, originalIngest);
+                throw e;
+            } finally {
+                if (permit != null) {
+                    permit.close();
+                }
+            }
+            recordJob("provisional");
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), new Date(), provisionalResult);
+        jobs.put(job.id, job);
+        // Hızlı bir worker işi execute() dönmeden bitirebilir; yanıt her
+        // zaman gönderim anındaki QUEUED görüntüsüdür.
+        VerificationJobStatus queued = job.snapshot();
+
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        final IngestedDocument signed = signedIngest;
+        final IngestedDocument original = originalIngest;
+        final String signedFileName = signedDocument.getOriginalFilename();
+        final String signedContentType = signedDocument.getContentType();
+        final String originalFileName = hasOriginal ? originalDocument.getOriginalFilename() : null;
+        try {
+            executor.execute(() -> run(job, signed, original, signedFileName, signedContentType,
+                    originalFileName, level, requestedProfile, includeFailedConstraints, mdc));
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(job.id);
+            closeQuietly(signed, original);
+            throw rejected();
+        }
+
+        recordJob("submitted");
+        logger.info("Verification job queued. JobId: {}, File: {}, Level: {}, Policy: {}, Provisional: {}",
+                job.id, signedFileName, level, requestedProfile, provisional);
+        return queued;
+    }
+
+    private VerificationCapacityExceededException rejected() {
+        recordJob("rejected");
+        return new VerificationCapacityExceededException(
+                "Doğrulama iş kuyruğu dolu; daha sonra tekrar deneyin",
+                config.getJobsRetryAfterSeconds());
+    }
+
+    /**
+     * İşin anlık durumunu döner.
+     *
+     * @throws VerificationJobNotFoundException iş yok veya saklama süresi dolmuş
+     */
+    public VerificationJobStatus getStatus(String jobId) {
+        return find(jobId).snapshot();
+    }
+
+    /**
+     * İş tamamlandığında (COMPLETED/FAILED) son görüntüyle tamamlanan
+     * future — long-poll için. İş zaten bitmişse hemen tamamlanmış döner.
+     *
+     * @throws VerificationJobNotFoundException iş yok veya saklama süresi dolmuş
+     */
+    public CompletableFuture<VerificationJobStatus> awaitCompletion(String jobId) {
+        return find(jobId).completion;
+    }
+
+    private Job find(String jobId) {
+        Job job = jobId != null ? jobs.getIfPresent(jobId) : null;
+        if (job == null) {
+            throw new VerificationJobNotFoundException("Doğrulama işi bulunamadı: " + jobId);
+        }
+        return job;
+    }
+
+    private void run(
+            Job job,
+            IngestedDocument signed,
+            IngestedDocument original,
+            String signedFileName,
+            String signedContentType,
+            String originalFileName,
+            VerificationLevel level,
+            String policyProfile,
+            boolean includeFailedConstraints,
+            Map<String, String> mdc) {
+
+        Map<String, String> previous = MDC.getCopyOfContextMap();
+        if (mdc != null) {
+            MDC.setContextMap(mdc);
+        }
+        job.markRunning();
+        VerificationResult result = null;
+        ErrorResponse error = null;
+        String outcome;
+        try {
+            result = verificationService.verifySignature(
+                    signed, original, signedFileName, signedContentType, originalFileName,
+                    level, policyProfile, includeFailedConstraints);
+            outcome = "completed";
+        } catch (VerificationException e) {
+            error = new ErrorResponse("VERIFICATION_ERROR", "İmza doğrulama başarısız", e.getMessage());
+            outcome = "failed";
+        } catch (RuntimeException e) {
+            logger.error("Verification job {} ({}) unexpected failure: {}", job.id, signedFileName, e.getMessage(), e);
+            error = new ErrorResponse("INTERNAL_ERROR", "Beklenmeyen bir hata oluştu");
+            outcome = "failed";
+        } finally {
+            // verifySignature normalde kapatır; erken hata yollarına karşı
+            // tekrar kapatmak güvenli (idempotent). Terminal durum
+            // yayınlanmadan önce kapatılır: awaitCompletion bekleyen taraf
+            // spill dosyasını hâlâ diskte görmemeli.
+            closeQuietly(signed, original);
+        }
+        try {
+            VerificationJobStatus terminal = job.complete(result, error);
+            // Terminal duruma geçen kaydı bekleyenler uyanmadan yeniden yaz
+            // ki Expiry TTL'i başlatsın ve ağırlığı max-stored'a sayılsın
+            // (bkz. JobExpiry, JobWeigher).
+            jobs.asMap().replace(job.id, job, job);
+            job.completion.complete(terminal);
+            recordJob(outcome);
+        } finally {
+            logger.info("Verification job finished. JobId: {}, State: {}", job.id, job.state);
+            if (previous != null) {
+                MDC.setContextMap(previous);
+            } else {
+                MDC.clear();
+            }
+        }
+    }
+
+    private void recordJob(String event) {
+        if (metrics != null) {
+            metrics.recordJob(event);
+        }
+    }
+
+    private static void closeQuietly(IngestedDocument... documents) {
+        for (IngestedDocument document : documents) {
+            if (document != null) {
+                document.close();
+            }
+        }
+    }
+
+    /** Saklanan iş kaydı sayısı (bekleyen bakım işleri uygulandıktan sonra). */
+    long storedJobCount() {
+        jobs.cleanUp();
+        return jobs.estimatedSize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Tek bir işin değişebilir durumu. Alanlar {@code this} üzerinde
+     * senkronize; {@link #snapshot()} tutarlı bir kopya verir.
+     */
+    private static final class Job {
+
+        private final String id;
+        private final Date submittedAt;
+        private final VerificationResult provisionalResult;
+        private final CompletableFuture<VerificationJobStatus> completion = new CompletableFuture<>();
+
+        private VerificationJobState state = VerificationJobState.QUEUED;
+        private Date startedAt;
+        private Date completedAt;
+        private VerificationResult result;
+        private ErrorResponse error;
+
+        Job(String id, Date submittedAt, VerificationResult provisionalResult) {
+            this.id = id;
+            this.submittedAt = submittedAt;
+            this.provisionalResult = provisionalResult;
+        }
+
+        synchronized void markRunning() {
+            state = VerificationJobState.RUNNING;
+            startedAt = new Date();
+        }
+
+        /**
+         * Terminal duruma geçirir ve son görüntüyü döner; {@link #completion}
+         * çağıran tarafından tamamlanır.
+         */
+        synchronized VerificationJobStatus complete(VerificationResult result, ErrorResponse error) {
+            this.state = error == null ? VerificationJobState.COMPLETED : VerificationJobState.FAILED;
+            this.completedAt = new Date();
+            this.result = result;
+            this.error = error;
+            return snapshot();
+        }
+
+        synchronized boolean isTerminal() {
+            return state.isTerminal();
+        }
+
+        synchronized VerificationJobStatus snapshot() {
+            VerificationJobStatus status = new VerificationJobStatus();
+            status.setJobId(id);
+            status.setState(state);
+            status.setSubmittedAt(submittedAt);
+            status.setStartedAt(startedAt);
+            status.setCompletedAt(completedAt);
+            status.setProvisionalResult(provisionalResult);
+            status.setResult(result);
+            status.setError(error);
+            return status;
+        }
+    }
+
+    /**
+     * Kuyrukta/çalışan iş süresiz; terminal iş yazıldığı andan itibaren
+     * TTL kadar yaşar. Okumalar süreyi uzatmaz.
+     */
+    private static final class JobExpiry implements Expiry<String, Job> {
+
+        private final long ttlNanos;
+
+        JobExpiry(long ttlSeconds) {
+            this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Job job, long currentTime) {
+            return job.isTerminal() ? ttlNanos : Long.MAX_VALUE;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Job job, long currentTime, long currentDuration) {
+            return job.isTerminal() ? ttlNanos : Long.MAX_VALUE;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Job job, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * Kuyrukta/çalışan iş {@code max-stored} sınırına sayılmaz, dolayısıyla
+     * tahliye edilemez; terminal iş 1 sayılır. Ağırlık yazma anında
+     * hesaplanır — {@link #run} terminal kaydı yeniden yazar.
+     */
+    private static final class JobWeigher implements Weigher<String, Job> {
+
+        @Override
+        public int weigh(String key, Job job) {
+            return job.isTerminal() ? 1 : 0;
+        }
+    }
+}
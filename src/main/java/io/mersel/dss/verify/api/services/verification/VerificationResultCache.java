@@ -0,0 +1,277 @@
+package io.mersel.dss.verify.api.services.verification;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import eu.europa.esig.dss.diagnostic.CertificateWrapper;
+import eu.europa.esig.dss.diagnostic.DiagnosticData;
+import eu.europa.esig.dss.diagnostic.RevocationWrapper;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.Digest;
+import eu.europa.esig.dss.model.DigestDocument;
+import io.mersel.dss.verify.api.config.VerificationConfiguration;
+import io.mersel.dss.verify.api.metrics.VerificationMetrics;
+import io.mersel.dss.verify.api.models.SignatureInfo;
+import io.mersel.dss.verify.api.models.VerificationResult;
+import io.mersel.dss.verify.api.models.enums.VerificationLevel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * İçerik adresli doğrulama sonucu cache'i.
+ *
+ * <p><b>Neden:</b> Entegrasyon ortakları aynı dokümanı sık sık yeniden
+ * gönderir (retry, tekrar gönderim); her seferinde DSS pipeline'ı OCSP/CRL
+ * dahil baştan çalışır. Aynı girdiler için sonuç, kullanılan revocation
+ * verisi tazeliğini koruduğu sürece değişmez.</p>
+ *
+ * <p><b>Anahtar:</b> SHA-256(imzalı doküman SHA-256'sı, detached içerik
+ * SHA-256'sı veya istemci digest'i, detached doküman adı, seviye, policy,
+ * {@code includeFailedConstraints}). Doküman digest'i DSS dokümanının
+ * kendi digest cache'inden alınır — spill edilmiş dosyalar bir kez stream
+ * edilir, DSS aynı değeri sonra yeniden kullanır.</p>
+ *
+ * <p><b>Süre:</b> Kayıt, doğrulamada kullanılan revocation verilerinin en
+ * erken {@code nextUpdate}'inde (ve gelecekteki en erken sertifika
+ * {@code notAfter}'ında) düşer; her durumda
+ * {@code verification.result-cache.max-age-seconds} ile sınırlıdır.
+ * {@code nextUpdate}'i geçmişte kalmış veri kullanılmışsa veya herhangi bir
+ * imza {@code INDETERMINATE} ise (çoğunlukla geçici OCSP/CRL erişim
+ * sorunu) sonuç cache'lenmez.</p>
+ *
+ * <p><b>Geçersizleme:</b> Güvenilir kök deposu yenilendiğinde veya
+ * değiştiğinde {@link #invalidateAll()} çağrılır. Anahtar bir nesil
+ * sayacı da içerir: geçersizleme sırasında sürmekte olan bir doğrulama
+ * sonucunu eski nesil anahtarıyla yazar ve o kayıt bir daha okunmaz.</p>
+ *
+ * <p>Kayıt saklanırken ve her okumada derin kopyalanır ({@code cached=true});
+ * {@link SignatureInfo} gibi alt nesneler istekler arasında paylaşılmaz,
+ * bir yanıtta yapılan değişiklik kayda veya başka bir yanıta sızmaz.
+ * Thread-safe.</p>
+ */
+@Component
+public class VerificationResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(VerificationResultCache.class);
+
+    /** Anahtar şeması değişirse eski kayıtlar karışmasın diye. */
+    private static final String KEY_VERSION = "v1";
+
+    private static final String INDETERMINATE = "INDETERMINATE";
+
+    private final boolean enabled;
+    private final long maxAgeMillis;
+    private final VerificationMetrics metrics;
+    private final LongSupplier clockMillis;
+    private final Cache<String, Entry> entries;
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public VerificationResultCache(VerificationConfiguration config, VerificationMetrics metrics) {
+        this(config, metrics, System::currentTimeMillis);
+    }
+
+    VerificationResultCache(VerificationConfiguration config, VerificationMetrics metrics, LongSupplier clockMillis) {
+        this.enabled = config.isResultCacheEnabled();
+        this.maxAgeMillis = TimeUnit.SECONDS.toMillis(Math.max(1L, config.getResultCacheMaxAgeSeconds()));
+        this.metrics = metrics;
+        this.clockMillis = clockMillis;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(Math.max(1L, config.getResultCacheMaxEntries()))
+                .expireAfter(new EntryExpiry())
+                .build();
+        if (enabled) {
+            logger.info("Verification result cache hazır: maxEntries={}, maxAge={}s",
+                    config.getResultCacheMaxEntries(), config.getResultCacheMaxAgeSeconds());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Doğrulama girdilerinin cache anahtarı.
+     *
+     * @param signed           imzalı doküman (ön işlemeden önceki hali)
+     * @param original         detached içerik; yoksa {@code null}
+     * @param originalFileName detached doküman adı (XAdES referans eşlemesini etkiler)
+     * @param policyKey        etkin policy'yi tanımlayan değer (profil adı veya policy yolu)
+     * @return hex anahtar; cache kapalıysa veya digest alınamazsa {@code null}
+     */
+    public String key(DSSDocument signed,
+                      DSSDocument original,
+                      String originalFileName,
+                      VerificationLevel level,
+                      String policyKey,
+                      boolean includeFailedConstraints) {
+        if (!enabled || signed == null) {
+            return null;
+        }
+        try {
+            StringBuilder material = new StringBuilder(KEY_VERSION)
+                    .append('|').append(generation.get())
+                    .append('|').append(documentDigest(signed))
+                    .append('|').append(original != null ? documentDigest(original) : "-")
+                    .append('|').append(originalFileName != null ? originalFileName : "-")
+                    .append('|').append(level != null ? level.name() : "-")
+                    .append('|').append(policyKey != null ? policyKey : "-")
+                    .append('|').append(includeFailedConstraints);
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return toHex(sha256.digest(material.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException | RuntimeException e) {
+            // Digest alınamayan doküman cache'siz doğrulanır; doğrulama
+            // hatası (varsa) DSS tarafında ayrıca raporlanır.
+            logger.debug("Result cache key could not be computed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Kayıt varsa {@code cached=true} işaretli kopyasını döner.
+     *
+     * @return isabet yoksa {@code null}
+     */
+    public VerificationResult get(String key) {
+        if (key == null) {
+            return null;
+        }
+        Entry entry = entries.getIfPresent(key);
+        if (entry == null) {
+            record("miss");
+            return null;
+        }
+        record("hit");
+        VerificationResult copy = new VerificationResult(entry.result);
+        copy.setCached(Boolean.TRUE);
+        return copy;
+    }
+
+    /**
+     * Sonucu revocation tazeliğine göre hesaplanan süreyle saklar;
+     * cache'lenemez durumda hiçbir şey yapmaz.
+     */
+    public void put(String key, VerificationResult result, DiagnosticData diagnosticData) {
+        if (key == null || result == null) {
+            return;
+        }
+        long ttlMillis = ttlMillis(result, diagnosticData);
+        if (ttlMillis <= 0) {
+            record("not_cacheable");
+            return;
+        }
+        entries.put(key, new Entry(new VerificationResult(result), TimeUnit.MILLISECONDS.toNanos(ttlMillis)));
+        record("stored");
+    }
+
+    /** Tüm kayıtları düşürür (güvenilir kök deposu değişti). */
+    public void invalidateAll() {
+        long size = entries.estimatedSize();
+        generation.incrementAndGet();
+        entries.invalidateAll();
+        if (enabled) {
+            record("invalidated");
+            logger.info("Verification result cache invalidated ({} entries)", size);
+        }
+    }
+
+    long size() {
+        entries.cleanUp();
+        return entries.estimatedSize();
+    }
+
+    /**
+     * Kaydın yaşam süresi (ms); {@code <= 0} ise cache'lenmez.
+     */
+    long ttlMillis(VerificationResult result, DiagnosticData diagnosticData) {
+        if (result.getSignatures() != null) {
+            for (SignatureInfo signature : result.getSignatures()) {
+                if (signature != null && INDETERMINATE.equals(signature.getIndication())) {
+                    return 0L;
+                }
+            }
+        }
+        long now = clockMillis.getAsLong();
+        long expiresAt = now + maxAgeMillis;
+        if (diagnosticData == null) {
+            return maxAgeMillis;
+        }
+        for (RevocationWrapper revocation : diagnosticData.getAllRevocationData()) {
+            Date nextUpdate = revocation.getNextUpdate();
+            if (nextUpdate != null) {
+                // Geçmişteki nextUpdate: veri zaten bayat; sonuç cache'lenmez.
+                expiresAt = Math.min(expiresAt, nextUpdate.getTime());
+            }
+        }
+        for (CertificateWrapper certificate : diagnosticData.getUsedCertificates()) {
+            Date notAfter = certificate.getNotAfter();
+            if (notAfter != null && notAfter.getTime() > now) {
+                expiresAt = Math.min(expiresAt, notAfter.getTime());
+            }
+        }
+        return expiresAt - now;
+    }
+
+    private static String documentDigest(DSSDocument document) {
+        if (document instanceof DigestDocument) {
+            Digest digest = ((DigestDocument) document).getExistingDigest();
+            return "digest:" + digest.getAlgorithm().getName() + ":" + toHex(digest.getValue());
+        }
+        return "sha256:" + toHex(document.getDigestValue(DigestAlgorithm.SHA256));
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private void record(String outcome) {
+        if (metrics != null) {
+            metrics.recordResultCache(outcome);
+        }
+    }
+
+    private static final class Entry {
+
+        final VerificationResult result;
+        final long ttlNanos;
+
+        Entry(VerificationResult result, long ttlNanos) {
+            this.result = result;
+            this.ttlNanos = ttlNanos;
+        }
+    }
+
+    /** Kayıt kendi süresini taşır; okumalar süreyi uzatmaz. */
+    private static final class EntryExpiry implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return entry.ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return entry.ttlNanos;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
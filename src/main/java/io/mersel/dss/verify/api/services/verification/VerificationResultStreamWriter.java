@@ -0,0 +1,131 @@
+package io.mersel.dss.verify.api.services.verification;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.mersel.dss.verify.api.models.SignatureInfo;
+import io.mersel.dss.verify.api.models.VerificationResult;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * {@link VerificationResult}'ı imza imza yanıta yazan akışlı JSON yazıcı.
+ *
+ * <p>{@code COMPREHENSIVE} + {@code includeFailedConstraints=true} ile çok
+ * imzalı bir dokümanın raporu binlerce {@code FailedConstraint} /
+ * {@code CertificateInfo} taşır. Klasik yolda önce tüm nesne ağacı kurulur,
+ * sonra tamamı tek bir buffer'a serileştirilir. Bu yazıcı ise
+ * {@code parseAdvancedVerificationResult} her imzayı bitirdiğinde
+ * ({@link #accept(SignatureInfo)}) o imzayı doğrudan çıkış akışına yazar;
+ * imza nesnesi hemen çöpe gidebilir.</p>
+ *
+ * <p><b>JSON şekli:</b> Alanlar klasik yanıtla aynıdır (aynı
+ * {@link ObjectMapper}: NON_NULL, tarih formatı); yalnız sıra farklıdır —
+ * {@code signatures} dizisi önce, özet alanlar ({@code valid},
+ * {@code status}, {@code signatureCount}, ...) tüm imzalar bittikten sonra
+ * {@link #finish(VerificationResult)} ile yazılır. Hiç imza yazılmadıysa
+ * (örn. {@code NO_SIGNATURE_FOUND}) sonuç klasik şekilde tek parça yazılır.</p>
+ *
+ * <p><b>Flush:</b> Generator flush'ı alt akışa iletilmez; ağa yazım
+ * servlet buffer'ı dolduğunda olur — imza başına küçük TCP paketleri
+ * üretilmez.</p>
+ *
+ * <p>Thread-safe değildir; istek başına bir instance.</p>
+ */
+public final class VerificationResultStreamWriter implements Consumer<SignatureInfo> {
+
+    private static final String SIGNATURES_FIELD = "signatures";
+
+    private final ObjectMapper objectMapper;
+    private final JsonGenerator generator;
+    private boolean started;
+    private boolean finished;
+    private int written;
+
+    public VerificationResultStreamWriter(ObjectMapper objectMapper, OutputStream out) throws IOException {
+        this.objectMapper = objectMapper;
+        this.generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        this.generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Bir imzayı yazar. İlk çağrıda nesne ve {@code signatures} dizisi
+     * açılır.
+     *
+     * @throws UncheckedIOException istemciye yazılamazsa (bağlantı koptu)
+     */
+    @Override
+    public void accept(SignatureInfo signature) {
+        if (finished) {
+            throw new IllegalStateException("Yanıt zaten tamamlandı");
+        }
+        try {
+            if (!started) {
+                generator.writeStartObject();
+                generator.writeArrayFieldStart(SIGNATURES_FIELD);
+                started = true;
+            }
+            objectMapper.writeValue(generator, signature);
+            written++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Özet alanları yazar ve JSON nesnesini kapatır. {@code result}'taki
+     * {@code signatures} listesi (bildirim için tutulan imzalar) yanıta
+     * ikinci kez yazılmaz.
+     */
+    public void finish(VerificationResult result) throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        if (!started) {
+            objectMapper.writeValue(generator, result);
+            generator.flush();
+            return;
+        }
+        generator.writeEndArray();
+
+        List<SignatureInfo> retained = result.getSignatures();
+        ObjectNode summary;
+        result.setSignatures(null);
+        try {
+            summary = objectMapper.valueToTree(result);
+        } finally {
+            result.setSignatures(retained);
+        }
+        Iterator<Map.Entry<String, JsonNode>> fields = summary.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (SIGNATURES_FIELD.equals(field.getKey())) {
+                continue;
+            }
+            generator.writeFieldName(field.getKey());
+            generator.writeTree(field.getValue());
+        }
+        generator.writeEndObject();
+        generator.flush();
+    }
+
+    /** En az bir imza yazıldı mı — yani yanıt gövdesi başladı mı? */
+    public boolean isStarted() {
+        return started;
+    }
+
+    /** Yazılan imza sayısı. */
+    public int getWrittenCount() {
+        return written;
+    }
+}
@@ -0,0 +1,203 @@
+package io.mersel.dss.verify.api.services.verification;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.spi.x509.CommonTrustedCertificateSource;
+import eu.europa.esig.dss.spi.x509.tsp.TimestampToken;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.validation.reports.Reports;
+import io.mersel.dss.verify.api.config.VerificationConfiguration;
+import io.mersel.dss.verify.api.metrics.VerificationMetrics;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cms.CMSSignedData;
+import org.bouncycastle.cms.jcajce.JcaSimpleSignerInfoVerifierBuilder;
+import org.bouncycastle.tsp.TimeStampToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Açılışta JIT/JAXB/kripto ısınması; bitene kadar pod <em>hazır değil</em>.
+ *
+ * <p><b>Neden:</b> Pod açıldıktan sonraki ilk istekler kararlı durumdan
+ * kat kat yavaştır: DSS rapor JAXB sınıfları ve I18n bundle'ları ilk
+ * kullanımda yüklenir, XML security (Santuario) ve BouncyCastle
+ * sağlayıcıları ilk imzada ısınır, sıcak kod yolları henüz JIT ile
+ * derlenmemiştir. Bu maliyeti gerçek istemci yerine açılışta sentetik
+ * doğrulamalar öder.</p>
+ *
+ * <p><b>Akış:</b> {@link ApplicationReadyEvent} sonrası arka plan
+ * thread'inde {@link WarmUpSamples} (XAdES, CAdES, PAdES, zaman damgası)
+ * {@code verification.warmup.iterations} kez doğrulanır. Doğrulamalar
+ * üretimle aynı derlenmiş policy ({@link ValidationPolicyRegistry}) ve
+ * locale ile, fakat yalnız sentetik kökü tanıyan ve hiçbir OCSP/CRL/AIA
+ * source'u bağlanmamış ayrı bir verifier ile yapılır — ağ çağrısı,
+ * iş metriği, result cache veya INVALID bildirimi üretmez.</p>
+ *
+ * <p><b>Readiness:</b> {@code verificationWarmUp} health göstergesi
+ * ({@link io.mersel.dss.verify.api.health.WarmUpHealthIndicator}) ısınma
+ * sürerken OUT_OF_SERVICE döner. Isınma hata ile biterse veya
+ * {@code verification.warmup.max-duration-seconds} aşılırsa pod yine
+ * hazır sayılır — ısınma bir optimizasyondur, trafik engeli değil.</p>
+ */
+@Component
+public class VerificationWarmUp {
+
+    private static final Logger logger = LoggerFactory.getLogger(VerificationWarmUp.class);
+
+    /** Isınma durumu. */
+    public enum State {
+        /** Uygulama henüz hazır olmadı; ısınma başlamadı. */
+        PENDING,
+        /** Sentetik doğrulamalar sürüyor. */
+        RUNNING,
+        /** Tüm iterasyonlar tamamlandı. */
+        COMPLETED,
+        /** Süre sınırı aşıldı; kalan iterasyonlar atlandı. */
+        TIMED_OUT,
+        /** Örnek üretimi veya doğrulama hata verdi. */
+        FAILED,
+        /** {@code verification.warmup.enabled=false}. */
+        DISABLED
+    }
+
+    private final VerificationConfiguration config;
+    private final ValidationPolicyRegistry validationPolicyRegistry;
+    private final VerificationMetrics verificationMetrics;
+    private final Locale dssValidationLocale;
+
+    private volatile State state = State.PENDING;
+    private volatile long durationMillis = -1L;
+    private volatile int completedValidations;
+
+    @Autowired
+    public VerificationWarmUp(VerificationConfiguration config,
+                              ValidationPolicyRegistry validationPolicyRegistry,
+                              VerificationMetrics verificationMetrics,
+                              Locale dssValidationLocale) {
+        this.config = config;
+        this.validationPolicyRegistry = validationPolicyRegistry;
+        this.verificationMetrics = verificationMetrics;
+        this.dssValidationLocale = dssValidationLocale;
+    }
+
+    /** Uygulama hazır olunca ısınmayı arka plan thread'inde başlatır. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!config.isWarmUpEnabled() || config.getWarmUpIterations() <= 0) {
+            state = State.DISABLED;
+            logger.info("Verification warm-up devre disi");
+            return;
+        }
+        state = State.RUNNING;
+        Thread thread = new Thread(this::run, "mdss-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Isınmayı çağıran thread'de çalıştırır ve son durumu döner.
+     * Normalde {@link #onApplicationReady()} tarafından çağrılır.
+     */
+    State run() {
+        state = State.RUNNING;
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + TimeUnit.SECONDS.toNanos(Math.max(1, config.getWarmUpMaxDurationSeconds()));
+        int iterations = config.getWarmUpIterations();
+        State outcome;
+        try {
+            WarmUpSamples samples = WarmUpSamples.create();
+            CommonCertificateVerifier verifier = offlineVerifier(samples.signerCertificate());
+            outcome = State.COMPLETED;
+            for (int i = 0; i < iterations && outcome == State.COMPLETED; i++) {
+                for (Map.Entry<String, DSSDocument> sample : samples.signedDocuments().entrySet()) {
+                    validate(sample.getKey(), sample.getValue(), verifier);
+                    completedValidations++;
+                }
+                verifyTimestamp(samples.timestampToken());
+                completedValidations++;
+                if (System.nanoTime() - deadlineNanos > 0) {
+                    outcome = State.TIMED_OUT;
+                }
+            }
+        } catch (Exception | LinkageError e) {
+            logger.warn("Verification warm-up basarisiz; pod isinmadan hazir sayilacak: {}", e.toString());
+            outcome = State.FAILED;
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        durationMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        state = outcome;
+        if (verificationMetrics != null) {
+            verificationMetrics.recordWarmUp(outcome.name().toLowerCase(Locale.ROOT), elapsedNanos);
+        }
+        logger.info("Verification warm-up bitti: state={}, validations={}, duration={}ms",
+                outcome, completedValidations, durationMillis);
+        return outcome;
+    }
+
+    private void validate(String sampleName, DSSDocument document, CommonCertificateVerifier verifier) {
+        SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(document);
+        if (dssValidationLocale != null) {
+            validator.setLocale(dssValidationLocale);
+        }
+        validator.setCertificateVerifier(verifier);
+        validator.setEnableEtsiValidationReport(!config.isSimpleLeanModeEnabled());
+        Reports reports = validator.validateDocument(validationPolicyRegistry.policy(null));
+        if (reports.getSimpleReport().getSignaturesCount() != 1) {
+            throw new IllegalStateException("Warm-up ornegi (" + sampleName + ") tek imza icermiyor");
+        }
+        // Servisin parse aşamasında dokunduğu rapor ağaçları.
+        reports.getDetailedReport().getSignatures();
+        reports.getDiagnosticData().getUsedCertificates();
+    }
+
+    private static void verifyTimestamp(byte[] tokenBytes) throws Exception {
+        TimestampToken token = new TimestampToken(tokenBytes, null);
+        TimeStampToken bcToken = new TimeStampToken(new CMSSignedData(tokenBytes));
+        @SuppressWarnings("unchecked")
+        Collection<X509CertificateHolder> signerCertificates =
+                bcToken.getCertificates().getMatches(bcToken.getSID());
+        if (token.getGenerationTime() == null || signerCertificates.isEmpty()) {
+            throw new IllegalStateException("Warm-up zaman damgasi okunamadi");
+        }
+        bcToken.validate(new JcaSimpleSignerInfoVerifierBuilder().build(signerCertificates.iterator().next()));
+    }
+
+    private static CommonCertificateVerifier offlineVerifier(CertificateToken trustAnchor) {
+        CommonTrustedCertificateSource trustedSource = new CommonTrustedCertificateSource();
+        trustedSource.addCertificate(trustAnchor);
+        CommonCertificateVerifier verifier = new CommonCertificateVerifier();
+        verifier.addTrustedCertSources(trustedSource);
+        // DSS varsayılan AIA source'u ağa çıkar; ısınmada hiçbir fetch yok.
+        verifier.setAIASource(null);
+        return verifier;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /** Tamamlanan ısınmanın süresi (ms); henüz bitmediyse {@code -1}. */
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public int getCompletedValidations() {
+        return completedValidations;
+    }
+
+    /** Isınma readiness'i hâlâ bekletiyor mu? */
+    public boolean isInProgress() {
+        State current = state;
+        return current == State.PENDING || current == State.RUNNING;
+    }
+}
@@ -0,0 +1,193 @@
+package io.mersel.dss.verify.api.services.verification;
+
+import eu.europa.esig.dss.cades.CAdESSignatureParameters;
+import eu.europa.esig.dss.cades.signature.CAdESService;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.enumerations.MimeTypeEnum;
+import eu.europa.esig.dss.enumerations.SignatureAlgorithm;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.enumerations.SignaturePackaging;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.model.ToBeSigned;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.pades.PAdESSignatureParameters;
+import eu.europa.esig.dss.pades.signature.PAdESService;
+import eu.europa.esig.dss.signature.AbstractSignatureParameters;
+import eu.europa.esig.dss.spi.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.xades.XAdESSignatureParameters;
+import eu.europa.esig.dss.xades.signature.XAdESService;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.oiw.OIWObjectIdentifiers;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.ExtendedKeyUsage;
+import org.bouncycastle.asn1.x509.KeyPurposeId;
+import org.bouncycastle.cert.X509v3CertificateBuilder;
+import org.bouncycastle.cert.jcajce.JcaCertStore;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.cms.jcajce.JcaSimpleSignerInfoGeneratorBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.bouncycastle.operator.jcajce.JcaDigestCalculatorProviderBuilder;
+import org.bouncycastle.tsp.TSPAlgorithms;
+import org.bouncycastle.tsp.TimeStampRequestGenerator;
+import org.bouncycastle.tsp.TimeStampTokenGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.Signature;
+import java.security.cert.X509Certificate;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Isınma (warm-up) için sentetik örnekler: XAdES (enveloped), CAdES
+ * (enveloping), PAdES imzalı doküman ve RFC 3161 zaman damgası.
+ *
+ * <p>Örnekler pakete gömülü dosya yerine açılışta üretilir: gömülü bir
+ * örneğin sertifikası zamanla süresi dolar ve doğrulama yolu değişir.
+ * Sertifikalar kendinden imzalıdır ve hiçbir OCSP/CRL/AIA adresi taşımaz —
+ * ısınma doğrulamaları ağa çıkmaz (revocation fiilen stub'lıdır).</p>
+ *
+ * <p>Yalnız {@link VerificationWarmUp} kullanır.</p>
+ */
+final class WarmUpSamples {
+
+    static final String XADES = "xades";
+    static final String CADES = "cades";
+    static final String PADES = "pades";
+
+    private final KeyPair keyPair;
+    private final CertificateToken signerCertificate;
+    private final X509Certificate tsaCertificate;
+    private final Map<String, DSSDocument> signedDocuments;
+    private final byte[] timestampToken;
+
+    private WarmUpSamples(KeyPair keyPair, X509Certificate signer, X509Certificate tsa) throws Exception {
+        this.keyPair = keyPair;
+        this.signerCertificate = new CertificateToken(signer);
+        this.tsaCertificate = tsa;
+
+        CommonCertificateVerifier verifier = new CommonCertificateVerifier();
+        Map<String, DSSDocument> documents = new LinkedHashMap<>();
+        documents.put(XADES, signXades(verifier));
+        documents.put(CADES, signCades(verifier));
+        documents.put(PADES, signPades(verifier));
+        this.signedDocuments = documents;
+        this.timestampToken = createTimestampToken();
+    }
+
+    static WarmUpSamples create() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        X509Certificate signer = selfSigned(keyPair, "CN=MDSS Warm-up Signer", null);
+        X509Certificate tsa = selfSigned(keyPair, "CN=MDSS Warm-up TSA", KeyPurposeId.id_kp_timeStamping);
+        return new WarmUpSamples(keyPair, signer, tsa);
+    }
+
+    /** Örnek adı → imzalı doküman; sıra XAdES, CAdES, PAdES. */
+    Map<String, DSSDocument> signedDocuments() {
+        return signedDocuments;
+    }
+
+    /** İmzaların güven çapası (kendinden imzalı imzacı sertifikası). */
+    CertificateToken signerCertificate() {
+        return signerCertificate;
+    }
+
+    /** Çıplak RFC 3161 {@code TimeStampToken} (CMS SignedData) byte'ları. */
+    byte[] timestampToken() {
+        return timestampToken;
+    }
+
+    private DSSDocument signXades(CommonCertificateVerifier verifier) throws GeneralSecurityException {
+        DSSDocument xml = new InMemoryDocument(
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?><WarmUp><ID>1</ID></WarmUp>"
+                        .getBytes(StandardCharsets.UTF_8), "warmup.xml", MimeTypeEnum.XML);
+        XAdESService service = new XAdESService(verifier);
+        XAdESSignatureParameters parameters = new XAdESSignatureParameters();
+        parameters.setSignatureLevel(SignatureLevel.XAdES_BASELINE_B);
+        parameters.setSignaturePackaging(SignaturePackaging.ENVELOPED);
+        initialize(parameters);
+        return service.signDocument(xml, parameters, sign(service.getDataToSign(xml, parameters)));
+    }
+
+    private DSSDocument signCades(CommonCertificateVerifier verifier) throws GeneralSecurityException {
+        DSSDocument content = new InMemoryDocument(
+                "warm-up".getBytes(StandardCharsets.UTF_8), "warmup.txt", MimeTypeEnum.TEXT);
+        CAdESService service = new CAdESService(verifier);
+        CAdESSignatureParameters parameters = new CAdESSignatureParameters();
+        parameters.setSignatureLevel(SignatureLevel.CAdES_BASELINE_B);
+        parameters.setSignaturePackaging(SignaturePackaging.ENVELOPING);
+        initialize(parameters);
+        return service.signDocument(content, parameters, sign(service.getDataToSign(content, parameters)));
+    }
+
+    private DSSDocument signPades(CommonCertificateVerifier verifier) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PDDocument pdf = new PDDocument()) {
+            pdf.addPage(new PDPage());
+            pdf.save(out);
+        }
+        DSSDocument content = new InMemoryDocument(out.toByteArray(), "warmup.pdf", MimeTypeEnum.PDF);
+        PAdESService service = new PAdESService(verifier);
+        PAdESSignatureParameters parameters = new PAdESSignatureParameters();
+        parameters.setSignatureLevel(SignatureLevel.PAdES_BASELINE_B);
+        initialize(parameters);
+        return service.signDocument(content, parameters, sign(service.getDataToSign(content, parameters)));
+    }
+
+    private byte[] createTimestampToken() throws Exception {
+        TimeStampTokenGenerator generator = new TimeStampTokenGenerator(
+                new JcaSimpleSignerInfoGeneratorBuilder().build("SHA256withRSA", keyPair.getPrivate(), tsaCertificate),
+                new JcaDigestCalculatorProviderBuilder().build()
+                        .get(new AlgorithmIdentifier(OIWObjectIdentifiers.idSHA1)),
+                new ASN1ObjectIdentifier("1.3.6.1.4.1.0.1"));
+        generator.addCertificates(new JcaCertStore(Collections.singletonList(tsaCertificate)));
+        // certReq: TSA sertifikası token'a gömülsün (timestamp servisi de gömülü sertifikayla doğrular).
+        TimeStampRequestGenerator requestGenerator = new TimeStampRequestGenerator();
+        requestGenerator.setCertReq(true);
+        byte[] imprint = MessageDigest.getInstance("SHA-256").digest("warm-up".getBytes(StandardCharsets.UTF_8));
+        return generator.generate(requestGenerator.generate(TSPAlgorithms.SHA256, imprint),
+                BigInteger.ONE, new Date()).getEncoded();
+    }
+
+    private void initialize(AbstractSignatureParameters<?> parameters) {
+        parameters.setSigningCertificate(signerCertificate);
+        parameters.setDigestAlgorithm(DigestAlgorithm.SHA256);
+    }
+
+    private SignatureValue sign(ToBeSigned toBeSigned) throws GeneralSecurityException {
+        Signature signature = Signature.getInstance("SHA256withRSA");
+        signature.initSign(keyPair.getPrivate());
+        signature.update(toBeSigned.getBytes());
+        return new SignatureValue(SignatureAlgorithm.RSA_SHA256, signature.sign());
+    }
+
+    private static X509Certificate selfSigned(KeyPair keyPair, String subject, KeyPurposeId extendedKeyUsage)
+            throws Exception {
+        X500Name name = new X500Name(subject);
+        long now = System.currentTimeMillis();
+        X509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(name,
+                BigInteger.valueOf(now), new Date(now - 86_400_000L), new Date(now + 86_400_000L),
+                name, keyPair.getPublic());
+        if (extendedKeyUsage != null) {
+            builder.addExtension(Extension.extendedKeyUsage, true, new ExtendedKeyUsage(extendedKeyUsage));
+        }
+        return new JcaX509CertificateConverter().getCertificate(
+                builder.build(new JcaContentSignerBuilder("SHA256withRSA").build(keyPair.getPrivate())));
+    }
+}
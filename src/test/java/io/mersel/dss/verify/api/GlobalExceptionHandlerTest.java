@@ -3,7 +3,9 @@ package io.mersel.dss.verify.api;
 import io.mersel.dss.verify.api.exceptions.CertificateException;
 import io.mersel.dss.verify.api.exceptions.InvalidDocumentException;
 import io.mersel.dss.verify.api.exceptions.TimestampException;
+import io.mersel.dss.verify.api.exceptions.VerificationCapacityExceededException;
 import io.mersel.dss.verify.api.exceptions.VerificationException;
+import io.mersel.dss.verify.api.exceptions.VerificationJobNotFoundException;
 import io.mersel.dss.verify.api.models.ErrorResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -165,5 +167,26 @@ class GlobalExceptionHandlerTest {
         assertNotNull(response.getBody());
         assertEquals("/api/v1/verify/xades", response.getBody().getPath());
     }
-}
 
+    @Test
+    void testHandleVerificationCapacityExceededException() {
+        VerificationCapacityExceededException exception =
+                new VerificationCapacityExceededException("Kuyruk dolu", 7);
+
+        ResponseEntity<ErrorResponse> response =
+            exceptionHandler.handleVerificationCapacityExceededException(exception, webRequest);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("7", response.getHeaders().getFirst("Retry-After"));
+        assertEquals("TOO_MANY_REQUESTS", response.getBody().getError());
+    }
+
+    @Test
+    void testHandleVerificationJobNotFoundException() {
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleVerificationJobNotFoundException(
+                new VerificationJobNotFoundException("İş bulunamadı: abc"), webRequest);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals("JOB_NOT_FOUND", response.getBody().getError());
+    }
+}
@@ -0,0 +1,206 @@
+package io.mersel.dss.verify.api.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.mersel.dss.verify.api.services.admission.ExecutionLane;
+import io.mersel.dss.verify.api.services.admission.VerificationAdmissionControl;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link AdmissionControlFilter}: kapasite doluyken gövde okunmadan 429 +
+ * {@code Retry-After}, kapsam dışı yollar ise hiç sınırlanmaz.
+ */
+class AdmissionControlFilterTest {
+
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        VerificationConfiguration config = new VerificationConfiguration();
+        config.setAdmissionEnabled(true);
+        config.setAdmissionMinLimit(1);
+        config.setAdmissionMaxWaitMs(0);
+        config.setAdmissionSignatureInitialLimit(1);
+        config.setAdmissionSignatureMaxLimit(1);
+        config.setAdmissionSignatureQueueSize(0);
+        config.setAdmissionSignatureTargetLatencyMs(10000);
+        config.setAdmissionTimestampInitialLimit(1);
+        config.setAdmissionTimestampMaxLimit(1);
+        config.setAdmissionTimestampQueueSize(0);
+        config.setAdmissionTimestampTargetLatencyMs(3000);
+        filter = new AdmissionControlFilter(new VerificationAdmissionControl(config, null), null);
+    }
+
+    @Test
+    void saturatedEndpoint_returns429WithRetryAfter_withoutCallingChain() throws Exception {
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            try {
+                filter.doFilter(post("/api/v1/verify/signature"), new MockHttpServletResponse(),
+                        (req, res) -> {
+                            inside.countDown();
+                            try {
+                                release.await(5, TimeUnit.SECONDS);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        holder.start();
+        assertTrue(inside.await(5, TimeUnit.SECONDS));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(post("/api/v1/verify/xades"), response, chain);
+
+        assertEquals(429, response.getStatus());
+        assertNotNull(response.getHeader("Retry-After"));
+        assertTrue(Long.parseLong(response.getHeader("Retry-After")) >= 1);
+        assertNull(chain.getRequest(), "Reddedilen istek zincire girmemeli");
+        JsonNode body = new ObjectMapper().readTree(response.getContentAsByteArray());
+        assertEquals("TOO_MANY_REQUESTS", body.get("error").asText());
+        assertEquals("/api/v1/verify/xades", body.get("path").asText());
+
+        // Zaman damgası ayrı bulkhead — imza doluyken etkilenmez.
+        MockHttpServletResponse tsResponse = new MockHttpServletResponse();
+        MockFilterChain tsChain = new MockFilterChain();
+        filter.doFilter(post("/api/v1/verify/timestamp"), tsResponse, tsChain);
+        assertEquals(200, tsResponse.getStatus());
+        assertNotNull(tsChain.getRequest());
+
+        release.countDown();
+        holder.join(5000);
+    }
+
+    @Test
+    void batchAndJobEndpoints_areNotGoverned() throws Exception {
+        for (String path : new String[] {"/api/v1/verify/signature/batch", "/api/v1/verify/jobs/signature"}) {
+            CountDownLatch done = new CountDownLatch(2);
+            FilterChain nested = (req, res) -> {
+                // Kapsam dışı yolda iç içe ikinci istek de geçmeli (limit=1 olsa bile).
+                filter.doFilter(post(path), new MockHttpServletResponse(), (r2, s2) -> done.countDown());
+                done.countDown();
+            };
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(post(path), response, nested);
+            assertEquals(200, response.getStatus());
+            assertEquals(0, done.getCount(), path);
+        }
+    }
+
+    @Test
+    void getRequests_areNotGoverned() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/verify/signature");
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void largeLaneSaturation_doesNotBlockSmallDocuments_andRawBodyIsReplayedAfterSniff() throws Exception {
+        VerificationConfiguration config = new VerificationConfiguration();
+        config.setAdmissionEnabled(true);
+        config.setAdmissionMinLimit(1);
+        config.setAdmissionMaxWaitMs(0);
+        config.setAdmissionSignatureInitialLimit(4);
+        config.setAdmissionSignatureMaxLimit(4);
+        config.setAdmissionSignatureTargetLatencyMs(10000);
+        config.setAdmissionSignatureLargeInitialLimit(1);
+        config.setAdmissionSignatureLargeMaxLimit(1);
+        config.setAdmissionSignatureLargeQueueSize(0);
+        config.setAdmissionSignatureLargeTargetLatencyMs(60000);
+        config.setAdmissionTimestampInitialLimit(1);
+        config.setAdmissionTimestampMaxLimit(1);
+        config.setAdmissionLanesEnabled(true);
+        config.setAdmissionLanesLargeThresholdBytes(1024);
+        config.setAdmissionLanesXmlLargeThresholdBytes(1024);
+        AdmissionControlFilter laneFilter = new AdmissionControlFilter(new VerificationAdmissionControl(config, null), null);
+
+        // Büyük şeridi dolduran bir PDF.
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<ExecutionLane> largeLane = new AtomicReference<>();
+        Thread holder = new Thread(() -> {
+            try {
+                laneFilter.doFilter(raw(pdf(4096)), new MockHttpServletResponse(), (req, res) -> {
+                    largeLane.set(ExecutionLane.current());
+                    inside.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        holder.start();
+        assertTrue(inside.await(5, TimeUnit.SECONDS));
+        assertEquals(ExecutionLane.LARGE, largeLane.get());
+
+        // İkinci büyük doküman reddedilir...
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        laneFilter.doFilter(raw(pdf(4096)), rejected, new MockFilterChain());
+        assertEquals(429, rejected.getStatus());
+
+        // ...küçük doküman ise kendi şeridinden hemen geçer ve gövdeyi eksiksiz okur.
+        byte[] small = pdf(200);
+        AtomicReference<byte[]> seen = new AtomicReference<>();
+        AtomicReference<ExecutionLane> smallLane = new AtomicReference<>();
+        MockHttpServletResponse ok = new MockHttpServletResponse();
+        laneFilter.doFilter(raw(small), ok, (req, res) -> {
+            smallLane.set(ExecutionLane.current());
+            seen.set(IOUtils.toByteArray(req.getInputStream()));
+        });
+        assertEquals(200, ok.getStatus());
+        assertEquals(ExecutionLane.SMALL, smallLane.get());
+        assertArrayEquals(small, seen.get());
+        assertNull(ExecutionLane.current(), "Şerit istek sonunda temizlenmeli");
+
+        release.countDown();
+        holder.join(5000);
+    }
+
+    private static MockHttpServletRequest raw(byte[] body) {
+        MockHttpServletRequest request = post("/api/v1/verify/signature");
+        request.setContentType("application/octet-stream");
+        request.setContent(body);
+        return request;
+    }
+
+    private static byte[] pdf(int size) {
+        byte[] body = new byte[size];
+        byte[] magic = "%PDF-1.7".getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(magic, 0, body, 0, magic.length);
+        for (int i = magic.length; i < size; i++) {
+            body[i] = (byte) i;
+        }
+        return body;
+    }
+
+    private static MockHttpServletRequest post(String uri) {
+        return new MockHttpServletRequest("POST", uri);
+    }
+}
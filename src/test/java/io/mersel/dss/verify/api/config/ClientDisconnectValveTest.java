@@ -0,0 +1,167 @@
+package io.mersel.dss.verify.api.config;
+
+import io.mersel.dss.verify.api.services.admission.RequestCancellation;
+import org.apache.catalina.Context;
+import org.apache.catalina.startup.Tomcat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link ClientDisconnectValve}: gerçek (gömülü) Tomcat üzerinde istemci
+ * soketi kapatınca token iptal olur; bağlantı açıkken olmaz. Servlet
+ * gövdeyi okuduktan sonra doğrulamanın aşama kontrollerini taklit ederek
+ * token'ı yoklar.
+ */
+class ClientDisconnectValveTest {
+
+    @TempDir
+    Path baseDir;
+
+    private Tomcat tomcat;
+    private int port;
+
+    private final CountDownLatch bodyRead = new CountDownLatch(1);
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private final AtomicReference<Boolean> observedCancelled = new AtomicReference<>();
+    private final AtomicReference<Boolean> tokenBound = new AtomicReference<>();
+
+    @BeforeEach
+    void startTomcat() throws Exception {
+        VerificationConfiguration config = new VerificationConfiguration();
+        config.setCancellationEnabled(true);
+        config.setCancellationProbeIntervalMs(0L);
+
+        tomcat = new Tomcat();
+        tomcat.setBaseDir(baseDir.toString());
+        tomcat.setPort(0);
+        Context context = tomcat.addContext("", baseDir.toString());
+        context.getPipeline().addValve(new ClientDisconnectValve(config));
+        Tomcat.addServlet(context, "probe", new PollingServlet());
+        context.addServletMappingDecoded("/*", "probe");
+        tomcat.getConnector();
+        tomcat.start();
+        port = tomcat.getConnector().getLocalPort();
+    }
+
+    @AfterEach
+    void stopTomcat() throws Exception {
+        tomcat.stop();
+        tomcat.destroy();
+    }
+
+    @Test
+    void clientClosingSocket_cancelsToken() throws Exception {
+        try (Socket socket = new Socket("localhost", port)) {
+            sendPost(socket, "/api/v1/verify/signature", 5_000);
+            assertTrue(bodyRead.await(10, TimeUnit.SECONDS));
+        }
+
+        assertTrue(finished.await(10, TimeUnit.SECONDS), "Servlet kopmayı görmeden bitmedi");
+        assertTrue(observedCancelled.get());
+    }
+
+    @Test
+    void connectedClient_isNotCancelled_andGetsResponse() throws Exception {
+        try (Socket socket = new Socket("localhost", port)) {
+            sendPost(socket, "/api/v1/verify/signature", 300);
+            String statusLine = new BufferedReader(new InputStreamReader(
+                    socket.getInputStream(), StandardCharsets.US_ASCII)).readLine();
+
+            assertEquals("HTTP/1.1 200 ", statusLine);
+        }
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+        assertFalse(observedCancelled.get());
+        assertTrue(tokenBound.get());
+    }
+
+    @Test
+    void otherPaths_areNotWatched() throws Exception {
+        try (Socket socket = new Socket("localhost", port)) {
+            sendPost(socket, "/actuator/health", 0);
+            new BufferedReader(new InputStreamReader(
+                    socket.getInputStream(), StandardCharsets.US_ASCII)).readLine();
+        }
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+        assertFalse(tokenBound.get());
+        assertNull(observedCancelled.get());
+    }
+
+    private static void sendPost(Socket socket, String path, long pollMillis) throws IOException {
+        OutputStream out = socket.getOutputStream();
+        String request = "POST " + path + " HTTP/1.1\r\n"
+                + "Host: localhost\r\n"
+                + "Content-Type: application/octet-stream\r\n"
+                + "X-Poll-Ms: " + pollMillis + "\r\n"
+                + "Content-Length: 3\r\n"
+                + "\r\n";
+        out.write(request.getBytes(StandardCharsets.US_ASCII));
+        out.write(new byte[] {1, 2, 3});
+        out.flush();
+    }
+
+    /** Gövdeyi okur, sonra {@code X-Poll-Ms} boyunca token'ı yoklar. */
+    private final class PollingServlet extends HttpServlet {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            try {
+                InputStream in = req.getInputStream();
+                while (in.read() != -1) {
+                    // gövdeyi tüket
+                }
+                RequestCancellation cancellation = RequestCancellation.current();
+                tokenBound.set(cancellation != null);
+                bodyRead.countDown();
+                if (cancellation == null) {
+                    resp.setStatus(200);
+                    return;
+                }
+
+                long until = System.nanoTime()
+                        + TimeUnit.MILLISECONDS.toNanos(Long.parseLong(req.getHeader("X-Poll-Ms")));
+                boolean cancelled = false;
+                while (!cancelled && System.nanoTime() < until) {
+                    cancelled = cancellation.isCancelled();
+                    sleepQuietly();
+                }
+                observedCancelled.set(cancelled);
+                resp.setStatus(200);
+                resp.setContentLength(0);
+            } finally {
+                finished.countDown();
+            }
+        }
+
+        private void sleepQuietly() {
+            try {
+                Thread.sleep(20L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package io.mersel.dss.verify.api.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.mersel.dss.verify.api.services.admission.RequestDeadline;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link RequestDeadlineFilter}: header / query parametresindeki bütçe
+ * istek boyunca thread'e bağlanır, geçersiz değer zincire girmeden 400 olur.
+ */
+class RequestDeadlineFilterTest {
+
+    private VerificationConfiguration config;
+    private RequestDeadlineFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        config = new VerificationConfiguration();
+        config.setDeadlineEnabled(true);
+        filter = new RequestDeadlineFilter(config, null);
+    }
+
+    @Test
+    void header_bindsDeadlineForTheChain_andClearsAfterwards() throws Exception {
+        MockHttpServletRequest request = post("/api/v1/verify/signature");
+        request.addHeader("X-Request-Deadline-Ms", "8000");
+
+        RequestDeadline seen = run(request, new MockHttpServletResponse());
+
+        assertNotNull(seen);
+        assertEquals(8000L, seen.getBudgetMillis());
+        assertTrue(seen.remainingMillis() > 0L && seen.remainingMillis() <= 8000L);
+        assertNull(RequestDeadline.current());
+    }
+
+    @Test
+    void queryParameter_isUsedWhenHeaderMissing() throws Exception {
+        MockHttpServletRequest request = post("/api/v1/verify/signature");
+        request.setQueryString("level=SIMPLE&deadlineMs=2500");
+
+        RequestDeadline seen = run(request, new MockHttpServletResponse());
+
+        assertEquals(2500L, seen.getBudgetMillis());
+    }
+
+    @Test
+    void noDeadline_andNoDefault_leavesThreadUnbound() throws Exception {
+        RequestDeadline seen = run(post("/api/v1/verify/signature"), new MockHttpServletResponse());
+
+        assertNull(seen);
+    }
+
+    @Test
+    void defaultBudget_appliesWhenClientSendsNone() throws Exception {
+        config.setDeadlineDefaultMs(3000L);
+
+        RequestDeadline seen = run(post("/api/v1/verify/timestamp"), new MockHttpServletResponse());
+
+        assertEquals(3000L, seen.getBudgetMillis());
+    }
+
+    @Test
+    void invalidValue_isRejectedWith400() throws Exception {
+        MockHttpServletRequest request = post("/api/v1/verify/signature");
+        request.addHeader("X-Request-Deadline-Ms", "soon");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(400, response.getStatus());
+        assertNull(chain.getRequest(), "Geçersiz deadline zincire girmemeli");
+        JsonNode body = new ObjectMapper().readTree(response.getContentAsByteArray());
+        assertEquals("INVALID_DEADLINE", body.get("error").asText());
+    }
+
+    @Test
+    void otherPaths_areNotFiltered() throws Exception {
+        MockHttpServletRequest request = post("/actuator/health");
+        request.addHeader("X-Request-Deadline-Ms", "soon");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        RequestDeadline seen = run(request, response);
+
+        assertNull(seen);
+        assertEquals(200, response.getStatus());
+    }
+
+    private RequestDeadline run(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        AtomicReference<RequestDeadline> seen = new AtomicReference<>();
+        FilterChain chain = (req, res) -> seen.set(RequestDeadline.current());
+        filter.doFilter(request, response, chain);
+        return seen.get();
+    }
+
+    private static MockHttpServletRequest post(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setContentType("application/pdf");
+        request.setContent(new byte[] {1, 2, 3});
+        return request;
+    }
+}
@@ -0,0 +1,212 @@
+package io.mersel.dss.verify.api.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.mersel.dss.verify.api.exceptions.DecompressionLimitExceededException;
+import io.mersel.dss.verify.api.services.admission.ExecutionLane;
+import io.mersel.dss.verify.api.services.admission.SignedDocumentFormat;
+import io.mersel.dss.verify.api.services.admission.VerificationAdmissionControl;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link RequestDecompressionFilter}: gzip/deflate ham gövde akış halinde
+ * açılır, bomba sınırları okuma anında keser, desteklenmeyen durumlar
+ * zincire girmeden reddedilir.
+ */
+class RequestDecompressionFilterTest {
+
+    private VerificationConfiguration config;
+    private RequestDecompressionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        config = new VerificationConfiguration();
+        config.setCompressionEnabled(true);
+        config.setCompressionMaxDecompressedBytes(64L * 1024 * 1024);
+        config.setCompressionMaxRatio(100);
+        filter = new RequestDecompressionFilter(config, null);
+    }
+
+    @Test
+    void gzipBody_isDecompressed_andEncodingHeadersAreHidden() throws Exception {
+        byte[] xml = "<?xml version=\"1.0\"?><Invoice>imzali</Invoice>".getBytes(StandardCharsets.UTF_8);
+        MockHttpServletRequest request = post("/api/v1/verify/signature", "application/xml", "gzip", gzip(xml));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        HttpServletRequest seen = (HttpServletRequest) chain.getRequest();
+        assertArrayEquals(xml, readAll(seen.getInputStream()));
+        assertNull(seen.getHeader("Content-Encoding"));
+        assertNull(seen.getHeader("Content-Length"));
+        assertEquals(-1L, seen.getContentLengthLong());
+        assertEquals("application/xml", seen.getContentType());
+    }
+
+    @Test
+    void smallGzipBody_isRoutedToSmallLane_byDeclaredCompressedLength() throws Exception {
+        config.setAdmissionEnabled(true);
+        config.setAdmissionMinLimit(1);
+        config.setAdmissionSignatureInitialLimit(8);
+        config.setAdmissionSignatureMaxLimit(8);
+        config.setAdmissionSignatureTargetLatencyMs(1000);
+        config.setAdmissionSignatureLargeInitialLimit(2);
+        config.setAdmissionSignatureLargeMaxLimit(2);
+        config.setAdmissionSignatureLargeTargetLatencyMs(1000);
+        config.setAdmissionTimestampInitialLimit(8);
+        config.setAdmissionTimestampMaxLimit(8);
+        config.setAdmissionTimestampTargetLatencyMs(1000);
+        config.setAdmissionLanesEnabled(true);
+        config.setAdmissionLanesLargeThresholdBytes(4_000);
+        config.setAdmissionLanesXmlLargeThresholdBytes(1_000);
+        VerificationAdmissionControl admission = new VerificationAdmissionControl(config, null);
+        byte[] compressed = gzip("<?xml version=\"1.0\"?><Invoice>imzali</Invoice>".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletRequest request = post("/api/v1/verify/signature", "application/xml", "gzip", compressed);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        HttpServletRequest seen = (HttpServletRequest) chain.getRequest();
+        assertEquals((long) compressed.length,
+                seen.getAttribute(VerificationAdmissionControl.DECLARED_LENGTH_ATTRIBUTE));
+        assertEquals(ExecutionLane.SMALL, admission.route(seen, SignedDocumentFormat.XML).getLane());
+    }
+
+    @Test
+    void deflateBody_isDecompressed() throws Exception {
+        byte[] pdf = "%PDF-1.7 imzali".getBytes(StandardCharsets.US_ASCII);
+        MockHttpServletRequest request = post("/api/v1/verify/signature", "application/pdf", "deflate", deflate(pdf));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertArrayEquals(pdf, readAll(((HttpServletRequest) chain.getRequest()).getInputStream()));
+    }
+
+    @Test
+    void highlyCompressibleBody_isCutByRatioGuard() throws Exception {
+        MockHttpServletRequest request = post("/api/v1/verify/signature", "application/octet-stream", "gzip",
+                gzip(new byte[8 * 1024 * 1024]));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        InputStream body = ((HttpServletRequest) chain.getRequest()).getInputStream();
+        DecompressionLimitExceededException e =
+                assertThrows(DecompressionLimitExceededException.class, () -> readAll(body));
+        assertTrue(e.getMessage().contains("100x"));
+    }
+
+    @Test
+    void bodyLargerThanLimit_isCutByAbsoluteGuard() throws Exception {
+        config.setCompressionMaxRatio(0);
+        config.setCompressionMaxDecompressedBytes(1024 * 1024);
+        MockHttpServletRequest request = post("/api/v1/verify/signature", "application/octet-stream", "gzip",
+                gzip(new byte[2 * 1024 * 1024]));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        InputStream body = ((HttpServletRequest) chain.getRequest()).getInputStream();
+        assertThrows(DecompressionLimitExceededException.class, () -> readAll(body));
+    }
+
+    @Test
+    void unsupportedEncodingAndCompressedMultipart_areRejectedWith415() throws Exception {
+        MockHttpServletResponse zstd = new MockHttpServletResponse();
+        MockFilterChain zstdChain = new MockFilterChain();
+        filter.doFilter(post("/api/v1/verify/signature", "application/xml", "zstd", new byte[]{1, 2, 3}),
+                zstd, zstdChain);
+        assertEquals(415, zstd.getStatus());
+        assertNull(zstdChain.getRequest());
+        assertEquals("UNSUPPORTED_CONTENT_ENCODING", errorCode(zstd));
+
+        MockHttpServletResponse multipart = new MockHttpServletResponse();
+        MockFilterChain multipartChain = new MockFilterChain();
+        filter.doFilter(post("/api/v1/verify/xades", "multipart/form-data; boundary=x", "gzip", gzip(new byte[16])),
+                multipart, multipartChain);
+        assertEquals(415, multipart.getStatus());
+        assertNull(multipartChain.getRequest());
+    }
+
+    @Test
+    void corruptGzipHeader_isRejectedWith400() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(post("/api/v1/verify/signature", "application/xml", "gzip",
+                "<not-gzip/>".getBytes(StandardCharsets.UTF_8)), response, chain);
+
+        assertEquals(400, response.getStatus());
+        assertNull(chain.getRequest());
+        assertEquals("INVALID_COMPRESSED_BODY", errorCode(response));
+    }
+
+    @Test
+    void requestsOutsideVerifyPaths_orWithoutEncoding_passThroughUntouched() throws Exception {
+        MockHttpServletRequest other = post("/actuator/health", "application/json", "gzip", new byte[]{1});
+        MockFilterChain otherChain = new MockFilterChain();
+        filter.doFilter(other, new MockHttpServletResponse(), otherChain);
+        assertSame(other, otherChain.getRequest());
+
+        MockHttpServletRequest plain = post("/api/v1/verify/signature", "application/xml", null, new byte[]{'<'});
+        MockFilterChain plainChain = new MockFilterChain();
+        filter.doFilter(plain, new MockHttpServletResponse(), plainChain);
+        assertSame(plain, plainChain.getRequest());
+    }
+
+    private static MockHttpServletRequest post(String uri, String contentType, String encoding, byte[] body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setContentType(contentType);
+        if (encoding != null) {
+            request.addHeader("Content-Encoding", encoding);
+        }
+        request.setContent(body);
+        return request;
+    }
+
+    private static String errorCode(MockHttpServletResponse response) throws IOException {
+        JsonNode body = new ObjectMapper().readTree(response.getContentAsByteArray());
+        return body.get("error").asText();
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] deflate(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DeflaterOutputStream df = new DeflaterOutputStream(out)) {
+            df.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        return IOUtils.toByteArray(in);
+    }
+}
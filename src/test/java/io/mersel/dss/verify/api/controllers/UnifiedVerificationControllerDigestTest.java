@@ -0,0 +1,133 @@
+package io.mersel.dss.verify.api.controllers;
+
+import io.mersel.dss.verify.api.GlobalExceptionHandler;
+import io.mersel.dss.verify.api.dtos.TimestampVerificationResponseDto;
+import io.mersel.dss.verify.api.models.VerificationResult;
+import io.mersel.dss.verify.api.models.enums.VerificationLevel;
+import io.mersel.dss.verify.api.services.timestamp.AdvancedTimestampVerificationService;
+import io.mersel.dss.verify.api.services.verification.AdvancedSignatureVerificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.multipart.MultipartFile;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Detached içeriğin dosya yerine digest ile gönderilmesi —
+ * {@code originalDigestAlgorithm} / {@code originalDigestValue}
+ * parametrelerinin imza ve zaman damgası endpoint'lerine yönlendirilmesi.
+ */
+class UnifiedVerificationControllerDigestTest {
+
+    private static final String SHA256_B64 = "47DEQpj8HBSa+/TImW+5JCeuQeRkm5NMpJWZG3hSuFU=";
+
+    private MockMvc mockMvc;
+    private AdvancedSignatureVerificationService verificationService;
+    private AdvancedTimestampVerificationService timestampService;
+
+    @BeforeEach
+    void setUp() {
+        verificationService = mock(AdvancedSignatureVerificationService.class);
+        timestampService = mock(AdvancedTimestampVerificationService.class);
+        UnifiedVerificationController controller = new UnifiedVerificationController();
+        ReflectionTestUtils.setField(controller, "advancedSignatureVerificationService", verificationService);
+        ReflectionTestUtils.setField(controller, "advancedTimestampVerificationService", timestampService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void signature_withDigest_routesToDigestOverload() throws Exception {
+        VerificationResult stubbed = new VerificationResult();
+        stubbed.setValid(true);
+        when(verificationService.verifySignature(any(MultipartFile.class), eq("SHA-256"), eq(SHA256_B64),
+                eq("fatura.xml"), eq(VerificationLevel.SIMPLE), isNull(), anyBoolean())).thenReturn(stubbed);
+
+        mockMvc.perform(multipart("/api/v1/verify/signature")
+                        .file(signed())
+                        .param("originalDigestAlgorithm", "SHA-256")
+                        .param("originalDigestValue", SHA256_B64)
+                        .param("originalFileName", "fatura.xml")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valid").value(true));
+
+        verify(verificationService, never()).verifySignature(
+                any(MultipartFile.class), any(MultipartFile.class), any(VerificationLevel.class), any(), anyBoolean());
+    }
+
+    @Test
+    void signature_withPolicyHeader_passesProfileToService() throws Exception {
+        when(verificationService.verifySignature(any(MultipartFile.class), isNull(), any(VerificationLevel.class),
+                eq("signer-strict"), anyBoolean())).thenReturn(new VerificationResult());
+
+        mockMvc.perform(multipart("/api/v1/verify/signature")
+                        .file(signed())
+                        .header("X-Policy-Profile", "signer-strict")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        verify(verificationService).verifySignature(any(MultipartFile.class), isNull(), any(VerificationLevel.class),
+                eq("signer-strict"), anyBoolean());
+    }
+
+    @Test
+    void signature_withDigestAndOriginalDocument_isRejected() throws Exception {
+        mockMvc.perform(multipart("/api/v1/verify/signature")
+                        .file(signed())
+                        .file(new MockMultipartFile("originalDocument", "fatura.xml", "text/xml", new byte[4]))
+                        .param("originalDigestAlgorithm", "SHA-256")
+                        .param("originalDigestValue", SHA256_B64)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(verificationService);
+    }
+
+    @Test
+    void timestamp_withDigest_routesToDigestOverload() throws Exception {
+        TimestampVerificationResponseDto stubbed = new TimestampVerificationResponseDto();
+        stubbed.setValid(true);
+        when(timestampService.verifyTimestamp(any(MultipartFile.class), isNull(), eq(SHA256_B64), eq(true)))
+                .thenReturn(stubbed);
+
+        mockMvc.perform(multipart("/api/v1/verify/timestamp")
+                        .file(new MockMultipartFile("timestampFile", "ts.tsr", "application/timestamp-reply", new byte[8]))
+                        .param("originalDigestValue", SHA256_B64)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valid").value(true));
+    }
+
+    @Test
+    void timestamp_algorithmWithoutValue_isRejected() throws Exception {
+        mockMvc.perform(multipart("/api/v1/verify/timestamp")
+                        .file(new MockMultipartFile("timestampFile", "ts.tsr", "application/timestamp-reply", new byte[8]))
+                        .param("originalDigestAlgorithm", "SHA-256")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(timestampService);
+    }
+
+    private static MockMultipartFile signed() {
+        return new MockMultipartFile("signedDocument", "imza.p7s", "application/pkcs7-signature", new byte[16]);
+    }
+}
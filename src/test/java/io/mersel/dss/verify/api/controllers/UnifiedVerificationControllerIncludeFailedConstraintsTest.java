@@ -24,6 +24,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -83,7 +84,7 @@ class UnifiedVerificationControllerIncludeFailedConstraintsTest {
         // alanını set ETMEZ (null kalır).
         VerificationResult stubbed = stubInvalidWithRootCauseOnly();
         when(verificationService.verifySignature(
-                any(MultipartFile.class), any(), any(VerificationLevel.class), eq(false)))
+                any(MultipartFile.class), any(), any(VerificationLevel.class), isNull(), eq(false)))
                 .thenReturn(stubbed);
 
         MockMultipartFile signedDocument = new MockMultipartFile(
@@ -97,7 +98,7 @@ class UnifiedVerificationControllerIncludeFailedConstraintsTest {
 
         // Service'in 4-arg overload'u false ile çağrılmalı (default değer).
         verify(verificationService).verifySignature(
-                any(MultipartFile.class), any(), any(VerificationLevel.class), eq(false));
+                any(MultipartFile.class), any(), any(VerificationLevel.class), isNull(), eq(false));
 
         // failedConstraints alanı service tarafında null bırakıldı → JSON'a yazılmamalı.
         assertFalse(body.contains("failedConstraints"),
@@ -112,7 +113,7 @@ class UnifiedVerificationControllerIncludeFailedConstraintsTest {
     void explicitFalse_passesFalse_andResponseHasNoFailedConstraints() throws Exception {
         VerificationResult stubbed = stubInvalidWithRootCauseOnly();
         when(verificationService.verifySignature(
-                any(MultipartFile.class), any(), any(VerificationLevel.class), eq(false)))
+                any(MultipartFile.class), any(), any(VerificationLevel.class), isNull(), eq(false)))
                 .thenReturn(stubbed);
 
         MockMultipartFile signedDocument = new MockMultipartFile(
@@ -126,7 +127,7 @@ class UnifiedVerificationControllerIncludeFailedConstraintsTest {
                 .andReturn().getResponse().getContentAsString();
 
         verify(verificationService).verifySignature(
-                any(MultipartFile.class), any(), any(VerificationLevel.class), eq(false));
+                any(MultipartFile.class), any(), any(VerificationLevel.class), isNull(), eq(false));
         assertFalse(body.contains("failedConstraints"),
                 "includeFailedConstraints=false explicit verildiğinde de alan görünmemeli. "
                         + "Body: " + body);
@@ -137,7 +138,7 @@ class UnifiedVerificationControllerIncludeFailedConstraintsTest {
         // Service stub: hem rootCause hem failedConstraints (3 satır, 3 kategori) dolu.
         VerificationResult stubbed = stubInvalidWithFullFailedConstraints();
         when(verificationService.verifySignature(
-                any(MultipartFile.class), any(), any(VerificationLevel.class), eq(true)))
+                any(MultipartFile.class), any(), any(VerificationLevel.class), isNull(), eq(true)))
                 .thenReturn(stubbed);
 
         MockMultipartFile signedDocument = new MockMultipartFile(
@@ -152,7 +153,7 @@ class UnifiedVerificationControllerIncludeFailedConstraintsTest {
 
         // Service'in 4-arg overload'u true ile çağrılmalı.
         verify(verificationService).verifySignature(
-                any(MultipartFile.class), any(), any(VerificationLevel.class), eq(true));
+                any(MultipartFile.class), any(), any(VerificationLevel.class), isNull(), eq(true));
 
         // failedConstraints listesi response'ta görünmeli.
         assertTrue(body.contains("\"failedConstraints\""),
@@ -180,7 +181,7 @@ class UnifiedVerificationControllerIncludeFailedConstraintsTest {
     void includeFailedConstraints_alsoSupportedOn_xadesEndpoint() throws Exception {
         VerificationResult stubbed = stubInvalidWithFullFailedConstraints();
         when(verificationService.verifySignature(
-                any(MultipartFile.class), any(), any(VerificationLevel.class), eq(true)))
+                any(MultipartFile.class), any(), any(VerificationLevel.class), isNull(), eq(true)))
                 .thenReturn(stubbed);
 
         MockMultipartFile signedDocument = new MockMultipartFile(
@@ -196,7 +197,7 @@ class UnifiedVerificationControllerIncludeFailedConstraintsTest {
         // Legacy /xades endpoint'i de aynı parametreyi destekler — geriye uyumluluk
         // için tutulan endpoint, yeni alanı sessizce yutmuyor.
         verify(verificationService).verifySignature(
-                any(MultipartFile.class), any(), any(VerificationLevel.class), eq(true));
+                any(MultipartFile.class), any(), any(VerificationLevel.class), isNull(), eq(true));
         assertTrue(body.contains("\"failedConstraints\""),
                 "Legacy /xades endpoint'inde de failedConstraints alanı response'ta "
                         + "görünmeli. Body: " + body);
@@ -209,7 +210,7 @@ class UnifiedVerificationControllerIncludeFailedConstraintsTest {
         // versin; response'ta o alanın hiç görünmediğini doğrula.
         VerificationResult stubbed = stubInvalidWithRootCauseOnly();
         when(verificationService.verifySignature(
-                any(MultipartFile.class), any(), any(VerificationLevel.class), eq(false)))
+                any(MultipartFile.class), any(), any(VerificationLevel.class), isNull(), eq(false)))
                 .thenReturn(stubbed);
 
         MockMultipartFile signedDocument = new MockMultipartFile(
@@ -0,0 +1,102 @@
+package io.mersel.dss.verify.api.controllers;
+
+import io.mersel.dss.verify.api.models.VerificationResult;
+import io.mersel.dss.verify.api.models.enums.VerificationLevel;
+import io.mersel.dss.verify.api.services.timestamp.AdvancedTimestampVerificationService;
+import io.mersel.dss.verify.api.services.verification.AdvancedSignatureVerificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.InputStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * {@code POST /api/v1/verify/signature} ham gövde (multipart'sız) varyantı.
+ *
+ * <p>Kontrat: Content-Type'a göre ham gövde endpoint'i seçilir; level /
+ * policy / includeFailedConstraints / fileName query veya header ile
+ * gelir, ikisi birden varsa query kazanır.</p>
+ */
+class UnifiedVerificationControllerRawBodyTest {
+
+    private MockMvc mockMvc;
+    private AdvancedSignatureVerificationService verificationService;
+
+    @BeforeEach
+    void setUp() {
+        verificationService = mock(AdvancedSignatureVerificationService.class);
+        UnifiedVerificationController controller = new UnifiedVerificationController();
+        ReflectionTestUtils.setField(
+                controller, "advancedSignatureVerificationService", verificationService);
+        ReflectionTestUtils.setField(
+                controller, "advancedTimestampVerificationService",
+                mock(AdvancedTimestampVerificationService.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+        VerificationResult stubbed = new VerificationResult();
+        stubbed.setValid(true);
+        stubbed.setStatus("VALID");
+        when(verificationService.verifySignature(any(InputStream.class), anyLong(), any(), any(),
+                any(VerificationLevel.class), any(), any(Boolean.class))).thenReturn(stubbed);
+    }
+
+    @Test
+    void pdfBody_withQueryParams_routesToRawOverload() throws Exception {
+        mockMvc.perform(post("/api/v1/verify/signature")
+                        .contentType(MediaType.APPLICATION_PDF)
+                        .param("level", "comprehensive")
+                        .param("policy", "strict")
+                        .param("includeFailedConstraints", "true")
+                        .param("fileName", "imza.pdf")
+                        .content("%PDF-1.7".getBytes())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valid").value(true));
+
+        verify(verificationService).verifySignature(any(InputStream.class), eq(8L), eq("imza.pdf"),
+                eq(MediaType.APPLICATION_PDF_VALUE), eq(VerificationLevel.COMPREHENSIVE),
+                eq("strict"), eq(true));
+    }
+
+    @Test
+    void xmlBody_withHeaders_usesHeaderValues() throws Exception {
+        mockMvc.perform(post("/api/v1/verify/signature")
+                        .contentType(MediaType.APPLICATION_XML)
+                        .header("X-Verification-Level", "COMPREHENSIVE")
+                        .header("X-Policy-Profile", "signer-strict")
+                        .header("X-Include-Failed-Constraints", "true")
+                        .header("X-File-Name", "fatura.xml")
+                        .content("<xml/>"))
+                .andExpect(status().isOk());
+
+        verify(verificationService).verifySignature(any(InputStream.class), anyLong(), eq("fatura.xml"),
+                any(), eq(VerificationLevel.COMPREHENSIVE), eq("signer-strict"), eq(true));
+    }
+
+    @Test
+    void queryParam_winsOverHeader() throws Exception {
+        mockMvc.perform(post("/api/v1/verify/signature")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .param("level", "SIMPLE")
+                        .header("X-Verification-Level", "COMPREHENSIVE")
+                        .content(new byte[]{0x30, 0x01}))
+                .andExpect(status().isOk());
+
+        verify(verificationService).verifySignature(any(InputStream.class), anyLong(), isNull(),
+                any(), eq(VerificationLevel.SIMPLE), isNull(), eq(false));
+    }
+}
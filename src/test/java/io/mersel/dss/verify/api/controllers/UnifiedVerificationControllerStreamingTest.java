@@ -0,0 +1,133 @@
+package io.mersel.dss.verify.api.controllers;
+
+import io.mersel.dss.verify.api.GlobalExceptionHandler;
+import io.mersel.dss.verify.api.exceptions.VerificationException;
+import io.mersel.dss.verify.api.models.SignatureInfo;
+import io.mersel.dss.verify.api.models.VerificationResult;
+import io.mersel.dss.verify.api.models.enums.VerificationLevel;
+import io.mersel.dss.verify.api.services.timestamp.AdvancedTimestampVerificationService;
+import io.mersel.dss.verify.api.services.verification.AdvancedSignatureVerificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * {@code stream=true} ile akışlı JSON yanıt: imzalar servis onları
+ * işledikçe yazılır; gövde başlamadan atılan hata normal JSON hata yanıtıdır.
+ */
+class UnifiedVerificationControllerStreamingTest {
+
+    private MockMvc mockMvc;
+    private AdvancedSignatureVerificationService verificationService;
+
+    @BeforeEach
+    void setUp() {
+        verificationService = mock(AdvancedSignatureVerificationService.class);
+        UnifiedVerificationController controller = new UnifiedVerificationController();
+        ReflectionTestUtils.setField(
+                controller, "advancedSignatureVerificationService", verificationService);
+        ReflectionTestUtils.setField(
+                controller, "advancedTimestampVerificationService",
+                mock(AdvancedTimestampVerificationService.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void multipartStream_writesEachSignatureThenSummary() throws Exception {
+        when(verificationService.verifySignatureStreaming(any(MultipartFile.class), (MultipartFile) isNull(),
+                eq(VerificationLevel.COMPREHENSIVE), isNull(), eq(true), any(Consumer.class)))
+                .thenAnswer(streamTwoSignatures(5));
+
+        mockMvc.perform(multipart("/api/v1/verify/signature")
+                        .file(new MockMultipartFile("signedDocument", "imza.xml", "text/xml", "<x/>".getBytes()))
+                        .param("level", "COMPREHENSIVE")
+                        .param("includeFailedConstraints", "true")
+                        .param("stream", "true"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.signatures.length()").value(2))
+                .andExpect(jsonPath("$.signatures[1].signatureId").value("S-2"))
+                .andExpect(jsonPath("$.valid").value(false))
+                .andExpect(jsonPath("$.signatureCount").value(2));
+
+        verify(verificationService, never()).verifySignature(
+                any(MultipartFile.class), any(MultipartFile.class), any(VerificationLevel.class), any(), anyBoolean());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rawBodyStream_viaHeader() throws Exception {
+        when(verificationService.verifySignatureStreaming(any(InputStream.class), anyLong(), any(), any(),
+                any(VerificationLevel.class), any(), any(Boolean.class), any(Consumer.class)))
+                .thenAnswer(streamTwoSignatures(7));
+
+        mockMvc.perform(post("/api/v1/verify/signature")
+                        .contentType(MediaType.APPLICATION_PDF)
+                        .header("X-Stream-Response", "true")
+                        .content("%PDF-1.7".getBytes()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.signatures.length()").value(2))
+                .andExpect(jsonPath("$.status").value("INVALID"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failureBeforeFirstSignature_isNormalErrorResponse() throws Exception {
+        when(verificationService.verifySignatureStreaming(any(MultipartFile.class), (MultipartFile) isNull(),
+                any(VerificationLevel.class), any(), anyBoolean(), any(Consumer.class)))
+                .thenThrow(new VerificationException("İmza doğrulama hatası: bozuk XML"));
+
+        mockMvc.perform(multipart("/api/v1/verify/signature")
+                        .file(new MockMultipartFile("signedDocument", "imza.xml", "text/xml", "<x".getBytes()))
+                        .param("stream", "true")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("VERIFICATION_ERROR"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Answer<VerificationResult> streamTwoSignatures(int sinkArgumentIndex) {
+        return invocation -> {
+            Consumer<SignatureInfo> sink = invocation.getArgument(sinkArgumentIndex);
+            sink.accept(signature("S-1", true));
+            sink.accept(signature("S-2", false));
+            VerificationResult summary = new VerificationResult(false, "INVALID");
+            summary.setSignatureCount(2);
+            return summary;
+        };
+    }
+
+    private static SignatureInfo signature(String id, boolean valid) {
+        SignatureInfo info = new SignatureInfo();
+        info.setSignatureId(id);
+        info.setValid(valid);
+        return info;
+    }
+}
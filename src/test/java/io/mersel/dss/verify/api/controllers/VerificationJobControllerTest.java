@@ -0,0 +1,134 @@
+package io.mersel.dss.verify.api.controllers;
+
+import io.mersel.dss.verify.api.GlobalExceptionHandler;
+import io.mersel.dss.verify.api.config.VerificationConfiguration;
+import io.mersel.dss.verify.api.exceptions.VerificationCapacityExceededException;
+import io.mersel.dss.verify.api.exceptions.VerificationJobNotFoundException;
+import io.mersel.dss.verify.api.models.VerificationJobStatus;
+import io.mersel.dss.verify.api.models.enums.VerificationJobState;
+import io.mersel.dss.verify.api.models.enums.VerificationLevel;
+import io.mersel.dss.verify.api.services.verification.VerificationJobService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * {@code /api/v1/verify/jobs} HTTP kontratı: 202 + Location, long-poll
+ * (DeferredResult), 404 ve 429 + Retry-After.
+ */
+class VerificationJobControllerTest {
+
+    private MockMvc mockMvc;
+    private VerificationJobService jobService;
+
+    @BeforeEach
+    void setUp() {
+        jobService = mock(VerificationJobService.class);
+        VerificationConfiguration config = new VerificationConfiguration();
+        config.setJobsMaxWaitSeconds(5);
+
+        VerificationJobController controller = new VerificationJobController();
+        ReflectionTestUtils.setField(controller, "verificationJobService", jobService);
+        ReflectionTestUtils.setField(controller, "verificationConfiguration", config);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void submit_returnsAcceptedWithLocation() throws Exception {
+        when(jobService.submit(any(), any(), eq(VerificationLevel.COMPREHENSIVE), isNull(), eq(false), eq(false)))
+                .thenReturn(jobStatus("job-1", VerificationJobState.QUEUED));
+
+        mockMvc.perform(multipart("/api/v1/verify/jobs/signature")
+                        .file(new MockMultipartFile("signedDocument", "imza.pdf", "application/pdf", new byte[8]))
+                        .param("level", "comprehensive")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/api/v1/verify/jobs/job-1"))
+                .andExpect(jsonPath("$.jobId").value("job-1"))
+                .andExpect(jsonPath("$.state").value("QUEUED"));
+    }
+
+    @Test
+    void submit_passesPolicyParameterToService() throws Exception {
+        when(jobService.submit(any(), any(), any(), eq("strict"), eq(false), eq(false)))
+                .thenReturn(jobStatus("job-3", VerificationJobState.QUEUED));
+
+        mockMvc.perform(multipart("/api/v1/verify/jobs/signature")
+                        .file(new MockMultipartFile("signedDocument", "imza.pdf", "application/pdf", new byte[8]))
+                        .param("policy", "strict")
+                        .header("X-Policy-Profile", "signer-strict")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.jobId").value("job-3"));
+    }
+
+    @Test
+    void submit_whenQueueFull_returns429WithRetryAfter() throws Exception {
+        when(jobService.submit(any(), any(), any(), any(), eq(false), eq(false)))
+                .thenThrow(new VerificationCapacityExceededException("Kuyruk dolu", 5));
+
+        mockMvc.perform(multipart("/api/v1/verify/jobs/signature")
+                        .file(new MockMultipartFile("signedDocument", "imza.pdf", "application/pdf", new byte[8]))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "5"));
+    }
+
+    @Test
+    void longPoll_returnsTerminalStatusWhenJobCompletes() throws Exception {
+        CompletableFuture<VerificationJobStatus> completion = new CompletableFuture<>();
+        when(jobService.getStatus("job-2")).thenReturn(jobStatus("job-2", VerificationJobState.RUNNING));
+        when(jobService.awaitCompletion("job-2")).thenReturn(completion);
+
+        MvcResult pending = mockMvc.perform(get("/api/v1/verify/jobs/job-2")
+                        .param("waitSeconds", "60")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        completion.complete(jobStatus("job-2", VerificationJobState.COMPLETED));
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("COMPLETED"));
+    }
+
+    @Test
+    void unknownJob_returns404() throws Exception {
+        when(jobService.getStatus("missing"))
+                .thenThrow(new VerificationJobNotFoundException("Doğrulama işi bulunamadı: missing"));
+
+        mockMvc.perform(get("/api/v1/verify/jobs/missing").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("JOB_NOT_FOUND"));
+    }
+
+    private static VerificationJobStatus jobStatus(String jobId, VerificationJobState state) {
+        VerificationJobStatus status = new VerificationJobStatus();
+        status.setJobId(jobId);
+        status.setState(state);
+        return status;
+    }
+}
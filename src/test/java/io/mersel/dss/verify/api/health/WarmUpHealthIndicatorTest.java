@@ -0,0 +1,44 @@
+package io.mersel.dss.verify.api.health;
+
+import io.mersel.dss.verify.api.services.verification.VerificationWarmUp;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link WarmUpHealthIndicator}: ısınma sürerken OUT_OF_SERVICE, her
+ * bitiş durumunda (hata dahil) UP.
+ */
+class WarmUpHealthIndicatorTest {
+
+    private final VerificationWarmUp warmUp = mock(VerificationWarmUp.class);
+    private final WarmUpHealthIndicator indicator = new WarmUpHealthIndicator(warmUp);
+
+    @Test
+    void inProgress_isOutOfService() {
+        when(warmUp.isInProgress()).thenReturn(true);
+        when(warmUp.getState()).thenReturn(VerificationWarmUp.State.RUNNING);
+        when(warmUp.getDurationMillis()).thenReturn(-1L);
+
+        Health health = indicator.health();
+
+        assertEquals(Status.OUT_OF_SERVICE, health.getStatus());
+        assertEquals("RUNNING", health.getDetails().get("state"));
+    }
+
+    @Test
+    void failedWarmUp_stillReportsUp() {
+        when(warmUp.isInProgress()).thenReturn(false);
+        when(warmUp.getState()).thenReturn(VerificationWarmUp.State.FAILED);
+        when(warmUp.getDurationMillis()).thenReturn(42L);
+
+        Health health = indicator.health();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(42L, health.getDetails().get("durationMillis"));
+    }
+}
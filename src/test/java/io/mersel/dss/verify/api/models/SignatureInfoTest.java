@@ -6,8 +6,22 @@ import io.mersel.dss.verify.api.models.enums.SignaturePackaging;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -15,7 +29,9 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
  * {@link SignatureInfo}'nun paketleme alanını doğrular.
  *
  * <p>{@code signaturePackaging} alanı set edilmişse W3C XMLDSig sabit adıyla
- * JSON'a yazılır; null ise hiç çıkmaz ({@code @JsonInclude(NON_NULL)}).</p>
+ * JSON'a yazılır; null ise hiç çıkmaz ({@code @JsonInclude(NON_NULL)}).
+ * Kopya constructor'ın (sonuç cache'i) her alanı derin kopyaladığını da
+ * doğrular.</p>
  */
 class SignatureInfoTest {
 
@@ -143,4 +159,75 @@ class SignatureInfoTest {
         assertFalse(json.contains("digestAlgorithm"),
                 "digestAlgorithm null'sa JSON'a basılmamalı: " + json);
     }
+
+    @Test
+    @DisplayName("Kopya constructor tüm alanları (iç içe modeller dahil) derin kopyalar")
+    void copyConstructor_copiesEveryFieldDeeply() throws Exception {
+        SignatureInfo original = filled(SignatureInfo.class);
+
+        SignatureInfo copy = new SignatureInfo(original);
+
+        assertEquals(mapper.writeValueAsString(original), mapper.writeValueAsString(copy),
+                "Yeni bir alan kopya constructor'a eklenmemiş olabilir");
+        assertNotSame(original.getSignerCertificate(), copy.getSignerCertificate());
+        assertNotSame(original.getSignerCertificate().getRevocation(), copy.getSignerCertificate().getRevocation());
+        assertNotSame(original.getCertificateChain().get(0), copy.getCertificateChain().get(0));
+        assertNotSame(original.getTimestampInfo(), copy.getTimestampInfo());
+        assertNotSame(original.getTimestampInfo().getRootCause(), copy.getTimestampInfo().getRootCause());
+        assertNotSame(original.getRootCause(), copy.getRootCause());
+        assertNotSame(original.getFailedConstraints().get(0), copy.getFailedConstraints().get(0));
+        assertNotSame(original.getQualificationDetails(), copy.getQualificationDetails());
+        assertNotSame(original.getValidationDetails(), copy.getValidationDetails());
+        assertNotSame(original.getAppliedSuppressions().get(0), copy.getAppliedSuppressions().get(0));
+        assertNotSame(original.getAppliedRejections().get(0), copy.getAppliedRejections().get(0));
+        assertNotSame(original.getValidationErrors(), copy.getValidationErrors());
+    }
+
+    /** Modelin her alanını varsayılan olmayan bir değerle doldurur (iç içe modeller dahil). */
+    private static <T> T filled(Class<T> type) throws Exception {
+        T instance = type.getDeclaredConstructor().newInstance();
+        for (Class<?> c = type; c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                field.setAccessible(true);
+                field.set(instance, sample(field.getType(), field.getGenericType(), field.getName()));
+            }
+        }
+        return instance;
+    }
+
+    private static Object sample(Class<?> type, Type generic, String name) throws Exception {
+        if (type == String.class) {
+            return name;
+        } else if (type == boolean.class || type == Boolean.class) {
+            return Boolean.TRUE;
+        } else if (type == int.class || type == Integer.class) {
+            return 7;
+        } else if (type == long.class || type == Long.class) {
+            return 7L;
+        } else if (type == Date.class) {
+            return new Date(1_700_000_000_000L);
+        } else if (type.isEnum()) {
+            return type.getEnumConstants()[0];
+        } else if (List.class.isAssignableFrom(type)) {
+            Class<?> element = elementType(generic);
+            return new ArrayList<>(Collections.singletonList(sample(element, element, name)));
+        } else if (Set.class.isAssignableFrom(type)) {
+            return new LinkedHashSet<>(Collections.singletonList(name));
+        } else if (Map.class.isAssignableFrom(type)) {
+            Map<String, String> map = new LinkedHashMap<>();
+            map.put(name, name);
+            return map;
+        } else if (type.getPackage() == SignatureInfo.class.getPackage()) {
+            return filled(type);
+        }
+        throw new IllegalStateException("Desteklenmeyen alan tipi: " + type + " (" + name + ")");
+    }
+
+    private static Class<?> elementType(Type generic) {
+        return (Class<?>) ((ParameterizedType) generic).getActualTypeArguments()[0];
+    }
 }
+
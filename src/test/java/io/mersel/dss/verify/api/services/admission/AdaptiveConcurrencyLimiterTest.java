@@ -0,0 +1,143 @@
+package io.mersel.dss.verify.api.services.admission;
+
+import io.mersel.dss.verify.api.exceptions.VerificationCapacityExceededException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link AdaptiveConcurrencyLimiter} kabul/red ve AIMD davranışı. Gecikme
+ * ölçümü enjekte edilen saatle yapılır — test'ler gerçek süreye bağlı değil.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private AdaptiveConcurrencyLimiter limiter(int initial, int max, int queue, long maxWaitMs) {
+        return new AdaptiveConcurrencyLimiter("test", initial, 1, max, queue, maxWaitMs, 1000, clock::get);
+    }
+
+    @Test
+    void grantsImmediatelyBelowLimit_andReleasesOnClose() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 2, 0, 0);
+
+        AdaptiveConcurrencyLimiter.Permit first = limiter.acquire();
+        AdaptiveConcurrencyLimiter.Permit second = limiter.acquire();
+        assertEquals(2, limiter.getInFlight());
+
+        first.close();
+        first.close(); // idempotent
+        assertEquals(1, limiter.getInFlight());
+        second.close();
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void rejectsWithRetryAfter_whenQueueIsFull() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 0, 1000);
+        AdaptiveConcurrencyLimiter.Permit held = limiter.acquire();
+
+        VerificationCapacityExceededException e =
+                assertThrows(VerificationCapacityExceededException.class, limiter::acquire);
+        assertTrue(e.getRetryAfterSeconds() >= 1);
+        assertTrue(e.getRetryAfterSeconds() <= AdaptiveConcurrencyLimiter.MAX_RETRY_AFTER_SECONDS);
+        assertEquals(1, limiter.getRejectedCount());
+        held.close();
+    }
+
+    @Test
+    void queuedRequest_timesOutAfterMaxWait() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 1, 20);
+        AdaptiveConcurrencyLimiter.Permit held = limiter.acquire();
+
+        assertThrows(VerificationCapacityExceededException.class, limiter::acquire);
+        assertEquals(0, limiter.getQueued());
+        held.close();
+    }
+
+    @Test
+    void queuedRequest_isGrantedWhenPermitIsReleased() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 1, 5000);
+        AdaptiveConcurrencyLimiter.Permit held = limiter.acquire();
+
+        CountDownLatch granted = new CountDownLatch(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread waiter = new Thread(() -> {
+            try (AdaptiveConcurrencyLimiter.Permit ignored = limiter.acquire()) {
+                granted.countDown();
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        waiter.start();
+        while (limiter.getQueued() == 0 && waiter.isAlive()) {
+            Thread.sleep(1);
+        }
+        held.close();
+
+        assertTrue(granted.await(5, TimeUnit.SECONDS));
+        waiter.join(5000);
+        assertNull(failure.get());
+    }
+
+    @Test
+    void limitShrinks_whenLatencyExceedsTarget() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 10, 0, 0);
+
+        AdaptiveConcurrencyLimiter.Permit slow = limiter.acquire();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        slow.close();
+
+        assertEquals(9, limiter.getLimit());
+    }
+
+    @Test
+    void limitGrows_onlyWhenSaturatedAndFast() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 4, 0, 0);
+
+        // Doymamışken hızlı tamamlanma limiti büyütmez.
+        limiter.acquire().close();
+        assertEquals(2, limiter.getLimit());
+
+        // Doyma + hızlı tamamlanma: her tam pencere için +1.
+        for (int i = 0; i < 4; i++) {
+            AdaptiveConcurrencyLimiter.Permit a = limiter.acquire();
+            AdaptiveConcurrencyLimiter.Permit b = limiter.acquire();
+            AdaptiveConcurrencyLimiter.Permit c = limiter.getLimit() > 2 ? limiter.acquire() : null;
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+            if (c != null) {
+                c.close();
+            }
+            b.close();
+            a.close();
+        }
+        assertTrue(limiter.getLimit() > 2, "limit: " + limiter.getLimit());
+        assertTrue(limiter.getLimit() <= 4);
+        assertNotNull(limiter.getName());
+    }
+
+    @Test
+    void abandonedPermit_releasesCapacity_withoutLatencySample() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 4, 0, 0);
+
+        // Doyma + hızlı tamamlanma normalde limiti büyütürdü.
+        AdaptiveConcurrencyLimiter.Permit a = limiter.acquire();
+        AdaptiveConcurrencyLimiter.Permit b = limiter.acquire();
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+        b.abandon();
+        a.abandon();
+        a.close();
+
+        assertEquals(2, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+}
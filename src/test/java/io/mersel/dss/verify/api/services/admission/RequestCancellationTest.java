@@ -0,0 +1,84 @@
+package io.mersel.dss.verify.api.services.admission;
+
+import io.mersel.dss.verify.api.exceptions.RequestCancelledException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link RequestCancellation}: bağlantı kopunca aşama / fetch kontrolleri
+ * işi keser; probe seyrek çalışır, kopma bir kez görülünce kalıcıdır.
+ */
+class RequestCancellationTest {
+
+    @AfterEach
+    void clear() {
+        RequestCancellation.clear();
+    }
+
+    @Test
+    void unboundThread_checksAreNoOp() {
+        RequestCancellation.checkNotCancelled("dss_validate");
+        RequestCancellation.checkBeforeFetch("GET http://crl.example/ca.crl");
+    }
+
+    @Test
+    void disconnect_abandonsStage_andCountsSkippedFetches() {
+        AtomicBoolean disconnected = new AtomicBoolean();
+        RequestCancellation cancellation = RequestCancellation.of(disconnected::get, 0L);
+        RequestCancellation.bind(cancellation);
+
+        RequestCancellation.checkNotCancelled("build_validator");
+        disconnected.set(true);
+
+        RequestCancelledException e = assertThrows(RequestCancelledException.class,
+                () -> RequestCancellation.checkNotCancelled("dss_validate"));
+        assertEquals("dss_validate", e.getStage());
+        assertThrows(RequestCancelledException.class,
+                () -> RequestCancellation.checkBeforeFetch("POST http://ocsp.example/"));
+        assertThrows(RequestCancelledException.class,
+                () -> RequestCancellation.checkBeforeFetch("GET http://crl.example/ca.crl"));
+        assertEquals(2, cancellation.getSkippedFetches());
+        assertTrue(cancellation.wasCancelled());
+    }
+
+    @Test
+    void probe_isRateLimited_andCancellationIsSticky() {
+        AtomicInteger probes = new AtomicInteger();
+        AtomicBoolean disconnected = new AtomicBoolean();
+        RequestCancellation cancellation = RequestCancellation.of(() -> {
+            probes.incrementAndGet();
+            return disconnected.get();
+        }, 60_000L);
+
+        assertFalse(cancellation.isCancelled());
+        disconnected.set(true);
+        assertFalse(cancellation.isCancelled(), "Aralık dolmadan soket yeniden kontrol edilmez");
+        assertEquals(1, probes.get());
+
+        RequestCancellation eager = RequestCancellation.of(() -> {
+            probes.incrementAndGet();
+            return true;
+        }, 0L);
+        assertTrue(eager.isCancelled());
+        assertTrue(eager.isCancelled());
+        assertEquals(2, probes.get(), "Kopma görüldükten sonra probe çalışmaz");
+    }
+
+    @Test
+    void failingProbe_isTreatedAsConnected() {
+        RequestCancellation cancellation = RequestCancellation.of(() -> {
+            throw new IllegalStateException("processor recycled");
+        }, 0L);
+
+        assertFalse(cancellation.isCancelled());
+        assertFalse(cancellation.wasCancelled());
+    }
+}
@@ -0,0 +1,31 @@
+package io.mersel.dss.verify.api.services.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SignedDocumentFormatTest {
+
+    @Test
+    void sniff_recognisesPdfXmlAndDer() {
+        assertEquals(SignedDocumentFormat.PDF, SignedDocumentFormat.sniff(ascii("%PDF-1.7\n")));
+        assertEquals(SignedDocumentFormat.XML, SignedDocumentFormat.sniff(ascii("  <?xml version=\"1.0\"?>")));
+        assertEquals(SignedDocumentFormat.CMS, SignedDocumentFormat.sniff(new byte[] {0x30, (byte) 0x82, 0x05}));
+        assertEquals(SignedDocumentFormat.UNKNOWN, SignedDocumentFormat.sniff(ascii("hello")));
+        assertEquals(SignedDocumentFormat.UNKNOWN, SignedDocumentFormat.sniff(new byte[0]));
+    }
+
+    @Test
+    void fromHints_prefersContentType_thenFileExtension() {
+        assertEquals(SignedDocumentFormat.PDF, SignedDocumentFormat.fromHints("application/pdf", "x.xml"));
+        assertEquals(SignedDocumentFormat.XML, SignedDocumentFormat.fromHints("text/xml; charset=UTF-8", null));
+        assertEquals(SignedDocumentFormat.CMS, SignedDocumentFormat.fromHints("application/octet-stream", "imza.P7S"));
+        assertEquals(SignedDocumentFormat.UNKNOWN, SignedDocumentFormat.fromHints(null, null));
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,112 @@
+package io.mersel.dss.verify.api.services.admission;
+
+import io.mersel.dss.verify.api.config.VerificationConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link VerificationAdmissionControl} yönlendirmesi: endpoint → limiter,
+ * imza istekleri için boyut + format → şerit.
+ */
+class VerificationAdmissionControlTest {
+
+    private static final long LARGE = 4_000;
+    private static final long XML_LARGE = 1_000;
+
+    private VerificationAdmissionControl control(boolean lanes) {
+        VerificationConfiguration config = new VerificationConfiguration();
+        config.setAdmissionEnabled(true);
+        config.setAdmissionMinLimit(1);
+        config.setAdmissionSignatureInitialLimit(8);
+        config.setAdmissionSignatureMaxLimit(8);
+        config.setAdmissionSignatureTargetLatencyMs(1000);
+        config.setAdmissionSignatureLargeInitialLimit(2);
+        config.setAdmissionSignatureLargeMaxLimit(2);
+        config.setAdmissionSignatureLargeTargetLatencyMs(1000);
+        config.setAdmissionTimestampInitialLimit(8);
+        config.setAdmissionTimestampMaxLimit(8);
+        config.setAdmissionTimestampTargetLatencyMs(1000);
+        config.setAdmissionLanesEnabled(lanes);
+        config.setAdmissionLanesLargeThresholdBytes(LARGE);
+        config.setAdmissionLanesXmlLargeThresholdBytes(XML_LARGE);
+        return new VerificationAdmissionControl(config, null);
+    }
+
+    @Test
+    void classify_usesFormatSpecificThreshold_andTreatsUnknownLengthAsLarge() {
+        VerificationAdmissionControl control = control(true);
+
+        assertEquals(ExecutionLane.SMALL, control.classify(2_000, SignedDocumentFormat.PDF));
+        assertEquals(ExecutionLane.LARGE, control.classify(2_000, SignedDocumentFormat.XML));
+        assertEquals(ExecutionLane.SMALL, control.classify(XML_LARGE, SignedDocumentFormat.XML));
+        assertEquals(ExecutionLane.LARGE, control.classify(LARGE + 1, SignedDocumentFormat.UNKNOWN));
+        assertEquals(ExecutionLane.LARGE, control.classify(-1, SignedDocumentFormat.PDF));
+    }
+
+    @Test
+    void route_picksLaneLimiter_fromEndpointFormatAndContentLength() {
+        VerificationAdmissionControl control = control(true);
+
+        VerificationAdmissionControl.Route smallPdf = control.route(post("/api/v1/verify/pades", 2_000), null);
+        assertEquals(ExecutionLane.SMALL, smallPdf.getLane());
+        assertSame(control.getSignatureLimiter(), smallPdf.getLimiter());
+
+        VerificationAdmissionControl.Route sameSizeXml = control.route(post("/api/v1/verify/xades", 2_000), null);
+        assertEquals(ExecutionLane.LARGE, sameSizeXml.getLane());
+        assertSame(control.getSignatureLargeLimiter(), sameSizeXml.getLimiter());
+
+        // /signature: sniff sonucu endpoint ipucundan önce gelir.
+        VerificationAdmissionControl.Route sniffed =
+                control.route(post("/api/v1/verify/signature", 2_000), SignedDocumentFormat.XML);
+        assertEquals(ExecutionLane.LARGE, sniffed.getLane());
+
+        // /signature + sniff yok: Content-Type / X-File-Name ipuçları.
+        MockHttpServletRequest hinted = post("/api/v1/verify/signature", 2_000);
+        hinted.addHeader("X-File-Name", "fatura.xml");
+        assertEquals(ExecutionLane.LARGE, control.route(hinted, null).getLane());
+    }
+
+    @Test
+    void route_timestampAndDisabledLanes_haveNoLane_andUngovernedPathsReturnNull() {
+        VerificationAdmissionControl control = control(true);
+        VerificationAdmissionControl.Route ts = control.route(post("/api/v1/verify/timestamp", 100), null);
+        assertSame(control.getTimestampLimiter(), ts.getLimiter());
+        assertNull(ts.getLane());
+        assertNull(control.route(post("/api/v1/verify/signature/batch", 100), null));
+        assertNull(control.route(post("/api/v1/verify/jobs/signature", 100), null));
+
+        VerificationAdmissionControl noLanes = control(false);
+        VerificationAdmissionControl.Route single = noLanes.route(post("/api/v1/verify/pades", 10_000_000), null);
+        assertSame(noLanes.getSignatureLimiter(), single.getLimiter());
+        assertNull(single.getLane());
+        assertNull(noLanes.getSignatureLargeLimiter());
+    }
+
+    @Test
+    void shouldSniff_onlyRawBodySignatureRequests() {
+        VerificationAdmissionControl control = control(true);
+
+        MockHttpServletRequest raw = post("/api/v1/verify/signature", 100);
+        raw.setContentType("application/octet-stream");
+        assertTrue(control.shouldSniff(raw));
+
+        MockHttpServletRequest multipart = post("/api/v1/verify/signature", 100);
+        multipart.setContentType("multipart/form-data; boundary=x");
+        assertFalse(control.shouldSniff(multipart));
+
+        assertFalse(control.shouldSniff(post("/api/v1/verify/timestamp", 100)));
+        assertFalse(control(false).shouldSniff(raw));
+    }
+
+    private static MockHttpServletRequest post(String uri, int contentLength) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setContent(new byte[contentLength]);
+        return request;
+    }
+}
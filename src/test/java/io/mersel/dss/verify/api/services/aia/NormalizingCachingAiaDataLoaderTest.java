@@ -1,10 +1,13 @@
 package io.mersel.dss.verify.api.services.aia;
 
 import eu.europa.esig.dss.spi.client.http.DataLoader;
+import io.mersel.dss.verify.api.services.revocation.RevocationDiskStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
@@ -210,6 +213,32 @@ class NormalizingCachingAiaDataLoaderTest {
                 "Hata cache'lenmemeli; her çağrı tekrar delegate'e gitmeli");
     }
 
+    @Test
+    void get_loadsFromDiskStore_afterRestart_withoutCallingDelegate(@TempDir Path storeDir) throws Exception {
+        // Kalıcı katman: ilk loader cache'e yazdığını diske de yazar; aynı
+        // dizinle açılan yeni loader (pod restart) delegate'e gitmez.
+        byte[] der = new byte[]{0x30, (byte) 0x82, 0x05, 0x52, 0x01, 0x02};
+        fakeDelegate.put("http://example.com/ca.cer", der);
+
+        RevocationDiskStore store = RevocationDiskStore.open(storeDir);
+        new NormalizingCachingAiaDataLoader(fakeDelegate, 16, 60, null, store).get("http://example.com/ca.cer");
+        store.close(); // bekleyen yazmaları boşaltır
+
+        FakeDataLoader restartedDelegate = new FakeDataLoader();
+        RevocationDiskStore reopened = RevocationDiskStore.open(storeDir);
+        try {
+            NormalizingCachingAiaDataLoader restarted =
+                    new NormalizingCachingAiaDataLoader(restartedDelegate, 16, 60, null, reopened);
+
+            assertArrayEquals(der, restarted.get("http://example.com/ca.cer"));
+            assertArrayEquals(der, restarted.get("http://example.com/ca.cer"));
+            assertEquals(0, restartedDelegate.getTotalCallCount(),
+                    "Diskte geçerli kayıt varken delegate'e gidilmemeli");
+        } finally {
+            reopened.close();
+        }
+    }
+
     // -----------------------------------------------------------------------
     // Other DataLoader methods — delegate'e şeffaf geçilmeli
     // -----------------------------------------------------------------------
@@ -0,0 +1,69 @@
+package io.mersel.dss.verify.api.services.revocation;
+
+import io.mersel.dss.verify.api.exceptions.RequestDeadlineExceededException;
+import io.mersel.dss.verify.api.services.admission.RequestDeadline;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link DeadlineAwareDataLoader}: deadline'a bağlı thread'de HTTP
+ * timeout'ları kalan bütçeyle sınırlanır, bütçe bitince fetch başlamaz;
+ * deadline yoksa konfigüre edilmiş değerler aynen kullanılır.
+ */
+class DeadlineAwareDataLoaderTest {
+
+    private DeadlineAwareDataLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        loader = new DeadlineAwareDataLoader();
+        loader.setTimeoutSocket(10_000);
+        loader.setTimeoutResponse(10_000);
+        loader.setTimeoutConnectionRequest(3_000);
+    }
+
+    @AfterEach
+    void clearDeadline() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void withoutDeadline_configuredTimeoutsAreUsed() {
+        RequestConfig config = loader.getRequestConfigBuilder().build();
+
+        assertEquals(10_000L, loader.getSocketConfig().getSoTimeout().toMilliseconds());
+        assertEquals(10_000L, config.getResponseTimeout().toMilliseconds());
+        assertEquals(3_000L, config.getConnectionRequestTimeout().toMilliseconds());
+    }
+
+    @Test
+    void withDeadline_timeoutsAreClampedToRemainingBudget() {
+        RequestDeadline.bind(RequestDeadline.ofBudget(1_500L));
+
+        RequestConfig config = loader.getRequestConfigBuilder().build();
+        long socket = loader.getSocketConfig().getSoTimeout().toMilliseconds();
+
+        assertTrue(socket > 0L && socket <= 1_500L, "socket=" + socket);
+        assertTrue(config.getResponseTimeout().toMilliseconds() <= 1_500L);
+        assertTrue(config.getConnectionRequestTimeout().toMilliseconds() <= 1_500L);
+    }
+
+    @Test
+    void expiredDeadline_fetchIsNotStarted_andMarkedExceeded() throws Exception {
+        RequestDeadline deadline = RequestDeadline.ofBudget(1L);
+        RequestDeadline.bind(deadline);
+        Thread.sleep(5L);
+
+        assertThrows(RequestDeadlineExceededException.class,
+                () -> loader.get("http://ocsp.example.invalid/"));
+        assertThrows(RequestDeadlineExceededException.class,
+                () -> loader.post("http://ocsp.example.invalid/", new byte[] {1}));
+        assertTrue(deadline.wasExceeded());
+    }
+}
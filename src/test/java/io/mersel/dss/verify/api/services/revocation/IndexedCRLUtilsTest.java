@@ -0,0 +1,157 @@
+package io.mersel.dss.verify.api.services.revocation;
+
+import eu.europa.esig.dss.crl.CRLValidity;
+import eu.europa.esig.dss.crl.ICRLUtils;
+import eu.europa.esig.dss.crl.stream.impl.CRLUtilsStreamImpl;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.cert.X509v3CertificateBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v2CRLBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.security.auth.x500.X500Principal;
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.cert.X509CRLEntry;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.ServiceLoader;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link IndexedCRLUtils} / {@link CRLIndex}: index cevaplari DSS stream
+ * taramasiyla birebir aynidir; index yalniz cache'in kaydettigi CRL'ler
+ * icin, CRL surumu basina bir kez kurulur.
+ */
+class IndexedCRLUtilsTest {
+
+    private static final int ENTRIES = 5_000;
+
+    /** 2050 sonrasi tarih — DER'de GeneralizedTime olarak kodlanir. */
+    private static final BigInteger GENERALIZED_TIME_SERIAL = BigInteger.valueOf(ENTRIES * 100L);
+
+    private static CertificateToken ca;
+    private static byte[] crl;
+
+    @BeforeAll
+    static void buildCrl() throws Exception {
+        KeyPairGenerator kpg = KeyPairGenerator.getInstance("RSA");
+        kpg.initialize(2048);
+        KeyPair keys = kpg.generateKeyPair();
+        X500Principal name = new X500Principal("CN=Index Test CA, O=Test, C=TR");
+        ContentSigner signer = new JcaContentSignerBuilder("SHA256withRSA").build(keys.getPrivate());
+
+        X509v3CertificateBuilder caBuilder = new JcaX509v3CertificateBuilder(name, BigInteger.ONE,
+                new Date(System.currentTimeMillis() - 60_000L),
+                new Date(System.currentTimeMillis() + 86_400_000L), name, keys.getPublic());
+        ca = new CertificateToken(new JcaX509CertificateConverter().getCertificate(caBuilder.build(signer)));
+
+        JcaX509v2CRLBuilder builder = new JcaX509v2CRLBuilder(name, new Date());
+        builder.setNextUpdate(new Date(System.currentTimeMillis() + 600_000L));
+        for (int i = 0; i < ENTRIES; i++) {
+            // Uzun (KamuSM tipi 16 byte) ve kisa seri numaralari karisik; 0 = reasonCode yok.
+            BigInteger serial = i % 2 == 0
+                    ? BigInteger.valueOf(i).shiftLeft(100).add(BigInteger.valueOf(7))
+                    : BigInteger.valueOf(i);
+            int reason = i % 3 == 0 ? 0 : CRLReason.keyCompromise + (i % 5);
+            builder.addCRLEntry(serial, new Date(1_700_000_000_000L + i * 1000L), reason);
+        }
+        builder.addCRLEntry(GENERALIZED_TIME_SERIAL, new Date(2_700_000_000_000L), CRLReason.superseded);
+        crl = builder.build(signer).getEncoded();
+    }
+
+    @Test
+    @DisplayName("DSS'in CRLUtils'i IndexedCRLUtils'e yonlendirdigi yoklamayla tespit edilir")
+    void probeDetectsActiveImplementation() {
+        Iterator<ICRLUtils> implementations = ServiceLoader.load(ICRLUtils.class).iterator();
+        assertTrue(implementations.hasNext());
+        boolean selected = implementations.next() instanceof IndexedCRLUtils;
+
+        assertEquals(selected, IndexedCRLUtils.isActive());
+    }
+
+    @Test
+    @DisplayName("Index'lenmemis CRL (ornegin dokumana gomulu) stream taramasina gider; index kurulmaz")
+    void unownedCrlUsesStreamScanWithoutBuildingIndex() throws Exception {
+        CRLUtilsStreamImpl stream = new CRLUtilsStreamImpl();
+        ICRLUtils delegate = spy(stream);
+        IndexedCRLUtils indexed = new IndexedCRLUtils(delegate);
+        CRLValidity embedded = stream.buildCRLValidity(stream.buildCRLBinary(crl), ca);
+
+        assertNotNull(indexed.getRevocationInfo(embedded, BigInteger.ONE));
+        assertNull(indexed.getRevocationInfo(embedded, BigInteger.valueOf(ENTRIES * 10L)));
+
+        verify(delegate, times(2)).getRevocationInfo(same(embedded), any());
+        assertNull(IndexedCRLUtils.indexOf(embedded));
+    }
+
+    @Test
+    @DisplayName("Index cevaplari stream taramasiyla ayni (iptal tarihi, sebep, bulunmayan seri)")
+    void lookupsMatchStreamScan() throws Exception {
+        CRLUtilsStreamImpl stream = new CRLUtilsStreamImpl();
+        ICRLUtils delegate = spy(stream);
+        IndexedCRLUtils indexed = new IndexedCRLUtils(delegate);
+        CRLValidity validity = indexed.buildCRLValidity(indexed.buildCRLBinary(crl), ca);
+        assertTrue(validity.isSignatureIntact());
+        assumeTrue(IndexedCRLUtils.isActive());
+        IndexedCRLUtils.index(validity);
+        assertNotNull(IndexedCRLUtils.indexOf(validity));
+
+        for (int i = 0; i < ENTRIES; i += 97) {
+            BigInteger[] probes = {
+                    GENERALIZED_TIME_SERIAL,
+                    BigInteger.valueOf(i),
+                    BigInteger.valueOf(i).shiftLeft(100).add(BigInteger.valueOf(7)),
+                    BigInteger.valueOf(i).add(BigInteger.valueOf(ENTRIES * 10L))};
+            for (BigInteger serial : probes) {
+                X509CRLEntry expected = stream.getRevocationInfo(validity, serial);
+                X509CRLEntry actual = indexed.getRevocationInfo(validity, serial);
+                if (expected == null) {
+                    assertNull(actual, "serial " + serial);
+                } else {
+                    assertNotNull(actual, "serial " + serial);
+                    assertEquals(expected.getRevocationDate(), actual.getRevocationDate());
+                    assertEquals(expected.getRevocationReason(), actual.getRevocationReason());
+                    assertEquals(serial, actual.getSerialNumber());
+                }
+            }
+        }
+        verify(delegate, never()).getRevocationInfo(any(), any());
+    }
+
+    @Test
+    @DisplayName("Index CRL surumu basina bir kez kurulur; bozuk CRL index'lenmez, stream taramasina duser")
+    void indexIsBuiltOncePerCrlAndSkippedOnParseFailure() throws Exception {
+        CRLIndex index = CRLIndex.build(crl);
+        assertEquals(ENTRIES + 1, index.size());
+        assertEquals(new Date(2_700_000_000_000L), index.lookup(GENERALIZED_TIME_SERIAL).getRevocationDate());
+        assertNotNull(index.lookup(BigInteger.valueOf(1)));
+        assertNull(index.lookup(BigInteger.valueOf(ENTRIES * 10L)));
+
+        assumeTrue(IndexedCRLUtils.isActive());
+        CRLUtilsStreamImpl stream = new CRLUtilsStreamImpl();
+        CRLValidity validity = stream.buildCRLValidity(stream.buildCRLBinary(crl), ca);
+        IndexedCRLUtils.index(validity);
+        CRLIndex built = IndexedCRLUtils.indexOf(validity);
+        assertNotNull(built);
+        IndexedCRLUtils.index(validity);
+        assertSame(built, IndexedCRLUtils.indexOf(validity));
+
+        ICRLUtils fallback = mock(ICRLUtils.class);
+        CRLValidity corrupt = new CRLValidity(stream.buildCRLBinary(new byte[] {0x30, 0x03, 1, 2, 3}));
+        IndexedCRLUtils.index(corrupt);
+        assertNull(IndexedCRLUtils.indexOf(corrupt));
+        assertNull(new IndexedCRLUtils(fallback).getRevocationInfo(corrupt, BigInteger.ONE));
+        verify(fallback).getRevocationInfo(corrupt, BigInteger.ONE);
+    }
+}
@@ -1,15 +1,41 @@
 package io.mersel.dss.verify.api.services.revocation;
 
+import eu.europa.esig.dss.crl.CRLUtils;
 import eu.europa.esig.dss.enumerations.CertificateStatus;
+import eu.europa.esig.dss.enumerations.RevocationOrigin;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.model.x509.X500PrincipalHelper;
 import eu.europa.esig.dss.spi.x509.revocation.crl.CRLSource;
 import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
+import org.bouncycastle.asn1.x509.CRLDistPoint;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.asn1.x509.DistributionPoint;
+import org.bouncycastle.asn1.x509.DistributionPointName;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.cert.X509v3CertificateBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v2CRLBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import javax.security.auth.x500.X500Principal;
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.nio.file.Path;
 import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -122,8 +148,301 @@ class LoggingCachingCRLSourceTest {
         verify(delegate, times(2)).getRevocationToken(cert, issuer);
     }
 
+    @Test
+    @DisplayName("Esanli cache miss'ler tek CRL indirmesine indirgenir, sonuc cache'lenir")
+    void concurrentMissesAreCoalesced() throws Exception {
+        CRLToken token = mockToken(CertificateStatus.GOOD, new Date(System.currentTimeMillis() + 600_000L));
+        CountDownLatch fetchStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.getRevocationToken(cert, issuer)).thenAnswer(inv -> {
+            fetchStarted.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return token;
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Future<CRLToken> leader = pool.submit(() -> source.getRevocationToken(cert, issuer));
+            assertTrue(fetchStarted.await(10, TimeUnit.SECONDS));
+            Future<CRLToken> w1 = pool.submit(() -> source.getRevocationToken(cert, issuer));
+            Future<CRLToken> w2 = pool.submit(() -> source.getRevocationToken(cert, issuer));
+            Thread.sleep(200L);
+            release.countDown();
+
+            assertSame(token, leader.get(10, TimeUnit.SECONDS));
+            assertSame(token, w1.get(10, TimeUnit.SECONDS));
+            assertSame(token, w2.get(10, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertSame(token, source.getRevocationToken(cert, issuer));
+        verify(delegate, times(1)).getRevocationToken(cert, issuer);
+    }
+
+    @Test
+    @DisplayName("Ayni dagitim noktasi: CRL bir kez indirilir, her sertifika kendi statusunu alir")
+    void sameDistributionPointSharesOneDownload() throws Exception {
+        String url = "http://crl.kamusm.gov.tr/MaliMuhur.crl";
+        KeyPair caKeys = rsaKeyPair();
+        X500Principal caName = new X500Principal("CN=Mali Muhur CA, O=Test, C=TR");
+        CertificateToken ca = new CertificateToken(buildCertificate(caName, caName, BigInteger.ONE, caKeys, caKeys));
+        CertificateToken good = new CertificateToken(buildCertificate(new X500Principal("CN=Imzaci A"), caName,
+                BigInteger.valueOf(100), rsaKeyPair(), caKeys, url));
+        CertificateToken revoked = new CertificateToken(buildCertificate(new X500Principal("CN=Imzaci B"), caName,
+                BigInteger.valueOf(200), rsaKeyPair(), caKeys, url));
+
+        JcaX509v2CRLBuilder crlBuilder = new JcaX509v2CRLBuilder(caName, new Date());
+        crlBuilder.setNextUpdate(new Date(System.currentTimeMillis() + 600_000L));
+        crlBuilder.addCRLEntry(BigInteger.valueOf(200), new Date(), CRLReason.keyCompromise);
+        byte[] crl = crlBuilder.build(signer(caKeys)).getEncoded();
+
+        when(delegate.getRevocationToken(any(), eq(ca))).thenAnswer(inv -> {
+            CRLToken token = new CRLToken(inv.getArgument(0),
+                    CRLUtils.buildCRLValidity(CRLUtils.buildCRLBinary(crl), ca));
+            token.setExternalOrigin(RevocationOrigin.EXTERNAL);
+            token.setSourceURL(url);
+            return token;
+        });
+
+        CRLToken first = source.getRevocationToken(good, ca);
+        CRLToken second = source.getRevocationToken(revoked, ca);
+
+        assertEquals(CertificateStatus.GOOD, first.getStatus());
+        assertEquals(CertificateStatus.REVOKED, second.getStatus());
+        assertEquals(revoked.getDSSIdAsString(), second.getRelatedCertificateId());
+        assertEquals(url, second.getSourceURL());
+        assertSame(first.getCrlValidity(), second.getCrlValidity());
+        assertEquals(1L, source.caffeineCache().estimatedSize());
+        assertEquals(IndexedCRLUtils.isActive(), IndexedCRLUtils.indexOf(first.getCrlValidity()) != null);
+        verify(delegate, times(1)).getRevocationToken(any(), any());
+    }
+
+    @Test
+    @DisplayName("Disk store: yeniden baslayan source CRL'i indirmeden diskten yukler")
+    void diskStoreWarmsRestartedSource(@TempDir Path storeDir) throws Exception {
+        String url = "http://crl.kamusm.gov.tr/NesIlk.crl";
+        KeyPair caKeys = rsaKeyPair();
+        X500Principal caName = new X500Principal("CN=Nes Ilk CA, O=Test, C=TR");
+        CertificateToken ca = new CertificateToken(buildCertificate(caName, caName, BigInteger.ONE, caKeys, caKeys));
+        CertificateToken revoked = new CertificateToken(buildCertificate(new X500Principal("CN=Imzaci C"), caName,
+                BigInteger.valueOf(300), rsaKeyPair(), caKeys, url));
+
+        JcaX509v2CRLBuilder crlBuilder = new JcaX509v2CRLBuilder(caName, new Date());
+        crlBuilder.setNextUpdate(new Date(System.currentTimeMillis() + 600_000L));
+        crlBuilder.addCRLEntry(BigInteger.valueOf(300), new Date(), CRLReason.keyCompromise);
+        byte[] crl = crlBuilder.build(signer(caKeys)).getEncoded();
+
+        when(delegate.getRevocationToken(any(), eq(ca))).thenAnswer(inv -> {
+            CRLToken token = new CRLToken(inv.getArgument(0),
+                    CRLUtils.buildCRLValidity(CRLUtils.buildCRLBinary(crl), ca));
+            token.setExternalOrigin(RevocationOrigin.EXTERNAL);
+            token.setSourceURL(url);
+            return token;
+        });
+
+        RevocationDiskStore store = new RevocationDiskStore(storeDir, Runnable::run);
+        new LoggingCachingCRLSource(delegate, 100L, 60L, null, store).getRevocationToken(revoked, ca);
+
+        CRLSource restartedDelegate = mock(CRLSource.class);
+        LoggingCachingCRLSource restarted = new LoggingCachingCRLSource(restartedDelegate, 100L, 60L, null, store);
+        CRLToken fromDisk = restarted.getRevocationToken(revoked, ca);
+
+        assertNotNull(fromDisk);
+        assertEquals(CertificateStatus.REVOKED, fromDisk.getStatus());
+        assertTrue(fromDisk.getCrlValidity().isSignatureIntact());
+        assertEquals(url, fromDisk.getSourceURL());
+        assertEquals(1L, restarted.caffeineCache().estimatedSize());
+        verifyNoInteractions(restartedDelegate);
+        verify(delegate, times(1)).getRevocationToken(any(), any());
+    }
+
+    @Test
+    @DisplayName("Disk store: issuer'a gore imzasi dogrulanmayan CRL kullanilmaz ve silinir")
+    void diskEntryNotSignedByIssuerIsRejectedAndDeleted(@TempDir Path storeDir) throws Exception {
+        String url = "http://crl.kamusm.gov.tr/Sahte.crl";
+        KeyPair caKeys = rsaKeyPair();
+        X500Principal caName = new X500Principal("CN=Sahte Test CA, O=Test, C=TR");
+        CertificateToken ca = new CertificateToken(buildCertificate(caName, caName, BigInteger.ONE, caKeys, caKeys));
+        CertificateToken signerCert = new CertificateToken(buildCertificate(new X500Principal("CN=Imzaci D"), caName,
+                BigInteger.valueOf(400), rsaKeyPair(), caKeys, url));
+
+        // Ayni issuer adi, baska anahtar: diskteki dosya degistirilmis.
+        JcaX509v2CRLBuilder forged = new JcaX509v2CRLBuilder(caName, new Date());
+        forged.setNextUpdate(new Date(System.currentTimeMillis() + 600_000L));
+        byte[] crl = forged.build(signer(rsaKeyPair())).getEncoded();
+
+        String key = url + "::" + ca.getDSSIdAsString();
+        RevocationDiskStore store = new RevocationDiskStore(storeDir, Runnable::run);
+        store.save(RevocationDiskStore.CRL, key, crl, url, System.currentTimeMillis() + 600_000L);
+        assertNotNull(store.load(RevocationDiskStore.CRL, key));
+
+        LoggingCachingCRLSource restarted = new LoggingCachingCRLSource(delegate, 100L, 60L, null, store);
+        assertNull(restarted.getRevocationToken(signerCert, ca));
+
+        verify(delegate, times(1)).getRevocationToken(signerCert, ca);
+        assertEquals(0L, restarted.caffeineCache().estimatedSize());
+        assertNull(store.load(RevocationDiskStore.CRL, key));
+    }
+
+    @Test
+    @DisplayName("Disk store: basligi uzatilmis ama nextUpdate'i gecmis CRL kullanilmaz ve silinir")
+    void diskEntryPastSignedLifetimeIsRejected(@TempDir Path storeDir) throws Exception {
+        String url = "http://crl.kamusm.gov.tr/Eski.crl";
+        KeyPair caKeys = rsaKeyPair();
+        X500Principal caName = new X500Principal("CN=Eski Test CA, O=Test, C=TR");
+        CertificateToken ca = new CertificateToken(buildCertificate(caName, caName, BigInteger.ONE, caKeys, caKeys));
+        CertificateToken signerCert = new CertificateToken(buildCertificate(new X500Principal("CN=Imzaci E"), caName,
+                BigInteger.valueOf(500), rsaKeyPair(), caKeys, url));
+
+        JcaX509v2CRLBuilder crlBuilder = new JcaX509v2CRLBuilder(caName, new Date(System.currentTimeMillis() - 7_200_000L));
+        crlBuilder.setNextUpdate(new Date(System.currentTimeMillis() - 60_000L));
+        byte[] crl = crlBuilder.build(signer(caKeys)).getEncoded();
+
+        String key = url + "::" + ca.getDSSIdAsString();
+        RevocationDiskStore store = new RevocationDiskStore(storeDir, Runnable::run);
+        store.save(RevocationDiskStore.CRL, key, crl, url, System.currentTimeMillis() + 86_400_000L);
+
+        // Baslik bir gun diyor; imzali nextUpdate bir dakika once doldu.
+        LoggingCachingCRLSource restarted = new LoggingCachingCRLSource(delegate, 100L, 600L, null, store);
+        assertNull(restarted.getRevocationToken(signerCert, ca));
+
+        verify(delegate, times(1)).getRevocationToken(signerCert, ca);
+        assertEquals(0L, restarted.caffeineCache().estimatedSize());
+        assertNull(store.load(RevocationDiskStore.CRL, key));
+    }
+
+    @Test
+    @DisplayName("Disk store: thisUpdate'i TTL'den eski ama nextUpdate'i gelecekte olan CRL yeniden kullanilir")
+    void diskEntryOlderThanTtlButBeforeNextUpdateIsReused(@TempDir Path storeDir) throws Exception {
+        String url = "http://crl.kamusm.gov.tr/Haftalik.crl";
+        KeyPair caKeys = rsaKeyPair();
+        X500Principal caName = new X500Principal("CN=Haftalik Test CA, O=Test, C=TR");
+        CertificateToken ca = new CertificateToken(buildCertificate(caName, caName, BigInteger.ONE, caKeys, caKeys));
+        CertificateToken signerCert = new CertificateToken(buildCertificate(new X500Principal("CN=Imzaci F"), caName,
+                BigInteger.valueOf(600), rsaKeyPair(), caKeys, url));
+
+        Date nextUpdate = new Date(System.currentTimeMillis() + 3_600_000L);
+        JcaX509v2CRLBuilder crlBuilder = new JcaX509v2CRLBuilder(caName, new Date(System.currentTimeMillis() - 7_200_000L));
+        crlBuilder.setNextUpdate(nextUpdate);
+        byte[] crl = crlBuilder.build(signer(caKeys)).getEncoded();
+
+        String key = url + "::" + ca.getDSSIdAsString();
+        RevocationDiskStore store = new RevocationDiskStore(storeDir, Runnable::run);
+        store.save(RevocationDiskStore.CRL, key, crl, url, RevocationDiskStore.expiresAtMillis(nextUpdate, 60_000L));
+
+        // default TTL 60 sn < thisUpdate yasi (2 saat): TTL kayittan sayilir.
+        CRLSource restartedDelegate = mock(CRLSource.class);
+        LoggingCachingCRLSource restarted = new LoggingCachingCRLSource(restartedDelegate, 100L, 60L, null, store);
+        CRLToken fromDisk = restarted.getRevocationToken(signerCert, ca);
+
+        assertNotNull(fromDisk);
+        assertEquals(CertificateStatus.GOOD, fromDisk.getStatus());
+        assertEquals(1L, restarted.caffeineCache().estimatedSize());
+        verifyNoInteractions(restartedDelegate);
+    }
+
+    @Test
+    @DisplayName("Refresh-ahead: erisilen CRL expire olmadan arka planda yeniden indirilir")
+    void hotCrlIsRefreshedAheadOfExpiry() {
+        io.mersel.dss.verify.api.metrics.VerificationMetrics metrics =
+                mock(io.mersel.dss.verify.api.metrics.VerificationMetrics.class);
+        RevocationRefreshScheduler scheduler = new RevocationRefreshScheduler(60_000L, Runnable::run);
+        source = new LoggingCachingCRLSource(delegate, 100L, 600L, metrics, null, scheduler);
+        CRLToken stale = mockToken(CertificateStatus.GOOD, null);
+        CRLToken fresh = mockToken(CertificateStatus.GOOD, null);
+        when(delegate.getRevocationToken(cert, issuer)).thenReturn(stale, fresh);
+
+        source.getRevocationToken(cert, issuer);
+        source.getRevocationToken(cert, issuer);
+        source.caffeineCache().policy().expireVariably().get()
+                .setExpiresAfter("CERT-1::ISSUER-1", 1L, TimeUnit.SECONDS);
+        scheduler.scanNow();
+
+        assertSame(fresh, source.getRevocationToken(cert, issuer));
+        verify(delegate, times(2)).getRevocationToken(cert, issuer);
+        verify(metrics, times(1)).recordRevocationRefresh(eq("crl"), eq("success"), anyLong());
+    }
+
+    @Test
+    @DisplayName("Refresh-ahead ve istek yolu miss'i ayni ucusta birlesir (CRL ikinci dagitim noktasindan gelse de)")
+    void refreshAndRequestMissShareOneFlight() throws Exception {
+        String primary = "http://crl.kamusm.gov.tr/MaliMuhur.crl";
+        String secondary = "http://crl2.kamusm.gov.tr/MaliMuhur.crl";
+        KeyPair caKeys = rsaKeyPair();
+        X500Principal caName = new X500Principal("CN=Mali Muhur CA, O=Test, C=TR");
+        CertificateToken ca = new CertificateToken(buildCertificate(caName, caName, BigInteger.ONE, caKeys, caKeys));
+        CertificateToken signerCert = new CertificateToken(buildCertificate(new X500Principal("CN=Imzaci G"), caName,
+                BigInteger.valueOf(700), rsaKeyPair(), caKeys, primary, secondary));
+        String key = primary + "::" + ca.getDSSIdAsString();
+
+        CRLToken stale = mockToken(CertificateStatus.GOOD, null);
+        CRLToken fresh = mockToken(CertificateStatus.GOOD, null);
+        when(stale.getSourceURL()).thenReturn(secondary);
+        when(fresh.getSourceURL()).thenReturn(secondary);
+        CountDownLatch refreshStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.getRevocationToken(signerCert, ca)).thenReturn(stale).thenAnswer(inv -> {
+            refreshStarted.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return fresh;
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            RevocationRefreshScheduler scheduler = new RevocationRefreshScheduler(60_000L, pool);
+            source = new LoggingCachingCRLSource(delegate, 100L, 600L, null, null, scheduler);
+
+            source.getRevocationToken(signerCert, ca);
+            assertTrue(source.caffeineCache().asMap().containsKey(key),
+                    "CRL ikinci dagitim noktasindan gelse de ilk dagitim noktasi anahtariyla saklanmali");
+            source.getRevocationToken(signerCert, ca);
+            source.caffeineCache().policy().expireVariably().get().setExpiresAfter(key, 1L, TimeUnit.SECONDS);
+            scheduler.scanNow();
+            assertTrue(refreshStarted.await(10, TimeUnit.SECONDS));
+
+            source.caffeineCache().invalidate(key);
+            Future<CRLToken> miss = pool.submit(() -> source.getRevocationToken(signerCert, ca));
+            Thread.sleep(200L);
+            release.countDown();
+
+            assertSame(fresh, miss.get(10, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+        verify(delegate, times(2)).getRevocationToken(signerCert, ca);
+    }
+
     // ---- helpers -----------------------------------------------------------
 
+    private static KeyPair rsaKeyPair() throws Exception {
+        KeyPairGenerator kpg = KeyPairGenerator.getInstance("RSA");
+        kpg.initialize(2048);
+        return kpg.generateKeyPair();
+    }
+
+    private static ContentSigner signer(KeyPair keys) throws Exception {
+        return new JcaContentSignerBuilder("SHA256withRSA").build(keys.getPrivate());
+    }
+
+    private static java.security.cert.X509Certificate buildCertificate(
+            X500Principal subject, X500Principal issuer, BigInteger serial,
+            KeyPair subjectKeys, KeyPair issuerKeys, String... crlUrls) throws Exception {
+        X509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(issuer, serial,
+                new Date(System.currentTimeMillis() - 60_000L),
+                new Date(System.currentTimeMillis() + 86_400_000L),
+                subject, subjectKeys.getPublic());
+        if (crlUrls.length > 0) {
+            DistributionPoint[] points = new DistributionPoint[crlUrls.length];
+            for (int i = 0; i < crlUrls.length; i++) {
+                GeneralNames names = new GeneralNames(new GeneralName(GeneralName.uniformResourceIdentifier, crlUrls[i]));
+                points[i] = new DistributionPoint(new DistributionPointName(names), null, null);
+            }
+            builder.addExtension(Extension.cRLDistributionPoints, false, new CRLDistPoint(points));
+        }
+        return new JcaX509CertificateConverter().getCertificate(builder.build(signer(issuerKeys)));
+    }
+
     private CertificateToken mockCertificate(String dssId, String subjectDn) {
         CertificateToken token = mock(CertificateToken.class);
         when(token.getDSSIdAsString()).thenReturn(dssId);
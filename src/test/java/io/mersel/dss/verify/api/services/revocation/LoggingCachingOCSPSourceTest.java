@@ -5,11 +5,23 @@ import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.model.x509.X500PrincipalHelper;
 import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPSource;
 import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPToken;
+import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import io.mersel.dss.verify.api.exceptions.RequestCancelledException;
+import io.mersel.dss.verify.api.metrics.VerificationMetrics;
+import io.mersel.dss.verify.api.services.admission.RequestDeadline;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -26,6 +38,8 @@ import static org.mockito.Mockito.*;
  *       atmaz; sonraki cagrida tekrar dener (cache'lemez).</li>
  *   <li>{@code null} cert veya issuer durumunda delegate hic cagrilmaz.</li>
  *   <li>Constructor invariant'lari (maxSize > 0, ttl > 0).</li>
+ *   <li>Ayni anahtar icin esanli miss'ler tek delegate cagrisina indirgenir.</li>
+ *   <li>Refresh-ahead yalniz erisilen girdileri yeniler; hata eski girdiyi korur.</li>
  * </ul>
  */
 class LoggingCachingOCSPSourceTest {
@@ -171,8 +185,167 @@ class LoggingCachingOCSPSourceTest {
         verify(delegate, times(2)).getRevocationToken(cert, issuer);
     }
 
+    @Test
+    @DisplayName("Esanli cache miss'ler tek responder istegine indirgenir, bekleyenler coalesced sayilir")
+    void concurrentMissesAreCoalesced() throws Exception {
+        VerificationMetrics metrics = mock(VerificationMetrics.class);
+        source = new LoggingCachingOCSPSource(delegate, 100L, 60L, metrics);
+        OCSPToken token = mockToken(CertificateStatus.UNKNOWN, null);
+        CountDownLatch fetchStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.getRevocationToken(cert, issuer)).thenAnswer(inv -> {
+            fetchStarted.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return token;
+        });
+
+        int callers = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<OCSPToken>> results = new ArrayList<>();
+            results.add(pool.submit(() -> source.getRevocationToken(cert, issuer)));
+            assertTrue(fetchStarted.await(10, TimeUnit.SECONDS));
+            for (int i = 1; i < callers; i++) {
+                results.add(pool.submit(() -> source.getRevocationToken(cert, issuer)));
+            }
+            // Bekleyenlerin uctaki fetch'e katilmasi icin kisa pay.
+            Thread.sleep(200L);
+            release.countDown();
+
+            for (Future<OCSPToken> result : results) {
+                assertSame(token, result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        verify(delegate, times(1)).getRevocationToken(cert, issuer);
+        verify(metrics, times(1)).recordRevocationFetch(eq("ocsp"), eq("success"), anyLong());
+        verify(metrics, times(callers - 1)).recordRevocationFetch(eq("ocsp"), eq("coalesced"), anyLong());
+
+        // UNKNOWN paylasildi ama cache'lenmedi: sonraki cagri yine responder'a gider.
+        source.getRevocationToken(cert, issuer);
+        verify(delegate, times(2)).getRevocationToken(cert, issuer);
+    }
+
+    @Test
+    @DisplayName("Kucuk deadline'li liderin bos sonucu, genis deadline'li bekleyene paylasilmaz")
+    void tinyDeadlineLeaderDoesNotStripRevocationFromWaiter() throws Exception {
+        OCSPToken token = mockToken(CertificateStatus.GOOD, new Date(System.currentTimeMillis() + 600_000L));
+        CountDownLatch leaderFetching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.getRevocationToken(cert, issuer))
+                .thenAnswer(inv -> {
+                    // Lider: timeout'u 1 ms'ye kisaltildi, DSS socket hatasini yutup null dondu.
+                    leaderFetching.countDown();
+                    release.await(10, TimeUnit.SECONDS);
+                    return null;
+                })
+                .thenReturn(token);
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<OCSPToken> leader = pool.submit(() -> withDeadline(1L, () -> source.getRevocationToken(cert, issuer)));
+            assertTrue(leaderFetching.await(10, TimeUnit.SECONDS));
+            Future<OCSPToken> waiter = pool.submit(() -> withDeadline(10_000L, () -> source.getRevocationToken(cert, issuer)));
+            Thread.sleep(100L);
+            release.countDown();
+
+            assertNull(leader.get(10, TimeUnit.SECONDS));
+            assertSame(token, waiter.get(10, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+        verify(delegate, times(2)).getRevocationToken(cert, issuer);
+    }
+
+    @Test
+    @DisplayName("Istemci koptugu icin baslatilmayan fetch null doner ve cache'lenmez")
+    void abandonedFetchReturnsNull() {
+        when(delegate.getRevocationToken(cert, issuer)).thenThrow(new DSSExternalResourceException(
+                "Unable to retrieve OCSP response", new RequestCancelledException("client gone", "fetch")));
+
+        assertNull(source.getRevocationToken(cert, issuer));
+        assertNull(source.getRevocationToken(cert, issuer));
+        verify(delegate, times(2)).getRevocationToken(cert, issuer);
+    }
+
+    @Test
+    @DisplayName("Refresh-ahead: erisilen girdi expire olmadan arka planda yenilenir")
+    void hotEntryIsRefreshedAheadOfExpiry() {
+        VerificationMetrics metrics = mock(VerificationMetrics.class);
+        RevocationRefreshScheduler scheduler = new RevocationRefreshScheduler(60_000L, Runnable::run);
+        source = new LoggingCachingOCSPSource(delegate, 100L, 600L, metrics, null, scheduler);
+        OCSPToken stale = mockToken(CertificateStatus.GOOD, null);
+        OCSPToken fresh = mockToken(CertificateStatus.GOOD, null);
+        when(delegate.getRevocationToken(cert, issuer)).thenReturn(stale, fresh);
+
+        source.getRevocationToken(cert, issuer);
+        source.getRevocationToken(cert, issuer);
+        scheduler.scanNow();
+        assertEquals(1, mockingDetails(delegate).getInvocations().size(), "pencere disinda yenilenmez");
+
+        ageEntry("CERT-1::ISSUER-1");
+        scheduler.scanNow();
+
+        assertSame(fresh, source.getRevocationToken(cert, issuer));
+        verify(delegate, times(2)).getRevocationToken(cert, issuer);
+        verify(metrics, times(1)).recordRevocationFetch(eq("ocsp"), eq("success"), anyLong());
+        verify(metrics, times(1)).recordRevocationRefresh(eq("ocsp"), eq("success"), anyLong());
+    }
+
+    @Test
+    @DisplayName("Refresh-ahead: yuklemeden beri erisilmeyen girdi yenilenmez")
+    void coldEntryIsNotRefreshed() {
+        RevocationRefreshScheduler scheduler = new RevocationRefreshScheduler(60_000L, Runnable::run);
+        source = new LoggingCachingOCSPSource(delegate, 100L, 600L, null, null, scheduler);
+        OCSPToken token = mockToken(CertificateStatus.GOOD, null);
+        when(delegate.getRevocationToken(cert, issuer)).thenReturn(token);
+
+        source.getRevocationToken(cert, issuer);
+        ageEntry("CERT-1::ISSUER-1");
+        scheduler.scanNow();
+
+        verify(delegate, times(1)).getRevocationToken(cert, issuer);
+    }
+
+    @Test
+    @DisplayName("Refresh-ahead: basarisiz yenileme cache'teki girdiyi korur")
+    void failedRefreshKeepsCachedEntry() {
+        VerificationMetrics metrics = mock(VerificationMetrics.class);
+        RevocationRefreshScheduler scheduler = new RevocationRefreshScheduler(60_000L, Runnable::run);
+        source = new LoggingCachingOCSPSource(delegate, 100L, 600L, metrics, null, scheduler);
+        OCSPToken token = mockToken(CertificateStatus.REVOKED, null);
+        when(delegate.getRevocationToken(cert, issuer))
+                .thenReturn(token)
+                .thenThrow(new RuntimeException("responder down"));
+
+        source.getRevocationToken(cert, issuer);
+        source.getRevocationToken(cert, issuer);
+        ageEntry("CERT-1::ISSUER-1");
+        scheduler.scanNow();
+
+        assertSame(token, source.getRevocationToken(cert, issuer));
+        verify(delegate, times(2)).getRevocationToken(cert, issuer);
+        verify(metrics, times(1)).recordRevocationRefresh(eq("ocsp"), eq("error"), anyLong());
+    }
+
     // ---- helpers -----------------------------------------------------------
 
+    private static <T> T withDeadline(long budgetMillis, Callable<T> call) throws Exception {
+        RequestDeadline.bind(RequestDeadline.ofBudget(budgetMillis));
+        try {
+            return call.call();
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
+    /** Girdiyi son kullanma zamanina yaklastirir (saat beklemeden). */
+    private void ageEntry(String key) {
+        source.caffeineCache().policy().expireVariably().get().setExpiresAfter(key, 1L, TimeUnit.SECONDS);
+    }
+
     private CertificateToken mockCertificate(String dssId, String subjectDn) {
         CertificateToken token = mock(CertificateToken.class);
         when(token.getDSSIdAsString()).thenReturn(dssId);
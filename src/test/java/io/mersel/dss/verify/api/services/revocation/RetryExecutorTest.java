@@ -1,5 +1,10 @@
 package io.mersel.dss.verify.api.services.revocation;
 
+import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import io.mersel.dss.verify.api.exceptions.RequestCancelledException;
+import io.mersel.dss.verify.api.exceptions.RequestDeadlineExceededException;
+import io.mersel.dss.verify.api.services.admission.RequestDeadline;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -8,6 +13,7 @@ import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -21,6 +27,11 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
  */
 class RetryExecutorTest {
 
+    @AfterEach
+    void clearDeadline() {
+        RequestDeadline.clear();
+    }
+
     /**
      * Test yardimcisi: sleep'leri kayit altina alir, gercek sleep yapmaz.
      * RetryExecutor'in beklenen sleep'leri tetikleyip tetiklemedigini dogrularken
@@ -201,4 +212,104 @@ class RetryExecutorTest {
                     "Jittered value out of bounds: " + jittered + " (expected " + min + "..." + max + ")");
         }
     }
+
+    @Test
+    @DisplayName("Backoff kalan istek deadline'ini asacaksa uyunmaz, retry birakilir ve deadline isaretlenir")
+    void backoffBeyondDeadlineAbandonsRetry() {
+        RetryPolicy policy = new RetryPolicy(3, 60_000L, 60_000L, 2.0d, 0.0d);
+        RecordingSleeper sleeper = new RecordingSleeper();
+        RetryExecutor exec = new RetryExecutor(policy, sleeper);
+        RequestDeadline deadline = RequestDeadline.ofBudget(5_000L);
+        RequestDeadline.bind(deadline);
+
+        AtomicInteger calls = new AtomicInteger(0);
+        RuntimeException boom = new RuntimeException("transient 503");
+        RuntimeException thrown = assertThrows(RuntimeException.class,
+                () -> exec.execute("op", () -> {
+                    calls.incrementAndGet();
+                    throw boom;
+                }));
+
+        assertSame(boom, thrown);
+        assertEquals(1, calls.get());
+        assertTrue(sleeper.sleeps.isEmpty(), "Butceyi asan backoff uyunmamali");
+        assertTrue(deadline.wasExceeded());
+    }
+
+    @Test
+    @DisplayName("RequestDeadlineExceededException retry edilmez")
+    void deadlineExceededIsNotRetried() {
+        RetryPolicy policy = new RetryPolicy(3, 100L, 1000L, 2.0d, 0.0d);
+        RecordingSleeper sleeper = new RecordingSleeper();
+        RetryExecutor exec = new RetryExecutor(policy, sleeper);
+
+        AtomicInteger calls = new AtomicInteger(0);
+        assertThrows(RequestDeadlineExceededException.class,
+                () -> exec.execute("op", () -> {
+                    calls.incrementAndGet();
+                    throw new RequestDeadlineExceededException("budget gone");
+                }));
+
+        assertEquals(1, calls.get());
+        assertTrue(sleeper.sleeps.isEmpty());
+    }
+
+    @Test
+    @DisplayName("RequestCancelledException (istemci koptu) retry edilmez")
+    void cancelledIsNotRetried() {
+        RetryPolicy policy = new RetryPolicy(3, 100L, 1000L, 2.0d, 0.0d);
+        RecordingSleeper sleeper = new RecordingSleeper();
+        RetryExecutor exec = new RetryExecutor(policy, sleeper);
+
+        AtomicInteger calls = new AtomicInteger(0);
+        assertThrows(RequestCancelledException.class,
+                () -> exec.execute("op", () -> {
+                    calls.incrementAndGet();
+                    throw new RequestCancelledException("client gone", "fetch");
+                }));
+
+        assertEquals(1, calls.get());
+        assertTrue(sleeper.sleeps.isEmpty());
+    }
+
+    @Test
+    @DisplayName("DSS'in sardigi deadline / iptal hatasi da retry edilmez")
+    void wrappedAbandonedFetchIsNotRetried() {
+        RetryPolicy policy = new RetryPolicy(3, 100L, 1000L, 2.0d, 0.0d);
+        RecordingSleeper sleeper = new RecordingSleeper();
+        RetryExecutor exec = new RetryExecutor(policy, sleeper);
+
+        AtomicInteger calls = new AtomicInteger(0);
+        assertThrows(DSSExternalResourceException.class,
+                () -> exec.execute("op", () -> {
+                    calls.incrementAndGet();
+                    throw new DSSExternalResourceException("Unable to retrieve OCSP response",
+                            new RequestCancelledException("client gone", "fetch"));
+                }));
+
+        assertEquals(1, calls.get());
+        assertTrue(sleeper.sleeps.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deadline yetiyorsa backoff ve retry eskisi gibi calisir")
+    void backoffWithinDeadlineRetries() {
+        RetryPolicy policy = new RetryPolicy(3, 100L, 1000L, 2.0d, 0.0d);
+        RecordingSleeper sleeper = new RecordingSleeper();
+        RetryExecutor exec = new RetryExecutor(policy, sleeper);
+        RequestDeadline deadline = RequestDeadline.ofBudget(60_000L);
+        RequestDeadline.bind(deadline);
+
+        AtomicInteger calls = new AtomicInteger(0);
+        String result = exec.execute("op", () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new RuntimeException("transient 503");
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(1, sleeper.sleeps.size());
+        assertFalse(deadline.wasExceeded());
+    }
 }
@@ -3,12 +3,15 @@ package io.mersel.dss.verify.api.services.revocation;
 import eu.europa.esig.dss.enumerations.CertificateStatus;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.model.x509.X500PrincipalHelper;
+import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
 import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPSource;
 import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPToken;
+import io.mersel.dss.verify.api.exceptions.RequestDeadlineExceededException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -28,6 +31,8 @@ import static org.mockito.Mockito.when;
  *   <li>Tum attempt'lar tukenirse son exception caller'a uzatilir
  *       (LoggingCachingOCSPSource bunu null'a cevirir)</li>
  *   <li>Delegate {@code null} donerse retry yapilmaz</li>
+ *   <li>DSS'in {@code DSSExternalResourceException} icine sardigi request
+ *       deadline hatasi retry edilmez</li>
  * </ul>
  */
 class RetryingOCSPSourceTest {
@@ -120,6 +125,25 @@ class RetryingOCSPSourceTest {
         verify(delegate, times(1)).getRevocationToken(cert, issuer);
     }
 
+    @Test
+    @DisplayName("DSS'in sardigi deadline hatasi: tek attempt, backoff uyunmaz")
+    void wrappedDeadlineExceededNotRetried() {
+        DSSExternalResourceException wrapped = new DSSExternalResourceException(
+                "Unable to retrieve OCSP response", new RequestDeadlineExceededException("budget exhausted"));
+        when(delegate.getRevocationToken(cert, issuer)).thenThrow(wrapped);
+        RecordingSleeper recording = new RecordingSleeper();
+
+        RetryPolicy policy = new RetryPolicy(3, 100L, 1000L, 2.0d, 0.0d);
+        RetryingOCSPSource source = new RetryingOCSPSource(delegate, policy, recording);
+
+        RuntimeException thrown = assertThrows(RuntimeException.class,
+                () -> source.getRevocationToken(cert, issuer));
+
+        assertSame(wrapped, thrown);
+        verify(delegate, times(1)).getRevocationToken(cert, issuer);
+        assertEquals(0, recording.sleeps);
+    }
+
     @Test
     @DisplayName("getRetryPolicy(): expose edilen policy constructor'a verilenle ayni")
     void exposesPolicy() {
@@ -138,6 +162,15 @@ class RetryingOCSPSourceTest {
         }
     }
 
+    private static class RecordingSleeper implements Sleeper {
+        int sleeps;
+
+        @Override
+        public void sleep(long millis) {
+            sleeps++;
+        }
+    }
+
     private CertificateToken mockCertificate(String dssId, String subjectDn) {
         CertificateToken token = mock(CertificateToken.class);
         when(token.getDSSIdAsString()).thenReturn(dssId);
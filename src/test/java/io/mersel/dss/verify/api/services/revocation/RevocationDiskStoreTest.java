@@ -0,0 +1,130 @@
+package io.mersel.dss.verify.api.services.revocation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link RevocationDiskStore}: girdi round-trip'i, son kullanma ve bozuk
+ * dosya davranisi. Yazmalar testte cagiran thread'inde calisir.
+ */
+class RevocationDiskStoreTest {
+
+    private static final String KEY = "http://crl.kamusm.gov.tr/MaliMuhur.crl::ISSUER-1";
+
+    @TempDir
+    Path directory;
+
+    private RevocationDiskStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new RevocationDiskStore(directory, Runnable::run);
+    }
+
+    @Test
+    @DisplayName("Kaydedilen girdi veri, URL ve son kullanma zamaniyla geri okunur")
+    void savedEntryRoundTrips() {
+        byte[] data = "crl-bytes".getBytes(StandardCharsets.UTF_8);
+        long expiresAt = System.currentTimeMillis() + 60_000L;
+
+        store.save(RevocationDiskStore.CRL, KEY, data, "http://crl.kamusm.gov.tr/MaliMuhur.crl", expiresAt);
+        RevocationDiskStore.Entry entry = store.load(RevocationDiskStore.CRL, KEY);
+
+        assertNotNull(entry);
+        assertArrayEquals(data, entry.getData());
+        assertEquals("http://crl.kamusm.gov.tr/MaliMuhur.crl", entry.getSourceUrl());
+        assertEquals(expiresAt, entry.getExpiresAtMillis());
+        assertTrue(entry.remainingMillis() > 0 && entry.remainingMillis() <= 60_000L);
+        assertNull(store.load(RevocationDiskStore.OCSP, KEY), "namespace'ler ayridir");
+        assertNull(store.load(RevocationDiskStore.CRL, KEY + "-other"));
+    }
+
+    @Test
+    @DisplayName("Suresi dolmus girdi okunmaz ve silinir; suresi dolmus girdi yazilmaz")
+    void expiredEntryIsDroppedAndDeleted() throws Exception {
+        store.save(RevocationDiskStore.OCSP, KEY, new byte[] {1, 2, 3}, null, System.currentTimeMillis() + 50L);
+        assertEquals(1L, fileCount(RevocationDiskStore.OCSP));
+        Thread.sleep(100L);
+
+        assertNull(store.load(RevocationDiskStore.OCSP, KEY));
+        assertEquals(0L, fileCount(RevocationDiskStore.OCSP));
+
+        store.save(RevocationDiskStore.OCSP, KEY, new byte[] {1}, null, System.currentTimeMillis() - 1L);
+        assertEquals(0L, fileCount(RevocationDiskStore.OCSP));
+    }
+
+    @Test
+    @DisplayName("OCSP/CRL omru imzali zamanlardan hesaplanir; baslik omru uzatamaz")
+    void signedTimesBoundRemainingLifetime() {
+        long now = System.currentTimeMillis();
+        store.save(RevocationDiskStore.OCSP, KEY, new byte[] {1}, null, now + 86_400_000L);
+        RevocationDiskStore.Entry entry = store.load(RevocationDiskStore.OCSP, KEY);
+        assertNotNull(entry);
+
+        // Token 2 saat once uretilmis, default TTL 1 saat: TTL kayittan sayilir,
+        // nextUpdate (10 dk) hala gelecekte — girdi kullanilir.
+        long weekly = entry.remainingMillis(new Date(now - 7_200_000L), new Date(now + 600_000L), 3_600_000L);
+        assertTrue(weekly > 0 && weekly <= 600_000L);
+        // TTL kayit zamanindan itibaren: nextUpdate uzak olsa da kayit + TTL siniri.
+        assertTrue(entry.remainingMillis(new Date(now - 7_200_000L), null, 60_000L) <= 60_000L);
+        // nextUpdate gecmis.
+        assertTrue(entry.remainingMillis(new Date(now), new Date(now - 1L), 3_600_000L) <= 0);
+        // Taze token: nextUpdate en yakin sinir.
+        long remaining = entry.remainingMillis(new Date(now), new Date(now + 600_000L), 3_600_000L);
+        assertTrue(remaining > 0 && remaining <= 600_000L);
+        // Baslik hala ust sinirdir.
+        store.save(RevocationDiskStore.OCSP, KEY, new byte[] {1}, null, now + 60_000L);
+        entry = store.load(RevocationDiskStore.OCSP, KEY);
+        assertTrue(entry.remainingMillis(new Date(now), null, 3_600_000L) <= 60_000L);
+    }
+
+    @Test
+    @DisplayName("Bozuk dosya null doner ve silinir; sweep suresi dolmus ve yarim dosyalari temizler")
+    void corruptAndStaleFilesAreRemoved() throws Exception {
+        store.save(RevocationDiskStore.AIA, KEY, new byte[] {9}, null, System.currentTimeMillis() + 60_000L);
+        try (Stream<Path> files = Files.list(directory.resolve(RevocationDiskStore.AIA))) {
+            Files.write(files.findFirst().get(), new byte[] {0, 1, 2});
+        }
+        assertNull(store.load(RevocationDiskStore.AIA, KEY));
+        assertEquals(0L, fileCount(RevocationDiskStore.AIA));
+
+        store.save(RevocationDiskStore.CRL, "live", new byte[] {1}, null, System.currentTimeMillis() + 60_000L);
+        store.save(RevocationDiskStore.CRL, "stale", new byte[] {1}, null, System.currentTimeMillis() + 50L);
+        Files.write(directory.resolve(RevocationDiskStore.CRL).resolve("tmp-1.bin.part"), new byte[] {1});
+        Thread.sleep(100L);
+
+        store.sweepExpired();
+
+        assertEquals(1L, fileCount(RevocationDiskStore.CRL));
+        assertNotNull(store.load(RevocationDiskStore.CRL, "live"));
+    }
+
+    @Test
+    @DisplayName("Son kullanma: nextUpdate ile varsayilan TTL'den yakin olani")
+    void expiresAtHonoursNextUpdateAndDefaultTtl() {
+        long now = System.currentTimeMillis();
+        long soon = now + 10_000L;
+
+        assertEquals(soon, RevocationDiskStore.expiresAtMillis(new Date(soon), 3_600_000L));
+        long capped = RevocationDiskStore.expiresAtMillis(new Date(now + 7_200_000L), 3_600_000L);
+        assertTrue(capped >= now + 3_600_000L && capped < now + 7_200_000L);
+        assertTrue(RevocationDiskStore.expiresAtMillis(null, 1_000L) >= now + 1_000L);
+    }
+
+    private long fileCount(String namespace) throws IOException {
+        try (Stream<Path> files = Files.list(directory.resolve(namespace))) {
+            return files.count();
+        }
+    }
+}
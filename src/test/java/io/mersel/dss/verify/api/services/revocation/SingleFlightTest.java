@@ -0,0 +1,167 @@
+package io.mersel.dss.verify.api.services.revocation;
+
+import io.mersel.dss.verify.api.exceptions.RequestDeadlineExceededException;
+import io.mersel.dss.verify.api.services.admission.RequestDeadline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link SingleFlight} semantigi: lider hatasi bekleyenlere gecmez,
+ * bekleyen kendi deadline'i (yoksa liderin fetch suresi) kadar bekler,
+ * anahtar is bitince birakilir.
+ */
+class SingleFlightTest {
+
+    private final SingleFlight<String> flight = new SingleFlight<>(SingleFlight.DEFAULT_MAX_WAIT_MILLIS);
+    private final ExecutorService pool = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+        RequestDeadline.clear();
+    }
+
+    @Test
+    @DisplayName("Lider kendi deadline'i yuzunden duserse bekleyen isi kendisi yapar")
+    void leaderFailure_isNotInheritedByWaiter() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch failLeader = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        Future<?> leader = pool.submit(() -> assertThrows(RequestDeadlineExceededException.class,
+                () -> flight.execute("k", () -> {
+                    runs.incrementAndGet();
+                    leaderStarted.countDown();
+                    await(failLeader);
+                    throw new RequestDeadlineExceededException("leader budget gone");
+                })));
+        assertTrue(leaderStarted.await(10, TimeUnit.SECONDS));
+
+        Future<SingleFlight.Outcome<String>> waiter = pool.submit(() -> flight.execute("k", () -> {
+            runs.incrementAndGet();
+            return "fresh";
+        }));
+        Thread.sleep(100L);
+        failLeader.countDown();
+
+        leader.get(10, TimeUnit.SECONDS);
+        SingleFlight.Outcome<String> outcome = waiter.get(10, TimeUnit.SECONDS);
+        assertEquals("fresh", outcome.getValue());
+        assertFalse(outcome.isCoalesced());
+        assertEquals(2, runs.get());
+        assertEquals(0, flight.inFlightCount());
+    }
+
+    @Test
+    @DisplayName("Bekleyen kendi deadline'i dolunca null alir ve deadline asilmis isaretlenir")
+    void waiter_givesUpAtItsOwnDeadline() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<SingleFlight.Outcome<String>> leader = pool.submit(() -> flight.execute("k", () -> {
+            leaderStarted.countDown();
+            await(release);
+            return "slow";
+        }));
+        assertTrue(leaderStarted.await(10, TimeUnit.SECONDS));
+
+        RequestDeadline deadline = RequestDeadline.ofBudget(50L);
+        RequestDeadline.bind(deadline);
+        SingleFlight.Outcome<String> outcome = flight.execute("k", () -> "should not run");
+
+        assertNull(outcome.getValue());
+        assertTrue(outcome.isCoalesced());
+        assertTrue(deadline.wasExceeded());
+
+        release.countDown();
+        assertEquals("slow", leader.get(10, TimeUnit.SECONDS).getValue());
+        assertEquals(0, flight.inFlightCount());
+    }
+
+    @Test
+    @DisplayName("Deadline yoksa bekleyen takilan lideri en fazla fetch suresi kadar bekler, sonra kendisi indirir")
+    void waiterWithoutDeadline_fetchesItself_whenLeaderOutlivesFetchTimeout() throws Exception {
+        SingleFlight<String> bounded = new SingleFlight<>(100L);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<SingleFlight.Outcome<String>> leader = pool.submit(() -> bounded.execute("k", () -> {
+            leaderStarted.countDown();
+            await(release);
+            return "hung";
+        }));
+        assertTrue(leaderStarted.await(10, TimeUnit.SECONDS));
+
+        SingleFlight.Outcome<String> outcome = bounded.execute("k", () -> "own");
+
+        assertEquals("own", outcome.getValue());
+        assertFalse(outcome.isCoalesced());
+        release.countDown();
+        assertEquals("hung", leader.get(10, TimeUnit.SECONDS).getValue());
+        assertEquals(0, bounded.inFlightCount());
+    }
+
+    @Test
+    @DisplayName("Butcesi dolan liderin bos sonucu bekleyene gecmez; bekleyen kendi butcesiyle yeniden dener")
+    void leaderNullAfterOwnDeadline_isNotSharedWithWaiter() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        Future<SingleFlight.Outcome<String>> leader = pool.submit(() -> {
+            RequestDeadline.bind(RequestDeadline.ofBudget(1L));
+            try {
+                return flight.execute("k", () -> {
+                    runs.incrementAndGet();
+                    leaderStarted.countDown();
+                    await(release);
+                    return null; // kisaltilmis timeout -> delegate hatayi null'a cevirdi
+                });
+            } finally {
+                RequestDeadline.clear();
+            }
+        });
+        assertTrue(leaderStarted.await(10, TimeUnit.SECONDS));
+
+        Future<SingleFlight.Outcome<String>> waiter = pool.submit(() -> {
+            RequestDeadline.bind(RequestDeadline.ofBudget(10_000L));
+            try {
+                return flight.execute("k", () -> {
+                    runs.incrementAndGet();
+                    return "fresh";
+                });
+            } finally {
+                RequestDeadline.clear();
+            }
+        });
+        Thread.sleep(100L);
+        release.countDown();
+
+        assertNull(leader.get(10, TimeUnit.SECONDS).getValue());
+        SingleFlight.Outcome<String> outcome = waiter.get(10, TimeUnit.SECONDS);
+        assertEquals("fresh", outcome.getValue());
+        assertFalse(outcome.isCoalesced());
+        assertEquals(2, runs.get());
+        assertEquals(0, flight.inFlightCount());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
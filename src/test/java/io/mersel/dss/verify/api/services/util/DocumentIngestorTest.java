@@ -0,0 +1,201 @@
+package io.mersel.dss.verify.api.services.util;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DigestDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import io.mersel.dss.verify.api.config.VerificationConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link DocumentIngestor} eşik / spill / temizlik kontratı.
+ */
+class DocumentIngestorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private VerificationConfiguration config;
+    private DocumentIngestor ingestor;
+
+    @BeforeEach
+    void setUp() {
+        config = new VerificationConfiguration();
+        config.setIngestSpillThresholdBytes(1024);
+        config.setIngestTempDir(tempDir.toString());
+        ingestor = new DocumentIngestor(config);
+    }
+
+    @Test
+    @DisplayName("Eşiğin altındaki doküman bellekte kalır (eski davranış)")
+    void smallDocument_staysInMemory() throws Exception {
+        byte[] content = new byte[512];
+        MockMultipartFile file = new MockMultipartFile("signedDocument", "imza.pdf", "application/pdf", content);
+
+        try (IngestedDocument ingested = ingestor.ingest(file, true)) {
+            assertFalse(ingested.isSpilled());
+            assertInstanceOf(InMemoryDocument.class, ingested.getDocument());
+            assertArrayEquals(content, ingested.getBytes());
+            assertEquals("imza.pdf", ingested.getDocument().getName());
+        }
+    }
+
+    @Test
+    @DisplayName("Eşiği aşan binary doküman diske taşınır, close() dosyayı siler")
+    void largeBinaryDocument_isSpilledAndCleanedUp() throws Exception {
+        byte[] content = new byte[4096];
+        Arrays.fill(content, (byte) 0x25);
+        MockMultipartFile file = new MockMultipartFile("signedDocument", "imza.pdf", "application/pdf", content);
+
+        Path spillFile;
+        try (IngestedDocument ingested = ingestor.ingest(file, true)) {
+            assertTrue(ingested.isSpilled());
+            assertNull(ingested.getBytes(), "Spill modunda byte'lar heap'e alınmamalı");
+            assertInstanceOf(FileDocument.class, ingested.getDocument());
+            assertEquals("imza.pdf", ingested.getDocument().getName());
+            assertEquals(content.length, ingested.getSizeBytes());
+
+            spillFile = ingested.getSpillFile();
+            assertNotNull(spillFile);
+            assertEquals(tempDir, spillFile.getParent());
+            assertArrayEquals(content, Files.readAllBytes(spillFile));
+        }
+        assertFalse(Files.exists(spillFile), "close() spill dosyasını silmeli");
+    }
+
+    @Test
+    @DisplayName("keepXmlInMemory=true iken eşiği aşan XML bellekte kalır")
+    void largeXml_staysInMemory_whenRequested() throws Exception {
+        byte[] content = xmlOfSize(4096);
+        MockMultipartFile file = new MockMultipartFile("signedDocument", "fatura.xml", "text/xml", content);
+
+        try (IngestedDocument ingested = ingestor.ingest(file, true)) {
+            assertFalse(ingested.isSpilled());
+            assertArrayEquals(content, ingested.getBytes());
+        }
+        try (IngestedDocument ingested = ingestor.ingest(file, false)) {
+            assertTrue(ingested.isSpilled(), "Detached içerik XML olsa da diske taşınabilir");
+        }
+    }
+
+    @Test
+    @DisplayName("Eşik 0 → spill kapalı")
+    void zeroThreshold_disablesSpill() throws Exception {
+        config.setIngestSpillThresholdBytes(0);
+        MockMultipartFile file = new MockMultipartFile("signedDocument", "imza.pdf", "application/pdf", new byte[8192]);
+
+        try (IngestedDocument ingested = ingestor.ingest(file, false)) {
+            assertFalse(ingested.isSpilled());
+            assertNotNull(ingested.getBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Ham gövde, boyut bilinmiyorsa (chunked) eşiği aşınca diske taşınır")
+    void rawBody_unknownSize_spillsAboveThreshold() throws Exception {
+        byte[] content = new byte[3000];
+        Arrays.fill(content, (byte) 0x7A);
+
+        try (IngestedDocument ingested = ingestor.ingest(
+                new ByteArrayInputStream(content), -1, "imza.p7s", false)) {
+            assertTrue(ingested.isSpilled());
+            assertArrayEquals(content, Files.readAllBytes(ingested.getSpillFile()));
+        }
+        try (IngestedDocument ingested = ingestor.ingest(
+                new ByteArrayInputStream(new byte[100]), -1, "imza.p7s", false)) {
+            assertFalse(ingested.isSpilled());
+            assertEquals(100, ingested.getBytes().length);
+        }
+    }
+
+    @Test
+    @DisplayName("Ham gövde max-body-bytes sınırını aşarsa MaxUploadSizeExceededException")
+    void rawBody_exceedingLimit_isRejected() {
+        config.setIngestMaxBodyBytes(2048);
+
+        // Content-Length bildirilmiş: okumadan reddedilir.
+        assertThrows(MaxUploadSizeExceededException.class, () -> ingestor.ingest(
+                new ByteArrayInputStream(new byte[4096]), 4096, "imza.pdf", false));
+        // Chunked: okuma sırasında reddedilir, yarım spill dosyası kalmaz.
+        assertThrows(MaxUploadSizeExceededException.class, () -> ingestor.ingest(
+                new ByteArrayInputStream(new byte[4096]), -1, "imza.pdf", false));
+        assertEquals(0, tempDir.toFile().listFiles().length);
+    }
+
+    @Test
+    @DisplayName("XML sniff: BOM ve baştaki boşluklar tolere edilir")
+    void looksLikeXml_handlesBomAndWhitespace() {
+        assertTrue(DocumentIngestor.looksLikeXml("<?xml version=\"1.0\"?>".getBytes(StandardCharsets.US_ASCII)));
+        assertTrue(DocumentIngestor.looksLikeXml(new byte[]{(byte) 0xEF, (byte) 0xBB, (byte) 0xBF, '\n', '<', 'a'}));
+        assertTrue(DocumentIngestor.looksLikeXml(new byte[]{(byte) 0xFF, (byte) 0xFE, '<', 0}));
+        assertFalse(DocumentIngestor.looksLikeXml("%PDF-1.7".getBytes(StandardCharsets.US_ASCII)));
+        assertFalse(DocumentIngestor.looksLikeXml(new byte[]{0x30, (byte) 0x82}));
+        assertFalse(DocumentIngestor.looksLikeXml(new byte[0]));
+    }
+
+    @Test
+    @DisplayName("Digest-only: Base64/hex değer ve farklı algoritma yazımlarından DigestDocument üretilir")
+    void digestOnly_buildsDigestDocument() throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest("orijinal".getBytes(StandardCharsets.UTF_8));
+        String base64 = Base64.getEncoder().encodeToString(digest);
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest) {
+            hex.append(String.format("%02x", b));
+        }
+
+        for (String algorithm : new String[]{"SHA-256", "sha256", "http://www.w3.org/2001/04/xmlenc#sha256"}) {
+            try (IngestedDocument ingested = ingestor.digestOnly(algorithm, base64, "fatura.xml")) {
+                DigestDocument document = assertInstanceOf(DigestDocument.class, ingested.getDocument());
+                assertArrayEquals(digest, document.getDigestValue(DigestAlgorithm.SHA256));
+                assertEquals("fatura.xml", document.getName());
+                assertNull(ingested.getBytes());
+                assertFalse(ingested.isSpilled());
+            }
+        }
+        try (IngestedDocument ingested = ingestor.digestOnly("SHA-256", hex.toString(), null)) {
+            assertArrayEquals(digest, ((DigestDocument) ingested.getDocument()).getDigestValue(DigestAlgorithm.SHA256));
+        }
+    }
+
+    @Test
+    @DisplayName("Digest-only: bilinmeyen algoritma, bozuk değer ve yanlış uzunluk reddedilir")
+    void digestOnly_rejectsInvalidInput() {
+        String sha1Base64 = Base64.getEncoder().encodeToString(new byte[20]);
+
+        assertThrows(IllegalArgumentException.class, () -> ingestor.digestOnly("MD4-XYZ", sha1Base64, null));
+        assertThrows(IllegalArgumentException.class, () -> ingestor.digestOnly("SHA-256", "not*base64", null));
+        assertThrows(IllegalArgumentException.class, () -> ingestor.digestOnly("SHA-256", sha1Base64, null));
+        assertThrows(IllegalArgumentException.class, () -> ingestor.digestOnly(null, sha1Base64, null));
+        assertThrows(IllegalArgumentException.class, () -> ingestor.digestOnly("SHA-256", " ", null));
+    }
+
+    private static byte[] xmlOfSize(int size) {
+        StringBuilder sb = new StringBuilder("<?xml version=\"1.0\"?><root>");
+        while (sb.length() < size) {
+            sb.append("<a>x</a>");
+        }
+        return sb.append("</root>").toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
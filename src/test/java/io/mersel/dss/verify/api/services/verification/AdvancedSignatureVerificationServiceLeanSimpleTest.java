@@ -0,0 +1,42 @@
+package io.mersel.dss.verify.api.services.verification;
+
+import io.mersel.dss.verify.api.config.VerificationConfiguration;
+import io.mersel.dss.verify.api.models.enums.VerificationLevel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SIMPLE yalın mod: ETSI validation report yalnız SIMPLE'da ve
+ * {@code verification.simple.lean-mode-enabled=true} iken kapatılır.
+ */
+class AdvancedSignatureVerificationServiceLeanSimpleTest {
+
+    private final AdvancedSignatureVerificationService service =
+            new AdvancedSignatureVerificationService();
+    private final VerificationConfiguration config = new VerificationConfiguration();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "config", config);
+    }
+
+    @Test
+    void simpleLevel_skipsEtsiReport_whenLeanModeEnabled() {
+        config.setSimpleLeanModeEnabled(true);
+
+        assertFalse(service.isEtsiValidationReportEnabled(VerificationLevel.SIMPLE));
+        assertTrue(service.isEtsiValidationReportEnabled(VerificationLevel.COMPREHENSIVE));
+    }
+
+    @Test
+    void leanModeDisabled_keepsDssDefault() {
+        config.setSimpleLeanModeEnabled(false);
+
+        assertTrue(service.isEtsiValidationReportEnabled(VerificationLevel.SIMPLE));
+        assertTrue(service.isEtsiValidationReportEnabled(VerificationLevel.COMPREHENSIVE));
+    }
+}
@@ -0,0 +1,82 @@
+package io.mersel.dss.verify.api.services.verification;
+
+import eu.europa.esig.dss.diagnostic.DiagnosticData;
+import eu.europa.esig.dss.diagnostic.SignatureWrapper;
+import io.mersel.dss.verify.api.models.SignatureInfo;
+import io.mersel.dss.verify.api.models.VerificationResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Ön (provisional) karar: revocation olmadan INDETERMINATE kalan imza,
+ * imza değeri/referanslar sağlam ve zincir güvenilirse ön geçerli sayılır;
+ * kriptografik hata veya güvenilmeyen zincir ön geçersizdir.
+ */
+class AdvancedSignatureVerificationServiceProvisionalTest {
+
+    private final DiagnosticData diagnosticData = mock(DiagnosticData.class);
+
+    @Test
+    void intactSignature_withTrustedChain_isProvisionallyValid() {
+        signature("S-1", true, true, true);
+        VerificationResult result = result(signatureInfo("S-1", false));
+
+        AdvancedSignatureVerificationService.applyProvisionalVerdict(result, diagnosticData);
+
+        assertTrue(result.isValid());
+        assertEquals("PROVISIONALLY_VALID", result.getStatus());
+        assertEquals(Boolean.TRUE, result.getProvisional());
+        assertTrue(result.getSignatures().get(0).isValid());
+    }
+
+    @Test
+    void brokenSignatureOrUntrustedChain_isProvisionallyInvalid() {
+        signature("S-1", true, true, true);
+        signature("S-2", false, true, true);
+        signature("S-3", true, true, false);
+        VerificationResult result = result(
+                signatureInfo("S-1", false), signatureInfo("S-2", false), signatureInfo("S-3", false));
+
+        AdvancedSignatureVerificationService.applyProvisionalVerdict(result, diagnosticData);
+
+        assertFalse(result.isValid());
+        assertEquals("PROVISIONALLY_INVALID", result.getStatus());
+        assertTrue(result.getSignatures().get(0).isValid());
+        assertFalse(result.getSignatures().get(1).isValid());
+        assertFalse(result.getSignatures().get(2).isValid());
+    }
+
+    private void signature(String id, boolean intact, boolean referencesValid, boolean trustedChain) {
+        SignatureWrapper wrapper = mock(SignatureWrapper.class);
+        when(wrapper.isSignatureIntact()).thenReturn(intact);
+        when(wrapper.isSignatureValid()).thenReturn(intact && referencesValid);
+        when(wrapper.isTrustedChain()).thenReturn(trustedChain);
+        when(diagnosticData.getSignatureById(id)).thenReturn(wrapper);
+    }
+
+    private static SignatureInfo signatureInfo(String id, boolean valid) {
+        SignatureInfo info = new SignatureInfo();
+        info.setSignatureId(id);
+        info.setValid(valid);
+        return info;
+    }
+
+    private static VerificationResult result(SignatureInfo... signatures) {
+        List<SignatureInfo> list = new ArrayList<>();
+        for (SignatureInfo signature : signatures) {
+            list.add(signature);
+        }
+        VerificationResult result = new VerificationResult(false, "INVALID");
+        result.setSignatures(list);
+        result.setSignatureCount(list.size());
+        return result;
+    }
+}
@@ -158,7 +158,8 @@ class AdvancedSignatureVerificationServiceTimestampInfoTest {
         return (TimestampInfo) ReflectionTestUtils.invokeMethod(
                 service,
                 "extractTimestampInfo",
-                wrapper, detailedReport, includeFailedConstraints);
+                wrapper, detailedReport != null ? BbbIndex.of(detailedReport) : null,
+                includeFailedConstraints);
     }
 
     private static TimestampWrapper mockTimestampWrapper(String id) {
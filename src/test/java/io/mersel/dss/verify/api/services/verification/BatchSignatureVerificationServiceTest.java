@@ -0,0 +1,177 @@
+package io.mersel.dss.verify.api.services.verification;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.mersel.dss.verify.api.config.VerificationConfiguration;
+import io.mersel.dss.verify.api.exceptions.VerificationException;
+import io.mersel.dss.verify.api.models.VerificationResult;
+import io.mersel.dss.verify.api.models.enums.VerificationLevel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link BatchSignatureVerificationService} NDJSON kontratı: satır başına bir
+ * sonuç, index ile eşleştirme, doküman bazlı hata izolasyonu, batch sınırı.
+ */
+class BatchSignatureVerificationServiceTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private AdvancedSignatureVerificationService verificationService;
+    private VerificationConfiguration config;
+    private BatchSignatureVerificationService batchService;
+
+    @BeforeEach
+    void setUp() {
+        verificationService = mock(AdvancedSignatureVerificationService.class);
+        config = new VerificationConfiguration();
+        config.setBatchMaxItems(10);
+        config.setBatchParallelism(3);
+        config.setBatchQueueCapacity(16);
+        batchService = new BatchSignatureVerificationService(verificationService, config, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchService.shutdown();
+    }
+
+    @Test
+    void everyDocument_producesExactlyOneLine_andFailuresAreIsolated() throws Exception {
+        MultipartFile ok1 = part("a.xml");
+        MultipartFile broken = part("b.xml");
+        MultipartFile ok2 = part("c.pdf");
+
+        when(verificationService.verifySignature(eq(ok1), isNull(), any(VerificationLevel.class), isNull(), anyBoolean()))
+                .thenReturn(result(true));
+        when(verificationService.verifySignature(eq(broken), isNull(), any(VerificationLevel.class), isNull(), anyBoolean()))
+                .thenThrow(new VerificationException("İmza doğrulama hatası: bozuk XML"));
+        when(verificationService.verifySignature(eq(ok2), isNull(), any(VerificationLevel.class), isNull(), anyBoolean()))
+                .thenReturn(result(false));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        batchService.verifyBatch(Arrays.asList(ok1, broken, ok2), VerificationLevel.SIMPLE, null, false, out);
+
+        List<JsonNode> lines = parseLines(out);
+        assertEquals(3, lines.size(), "Her doküman için tam bir satır beklenir");
+
+        Set<Integer> indexes = new HashSet<>();
+        for (JsonNode line : lines) {
+            int index = line.get("index").asInt();
+            indexes.add(index);
+            assertFalse(line.has("result") && line.has("error"), "Satır ya result ya error taşımalı");
+            if (index == 1) {
+                assertEquals("b.xml", line.get("fileName").asText());
+                assertEquals("VERIFICATION_ERROR", line.get("error").get("error").asText());
+                assertTrue(line.get("error").get("details").asText().contains("bozuk XML"));
+            } else {
+                assertTrue(line.has("result"));
+            }
+        }
+        assertEquals(new HashSet<>(Arrays.asList(0, 1, 2)), indexes);
+    }
+
+    @Test
+    void unexpectedRuntimeException_isReportedAsInternalError_withoutLeakingMessage() throws Exception {
+        MultipartFile doc = part("x.p7s");
+        when(verificationService.verifySignature(eq(doc), isNull(), any(VerificationLevel.class), isNull(), anyBoolean()))
+                .thenThrow(new IllegalStateException("secret internal detail"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        batchService.verifyBatch(Collections.singletonList(doc), VerificationLevel.SIMPLE, null, false, out);
+
+        JsonNode line = parseLines(out).get(0);
+        assertEquals("INTERNAL_ERROR", line.get("error").get("error").asText());
+        assertFalse(line.toString().contains("secret internal detail"));
+    }
+
+    @Test
+    void policyProfile_isResolvedOnce_andPassedToEveryDocument() throws Exception {
+        MultipartFile a = part("a.xml");
+        MultipartFile b = part("b.xml");
+        when(verificationService.verifySignature(any(MultipartFile.class), isNull(), any(VerificationLevel.class),
+                eq("strict"), anyBoolean())).thenReturn(result(true));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        batchService.verifyBatch(Arrays.asList(a, b), VerificationLevel.SIMPLE, "strict", false, out);
+
+        assertEquals(2, parseLines(out).size());
+        verify(verificationService).resolveRequestedPolicyProfile("strict");
+        verify(verificationService).verifySignature(eq(a), isNull(), any(VerificationLevel.class),
+                eq("strict"), anyBoolean());
+        verify(verificationService).verifySignature(eq(b), isNull(), any(VerificationLevel.class),
+                eq("strict"), anyBoolean());
+    }
+
+    @Test
+    void unknownPolicyProfile_isRejectedBeforeAnythingIsWritten() {
+        when(verificationService.resolveRequestedPolicyProfile("gevsek"))
+                .thenThrow(new IllegalArgumentException("Bilinmeyen policy profili: gevsek"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThrows(IllegalArgumentException.class, () -> batchService.verifyBatch(
+                Collections.singletonList(part("a.xml")), VerificationLevel.SIMPLE, "gevsek", false, out));
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void batchLimits_areEnforcedBeforeAnythingIsWritten() {
+        List<MultipartFile> tooMany = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            tooMany.add(part("d" + i + ".xml"));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> batchService.verifyBatch(tooMany, VerificationLevel.SIMPLE, null, false, out));
+        assertThrows(IllegalArgumentException.class,
+                () -> batchService.validateBatch(Collections.emptyList()));
+        assertEquals(0, out.size());
+    }
+
+    private List<JsonNode> parseLines(ByteArrayOutputStream out) throws Exception {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8.name()).split("\n")) {
+            if (!line.isEmpty()) {
+                lines.add(mapper.readTree(line));
+            }
+        }
+        return lines;
+    }
+
+    private static MockMultipartFile part(String name) {
+        return new MockMultipartFile("signedDocuments", name, "application/octet-stream",
+                name.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static VerificationResult result(boolean valid) {
+        VerificationResult r = new VerificationResult();
+        r.setValid(valid);
+        r.setStatus(valid ? "VALID" : "INVALID");
+        return r;
+    }
+}
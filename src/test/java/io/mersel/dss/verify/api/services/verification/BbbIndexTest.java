@@ -0,0 +1,95 @@
+package io.mersel.dss.verify.api.services.verification;
+
+import eu.europa.esig.dss.detailedreport.DetailedReport;
+import eu.europa.esig.dss.detailedreport.jaxb.XmlBasicBuildingBlocks;
+import eu.europa.esig.dss.detailedreport.jaxb.XmlConstraint;
+import eu.europa.esig.dss.detailedreport.jaxb.XmlDetailedReport;
+import eu.europa.esig.dss.detailedreport.jaxb.XmlFC;
+import eu.europa.esig.dss.detailedreport.jaxb.XmlMessage;
+import eu.europa.esig.dss.detailedreport.jaxb.XmlStatus;
+import io.mersel.dss.verify.api.models.FailedConstraint;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link BbbIndex}: BBB listesi bir kez indekslenir; id başına FAIL
+ * analizleri önceki tam-tarama davranışıyla aynı sonucu verir.
+ */
+class BbbIndexTest {
+
+    @Test
+    void manySignatures_lookupsMatchPerIdBlocks() {
+        XmlDetailedReport xml = new XmlDetailedReport();
+        for (int i = 0; i < 50; i++) {
+            xml.getBasicBuildingBlocks().add(bbb("S-" + i, "KEY_" + i));
+            xml.getBasicBuildingBlocks().add(bbb("T-" + i, "TS_KEY_" + i));
+        }
+        BbbIndex index = BbbIndex.of(new DetailedReport(xml));
+
+        assertEquals(100, index.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(singleKey("KEY_" + i), index.failureKeys("S-" + i));
+            List<FailedConstraint> details = index.failureDetails("T-" + i);
+            assertEquals(1, details.size());
+            assertEquals("TS_KEY_" + i, details.get(0).getKey());
+        }
+        assertTrue(index.failureKeys("MISSING").isEmpty());
+        assertTrue(index.failureDetails("MISSING").isEmpty());
+    }
+
+    @Test
+    void duplicateIds_firstBlockWins_andResultsAreCallerCopies() {
+        XmlDetailedReport xml = new XmlDetailedReport();
+        xml.getBasicBuildingBlocks().add(bbb("S-1", "FIRST"));
+        xml.getBasicBuildingBlocks().add(bbb("S-1", "SECOND"));
+        BbbIndex index = BbbIndex.of(new DetailedReport(xml));
+
+        Set<String> keys = index.failureKeys("S-1");
+        keys.add("MUTATED");
+        index.failureDetails("S-1").clear();
+
+        assertEquals(singleKey("FIRST"), index.failureKeys("S-1"));
+        assertEquals(1, index.failureDetails("S-1").size());
+    }
+
+    @Test
+    void buildFailure_isRethrownOnLookup() {
+        DetailedReport broken = Mockito.mock(DetailedReport.class);
+        Mockito.when(broken.getJAXBModel()).thenThrow(new IllegalStateException("jaxb"));
+        BbbIndex index = BbbIndex.of(broken);
+
+        assertThrows(IllegalStateException.class, () -> index.failureKeys("S-1"));
+        assertTrue(BbbIndex.of(null).failureDetails("S-1").isEmpty());
+    }
+
+    private static Set<String> singleKey(String key) {
+        return Collections.singleton(key);
+    }
+
+    private static XmlBasicBuildingBlocks bbb(String id, String key) {
+        XmlBasicBuildingBlocks bbb = new XmlBasicBuildingBlocks();
+        bbb.setId(id);
+        XmlFC fc = new XmlFC();
+        XmlConstraint c = new XmlConstraint();
+        c.setStatus(XmlStatus.NOT_OK);
+        XmlMessage name = new XmlMessage();
+        name.setKey(key);
+        name.setValue("name");
+        c.setName(name);
+        XmlMessage err = new XmlMessage();
+        err.setKey(key + "_ANS");
+        err.setValue("message");
+        c.setError(err);
+        fc.getConstraint().add(c);
+        bbb.setFC(fc);
+        return bbb;
+    }
+}
@@ -0,0 +1,109 @@
+package io.mersel.dss.verify.api.services.verification;
+
+import eu.europa.esig.dss.spi.validation.CertificateVerifier;
+import eu.europa.esig.dss.spi.x509.CommonTrustedCertificateSource;
+import eu.europa.esig.dss.spi.x509.aia.AIASource;
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLSource;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPSource;
+import io.mersel.dss.verify.api.config.VerificationConfiguration;
+import io.mersel.dss.verify.api.services.certificate.KamusmRootCertificateService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link CertificateVerifierProvider}: verifier istekler arasında paylaşılır,
+ * güven deposu nesli veya online validation ayarı değişince yeniden kurulur.
+ */
+class CertificateVerifierProviderTest {
+
+    private final AtomicLong generation = new AtomicLong(1);
+    private final OCSPSource ocspSource = mock(OCSPSource.class);
+    private final CRLSource crlSource = mock(CRLSource.class);
+    private final AIASource aiaSource = mock(AIASource.class);
+
+    private KamusmRootCertificateService rootCertificateService;
+    private VerificationConfiguration config;
+    private CertificateVerifierProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        rootCertificateService = mock(KamusmRootCertificateService.class);
+        when(rootCertificateService.getTrustGeneration()).thenAnswer(inv -> generation.get());
+        when(rootCertificateService.getTrustedCertificateSource()).thenReturn(new CommonTrustedCertificateSource());
+        config = new VerificationConfiguration();
+        ReflectionTestUtils.setField(config, "onlineValidationEnabled", true);
+        provider = new CertificateVerifierProvider(rootCertificateService, config,
+                provider(ocspSource), provider(crlSource), provider(aiaSource));
+    }
+
+    @Test
+    void verifier_isSharedAcrossCalls_untilTrustStoreChanges() {
+        CertificateVerifier first = provider.current();
+
+        assertSame(first, provider.current());
+        assertSame(first, provider.current());
+        verify(rootCertificateService, times(1)).getTrustedCertificateSource();
+        assertEquals(1L, provider.snapshotGeneration());
+
+        generation.incrementAndGet();
+
+        CertificateVerifier second = provider.current();
+        assertNotSame(first, second);
+        assertSame(second, provider.current());
+        assertEquals(2L, provider.snapshotGeneration());
+    }
+
+    @Test
+    void onlineSources_areAttached_andDroppedWhenOnlineValidationIsTurnedOff() {
+        CertificateVerifier online = provider.current();
+        assertSame(ocspSource, online.getOcspSource());
+        assertSame(crlSource, online.getCrlSource());
+        assertSame(aiaSource, online.getAIASource());
+        assertTrue(online.getTrustedCertSources().getNumberOfSources() > 0);
+
+        ReflectionTestUtils.setField(config, "onlineValidationEnabled", false);
+
+        CertificateVerifier offline = provider.current();
+        assertNotSame(online, offline);
+        assertNull(offline.getOcspSource());
+        assertNull(offline.getCrlSource());
+        assertNotSame(aiaSource, offline.getAIASource());
+    }
+
+    @Test
+    void offlineVerifier_hasNoNetworkSources_andFollowsTrustGeneration() {
+        CertificateVerifier offline = provider.offline();
+
+        assertNull(offline.getOcspSource());
+        assertNull(offline.getCrlSource());
+        assertNull(offline.getAIASource());
+        assertTrue(offline.getTrustedCertSources().getNumberOfSources() > 0);
+        assertSame(offline, provider.offline());
+        assertNotSame(offline, provider.current());
+
+        generation.incrementAndGet();
+
+        assertNotSame(offline, provider.offline());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ObjectProvider<T> provider(T bean) {
+        ObjectProvider<T> objectProvider = mock(ObjectProvider.class);
+        when(objectProvider.getIfAvailable()).thenReturn(bean);
+        return objectProvider;
+    }
+}
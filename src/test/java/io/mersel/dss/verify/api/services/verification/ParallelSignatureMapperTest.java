@@ -0,0 +1,139 @@
+package io.mersel.dss.verify.api.services.verification;
+
+import io.mersel.dss.verify.api.config.VerificationConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link ParallelSignatureMapper}: eşik üstünde paralel eşleme, doküman
+ * sırasıyla teslim, MDC aktarımı ve hata yayılımı.
+ */
+class ParallelSignatureMapperTest {
+
+    private ParallelSignatureMapper mapper;
+
+    @BeforeEach
+    void setUp() {
+        VerificationConfiguration config = new VerificationConfiguration();
+        config.setParseParallelThreshold(4);
+        config.setParseParallelism(4);
+        mapper = new ParallelSignatureMapper(config, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mapper.shutdown();
+        MDC.clear();
+    }
+
+    @Test
+    void aboveThreshold_mapsOnPool_andDeliversInDocumentOrder() {
+        List<String> ids = ids(40);
+        Set<String> mapperThreads = Collections.synchronizedSet(new HashSet<>());
+        Set<String> consumerThreads = new HashSet<>();
+        List<String> delivered = new ArrayList<>();
+
+        mapper.mapInOrder(ids, id -> {
+            mapperThreads.add(Thread.currentThread().getName());
+            sleepMillis(ThreadLocalRandom.current().nextInt(1, 6));
+            return "sig:" + id;
+        }, value -> {
+            consumerThreads.add(Thread.currentThread().getName());
+            delivered.add(value);
+        });
+
+        List<String> expected = new ArrayList<>();
+        ids.forEach(id -> expected.add("sig:" + id));
+        assertEquals(expected, delivered);
+        assertTrue(mapperThreads.size() > 1, "Eşleme birden fazla thread'de çalışmalı: " + mapperThreads);
+        assertEquals(Collections.singleton(Thread.currentThread().getName()), consumerThreads,
+                "Tüketici yalnız çağıran thread'de çalışmalı");
+    }
+
+    @Test
+    void belowThreshold_runsSequentiallyOnCallerThread() {
+        Set<String> threads = new HashSet<>();
+        List<String> delivered = new ArrayList<>();
+
+        mapper.mapInOrder(ids(3), id -> {
+            threads.add(Thread.currentThread().getName());
+            return id;
+        }, delivered::add);
+
+        assertEquals(ids(3), delivered);
+        assertEquals(Collections.singleton(Thread.currentThread().getName()), threads);
+        assertFalse(mapper.isParallel(3));
+        assertTrue(mapper.isParallel(4));
+    }
+
+    @Test
+    void mdcContext_isPropagatedToWorkers() {
+        MDC.put("x-log-request-id", "req-42");
+        Set<String> seen = Collections.synchronizedSet(new HashSet<>());
+
+        mapper.mapInOrder(ids(12), id -> {
+            seen.add(String.valueOf(MDC.get("x-log-request-id")));
+            return id;
+        }, id -> { });
+
+        assertEquals(Collections.singleton("req-42"), seen);
+        assertEquals("req-42", MDC.get("x-log-request-id"));
+    }
+
+    @Test
+    void mappingFailure_isRethrownAsIs() {
+        IllegalStateException boom = new IllegalStateException("bozuk imza raporu");
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () ->
+                mapper.mapInOrder(ids(20), id -> {
+                    if ("id-7".equals(id)) {
+                        throw boom;
+                    }
+                    return id;
+                }, id -> { }));
+
+        assertSame(boom, thrown);
+    }
+
+    @Test
+    void signatureCountBuckets_areBounded() {
+        assertEquals("0", ParallelSignatureMapper.signatureCountBucket(0));
+        assertEquals("1", ParallelSignatureMapper.signatureCountBucket(1));
+        assertEquals("2-7", ParallelSignatureMapper.signatureCountBucket(7));
+        assertEquals("8-20", ParallelSignatureMapper.signatureCountBucket(8));
+        assertEquals("21-60", ParallelSignatureMapper.signatureCountBucket(60));
+        assertEquals("61+", ParallelSignatureMapper.signatureCountBucket(500));
+    }
+
+    private static List<String> ids(int count) {
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add("id-" + i);
+        }
+        return ids;
+    }
+
+    private static void sleepMillis(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package io.mersel.dss.verify.api.services.verification;
+
+import eu.europa.esig.dss.enumerations.Indication;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.model.signature.SignatureCryptographicVerification;
+import eu.europa.esig.dss.simplereport.SimpleReport;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.signature.AdvancedSignature;
+import eu.europa.esig.dss.spi.signature.DefaultAdvancedSignature;
+import eu.europa.esig.dss.spi.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.spi.x509.CommonTrustedCertificateSource;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import io.mersel.dss.verify.api.config.VerificationConfiguration;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link SignatureIntegrityVerdictCache}: tekrar gelen imzada karar
+ * cache'ten uygulanır, içerik değişikliği yine yakalanır. DSS'in
+ * {@code signatureCryptographicVerification} alanına dayanan sözleşme
+ * {@link SignatureIntegrityVerdictCache#VERIFIED_DSS_VERSION} sürümüne
+ * sabitlenir; DSS yükseltmesinde bu testler kırılır.
+ */
+class SignatureIntegrityVerdictCacheTest {
+
+    private static WarmUpSamples samples;
+    private static ValidationPolicyRegistry registry;
+
+    private VerificationConfiguration config;
+    private SignatureIntegrityVerdictCache cache;
+
+    @BeforeAll
+    static void createSamples() throws Exception {
+        samples = WarmUpSamples.create();
+        registry = new ValidationPolicyRegistry(new DefaultResourceLoader(), "", "signer-strict", false, true);
+        registry.precompile();
+    }
+
+    @BeforeEach
+    void setUp() {
+        config = new VerificationConfiguration();
+        config.setIntegrityCacheEnabled(true);
+        config.setIntegrityCacheMaxEntries(100);
+        cache = new SignatureIntegrityVerdictCache(config, null);
+    }
+
+    @Test
+    void repeatedSignatures_areServedFromCache_withSameOutcome() {
+        for (DSSDocument document : samples.signedDocuments().values()) {
+            Outcome first = validate(document);
+            Outcome second = validate(document);
+
+            assertEquals(0, first.hits, document.getName());
+            assertEquals(1, second.hits, "Tekrar gelen imza cache'ten gelmeli: " + document.getName());
+            assertTrue(second.verification.isSignatureIntact());
+            assertTrue(second.verification.isReferenceDataIntact());
+            assertEquals(first.indication, second.indication, document.getName());
+        }
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void tamperedContent_withCachedSignature_stillFails() {
+        DSSDocument original = samples.signedDocuments().get(WarmUpSamples.XADES);
+        validate(original);
+
+        String xml = new String(DSSUtils.toByteArray(original), StandardCharsets.UTF_8);
+        DSSDocument tampered = new InMemoryDocument(
+                xml.replace("<ID>1</ID>", "<ID>2</ID>").getBytes(StandardCharsets.UTF_8), "tampered.xml");
+        Outcome outcome = validate(tampered);
+
+        assertEquals(1, outcome.hits, "İmza değeri ve SignedInfo aynı: karar cache'ten gelir");
+        assertFalse(outcome.verification.isReferenceDataIntact(), "İçerik digest'i her istekte kontrol edilmeli");
+        assertNotEquals(Indication.TOTAL_PASSED, outcome.indication);
+    }
+
+    @Test
+    void disabled_isNoOp() {
+        config.setIntegrityCacheEnabled(false);
+        cache = new SignatureIntegrityVerdictCache(config, null);
+        DSSDocument document = samples.signedDocuments().get(WarmUpSamples.CADES);
+
+        validate(document);
+        Outcome second = validate(document);
+
+        assertFalse(cache.isEnabled());
+        assertEquals(0, second.hits);
+        assertEquals(0, cache.size());
+        assertTrue(second.verification.isSignatureIntact());
+    }
+
+    @Test
+    void dssVersion_isTheOneTheVerdictFieldContractWasCheckedAgainst() {
+        assertEquals(SignatureIntegrityVerdictCache.VERIFIED_DSS_VERSION,
+                SignatureIntegrityVerdictCache.resolveDssVersion(),
+                "DSS sürümü değişti: signatureCryptographicVerification sözleşmesini yeniden doğrulayıp "
+                        + "VERIFIED_DSS_VERSION'ı güncelleyin");
+    }
+
+    @Test
+    void dssVerdictField_isProtectedMutableInstanceField() throws Exception {
+        Field field = DefaultAdvancedSignature.class.getDeclaredField("signatureCryptographicVerification");
+        int modifiers = field.getModifiers();
+
+        assertEquals(SignatureCryptographicVerification.class, field.getType());
+        assertTrue(Modifier.isProtected(modifiers));
+        assertFalse(Modifier.isStatic(modifiers));
+        assertFalse(Modifier.isFinal(modifiers));
+    }
+
+    @Test
+    void dssIntegrityCheck_writesVerdictField_andSkipsWorkWhenItIsSet() throws Exception {
+        Field field = DefaultAdvancedSignature.class.getDeclaredField("signatureCryptographicVerification");
+        field.setAccessible(true);
+        for (DSSDocument document : samples.signedDocuments().values()) {
+            // DSS kendi kararını bu alana yazar.
+            AdvancedSignature computed = firstSignature(document);
+            assertNull(field.get(computed), document.getName());
+            computed.checkSignatureIntegrity();
+            assertNotNull(field.get(computed), document.getName());
+            assertSame(field.get(computed), computed.getSignatureCryptographicVerification(), document.getName());
+            assertTrue(computed.getSignatureCryptographicVerification().isSignatureIntact(), document.getName());
+
+            // Alan doluysa doğrulama atlanır, değer olduğu gibi döner.
+            AdvancedSignature preset = firstSignature(document);
+            SignatureCryptographicVerification verdict = new SignatureCryptographicVerification();
+            field.set(preset, verdict);
+            preset.checkSignatureIntegrity();
+            assertSame(verdict, preset.getSignatureCryptographicVerification(), document.getName());
+        }
+    }
+
+    private static AdvancedSignature firstSignature(DSSDocument document) {
+        SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(document);
+        validator.setCertificateVerifier(offlineVerifier());
+        return validator.getSignatures().get(0);
+    }
+
+    private Outcome validate(DSSDocument document) {
+        SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(document);
+        validator.setCertificateVerifier(offlineVerifier());
+        SignatureIntegrityVerdictCache.Lookup lookup = cache.applyCached(validator);
+        SimpleReport report = validator.validateDocument(registry.policy(null)).getSimpleReport();
+        cache.storeComputed(lookup);
+        return new Outcome(lookup.getHits(),
+                validator.getSignatures().get(0).getSignatureCryptographicVerification(),
+                report.getIndication(report.getFirstSignatureId()));
+    }
+
+    private static CommonCertificateVerifier offlineVerifier() {
+        CommonTrustedCertificateSource trusted = new CommonTrustedCertificateSource();
+        trusted.addCertificate(samples.signerCertificate());
+        CommonCertificateVerifier verifier = new CommonCertificateVerifier();
+        verifier.addTrustedCertSources(trusted);
+        verifier.setAIASource(null);
+        return verifier;
+    }
+
+    private static final class Outcome {
+
+        final int hits;
+        final SignatureCryptographicVerification verification;
+        final Indication indication;
+
+        Outcome(int hits, SignatureCryptographicVerification verification, Indication indication) {
+            this.hits = hits;
+            this.verification = verification;
+            this.indication = indication;
+        }
+    }
+}
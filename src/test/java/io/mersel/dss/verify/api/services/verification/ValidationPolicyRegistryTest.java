@@ -0,0 +1,144 @@
+package io.mersel.dss.verify.api.services.verification;
+
+import eu.europa.esig.dss.model.policy.ValidationPolicy;
+import io.mersel.dss.verify.api.exceptions.VerificationException;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link ValidationPolicyRegistry}: policy'ler bir kez derlenip paylaşılır,
+ * custom path değişince atomik olarak yeniden yüklenir, bozuk güncelleme
+ * önceki policy'yi korur.
+ */
+class ValidationPolicyRegistryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void builtInProfiles_areCompiledOnce_andSelectablePerRequest() {
+        ValidationPolicyRegistry registry = registry("", "signer-strict");
+
+        ValidationPolicy configured = registry.policy(null);
+        assertSame(configured, registry.policy(null));
+        assertSame(configured, registry.policy("signer-strict"));
+
+        ValidationPolicy strict = registry.policy("strict");
+        assertNotSame(configured, strict);
+        assertSame(strict, registry.policy("strict"));
+        assertEquals("strict", registry.policyKey("strict"));
+        assertEquals("signer-strict", registry.policyKey(null));
+    }
+
+    @Test
+    void unknownConfiguredProfile_fallsBackToSignerStrict() {
+        ValidationPolicyRegistry registry = registry("", "olmayan-profil");
+
+        assertSame(registry.policy("signer-strict"), registry.policy(null));
+        assertEquals("signer-strict", registry.policyKey(null));
+    }
+
+    @Test
+    void requestedProfile_isNormalized_andUnknownProfileIsRejected() {
+        ValidationPolicyRegistry registry = registry("", "signer-strict");
+
+        assertNull(registry.resolveRequestedProfile(" "));
+        assertEquals("strict", registry.resolveRequestedProfile(" STRICT "));
+        assertThrows(IllegalArgumentException.class, () -> registry.resolveRequestedProfile("gevsek"));
+    }
+
+    @Test
+    void requestedProfile_isRejected_whenCustomPathIsLocked() throws IOException {
+        Path policyFile = writePolicy("policy.xml", builtInXml("strict"));
+        ValidationPolicyRegistry registry = registry("file:" + policyFile, "signer-strict");
+
+        assertNull(registry.resolveRequestedProfile(null));
+        assertThrows(IllegalArgumentException.class, () -> registry.resolveRequestedProfile("strict"));
+    }
+
+    @Test
+    void customPath_isReloadedAtomically_whenFileChanges() throws IOException {
+        Path policyFile = writePolicy("policy.xml", builtInXml("strict"));
+        ValidationPolicyRegistry registry = registry("file:" + policyFile, "signer-strict");
+
+        ValidationPolicy first = registry.policy(null);
+        String firstKey = registry.policyKey(null);
+        assertFalse(registry.reloadIfChanged(), "Değişmeyen dosya yeniden derlenmemeli");
+        assertSame(first, registry.policy(null));
+
+        Files.write(policyFile, builtInXml("signer-strict"));
+        touch(policyFile, 10_000L);
+
+        assertTrue(registry.reloadIfChanged());
+        ValidationPolicy second = registry.policy(null);
+        assertNotSame(first, second);
+        assertNotEquals(firstKey, registry.policyKey(null),
+                "Eski policy ile üretilmiş cache kayıtları yeni anahtarla eşleşmemeli");
+    }
+
+    @Test
+    void brokenUpdate_keepsPreviousPolicy() throws IOException {
+        Path policyFile = writePolicy("policy.xml", builtInXml("strict"));
+        ValidationPolicyRegistry registry = registry("file:" + policyFile, "signer-strict");
+        ValidationPolicy before = registry.policy(null);
+        String keyBefore = registry.policyKey(null);
+
+        Files.write(policyFile, "<ConstraintsParameters".getBytes(StandardCharsets.UTF_8));
+        touch(policyFile, 10_000L);
+
+        assertFalse(registry.reloadIfChanged());
+        assertSame(before, registry.policy(null));
+        assertEquals(keyBefore, registry.policyKey(null));
+    }
+
+    @Test
+    void missingCustomPath_failsFast_withoutSilentFallback() {
+        ValidationPolicyRegistry registry = registry("file:" + tempDir.resolve("yok.xml"), "signer-strict");
+
+        VerificationException e = assertThrows(VerificationException.class, () -> registry.policy(null));
+        assertTrue(e.getMessage().contains("bulunamadı"));
+    }
+
+    private static ValidationPolicyRegistry registry(String path, String profile) {
+        ValidationPolicyRegistry registry =
+                new ValidationPolicyRegistry(new DefaultResourceLoader(), path, profile, true, true);
+        registry.precompile();
+        return registry;
+    }
+
+    private Path writePolicy(String name, byte[] content) throws IOException {
+        Path file = tempDir.resolve(name);
+        Files.write(file, content);
+        return file;
+    }
+
+    private static void touch(Path file, long forwardMillis) throws IOException {
+        FileTime current = Files.getLastModifiedTime(file);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(current.toMillis() + forwardMillis));
+    }
+
+    private static byte[] builtInXml(String profile) throws IOException {
+        try (InputStream in = ValidationPolicyRegistryTest.class
+                .getResourceAsStream("/policy/kamusm-" + profile + "-constraint.xml")) {
+            return IOUtils.toByteArray(in);
+        }
+    }
+}
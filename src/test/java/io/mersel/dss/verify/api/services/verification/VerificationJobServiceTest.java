@@ -0,0 +1,245 @@
+package io.mersel.dss.verify.api.services.verification;
+
+import io.mersel.dss.verify.api.config.VerificationConfiguration;
+import io.mersel.dss.verify.api.exceptions.VerificationCapacityExceededException;
+import io.mersel.dss.verify.api.exceptions.VerificationException;
+import io.mersel.dss.verify.api.exceptions.VerificationJobNotFoundException;
+import io.mersel.dss.verify.api.models.VerificationJobStatus;
+import io.mersel.dss.verify.api.models.VerificationResult;
+import io.mersel.dss.verify.api.models.enums.VerificationJobState;
+import io.mersel.dss.verify.api.models.enums.VerificationLevel;
+import io.mersel.dss.verify.api.services.admission.AdaptiveConcurrencyLimiter;
+import io.mersel.dss.verify.api.services.admission.SignedDocumentFormat;
+import io.mersel.dss.verify.api.services.admission.VerificationAdmissionControl;
+import io.mersel.dss.verify.api.services.util.DocumentIngestor;
+import io.mersel.dss.verify.api.services.util.IngestedDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link VerificationJobService} kontratı: gönderim → QUEUED, worker'da
+ * doğrulama → COMPLETED/FAILED, kuyruk veya (ön doğrulamada) imza kabul
+ * şeridi dolunca 429 kapasite hatası,
+ * bilinmeyen iş → not found, spill dosyalarının temizliği.
+ */
+class VerificationJobServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private AdvancedSignatureVerificationService verificationService;
+    private VerificationConfiguration config;
+    private VerificationAdmissionControl admissionControl;
+    private VerificationJobService jobService;
+
+    @BeforeEach
+    void setUp() {
+        verificationService = mock(AdvancedSignatureVerificationService.class);
+        config = new VerificationConfiguration();
+        config.setIngestSpillThresholdBytes(1024);
+        config.setIngestTempDir(tempDir.toString());
+        config.setJobsParallelism(1);
+        config.setJobsQueueCapacity(1);
+        config.setJobsResultTtlSeconds(60);
+        config.setJobsMaxStored(100);
+        config.setJobsRetryAfterSeconds(7);
+        config.setAdmissionEnabled(true);
+        config.setAdmissionMinLimit(1);
+        config.setAdmissionSignatureInitialLimit(1);
+        config.setAdmissionSignatureMaxLimit(1);
+        config.setAdmissionSignatureTargetLatencyMs(1000);
+        config.setAdmissionTimestampInitialLimit(1);
+        config.setAdmissionTimestampMaxLimit(1);
+        config.setAdmissionTimestampTargetLatencyMs(1000);
+        admissionControl = new VerificationAdmissionControl(config, null);
+        jobService = new VerificationJobService(
+                verificationService, new DocumentIngestor(config), config, null, admissionControl);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobService.shutdown();
+    }
+
+    @Test
+    void submittedJob_completesWithResult_andSpillFileIsRemoved() throws Exception {
+        VerificationResult expected = new VerificationResult();
+        expected.setValid(true);
+        expected.setStatus("VALID");
+        when(verificationService.verifySignature(any(IngestedDocument.class), isNull(), eq("imza.pdf"),
+                any(), isNull(), eq(VerificationLevel.COMPREHENSIVE), isNull(), eq(true))).thenReturn(expected);
+
+        VerificationJobStatus queued = jobService.submit(
+                part("imza.pdf", 4096), null, VerificationLevel.COMPREHENSIVE, true);
+        assertNotNull(queued.getJobId());
+        assertEquals(VerificationJobState.QUEUED, queued.getState());
+        assertNotNull(queued.getSubmittedAt());
+
+        VerificationJobStatus done = jobService.awaitCompletion(queued.getJobId()).get(5, TimeUnit.SECONDS);
+        assertEquals(VerificationJobState.COMPLETED, done.getState());
+        assertTrue(done.getResult().isValid());
+        assertNotNull(done.getStartedAt());
+        assertNotNull(done.getCompletedAt());
+
+        assertEquals(VerificationJobState.COMPLETED, jobService.getStatus(queued.getJobId()).getState());
+        assertEquals(0, tempDir.toFile().listFiles().length, "İş bitince spill dosyası silinmeli");
+    }
+
+    @Test
+    void provisionalSubmission_returnsProvisionalResult_andKeepsItNextToFinalResult() throws Exception {
+        VerificationResult provisional = new VerificationResult();
+        provisional.setValid(true);
+        provisional.setStatus("PROVISIONALLY_VALID");
+        provisional.setProvisional(Boolean.TRUE);
+        VerificationResult fin = new VerificationResult();
+        fin.setValid(false);
+        fin.setStatus("INVALID");
+        when(verificationService.verifySignatureProvisional(any(IngestedDocument.class), isNull(), eq("imza.pdf"),
+                any(), isNull(), eq(VerificationLevel.SIMPLE), isNull(), eq(false))).thenReturn(provisional);
+        when(verificationService.verifySignature(any(IngestedDocument.class), isNull(), eq("imza.pdf"),
+                any(), isNull(), eq(VerificationLevel.SIMPLE), isNull(), eq(false))).thenReturn(fin);
+
+        VerificationJobStatus queued = jobService.submit(
+                part("imza.pdf", 4096), null, VerificationLevel.SIMPLE, null, false, true);
+        assertEquals(VerificationJobState.QUEUED, queued.getState());
+        assertEquals("PROVISIONALLY_VALID", queued.getProvisionalResult().getStatus());
+        assertNull(queued.getResult());
+
+        VerificationJobStatus done = jobService.awaitCompletion(queued.getJobId()).get(5, TimeUnit.SECONDS);
+        assertEquals(VerificationJobState.COMPLETED, done.getState());
+        assertEquals("INVALID", done.getResult().getStatus());
+        assertEquals("PROVISIONALLY_VALID", done.getProvisionalResult().getStatus());
+        assertEquals(0, tempDir.toFile().listFiles().length, "İş bitince spill dosyası silinmeli");
+    }
+
+    @Test
+    void provisionalSubmission_isRejected_whenSignatureAdmissionIsFull() throws Exception {
+        AdaptiveConcurrencyLimiter.Permit held = admissionControl.acquireSignature(10, SignedDocumentFormat.PDF);
+        try {
+            assertThrows(VerificationCapacityExceededException.class,
+                    () -> jobService.submit(part("imza.pdf", 4096), null, VerificationLevel.SIMPLE, null, false, true));
+            verify(verificationService, never()).verifySignatureProvisional(any(IngestedDocument.class), any(),
+                    any(), any(), any(), any(VerificationLevel.class), any(), anyBoolean());
+            assertEquals(0, tempDir.toFile().listFiles().length, "Reddedilen işin spill dosyası silinmeli");
+        } finally {
+            held.close();
+        }
+
+        when(verificationService.verifySignatureProvisional(any(IngestedDocument.class), any(), any(), any(),
+                any(), any(VerificationLevel.class), any(), anyBoolean())).thenReturn(new VerificationResult());
+        when(verificationService.verifySignature(any(IngestedDocument.class), any(), any(), any(), any(),
+                any(VerificationLevel.class), any(), anyBoolean())).thenReturn(new VerificationResult());
+        VerificationJobStatus queued =
+                jobService.submit(part("imza.pdf", 4096), null, VerificationLevel.SIMPLE, null, false, true);
+        assertNotNull(queued.getProvisionalResult());
+        // Ön doğrulama bitince izin bırakılır.
+        admissionControl.acquireSignature(10, SignedDocumentFormat.PDF).close();
+    }
+
+    @Test
+    void verificationFailure_isReportedAsFailedJob() throws Exception {
+        when(verificationService.verifySignature(any(IngestedDocument.class), any(), any(), any(), any(),
+                any(VerificationLevel.class), any(), anyBoolean()))
+                .thenThrow(new VerificationException("İmza doğrulama hatası: bozuk XML"));
+
+        VerificationJobStatus queued = jobService.submit(part("bozuk.xml", 10), null, VerificationLevel.SIMPLE, false);
+        VerificationJobStatus done = jobService.awaitCompletion(queued.getJobId()).get(5, TimeUnit.SECONDS);
+
+        assertEquals(VerificationJobState.FAILED, done.getState());
+        assertEquals("VERIFICATION_ERROR", done.getError().getError());
+        assertTrue(done.getError().getDetails().contains("bozuk XML"));
+    }
+
+    @Test
+    void fullQueue_rejectsSubmission_withRetryAfter() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(verificationService.verifySignature(any(IngestedDocument.class), any(), any(), any(), any(),
+                any(VerificationLevel.class), any(), anyBoolean()))
+                .thenAnswer(invocation -> {
+                    running.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return new VerificationResult();
+                });
+
+        try {
+            jobService.submit(part("a.pdf", 10), null, VerificationLevel.SIMPLE, false);
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+            jobService.submit(part("b.pdf", 10), null, VerificationLevel.SIMPLE, false);
+
+            VerificationCapacityExceededException ex = assertThrows(VerificationCapacityExceededException.class,
+                    () -> jobService.submit(part("c.pdf", 4096), null, VerificationLevel.SIMPLE, false));
+            assertEquals(7, ex.getRetryAfterSeconds());
+            assertEquals(0, tempDir.toFile().listFiles().length, "Reddedilen işin spill dosyası silinmeli");
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void runningJob_isNotEvicted_whenCompletedJobsExceedMaxStored() throws Exception {
+        jobService.shutdown();
+        config.setJobsParallelism(2);
+        config.setJobsMaxStored(2);
+        jobService = new VerificationJobService(
+                verificationService, new DocumentIngestor(config), config, null, admissionControl);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(verificationService.verifySignature(any(IngestedDocument.class), any(), eq("uzun.pdf"), any(), any(),
+                any(VerificationLevel.class), any(), anyBoolean()))
+                .thenAnswer(invocation -> {
+                    running.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return new VerificationResult();
+                });
+        when(verificationService.verifySignature(any(IngestedDocument.class), any(), eq("kisa.pdf"), any(), any(),
+                any(VerificationLevel.class), any(), anyBoolean()))
+                .thenReturn(new VerificationResult());
+
+        try {
+            String longJob = jobService.submit(part("uzun.pdf", 10), null, VerificationLevel.SIMPLE, false).getJobId();
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 5; i++) {
+                String id = jobService.submit(part("kisa.pdf", 10), null, VerificationLevel.SIMPLE, false).getJobId();
+                jobService.awaitCompletion(id).get(5, TimeUnit.SECONDS);
+            }
+
+            // Tamamlanmış 2 kayıt + çalışan iş (ağırlık 0).
+            assertEquals(3L, jobService.storedJobCount());
+            assertEquals(VerificationJobState.RUNNING, jobService.getStatus(longJob).getState());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void unknownJob_isNotFound() {
+        assertThrows(VerificationJobNotFoundException.class, () -> jobService.getStatus("yok"));
+        assertThrows(VerificationJobNotFoundException.class, () -> jobService.awaitCompletion("yok"));
+    }
+
+    private static MockMultipartFile part(String name, int size) {
+        return new MockMultipartFile("signedDocument", name, "application/octet-stream", new byte[size]);
+    }
+}
@@ -0,0 +1,215 @@
+package io.mersel.dss.verify.api.services.verification;
+
+import eu.europa.esig.dss.diagnostic.CertificateWrapper;
+import eu.europa.esig.dss.diagnostic.DiagnosticData;
+import eu.europa.esig.dss.diagnostic.RevocationWrapper;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DigestDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import io.mersel.dss.verify.api.config.VerificationConfiguration;
+import io.mersel.dss.verify.api.models.CertificateInfo;
+import io.mersel.dss.verify.api.models.FailedConstraint;
+import io.mersel.dss.verify.api.models.SignatureInfo;
+import io.mersel.dss.verify.api.models.VerificationResult;
+import io.mersel.dss.verify.api.models.enums.VerificationLevel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link VerificationResultCache}: içerik adresli anahtar, revocation
+ * tazeliğine göre süre, kopya semantiği ve kök deposu geçersizlemesi.
+ */
+class VerificationResultCacheTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+    private static final long MINUTE = 60_000L;
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+    private VerificationResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        VerificationConfiguration config = new VerificationConfiguration();
+        config.setResultCacheEnabled(true);
+        config.setResultCacheMaxEntries(100);
+        config.setResultCacheMaxAgeSeconds(600);
+        cache = new VerificationResultCache(config, null, clock::get);
+    }
+
+    @Test
+    void key_isContentAddressed_andCoversEveryVerificationInput() {
+        String base = key(doc("imza"), null, VerificationLevel.SIMPLE, "signer-strict", false);
+
+        assertEquals(base, key(doc("imza"), null, VerificationLevel.SIMPLE, "signer-strict", false));
+        assertNotEquals(base, key(doc("imza2"), null, VerificationLevel.SIMPLE, "signer-strict", false));
+        assertNotEquals(base, key(doc("imza"), doc("orijinal"), VerificationLevel.SIMPLE, "signer-strict", false));
+        assertNotEquals(base, key(doc("imza"), null, VerificationLevel.COMPREHENSIVE, "signer-strict", false));
+        assertNotEquals(base, key(doc("imza"), null, VerificationLevel.SIMPLE, "strict", false));
+        assertNotEquals(base, key(doc("imza"), null, VerificationLevel.SIMPLE, "signer-strict", true));
+
+        DigestDocument digest = new DigestDocument(DigestAlgorithm.SHA256,
+                doc("orijinal").getDigestValue(DigestAlgorithm.SHA256));
+        assertNotNull(key(doc("imza"), digest, VerificationLevel.SIMPLE, "signer-strict", false));
+    }
+
+    @Test
+    void hit_returnsMarkedCopy_thatDoesNotAlterTheStoredEntry() {
+        String key = key(doc("imza"), null, VerificationLevel.SIMPLE, "signer-strict", false);
+        assertNull(cache.get(key));
+
+        cache.put(key, result("TOTAL_PASSED"), diagnostics(null, null));
+
+        VerificationResult first = cache.get(key);
+        assertNotNull(first);
+        assertEquals(Boolean.TRUE, first.getCached());
+        assertTrue(first.isValid());
+        first.getSignatures().clear();
+
+        VerificationResult second = cache.get(key);
+        assertEquals(1, second.getSignatures().size(), "İsabet kopyası kaydı değiştirmemeli");
+    }
+
+    @Test
+    void signatureInfos_areNotSharedBetweenStoredEntryAndResponses() {
+        String key = key(doc("imza"), null, VerificationLevel.SIMPLE, "signer-strict", false);
+        VerificationResult stored = result("TOTAL_PASSED");
+        SignatureInfo original = stored.getSignatures().get(0);
+        CertificateInfo signer = new CertificateInfo();
+        signer.setCommonName("Imzaci");
+        original.setSignerCertificate(signer);
+        original.setFailedConstraints(new ArrayList<>(Collections.singletonList(new FailedConstraint("K", "m"))));
+        cache.put(key, stored, diagnostics(null, null));
+
+        // Saklandıktan sonra orijinal nesnede yapılan değişiklik kayda sızmaz.
+        original.setIndication("FAILED");
+        signer.setRevoked(true);
+
+        VerificationResult first = cache.get(key);
+        SignatureInfo served = first.getSignatures().get(0);
+        assertNotSame(original, served);
+        assertEquals("TOTAL_PASSED", served.getIndication());
+        assertFalse(served.getSignerCertificate().isRevoked());
+
+        // Bir yanıtta (ör. akışlı sink) yapılan değişiklik sonraki isabete sızmaz.
+        served.setValid(false);
+        served.getSignerCertificate().setCommonName("degisti");
+        served.getFailedConstraints().get(0).setMessage("degisti");
+
+        SignatureInfo next = cache.get(key).getSignatures().get(0);
+        assertNotSame(served, next);
+        assertTrue(next.isValid());
+        assertEquals("Imzaci", next.getSignerCertificate().getCommonName());
+        assertEquals("m", next.getFailedConstraints().get(0).getMessage());
+    }
+
+    @Test
+    void ttl_isEarliestNextUpdate_cappedByMaxAgeAndCertificateExpiry() {
+        VerificationResult valid = result("TOTAL_PASSED");
+
+        assertEquals(600_000L, cache.ttlMillis(valid, diagnostics(null, null)));
+        assertEquals(2 * MINUTE, cache.ttlMillis(valid,
+                diagnostics(Arrays.asList(NOW + 5 * MINUTE, NOW + 2 * MINUTE), null)));
+        assertEquals(MINUTE, cache.ttlMillis(valid,
+                diagnostics(Collections.singletonList(NOW + 5 * MINUTE), NOW + MINUTE)));
+        assertEquals(600_000L, cache.ttlMillis(valid,
+                diagnostics(Collections.singletonList(NOW + 60 * MINUTE), NOW - MINUTE)),
+                "Süresi geçmiş sertifika kaydın süresini kısaltmaz");
+    }
+
+    @Test
+    void staleRevocationData_andIndeterminateResults_areNotCached() {
+        String key = key(doc("imza"), null, VerificationLevel.SIMPLE, "signer-strict", false);
+
+        cache.put(key, result("TOTAL_PASSED"), diagnostics(Collections.singletonList(NOW - MINUTE), null));
+        assertNull(cache.get(key));
+
+        cache.put(key, result("INDETERMINATE"), diagnostics(null, null));
+        assertNull(cache.get(key));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void invalidateAll_dropsEntries_andRotatesKeys() {
+        String before = key(doc("imza"), null, VerificationLevel.SIMPLE, "signer-strict", false);
+        cache.put(before, result("TOTAL_PASSED"), diagnostics(null, null));
+
+        cache.invalidateAll();
+
+        assertNull(cache.get(before));
+        String after = key(doc("imza"), null, VerificationLevel.SIMPLE, "signer-strict", false);
+        assertNotEquals(before, after, "Geçersizleme öncesi başlamış doğrulama yeni nesli kirletmemeli");
+    }
+
+    @Test
+    void disabledCache_producesNoKey() {
+        VerificationConfiguration config = new VerificationConfiguration();
+        config.setResultCacheEnabled(false);
+        config.setResultCacheMaxEntries(10);
+        config.setResultCacheMaxAgeSeconds(60);
+        VerificationResultCache disabled = new VerificationResultCache(config, null, clock::get);
+
+        assertNull(disabled.key(doc("imza"), null, null, VerificationLevel.SIMPLE, "signer-strict", false));
+        assertNull(disabled.get(null));
+    }
+
+    private String key(InMemoryDocument signed, DSSDocument original,
+                       VerificationLevel level, String policy, boolean includeFailed) {
+        return cache.key(signed, original, original != null ? "orijinal.xml" : null, level, policy, includeFailed);
+    }
+
+    private static InMemoryDocument doc(String content) {
+        return new InMemoryDocument(content.getBytes(StandardCharsets.UTF_8), content + ".xml");
+    }
+
+    private static VerificationResult result(String indication) {
+        SignatureInfo signature = new SignatureInfo();
+        signature.setIndication(indication);
+        signature.setValid("TOTAL_PASSED".equals(indication));
+        VerificationResult result = new VerificationResult(signature.isValid(),
+                signature.isValid() ? "VALID" : "INVALID");
+        result.setSignatures(new ArrayList<>(Collections.singletonList(signature)));
+        result.setSignatureCount(1);
+        return result;
+    }
+
+    private static DiagnosticData diagnostics(List<Long> nextUpdates, Long notAfter) {
+        DiagnosticData diagnosticData = mock(DiagnosticData.class);
+        HashSet<RevocationWrapper> revocations = new HashSet<>();
+        if (nextUpdates != null) {
+            for (Long nextUpdate : nextUpdates) {
+                RevocationWrapper revocation = mock(RevocationWrapper.class);
+                when(revocation.getNextUpdate()).thenReturn(new Date(nextUpdate));
+                revocations.add(revocation);
+            }
+        }
+        when(diagnosticData.getAllRevocationData()).thenReturn(revocations);
+        if (notAfter != null) {
+            CertificateWrapper certificate = mock(CertificateWrapper.class);
+            when(certificate.getNotAfter()).thenReturn(new Date(notAfter));
+            when(diagnosticData.getUsedCertificates()).thenReturn(Collections.singletonList(certificate));
+        } else {
+            when(diagnosticData.getUsedCertificates()).thenReturn(Collections.emptyList());
+        }
+        return diagnosticData;
+    }
+}
@@ -0,0 +1,104 @@
+package io.mersel.dss.verify.api.services.verification;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.mersel.dss.verify.api.models.SignatureInfo;
+import io.mersel.dss.verify.api.models.VerificationResult;
+import io.mersel.dss.verify.api.models.enums.SignatureType;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link VerificationResultStreamWriter}: akışlı yanıt, klasik
+ * serileştirmeyle aynı JSON içeriğini (alan sırası hariç) üretmeli.
+ */
+class VerificationResultStreamWriterTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void streamedJson_equalsBufferedJson_apartFromFieldOrder() throws Exception {
+        SignatureInfo first = signature("S-1", true);
+        SignatureInfo second = signature("S-2", false);
+        VerificationResult classic = summary(2);
+        classic.setSignatures(new ArrayList<>(Arrays.asList(first, second)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        VerificationResultStreamWriter writer = new VerificationResultStreamWriter(mapper, out);
+        writer.accept(first);
+        writer.accept(second);
+        VerificationResult streamedSummary = summary(2);
+        streamedSummary.setSignatures(new ArrayList<>(Collections.singletonList(second)));
+        writer.finish(streamedSummary);
+
+        JsonNode streamed = mapper.readTree(out.toByteArray());
+        assertEquals(mapper.valueToTree(classic), streamed);
+        assertEquals("signatures", streamed.fieldNames().next(), "imzalar önce akmalı");
+        assertEquals(2, writer.getWrittenCount());
+        // Bildirim için tutulan liste yanıta ikinci kez yazılmaz ve sonuçta korunur.
+        assertEquals(1, streamedSummary.getSignatures().size());
+    }
+
+    @Test
+    void withoutSignatures_writesClassicDocument() throws Exception {
+        VerificationResult noSignature = new VerificationResult(false, "NO_SIGNATURE_FOUND");
+        noSignature.addError("Dokümanda imza bulunamadı");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        VerificationResultStreamWriter writer = new VerificationResultStreamWriter(mapper, out);
+        writer.finish(noSignature);
+
+        assertFalse(writer.isStarted());
+        assertEquals(mapper.valueToTree(noSignature), mapper.readTree(out.toByteArray()));
+    }
+
+    @Test
+    void generatorFlush_isNotPassedToUnderlyingStream() throws Exception {
+        CountingFlushStream out = new CountingFlushStream();
+        VerificationResultStreamWriter writer = new VerificationResultStreamWriter(mapper, out);
+        writer.accept(signature("S-1", true));
+        writer.accept(signature("S-2", true));
+        writer.finish(summary(2));
+
+        assertEquals(0, out.flushes, "imza başına ağ flush'ı olmamalı");
+        assertTrue(out.size() > 0);
+        assertTrue(mapper.readTree(out.toByteArray()).get("valid").booleanValue());
+    }
+
+    private static SignatureInfo signature(String id, boolean valid) {
+        SignatureInfo info = new SignatureInfo();
+        info.setSignatureId(id);
+        info.setValid(valid);
+        info.setIndication(valid ? "TOTAL_PASSED" : "TOTAL_FAILED");
+        info.setSigningTime(new Date(1_700_000_000_000L));
+        return info;
+    }
+
+    private static VerificationResult summary(int count) {
+        VerificationResult result = new VerificationResult(true, "VALID");
+        result.setVerificationTime(new Date(1_700_000_100_000L));
+        result.setSignatureType(SignatureType.XADES);
+        result.setSignatureCount(count);
+        return result;
+    }
+
+    private static final class CountingFlushStream extends ByteArrayOutputStream {
+        int flushes;
+
+        @Override
+        public void flush() throws IOException {
+            flushes++;
+            super.flush();
+        }
+    }
+}
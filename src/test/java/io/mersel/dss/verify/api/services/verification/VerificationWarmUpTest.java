@@ -0,0 +1,57 @@
+package io.mersel.dss.verify.api.services.verification;
+
+import io.mersel.dss.verify.api.config.VerificationConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link VerificationWarmUp}: sentetik örnekler üretimdeki policy ile
+ * ağa çıkmadan doğrulanır; ısınma bitince readiness bekletilmez.
+ */
+class VerificationWarmUpTest {
+
+    private VerificationConfiguration config;
+    private VerificationWarmUp warmUp;
+
+    @BeforeEach
+    void setUp() {
+        config = new VerificationConfiguration();
+        config.setWarmUpEnabled(true);
+        config.setWarmUpIterations(2);
+        config.setWarmUpMaxDurationSeconds(120);
+        ValidationPolicyRegistry registry =
+                new ValidationPolicyRegistry(new DefaultResourceLoader(), "", "signer-strict", false, true);
+        registry.precompile();
+        warmUp = new VerificationWarmUp(config, registry, null, new Locale("tr"));
+    }
+
+    @Test
+    void run_validatesAllSamples_andReleasesReadiness() {
+        assertTrue(warmUp.isInProgress(), "Isınma başlamadan readiness bekletilmeli");
+
+        assertEquals(VerificationWarmUp.State.COMPLETED, warmUp.run());
+
+        // 2 iterasyon × (XAdES + CAdES + PAdES + zaman damgası)
+        assertEquals(8, warmUp.getCompletedValidations());
+        assertFalse(warmUp.isInProgress());
+        assertTrue(warmUp.getDurationMillis() >= 0);
+    }
+
+    @Test
+    void disabled_doesNotHoldReadiness() {
+        config.setWarmUpEnabled(false);
+
+        warmUp.onApplicationReady();
+
+        assertEquals(VerificationWarmUp.State.DISABLED, warmUp.getState());
+        assertFalse(warmUp.isInProgress());
+        assertEquals(0, warmUp.getCompletedValidations());
+    }
+}